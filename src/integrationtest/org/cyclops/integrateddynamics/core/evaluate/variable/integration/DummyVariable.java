@@ -2,17 +2,18 @@ package org.cyclops.integrateddynamics.core.evaluate.variable.integration;
 
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
-import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IVersionedVariable;
 
 /**
  * A dummy boolean variable.
  * @author rubensworks
  */
-public class DummyVariable<V extends IValue> implements IVariable<V> {
+public class DummyVariable<V extends IValue> implements IVersionedVariable<V> {
 
     private final IValueType<V> type;
     private V value;
     private boolean fetched = false;
+    private long version = 0;
 
     public DummyVariable(IValueType<V> type, V value) {
         this.type = type;
@@ -35,8 +36,14 @@ public class DummyVariable<V extends IValue> implements IVariable<V> {
         return value;
     }
 
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
     public void setValue(V value) {
         this.value = value;
+        this.version++;
     }
 
     public boolean isFetched() {
@@ -61,6 +61,66 @@ public class GeneralConfig extends DummyConfig {
      */
     @ConfigurableProperty(category = ConfigurableTypeCategory.CORE, comment = "If cable models should be cached for rendering optimization.", isCommandable = true)
     public static boolean cacheCableModels = true;
+
+    /**
+     * If operator expressions of different networks should be evaluated in parallel.
+     */
+    @ConfigurableProperty(category = ConfigurableTypeCategory.CORE, comment = "If operator expressions of different networks should be evaluated in parallel. Read aspects are then sampled at the start of each tick, before any writer of that tick is applied.", isCommandable = true)
+    public static boolean parallelNetworkEvaluation = false;
+
+    /**
+     * The number of threads to use for parallel network evaluation.
+     */
+    @ConfigurableProperty(category = ConfigurableTypeCategory.CORE, comment = "The number of threads to use for parallel network evaluation, 0 will use the number of available processors minus one.", minimalValue = 0, requiresMcRestart = true)
+    public static int parallelNetworkEvaluationThreads = 0;
+
+    /**
+     * If network elements that are not due should be checked each tick if they can still update.
+     */
+    @ConfigurableProperty(category = ConfigurableTypeCategory.MACHINE, comment = "If network elements that are not due for an update should still be checked each tick if they can update, such as having enough energy. Only elements that could not update are checked each tick, all others are only checked while their network does not have enough energy for all of its elements. Disabling this avoids these checks, but unpowered parts can then be deactivated up to one update interval later, and are only retried once per update interval.", isCommandable = true)
+    public static boolean checkSkippedUpdatesEachTick = true;
+
+    /**
+     * The maximum time in milliseconds that all networks may spend updating each tick.
+     */
+    @ConfigurableProperty(category = ConfigurableTypeCategory.MACHINE, comment = "The maximum time in milliseconds that all networks may spend updating each tick, 0 disables this limit. Elements that do not fit within this budget are updated first in the next tick.", isCommandable = true, minimalValue = 0)
+    public static int networkTickBudget = 0;
+
+    /**
+     * The server tick duration in milliseconds above which the update intervals of low-priority elements are stretched.
+     */
+    @ConfigurableProperty(category = ConfigurableTypeCategory.MACHINE, comment = "The average server tick duration in milliseconds above which the update intervals of low-priority network elements are temporarily stretched, 0 disables throttling.", isCommandable = true, minimalValue = 0)
+    public static int throttleTickDuration = 0;
+
+    /**
+     * The maximum factor by which update intervals can be stretched when throttling.
+     */
+    @ConfigurableProperty(category = ConfigurableTypeCategory.MACHINE, comment = "The maximum factor by which update intervals of network elements can be stretched when throttling.", isCommandable = true, minimalValue = 1)
+    public static int throttleMaxIntervalFactor = 4;
+
+    /**
+     * The highest priority of network elements that can be throttled.
+     */
+    @ConfigurableProperty(category = ConfigurableTypeCategory.MACHINE, comment = "Network elements with a priority at or below this value can be throttled. Elements have a priority of 0 by default, so by default only elements of which the priority was lowered can be throttled.", isCommandable = true)
+    public static int throttleMaxPriority = -1;
+
+    /**
+     * If networks of which all chunks are unloaded should stop being updated.
+     */
+    @ConfigurableProperty(category = ConfigurableTypeCategory.MACHINE, comment = "If networks of which all chunks are unloaded should hibernate, so that they are not updated until one of their chunks is loaded again.", isCommandable = true)
+    public static boolean networkHibernation = false;
+
+    /**
+     * If writers should only write when the value of their variable may have changed.
+     */
+    @ConfigurableProperty(category = ConfigurableTypeCategory.MACHINE, comment = "If writers should only write when something upstream of their variable has changed, instead of on every update. Aspects with a side effect on each write, such as audio and effects, are still written on every update.", isCommandable = true)
+    public static boolean reactiveWriters = false;
+
+    /**
+     * The amount of evaluation fuel that the expressions of a network can use each tick.
+     */
+    @ConfigurableProperty(category = ConfigurableTypeCategory.MACHINE, comment = "The amount of fuel that the operator expressions of a network can use each tick, 0 disables this limit. Each operator evaluation and each list element retrieval costs one unit of fuel, evaluations that exceed this fail with an error until the next tick.", isCommandable = true, minimalValue = 0)
+    public static int evaluationFuelPerTick = 0;
     
     /**
      * Create a new instance.
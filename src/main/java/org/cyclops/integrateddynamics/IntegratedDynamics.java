@@ -46,6 +46,7 @@ import org.cyclops.integrateddynamics.client.render.valuetype.ValueTypeWorldRend
 import org.cyclops.integrateddynamics.command.CommandCrash;
 import org.cyclops.integrateddynamics.command.CommandNetworkDiagnostics;
 import org.cyclops.integrateddynamics.command.CommandTest;
+import org.cyclops.integrateddynamics.core.NetworkHibernationHandler;
 import org.cyclops.integrateddynamics.core.NoteBlockEventReceiver;
 import org.cyclops.integrateddynamics.core.TickHandler;
 import org.cyclops.integrateddynamics.core.client.gui.ExtendedGuiHandler;
@@ -239,6 +240,7 @@ public class IntegratedDynamics extends ModBaseVersionable {
         super.preInit(event);
 
         MinecraftForge.EVENT_BUS.register(TickHandler.getInstance());
+        MinecraftForge.EVENT_BUS.register(NetworkHibernationHandler.getInstance());
         MinecraftForge.EVENT_BUS.register(NoteBlockEventReceiver.getInstance());
         MinecraftForge.EVENT_BUS.register(new NetworkCapabilityConstructors());
     }
@@ -0,0 +1,58 @@
+package org.cyclops.integrateddynamics.api.block;
+
+import org.cyclops.integrateddynamics.api.item.IVariableFacade;
+
+/**
+ * A {@link IVariableContainer} that notifies listeners of changes to its variable facades.
+ * Networks can index the facades of such containers incrementally,
+ * while other containers are re-read in full.
+ * @author rubensworks
+ */
+public interface IObservableVariableContainer extends IVariableContainer {
+
+    /**
+     * Store the given variable facade, replacing any stored variable facade with the same id.
+     * @param variableFacade The variable facade.
+     */
+    public void addVariableFacade(IVariableFacade variableFacade);
+
+    /**
+     * Remove the variable facade with the given id.
+     * @param variableId The variable id.
+     */
+    public void removeVariableFacade(int variableId);
+
+    /**
+     * Add a listener that will be notified of all following changes to the stored variable facades.
+     * @param listener The listener.
+     */
+    public void addListener(IListener listener);
+
+    /**
+     * Remove the given listener.
+     * @param listener The listener.
+     */
+    public void removeListener(IListener listener);
+
+    /**
+     * Listener for changes to the variable facades of an observable variable container.
+     */
+    public static interface IListener {
+
+        /**
+         * Called after a variable facade was stored.
+         * @param container The variable container.
+         * @param variableFacade The added variable facade.
+         */
+        public void onVariableFacadeAdded(IObservableVariableContainer container, IVariableFacade variableFacade);
+
+        /**
+         * Called after a variable facade was removed, or was replaced by another one with the same id.
+         * @param container The variable container.
+         * @param variableFacade The removed variable facade.
+         */
+        public void onVariableFacadeRemoved(IObservableVariableContainer container, IVariableFacade variableFacade);
+
+    }
+
+}
@@ -0,0 +1,22 @@
+package org.cyclops.integrateddynamics.api.evaluate.operator;
+
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
+
+/**
+ * An operator that can be bound to validated input types,
+ * so that evaluations with inputs of these types can skip type validation.
+ * @author rubensworks
+ */
+public interface IBindableOperator extends IOperator {
+
+    /**
+     * Validate the given input value types once,
+     * so that evaluations with inputs of these types can skip type validation.
+     * @param input The ordered input value types.
+     * @return The operator bound to the given input value types.
+     * @throws EvaluationException If the input value types are invalid for this operator.
+     */
+    public IBoundOperator bind(IValueType[] input) throws EvaluationException;
+
+}
@@ -0,0 +1,35 @@
+package org.cyclops.integrateddynamics.api.evaluate.operator;
+
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
+
+/**
+ * An operator of which the input types have already been validated.
+ * Obtained with {@link IBindableOperator#bind(IValueType[])}.
+ * @author rubensworks
+ */
+public interface IBoundOperator {
+
+    /**
+     * @return The operator that was bound.
+     */
+    public IOperator getOperator();
+
+    /**
+     * @return The input value types this operator was bound to.
+     */
+    public IValueType[] getInputTypes();
+
+    /**
+     * Evaluate the given input values for the bound operator.
+     * If the types of the given variables are the bound input types, these are not validated again.
+     * Otherwise, this falls back to {@link IOperator#evaluate(IVariable[])}.
+     * @param input The ordered input values.
+     * @return The output value.
+     * @throws EvaluationException When something went wrong while evaluating.
+     */
+    public IValue evaluate(IVariable[] input) throws EvaluationException;
+
+}
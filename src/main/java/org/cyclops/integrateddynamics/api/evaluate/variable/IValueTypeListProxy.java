@@ -4,6 +4,10 @@ import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
 
 /**
  * Proxy for a list.
+ *
+ * The {@link #iterator()} of a proxy streams over its elements, and should be implemented efficiently,
+ * for example by resolving external state only once and by walking wrapped lists only once,
+ * as list operators iterate over their elements instead of retrieving each element by index.
  * @param <T> The list element type value type.
  * @param <V> The list element type.
  */
@@ -0,0 +1,19 @@
+package org.cyclops.integrateddynamics.api.evaluate.variable;
+
+/**
+ * A variable that keeps track of when its value may have changed.
+ * Variables that do not implement this are considered to have changed whenever they are used.
+ * @author rubensworks
+ */
+public interface IVersionedVariable<V extends IValue> extends IVariable<V> {
+
+    /**
+     * Get the version of the current value of this variable.
+     * This version increases whenever the value may have changed,
+     * so an unchanged version guarantees an unchanged value.
+     * Implementations should avoid evaluating their value for this where possible.
+     * @return The value version.
+     */
+    public long getVersion();
+
+}
@@ -0,0 +1,23 @@
+package org.cyclops.integrateddynamics.api.network;
+
+/**
+ * A network of which the update can be limited to a deadline.
+ * Networks that do not implement this always update all of their due elements.
+ * @author rubensworks
+ */
+public interface IBudgetedNetwork extends INetwork {
+
+    /**
+     * Update this network, but stop updating elements once the given deadline has passed.
+     * Due elements that were not updated will be updated first in the next update.
+     * @param deadline The {@link System#nanoTime()} after which no more elements may be updated.
+     * @return The number of due elements that were deferred to the next update.
+     */
+    public int update(long deadline);
+
+    /**
+     * @return The number of network elements that were updated in the last update.
+     */
+    public int getLastUpdatedElementCount();
+
+}
@@ -0,0 +1,22 @@
+package org.cyclops.integrateddynamics.api.network;
+
+import org.cyclops.integrateddynamics.api.item.IVariableFacade;
+
+/**
+ * A part network that evaluates structurally equal variable facades only once per tick.
+ * In part networks that do not implement this, the value of each variable facade is cached under its own id.
+ * @author rubensworks
+ */
+public interface IDeduplicatingPartNetwork extends IPartNetwork {
+
+    /**
+     * Get the id under which the value of the expression of the given variable facade is cached within a tick.
+     * Structurally equal variable facades in this network, such as operators applied to the same inputs,
+     * share the same id, so that they are evaluated only once.
+     * This id can change when the variable facades in this network change.
+     * @param variableFacade The variable facade.
+     * @return The expression id.
+     */
+    public int getExpressionId(IVariableFacade variableFacade);
+
+}
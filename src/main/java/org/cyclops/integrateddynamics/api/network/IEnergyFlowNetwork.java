@@ -0,0 +1,34 @@
+package org.cyclops.integrateddynamics.api.network;
+
+/**
+ * An energy network that keeps track of its energy flows over time.
+ * @author rubensworks
+ */
+public interface IEnergyFlowNetwork extends IEnergyNetwork {
+
+    /**
+     * @param flow The kind of energy flow.
+     * @param seconds The number of seconds to average over, 1, 10 or 60.
+     * @return The average amount of energy per tick of the given flow within the last given seconds.
+     */
+    public double getAverageEnergyFlow(Flow flow, int seconds);
+
+    /**
+     * The kinds of energy flows within an energy network.
+     */
+    public static enum Flow {
+        /**
+         * Energy that was inserted into the network.
+         */
+        INSERTED,
+        /**
+         * Energy that was extracted from the network by external consumers.
+         */
+        EXTRACTED,
+        /**
+         * Energy that was consumed by the elements of the network.
+         */
+        CONSUMED
+    }
+
+}
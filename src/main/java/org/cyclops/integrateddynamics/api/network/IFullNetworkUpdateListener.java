@@ -0,0 +1,14 @@
+package org.cyclops.integrateddynamics.api.network;
+
+/**
+ * A full network listener that is also notified when a network update has been completed.
+ * @author rubensworks
+ */
+public interface IFullNetworkUpdateListener extends IFullNetworkListener {
+
+    /**
+     * Called after all due network elements were updated in this network update.
+     */
+    public void afterUpdate();
+
+}
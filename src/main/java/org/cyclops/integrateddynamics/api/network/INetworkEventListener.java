@@ -22,7 +22,8 @@ public interface INetworkEventListener<E> {
 
     /**
      * Can be called at any time by the {@link org.cyclops.integrateddynamics.api.network.event.INetworkEventBus}.
-     * Only events in the set from {@link INetworkEventListener#getSubscribedEvents()} will be received.
+     * Only events of the types in the set from {@link INetworkEventListener#getSubscribedEvents()},
+     * or subtypes thereof, will be received.
      * @param event The received event.
      * @param networkElement The network element.
      */
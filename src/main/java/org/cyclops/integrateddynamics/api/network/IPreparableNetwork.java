@@ -0,0 +1,27 @@
+package org.cyclops.integrateddynamics.api.network;
+
+import java.util.Collection;
+
+/**
+ * A network of which the update can be prepared before the actual update happens.
+ * Networks that do not implement this are simply updated without preparation.
+ * @author rubensworks
+ */
+public interface IPreparableNetwork extends INetwork {
+
+    /**
+     * Prepare the next {@link #update()} call on the server thread.
+     * This determines the network elements that are due in that update,
+     * so that their work can be prepared before the actual update happens.
+     * If this is not called, {@link #update()} will call it.
+     * @return If the network is still alive and will be updated.
+     */
+    public boolean prepareUpdate();
+
+    /**
+     * @return The network elements that will be updated in the prepared update,
+     *         this will be empty if no update was prepared.
+     */
+    public Collection<INetworkElement> getPreparedUpdateElements();
+
+}
@@ -0,0 +1,26 @@
+package org.cyclops.integrateddynamics.api.network;
+
+import org.cyclops.integrateddynamics.api.evaluate.expression.IExpression;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A part network of which the evaluation of variables can be prepared before the actual network update happens.
+ * Part networks that do not implement this are only evaluated during the network update.
+ * @author rubensworks
+ */
+public interface IPreparablePartNetwork extends IPartNetwork {
+
+    /**
+     * Prepare the evaluation of the variables of the given network elements that are due in the next update.
+     * This must be called on the server thread, and will sample all read aspect values these variables depend on.
+     * The returned expressions will only depend on already sampled values,
+     * so they can be evaluated on another thread before the actual network update,
+     * as long as the expressions of a single network are evaluated on the same thread.
+     * @param dueElements The network elements that are due in the next update.
+     * @return The expressions that can safely be evaluated on another thread.
+     */
+    public List<IExpression> prepareEvaluation(Collection<INetworkElement> dueElements);
+
+}
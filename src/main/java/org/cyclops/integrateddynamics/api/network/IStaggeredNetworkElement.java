@@ -0,0 +1,19 @@
+package org.cyclops.integrateddynamics.api.network;
+
+/**
+ * A network element of which the updates can be spread over different ticks within its update interval,
+ * so that elements with the same update interval do not all update in the same tick.
+ * Elements that do not implement this are updated from the moment they are added.
+ * @author rubensworks
+ */
+public interface IStaggeredNetworkElement extends INetworkElement {
+
+    /**
+     * @return A deterministic non-negative value that determines the tick within the update interval
+     *         at which this element is updated, such as a hash of its position.
+     *         A negative value opts out of this, which will make this element update from the moment it is added,
+     *         which is required for elements that must remain aligned with each other.
+     */
+    public int getUpdatePhase();
+
+}
@@ -0,0 +1,14 @@
+package org.cyclops.integrateddynamics.api.network.event;
+
+import org.cyclops.integrateddynamics.api.network.INetwork;
+
+/**
+ * An idempotent event posted in the {@link INetwork} event bus.
+ * If the event bus is a {@link ICoalescingNetworkEventBus}, multiple posts of such an event within the same tick
+ * are coalesced, and the event is dispatched only once at the start of the next network update.
+ * These events can not be canceled.
+ * @author rubensworks
+ */
+public interface ICoalescableNetworkEvent extends INetworkEvent {
+
+}
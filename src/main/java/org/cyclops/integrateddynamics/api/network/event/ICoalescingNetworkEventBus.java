@@ -0,0 +1,23 @@
+package org.cyclops.integrateddynamics.api.network.event;
+
+/**
+ * An event bus that coalesces posted {@link ICoalescableNetworkEvent}s.
+ * Such events are not dispatched when they are posted,
+ * but only at the next call of {@link #dispatchCoalesced()}.
+ * Event buses that do not implement this dispatch these events immediately.
+ * @author rubensworks
+ */
+public interface ICoalescingNetworkEventBus extends INetworkEventBus {
+
+    /**
+     * Dispatch all pending coalescable events, each event type only once.
+     * This is called at the start of each network update.
+     */
+    public void dispatchCoalesced();
+
+    /**
+     * @return The number of posted coalescable events that were collapsed into an already pending event.
+     */
+    public long getCoalescedPostCount();
+
+}
@@ -13,6 +13,7 @@ public interface INetworkEventBus {
 
     /**
      * Register a network element for the given event type.
+     * The element will also receive events that are a subtype of the given event type.
      * @param target The element that will be called once the event bus receives the given event.
      * @param eventType The event type.
      */
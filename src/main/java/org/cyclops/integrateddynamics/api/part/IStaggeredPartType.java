@@ -0,0 +1,19 @@
+package org.cyclops.integrateddynamics.api.part;
+
+/**
+ * A type of part of which the updates may be spread over different ticks within its update interval.
+ * Parts of types that do not implement this are updated from the moment they are added to a network.
+ * @param <P> The part type.
+ * @param <S> The part state type.
+ * @author rubensworks
+ */
+public interface IStaggeredPartType<P extends IPartType<P, S>, S extends IPartState<P>> extends IPartType<P, S> {
+
+    /**
+     * @param state The state
+     * @return If the updates of this part may be spread over different ticks within its update interval,
+     *         this should be false if this part must remain aligned with other parts.
+     */
+    public boolean isUpdateStaggered(S state);
+
+}
@@ -24,7 +24,7 @@ import java.util.Set;
  * Default implementation of {@link IPartType}.
  * @author rubensworks
  */
-public abstract class PartTypeAdapter<P extends IPartType<P, S>, S extends IPartState<P>> implements IPartType<P, S> {
+public abstract class PartTypeAdapter<P extends IPartType<P, S>, S extends IPartState<P>> implements IStaggeredPartType<P, S> {
 
     @Override
     public String getUnlocalizedName() {
@@ -64,6 +64,11 @@ public abstract class PartTypeAdapter<P extends IPartType<P, S>, S extends IPart
         return state.getUpdateInterval();
     }
 
+    @Override
+    public boolean isUpdateStaggered(S state) {
+        return true;
+    }
+
     @Override
     public void setPriority(INetwork network, IPartNetwork partNetwork, PartTarget target, S state, int priority) {
         //noinspection deprecation
@@ -0,0 +1,20 @@
+package org.cyclops.integrateddynamics.api.part.aspect;
+
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
+
+/**
+ * A write aspect that can indicate if it may skip writes of reactive writers.
+ * Write aspects that do not implement this are written on every update.
+ * @author rubensworks
+ */
+public interface IReactiveAspectWrite<V extends IValue, T extends IValueType<V>> extends IAspectWrite<V, T> {
+
+    /**
+     * If this aspect must be written on every update of reactive writers, even if the variable value did not change.
+     * This is required for aspects of which each write has a side effect, such as playing a sound.
+     * @return If this aspect requires polling.
+     */
+    public boolean isPollingRequired();
+
+}
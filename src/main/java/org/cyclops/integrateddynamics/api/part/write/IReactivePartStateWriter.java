@@ -0,0 +1,26 @@
+package org.cyclops.integrateddynamics.api.part.write;
+
+import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
+
+/**
+ * A writer state that remembers the last written variable version, so that reactive writers can skip unchanged writes.
+ * Writers with states that do not implement this write on every update.
+ * The last written variable version must also be reset when the deactivation state changes.
+ * @author rubensworks
+ */
+public interface IReactivePartStateWriter<P extends IPartTypeWriter> extends IPartStateWriter<P> {
+
+    /**
+     * Check if the given variable version differs from the last written one, and store it as the last written one.
+     * @param variable The variable that will be written.
+     * @param version The current version of that variable.
+     * @return If the given variable or its version differs from the last written one.
+     */
+    public boolean checkAndUpdateWrittenVersion(IVariable<?> variable, long version);
+
+    /**
+     * Forget the last written variable version, so that the next update will write again.
+     */
+    public void resetWrittenVersion();
+
+}
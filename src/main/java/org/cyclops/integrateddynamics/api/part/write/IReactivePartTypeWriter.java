@@ -0,0 +1,22 @@
+package org.cyclops.integrateddynamics.api.part.write;
+
+import org.cyclops.integrateddynamics.api.part.PartTarget;
+
+/**
+ * A writer part type that can only write when the value of its active variable may have changed.
+ * Writer part types that do not implement this write on every update.
+ * @author rubensworks
+ */
+public interface IReactivePartTypeWriter<P extends IPartTypeWriter<P, S>, S extends IPartStateWriter<P>> extends IPartTypeWriter<P, S> {
+
+    /**
+     * If this part should only write its active aspect when the value of its active variable may have changed,
+     * instead of on every update.
+     * Aspects that require polling are always written.
+     * @param target The target block.
+     * @param partState The state of this part.
+     * @return If this part is reactive.
+     */
+    public boolean isReactive(PartTarget target, S partState);
+
+}
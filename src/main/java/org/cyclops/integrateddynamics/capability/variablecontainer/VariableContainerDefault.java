@@ -1,21 +1,160 @@
 package org.cyclops.integrateddynamics.capability.variablecontainer;
 
+import com.google.common.collect.ForwardingMap;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import net.minecraft.nbt.NBTTagCompound;
+import org.cyclops.integrateddynamics.api.block.IObservableVariableContainer;
 import org.cyclops.integrateddynamics.api.block.IVariableContainer;
 import org.cyclops.integrateddynamics.api.item.IVariableFacade;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * Default implementation of {@link IVariableContainer}.
  * @author rubensworks
  */
-public class VariableContainerDefault implements IVariableContainer {
+public class VariableContainerDefault implements IObservableVariableContainer {
 
-    private final Map<Integer, IVariableFacade> variableCache = Maps.newHashMap();
+    private final Map<Integer, IVariableFacade> variableCache = new VariableCache();
+    private final List<IListener> listeners = Lists.newArrayListWithExpectedSize(1);
 
     @Override
     public Map<Integer, IVariableFacade> getVariableCache() {
         return this.variableCache;
     }
+
+    @Override
+    public void addVariableFacade(IVariableFacade variableFacade) {
+        variableCache.put(variableFacade.getId(), variableFacade);
+    }
+
+    @Override
+    public void removeVariableFacade(int variableId) {
+        variableCache.remove(variableId);
+    }
+
+    @Override
+    public void addListener(IListener listener) {
+        if(!listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+
+    @Override
+    public void removeListener(IListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Replace the variable facades of the given container.
+     * Each read of a variable item produces a new facade instance,
+     * so stored facades of which the item tag did not change are kept.
+     * Only the actual differences are applied, so that listeners can update incrementally.
+     * @param variableContainer The variable container.
+     * @param variableFacades The new variable facades, by variable id.
+     * @param tags The item tags of the new variable facades, by variable id.
+     * @param storedTags The item tags of the stored variable facades, by variable id.
+     *                   These will be replaced by the given item tags.
+     */
+    public static void setVariableFacades(IObservableVariableContainer variableContainer, Map<Integer, IVariableFacade> variableFacades,
+                                          Map<Integer, NBTTagCompound> tags, Map<Integer, NBTTagCompound> storedTags) {
+        Map<Integer, IVariableFacade> storedVariableFacades = variableContainer.getVariableCache();
+        for (IVariableFacade variableFacade : Lists.newArrayList(storedVariableFacades.values())) {
+            int id = variableFacade.getId();
+            if (!variableFacades.containsKey(id) || !Objects.equals(tags.get(id), storedTags.get(id))) {
+                variableContainer.removeVariableFacade(id);
+            }
+        }
+        for (IVariableFacade variableFacade : variableFacades.values()) {
+            if (!storedVariableFacades.containsKey(variableFacade.getId())) {
+                variableContainer.addVariableFacade(variableFacade);
+            }
+        }
+        storedTags.clear();
+        storedTags.putAll(tags);
+    }
+
+    protected void onAdded(IVariableFacade variableFacade) {
+        for(IListener listener : listeners) {
+            listener.onVariableFacadeAdded(this, variableFacade);
+        }
+    }
+
+    protected void onRemoved(IVariableFacade variableFacade) {
+        for(IListener listener : listeners) {
+            listener.onVariableFacadeRemoved(this, variableFacade);
+        }
+    }
+
+    /**
+     * A map that notifies the listeners of all changes.
+     * Its key, value and entry views are read-only, as changes through these can not be notified.
+     */
+    protected class VariableCache extends ForwardingMap<Integer, IVariableFacade> {
+
+        private final Map<Integer, IVariableFacade> delegate = Maps.newHashMap();
+
+        @Override
+        protected Map<Integer, IVariableFacade> delegate() {
+            return delegate;
+        }
+
+        @Override
+        public IVariableFacade put(Integer key, IVariableFacade value) {
+            IVariableFacade previous = delegate.put(key, value);
+            if(previous != value) {
+                if(previous != null) {
+                    onRemoved(previous);
+                }
+                if(value != null) {
+                    onAdded(value);
+                }
+            }
+            return previous;
+        }
+
+        @Override
+        public void putAll(Map<? extends Integer, ? extends IVariableFacade> map) {
+            standardPutAll(map);
+        }
+
+        @Override
+        public IVariableFacade remove(Object key) {
+            IVariableFacade previous = delegate.remove(key);
+            if(previous != null) {
+                onRemoved(previous);
+            }
+            return previous;
+        }
+
+        @Override
+        public void clear() {
+            List<IVariableFacade> previous = Lists.newArrayList(delegate.values());
+            delegate.clear();
+            for(IVariableFacade variableFacade : previous) {
+                onRemoved(variableFacade);
+            }
+        }
+
+        @Override
+        public Set<Integer> keySet() {
+            return Collections.unmodifiableSet(delegate.keySet());
+        }
+
+        @Override
+        public Collection<IVariableFacade> values() {
+            return Collections.unmodifiableCollection(delegate.values());
+        }
+
+        @Override
+        public Set<Entry<Integer, IVariableFacade>> entrySet() {
+            return Collections.unmodifiableSet(delegate.entrySet());
+        }
+    }
 }
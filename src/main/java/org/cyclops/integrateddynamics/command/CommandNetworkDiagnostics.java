@@ -1,24 +1,55 @@
 package org.cyclops.integrateddynamics.command;
 
+import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import gnu.trove.map.TIntLongMap;
 import net.minecraft.command.ICommandSender;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TextComponentString;
 import org.cyclops.cyclopscore.command.CommandMod;
+import org.cyclops.cyclopscore.helper.MinecraftHelpers;
 import org.cyclops.cyclopscore.init.ModBase;
+import org.cyclops.integrateddynamics.GeneralConfig;
 import org.cyclops.integrateddynamics.IntegratedDynamics;
+import org.cyclops.integrateddynamics.api.network.INetwork;
+import org.cyclops.integrateddynamics.api.network.IPartNetwork;
+import org.cyclops.integrateddynamics.api.network.event.ICoalescingNetworkEventBus;
+import org.cyclops.integrateddynamics.core.TickBudgetGovernor;
+import org.cyclops.integrateddynamics.core.TickHandler;
+import org.cyclops.integrateddynamics.core.TickLoadHistogram;
+import org.cyclops.integrateddynamics.core.evaluate.EvaluationFuel;
+import org.cyclops.integrateddynamics.core.helper.NetworkHelpers;
+import org.cyclops.integrateddynamics.core.network.ExpressionDag;
+import org.cyclops.integrateddynamics.core.network.Network;
+import org.cyclops.integrateddynamics.core.network.PartNetwork;
+import org.cyclops.integrateddynamics.core.persist.world.NetworkWorldStorage;
 import org.cyclops.integrateddynamics.network.packet.NetworkDiagnosticsOpenClient;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 
 /**
- * Command for opening the network diagnostics gui.
+ * Command for opening the network diagnostics gui, or showing the network load, applied throttling, hibernation,
+ * expression deduplication and evaluation fuel consumption.
  * @author rubensworks
  *
  */
 public class CommandNetworkDiagnostics extends CommandMod {
 
     public static final String NAME = "networkdiagnostics";
+    public static final String THROTTLING = "throttling";
+    public static final String LOAD = "load";
+    public static final String HIBERNATION = "hibernation";
+    public static final String EXPRESSIONS = "expressions";
+    public static final String FUEL = "fuel";
+    private static final int LOAD_BAR_WIDTH = 40;
+    private static final int THROTTLING_NETWORKS = 5;
+    private static final int FUEL_CONSUMERS = 5;
 
     public CommandNetworkDiagnostics(ModBase mod) {
         super(mod, NAME);
@@ -26,14 +57,137 @@ public class CommandNetworkDiagnostics extends CommandMod {
 
     @Override
     public List getTabCompletionOptions(MinecraftServer server, ICommandSender sender, String[] parts, BlockPos blockPos) {
+        if (parts.length == 1) {
+            return getListOfStringsMatchingLastWord(parts, THROTTLING, LOAD, HIBERNATION, EXPRESSIONS, FUEL);
+        }
         return null;
     }
 
     @Override
     public void execute(MinecraftServer server, final ICommandSender sender, String[] parts) {
-        if (sender instanceof EntityPlayerMP) {
+        if (parts.length > 0 && THROTTLING.equals(parts[0])) {
+            sendThrottlingInfo(sender);
+        } else if (parts.length > 0 && LOAD.equals(parts[0])) {
+            sendLoadInfo(sender);
+        } else if (parts.length > 0 && HIBERNATION.equals(parts[0])) {
+            sendHibernationInfo(sender);
+        } else if (parts.length > 0 && EXPRESSIONS.equals(parts[0])) {
+            sendExpressionInfo(sender);
+        } else if (parts.length > 0 && FUEL.equals(parts[0])) {
+            sendFuelInfo(sender);
+        } else if (sender instanceof EntityPlayerMP) {
             IntegratedDynamics._instance.getPacketHandler().sendToPlayer(new NetworkDiagnosticsOpenClient(), (EntityPlayerMP) sender);
         }
     }
 
+    protected void sendLoadInfo(ICommandSender sender) {
+        TickLoadHistogram histogram = TickHandler.getInstance().getLoadHistogram();
+        int[] updates = histogram.getLastSecondUpdates();
+        long[] durations = histogram.getLastSecondDurations();
+        int maxUpdates = 1;
+        for (int tickUpdates : updates) {
+            maxUpdates = Math.max(maxUpdates, tickUpdates);
+        }
+        sender.addChatMessage(new TextComponentString("Network element updates per tick in the last second:"));
+        for (int i = 0; i < updates.length; i++) {
+            sender.addChatMessage(new TextComponentString(String.format("%2d: %s %s (%.3f ms)", i,
+                    Strings.repeat("|", updates[i] * LOAD_BAR_WIDTH / maxUpdates), updates[i], durations[i] / 1000000D)));
+        }
+
+        long coalescedPosts = 0;
+        for (INetwork network : NetworkWorldStorage.getInstance(IntegratedDynamics._instance).getNetworksSnapshot()) {
+            if (network.getEventBus() instanceof ICoalescingNetworkEventBus) {
+                coalescedPosts += ((ICoalescingNetworkEventBus) network.getEventBus()).getCoalescedPostCount();
+            }
+        }
+        sender.addChatMessage(new TextComponentString(String.format("Coalesced network event posts: %s", coalescedPosts)));
+    }
+
+    protected void sendHibernationInfo(ICommandSender sender) {
+        NetworkWorldStorage storage = NetworkWorldStorage.getInstance(IntegratedDynamics._instance);
+        sender.addChatMessage(new TextComponentString(String.format("Networks: %s awake, %s hibernating (hibernation: %s)",
+                storage.getNetworksSnapshot().length, storage.getHibernatingNetworkCount(),
+                GeneralConfig.networkHibernation ? "enabled" : "disabled")));
+    }
+
+    protected void sendExpressionInfo(ICommandSender sender) {
+        int operatorFacades = 0;
+        int operatorNodes = 0;
+        for (INetwork network : NetworkWorldStorage.getInstance(IntegratedDynamics._instance).getNetworksSnapshot()) {
+            IPartNetwork partNetwork = NetworkHelpers.getPartNetwork(network);
+            if (partNetwork instanceof PartNetwork) {
+                ExpressionDag dag = ((PartNetwork) partNetwork).getExpressionDag();
+                if (dag.getOperatorFacadeCount() > 0) {
+                    operatorFacades += dag.getOperatorFacadeCount();
+                    operatorNodes += dag.getOperatorNodeCount();
+                    sender.addChatMessage(new TextComponentString(String.format("Network %s: %s operator variables, %s unique expressions (dedup ratio %.2f)",
+                            network instanceof Network ? ((Network) network).getId() : "?", dag.getOperatorFacadeCount(), dag.getOperatorNodeCount(), dag.getDedupRatio())));
+                }
+            }
+        }
+        sender.addChatMessage(new TextComponentString(String.format("Total: %s operator variables, %s unique expressions (dedup ratio %.2f)",
+                operatorFacades, operatorNodes, operatorNodes == 0 ? 1D : (double) operatorFacades / operatorNodes)));
+    }
+
+    protected void sendFuelInfo(ICommandSender sender) {
+        sender.addChatMessage(new TextComponentString(String.format("Evaluation fuel per network tick: %s",
+                GeneralConfig.evaluationFuelPerTick > 0 ? GeneralConfig.evaluationFuelPerTick : "unlimited")));
+        List<EvaluationFuel.Consumer> consumers = Lists.newArrayList();
+        Map<EvaluationFuel.Consumer, Integer> consumerNetworks = Maps.newIdentityHashMap();
+        for (INetwork network : NetworkWorldStorage.getInstance(IntegratedDynamics._instance).getNetworksSnapshot()) {
+            IPartNetwork partNetwork = NetworkHelpers.getPartNetwork(network);
+            if (partNetwork instanceof PartNetwork) {
+                EvaluationFuel fuel = ((PartNetwork) partNetwork).getEvaluationFuel();
+                int networkId = network instanceof Network ? ((Network) network).getId() : -1;
+                if (fuel.getLastSecondExhaustedTicks() > 0) {
+                    sender.addChatMessage(new TextComponentString(String.format("Network %s: fuel exhausted in %s/%s ticks",
+                            networkId, fuel.getLastSecondExhaustedTicks(), MinecraftHelpers.SECOND_IN_TICKS)));
+                }
+                for (EvaluationFuel.Consumer consumer : fuel.getLastSecondTopConsumers(FUEL_CONSUMERS)) {
+                    consumers.add(consumer);
+                    consumerNetworks.put(consumer, networkId);
+                }
+            }
+        }
+
+        // Show the most expensive expressions of all networks
+        for (EvaluationFuel.Consumer consumer : EvaluationFuel.getTopConsumers(consumers, FUEL_CONSUMERS)) {
+            sender.addChatMessage(new TextComponentString(String.format("Network %s, expression %s (%s): %.1f fuel/tick",
+                    consumerNetworks.get(consumer), consumer.getExpressionId(),
+                    consumer.getOperator().getLocalizedNameFull(), consumer.getFuel() / (double) MinecraftHelpers.SECOND_IN_TICKS)));
+        }
+    }
+
+    protected void sendThrottlingInfo(ICommandSender sender) {
+        TickBudgetGovernor governor = TickHandler.getInstance().getGovernor();
+        sender.addChatMessage(new TextComponentString(String.format("Average tick duration: %.2f ms (throttle threshold: %s)",
+                governor.getAverageTickDuration(), GeneralConfig.throttleTickDuration > 0 ? GeneralConfig.throttleTickDuration + " ms" : "disabled")));
+        sender.addChatMessage(new TextComponentString(String.format("Update interval factor for priority <= %s: %sx",
+                GeneralConfig.throttleMaxPriority, governor.getIntervalFactor())));
+        sender.addChatMessage(new TextComponentString(String.format("Network tick budget: %s; exceeded in %s/%s ticks, %s deferred element updates in the last second",
+                GeneralConfig.networkTickBudget > 0 ? GeneralConfig.networkTickBudget + " ms" : "unlimited",
+                governor.getLastSecondBudgetExceededTicks(), MinecraftHelpers.SECOND_IN_TICKS,
+                governor.getLastSecondDeferredElements())));
+
+        // Show the most expensive networks
+        TIntLongMap durations = governor.getLastSecondNetworkDurations();
+        final int[] networkIds = durations.keys();
+        final long[] networkDurations = new long[networkIds.length];
+        Integer[] order = new Integer[networkIds.length];
+        for (int i = 0; i < networkIds.length; i++) {
+            networkDurations[i] = durations.get(networkIds[i]);
+            order[i] = i;
+        }
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer o1, Integer o2) {
+                return Long.compare(networkDurations[o2], networkDurations[o1]);
+            }
+        });
+        for (int i = 0; i < Math.min(THROTTLING_NETWORKS, order.length); i++) {
+            sender.addChatMessage(new TextComponentString(String.format("Network %s: %.3f ms/tick",
+                    networkIds[order[i]], networkDurations[order[i]] / (double) MinecraftHelpers.SECOND_IN_TICKS / 1000000D)));
+        }
+    }
+
 }
@@ -0,0 +1,266 @@
+package org.cyclops.integrateddynamics.core;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import gnu.trove.iterator.TLongIterator;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import gnu.trove.set.TLongSet;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import org.cyclops.integrateddynamics.GeneralConfig;
+import org.cyclops.integrateddynamics.IntegratedDynamics;
+import org.cyclops.integrateddynamics.api.network.INetwork;
+import org.cyclops.integrateddynamics.api.network.INetworkCarrier;
+import org.cyclops.integrateddynamics.capability.network.NetworkCarrierConfig;
+import org.cyclops.integrateddynamics.core.network.Network;
+import org.cyclops.integrateddynamics.core.path.PackedPositionSet;
+import org.cyclops.integrateddynamics.core.persist.world.NetworkWorldStorage;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Puts networks of which all chunks are unloaded into hibernation, and wakes them up again when one of their chunks is loaded.
+ *
+ * When a chunk is unloaded, the networks that have a carrier in that chunk become hibernation candidates.
+ * At the next network tick, candidates without any path element in a loaded chunk are removed from the updated networks,
+ * and are indexed by the chunks they span.
+ * When one of those chunks is loaded again, the network is woken up,
+ * and all of its elements are revalidated at once before it is updated again.
+ *
+ * @author rubensworks
+ */
+public class NetworkHibernationHandler {
+
+    private static NetworkHibernationHandler INSTANCE;
+
+    private final Set<Network> candidates = Sets.newHashSet();
+    private final Set<Network> wakeQueue = Sets.newLinkedHashSet();
+    private final Map<Network, PackedPositionSet> hibernatingChunks = Maps.newHashMap();
+    private final TIntObjectMap<TLongObjectMap<List<Network>>> chunkIndex = new TIntObjectHashMap<>();
+
+    protected NetworkHibernationHandler() {
+
+    }
+
+    public static NetworkHibernationHandler getInstance() {
+        if(INSTANCE == null) {
+            INSTANCE = new NetworkHibernationHandler();
+        }
+        return INSTANCE;
+    }
+
+    protected static NetworkWorldStorage getStorage() {
+        return NetworkWorldStorage.getInstance(IntegratedDynamics._instance);
+    }
+
+    /**
+     * @param network The network.
+     * @return If the given network is present in the network storage and is updated.
+     */
+    protected boolean isAwake(Network network) {
+        return getStorage().isAwake(network);
+    }
+
+    /**
+     * Stop updating the given network.
+     * @param network The network.
+     */
+    protected void stopUpdating(Network network) {
+        getStorage().hibernateNetwork(network);
+    }
+
+    /**
+     * Start updating the given network again.
+     * @param network The network.
+     * @return If the network was not updated before.
+     */
+    protected boolean startUpdating(Network network) {
+        return getStorage().wakeNetwork(network);
+    }
+
+    /**
+     * Mark the given networks as candidates for hibernation.
+     * They will only hibernate if none of their chunks are loaded at the next network tick.
+     * @param networks The networks.
+     */
+    public synchronized void addCandidates(Collection<INetwork> networks) {
+        for (INetwork network : networks) {
+            if (network instanceof Network) {
+                candidates.add((Network) network);
+            }
+        }
+    }
+
+    /**
+     * Called when the given network has changed, so that it is woken up at the next network tick if it was hibernating.
+     * @param network The network.
+     */
+    public synchronized void onNetworkChanged(Network network) {
+        if (hibernatingChunks.containsKey(network)) {
+            wakeQueue.add(network);
+        }
+    }
+
+    @SubscribeEvent
+    public void onChunkUnload(ChunkEvent.Unload event) {
+        if (!event.getWorld().isRemote && GeneralConfig.networkHibernation) {
+            Chunk chunk = event.getChunk();
+            synchronized (this) {
+                for (TileEntity tile : chunk.getTileEntityMap().values()) {
+                    if (tile.hasCapability(NetworkCarrierConfig.CAPABILITY, null)) {
+                        INetworkCarrier carrier = tile.getCapability(NetworkCarrierConfig.CAPABILITY, null);
+                        if (carrier.getNetwork() instanceof Network) {
+                            candidates.add((Network) carrier.getNetwork());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public void onChunkLoad(ChunkEvent.Load event) {
+        if (!event.getWorld().isRemote) {
+            Chunk chunk = event.getChunk();
+            onChunkLoaded(event.getWorld().provider.getDimension(), ChunkPos.asLong(chunk.xPosition, chunk.zPosition));
+        }
+    }
+
+    /**
+     * Queue the networks that hibernate in the given chunk to be woken up at the next network tick.
+     * @param dimension The dimension id.
+     * @param chunk The chunk position, as {@link ChunkPos#asLong(int, int)}.
+     */
+    public synchronized void onChunkLoaded(int dimension, long chunk) {
+        TLongObjectMap<List<Network>> dimensionChunks = chunkIndex.get(dimension);
+        if (dimensionChunks != null) {
+            List<Network> networks = dimensionChunks.get(chunk);
+            if (networks != null) {
+                wakeQueue.addAll(networks);
+            }
+        }
+    }
+
+    /**
+     * @param network The network.
+     * @return If the given network is hibernating.
+     */
+    public synchronized boolean isHibernating(Network network) {
+        return hibernatingChunks.containsKey(network);
+    }
+
+    /**
+     * Wake up the queued networks, and let the hibernation candidates hibernate.
+     * This must be called on the server thread before networks are updated.
+     */
+    public synchronized void tick() {
+        if (!GeneralConfig.networkHibernation && !hibernatingChunks.isEmpty()) {
+            wakeQueue.addAll(hibernatingChunks.keySet());
+        }
+        if (!wakeQueue.isEmpty()) {
+            for (Network network : wakeQueue) {
+                wake(network);
+            }
+            wakeQueue.clear();
+        }
+        if (!candidates.isEmpty()) {
+            if (GeneralConfig.networkHibernation) {
+                for (Network network : candidates) {
+                    if (!network.isKilled() && !hibernatingChunks.containsKey(network)
+                            && isAwake(network) && !network.isAnyPathElementLoaded()) {
+                        hibernate(network);
+                    }
+                }
+            }
+            candidates.clear();
+        }
+    }
+
+    protected void hibernate(Network network) {
+        PackedPositionSet chunks = network.getChunkPositions();
+        hibernatingChunks.put(network, chunks);
+        for (int dimension : chunks.getDimensions()) {
+            TLongSet dimensionChunkPositions = chunks.getPositions(dimension);
+            if (dimensionChunkPositions != null) {
+                TLongObjectMap<List<Network>> dimensionChunks = chunkIndex.get(dimension);
+                if (dimensionChunks == null) {
+                    dimensionChunks = new TLongObjectHashMap<>();
+                    chunkIndex.put(dimension, dimensionChunks);
+                }
+                for (TLongIterator it = dimensionChunkPositions.iterator(); it.hasNext();) {
+                    long chunk = it.next();
+                    List<Network> networks = dimensionChunks.get(chunk);
+                    if (networks == null) {
+                        networks = Lists.newArrayListWithExpectedSize(1);
+                        dimensionChunks.put(chunk, networks);
+                    }
+                    networks.add(network);
+                }
+            }
+        }
+        stopUpdating(network);
+    }
+
+    protected void wake(Network network) {
+        if (unindex(network) && startUpdating(network)) {
+            network.revalidateElements();
+        }
+    }
+
+    protected boolean unindex(Network network) {
+        PackedPositionSet chunks = hibernatingChunks.remove(network);
+        if (chunks == null) {
+            return false;
+        }
+        for (int dimension : chunks.getDimensions()) {
+            TLongSet dimensionChunkPositions = chunks.getPositions(dimension);
+            TLongObjectMap<List<Network>> dimensionChunks = chunkIndex.get(dimension);
+            if (dimensionChunkPositions != null && dimensionChunks != null) {
+                for (TLongIterator it = dimensionChunkPositions.iterator(); it.hasNext();) {
+                    long chunk = it.next();
+                    List<Network> networks = dimensionChunks.get(chunk);
+                    if (networks != null && networks.remove(network) && networks.isEmpty()) {
+                        dimensionChunks.remove(chunk);
+                    }
+                }
+                if (dimensionChunks.isEmpty()) {
+                    chunkIndex.remove(dimension);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Forget the given network, because it was removed.
+     * @param network The network.
+     */
+    public synchronized void remove(INetwork network) {
+        if (network instanceof Network) {
+            candidates.remove(network);
+            wakeQueue.remove(network);
+            unindex((Network) network);
+        }
+    }
+
+    /**
+     * Forget all networks.
+     */
+    public synchronized void reset() {
+        candidates.clear();
+        wakeQueue.clear();
+        hibernatingChunks.clear();
+        chunkIndex.clear();
+    }
+
+}
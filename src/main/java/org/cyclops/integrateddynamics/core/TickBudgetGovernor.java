@@ -0,0 +1,169 @@
+package org.cyclops.integrateddynamics.core;
+
+import gnu.trove.map.TIntLongMap;
+import gnu.trove.map.hash.TIntLongHashMap;
+import net.minecraft.server.MinecraftServer;
+import org.cyclops.cyclopscore.helper.MinecraftHelpers;
+import org.cyclops.integrateddynamics.GeneralConfig;
+import org.cyclops.integrateddynamics.api.network.INetwork;
+
+/**
+ * Limits the time that is spent on updating networks.
+ *
+ * Each tick, networks are updated in round-robin order until the configured tick budget is exhausted,
+ * after which the remaining due elements are deferred to the next tick.
+ * Once per second, the average server tick duration is checked,
+ * and if it exceeds the configured threshold, the update intervals of low-priority elements are stretched.
+ * This stretching is relaxed again once the server has recovered.
+ *
+ * @author rubensworks
+ */
+public class TickBudgetGovernor {
+
+    private int tick = 0;
+    private int networkOffset = 0;
+    private double averageTickDuration = 0;
+    private int intervalFactor = 1;
+
+    private TIntLongMap networkDurations = new TIntLongHashMap();
+    private int budgetExceededTicks = 0;
+    private int deferredElements = 0;
+
+    private TIntLongMap lastSecondNetworkDurations = new TIntLongHashMap();
+    private int lastSecondBudgetExceededTicks = 0;
+    private int lastSecondDeferredElements = 0;
+
+    /**
+     * Called at the start of each server tick in which networks are updated.
+     * @param server The server.
+     */
+    public void onTickStart(MinecraftServer server) {
+        tick = (tick + 1) % MinecraftHelpers.SECOND_IN_TICKS;
+        if (tick == 0) {
+            averageTickDuration = getAverageTickDuration(server);
+            updateIntervalFactor();
+
+            TIntLongMap durations = lastSecondNetworkDurations;
+            lastSecondNetworkDurations = networkDurations;
+            networkDurations = durations;
+            networkDurations.clear();
+            lastSecondBudgetExceededTicks = budgetExceededTicks;
+            lastSecondDeferredElements = deferredElements;
+            budgetExceededTicks = 0;
+            deferredElements = 0;
+        }
+    }
+
+    protected static double getAverageTickDuration(MinecraftServer server) {
+        long[] tickTimes = server.tickTimeArray;
+        long sum = 0;
+        for (long tickTime : tickTimes) {
+            sum += tickTime;
+        }
+        return tickTimes.length == 0 ? 0 : sum / (double) tickTimes.length / 1000000D;
+    }
+
+    protected void updateIntervalFactor() {
+        int threshold = GeneralConfig.throttleTickDuration;
+        if (threshold <= 0) {
+            intervalFactor = 1;
+        } else if (averageTickDuration > threshold) {
+            intervalFactor = Math.min(intervalFactor * 2, Math.max(1, GeneralConfig.throttleMaxIntervalFactor));
+        } else if (averageTickDuration < threshold * 0.8D) {
+            // Only relax when sufficiently below the threshold, to avoid oscillating around it.
+            intervalFactor = Math.max(1, intervalFactor / 2);
+        }
+    }
+
+    /**
+     * Get the index of the network to start updating at this tick, this rotates every tick.
+     * @param networkCount The number of networks.
+     * @return The index of the first network to update.
+     */
+    public int nextNetworkOffset(int networkCount) {
+        if (networkCount == 0) {
+            return 0;
+        }
+        networkOffset = (networkOffset + 1) % networkCount;
+        return networkOffset;
+    }
+
+    /**
+     * @param tickStartTime The {@link System#nanoTime()} at which the network updates of this tick started.
+     * @return The {@link System#nanoTime()} after which no more network elements may be updated in this tick.
+     */
+    public long getDeadline(long tickStartTime) {
+        int budget = GeneralConfig.networkTickBudget;
+        return budget <= 0 ? Long.MAX_VALUE : tickStartTime + budget * 1000000L;
+    }
+
+    /**
+     * Called after a network was updated.
+     * @param network The network.
+     * @param duration The duration of the update in nanoseconds.
+     * @param deferred The number of elements that were deferred to the next tick.
+     */
+    public void onNetworkUpdated(INetwork network, long duration, int deferred) {
+        networkDurations.adjustOrPutValue(network.hashCode(), duration, duration);
+        deferredElements += deferred;
+    }
+
+    /**
+     * Called after all networks were updated in a tick.
+     * @param budgetExceeded If the tick budget was exceeded.
+     */
+    public void onTickEnd(boolean budgetExceeded) {
+        if (budgetExceeded) {
+            budgetExceededTicks++;
+        }
+    }
+
+    /**
+     * Stretch the given update interval if the element can be throttled.
+     * @param interval The update interval of an element.
+     * @param priority The priority of the element.
+     * @return The update interval to use.
+     */
+    public int stretchUpdateInterval(int interval, int priority) {
+        if (intervalFactor > 1 && priority <= GeneralConfig.throttleMaxPriority) {
+            return interval * intervalFactor;
+        }
+        return interval;
+    }
+
+    /**
+     * @return The average server tick duration in milliseconds, as measured at the last second.
+     */
+    public double getAverageTickDuration() {
+        return averageTickDuration;
+    }
+
+    /**
+     * @return The factor by which update intervals of low-priority elements are currently stretched.
+     */
+    public int getIntervalFactor() {
+        return intervalFactor;
+    }
+
+    /**
+     * @return The total update durations of networks in the last second in nanoseconds, by network id.
+     */
+    public TIntLongMap getLastSecondNetworkDurations() {
+        return lastSecondNetworkDurations;
+    }
+
+    /**
+     * @return The number of ticks in the last second in which the tick budget was exceeded.
+     */
+    public int getLastSecondBudgetExceededTicks() {
+        return lastSecondBudgetExceededTicks;
+    }
+
+    /**
+     * @return The number of element updates in the last second that were deferred to a next tick.
+     */
+    public int getLastSecondDeferredElements() {
+        return lastSecondDeferredElements;
+    }
+
+}
@@ -1,10 +1,14 @@
 package org.cyclops.integrateddynamics.core;
 
+import net.minecraftforge.fml.common.FMLCommonHandler;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent;
 import org.cyclops.cyclopscore.helper.MinecraftHelpers;
+import org.cyclops.integrateddynamics.GeneralConfig;
 import org.cyclops.integrateddynamics.IntegratedDynamics;
+import org.cyclops.integrateddynamics.api.network.IBudgetedNetwork;
 import org.cyclops.integrateddynamics.api.network.INetwork;
+import org.cyclops.integrateddynamics.core.network.ParallelNetworkEvaluator;
 import org.cyclops.integrateddynamics.core.network.diagnostics.NetworkDiagnostics;
 import org.cyclops.integrateddynamics.core.persist.world.NetworkWorldStorage;
 
@@ -17,6 +21,8 @@ public final class TickHandler {
     private static TickHandler INSTANCE;
     private int tick = 0;
     private boolean shouldCrash = false;
+    private final TickBudgetGovernor governor = new TickBudgetGovernor();
+    private final TickLoadHistogram loadHistogram = new TickLoadHistogram();
 
     private TickHandler() {
 
@@ -29,6 +35,20 @@ public final class TickHandler {
         return INSTANCE;
     }
 
+    /**
+     * @return The governor that limits the time spent on updating networks.
+     */
+    public TickBudgetGovernor getGovernor() {
+        return governor;
+    }
+
+    /**
+     * @return The histogram of the network update load over the ticks of the last second.
+     */
+    public TickLoadHistogram getLoadHistogram() {
+        return loadHistogram;
+    }
+
     public void setShouldCrash() {
         this.shouldCrash = true;
     }
@@ -44,20 +64,44 @@ public final class TickHandler {
                 tick = (tick + 1) % MinecraftHelpers.SECOND_IN_TICKS;
             }
             boolean shouldSendTickDurationInfo = isBeingDiagnozed && tick == 0;
-            for(INetwork network : NetworkWorldStorage.getInstance(IntegratedDynamics._instance).getNetworks()) {
+            NetworkHibernationHandler.getInstance().tick();
+            INetwork[] networks = NetworkWorldStorage.getInstance(IntegratedDynamics._instance).getNetworksSnapshot();
+            if (GeneralConfig.parallelNetworkEvaluation) {
+                ParallelNetworkEvaluator.getInstance().prepareAndEvaluate(networks);
+            }
+            governor.onTickStart(FMLCommonHandler.instance().getMinecraftServerInstance());
+            loadHistogram.onTickStart();
+            long startTime = System.nanoTime();
+            long deadline = governor.getDeadline(startTime);
+            // Start at a different network each tick, so that the same networks are not always deferred.
+            int offset = governor.nextNetworkOffset(networks.length);
+            for (int i = 0; i < networks.length; i++) {
+                INetwork network = networks[(offset + i) % networks.length];
                 if (isBeingDiagnozed && (shouldSendTickDurationInfo || network.hasChanged())) {
                     NetworkDiagnostics.getInstance().sendNetworkUpdate(network);
                     network.resetLastSecondDurations();
                 }
                 try {
                     if (!network.isCrashed()) {
-                        network.update();
+                        long networkStartTime = System.nanoTime();
+                        int deferred = 0;
+                        int updated = 0;
+                        if (network instanceof IBudgetedNetwork) {
+                            deferred = ((IBudgetedNetwork) network).update(deadline);
+                            updated = ((IBudgetedNetwork) network).getLastUpdatedElementCount();
+                        } else {
+                            network.update();
+                        }
+                        long duration = System.nanoTime() - networkStartTime;
+                        governor.onNetworkUpdated(network, duration, deferred);
+                        loadHistogram.add(updated, duration);
                     }
                 } catch (RuntimeException e) {
                     network.setCrashed(true);
                     throw e;
                 }
             }
+            governor.onTickEnd(System.nanoTime() > deadline);
         }
     }
 
@@ -0,0 +1,61 @@
+package org.cyclops.integrateddynamics.core;
+
+import org.cyclops.cyclopscore.helper.MinecraftHelpers;
+
+/**
+ * Keeps track of the number of network element updates and the network update duration
+ * for each tick within the last second.
+ * When element updates are spread well, all ticks will have a similar load,
+ * while periodic spikes show up as a few ticks with a much higher load.
+ * @author rubensworks
+ */
+public class TickLoadHistogram {
+
+    private int tick = 0;
+    private int[] updates = new int[MinecraftHelpers.SECOND_IN_TICKS];
+    private long[] durations = new long[MinecraftHelpers.SECOND_IN_TICKS];
+    private int[] lastSecondUpdates = new int[MinecraftHelpers.SECOND_IN_TICKS];
+    private long[] lastSecondDurations = new long[MinecraftHelpers.SECOND_IN_TICKS];
+
+    /**
+     * Called at the start of each server tick in which networks are updated.
+     */
+    public void onTickStart() {
+        tick = (tick + 1) % MinecraftHelpers.SECOND_IN_TICKS;
+        if (tick == 0) {
+            int[] updates = this.lastSecondUpdates;
+            this.lastSecondUpdates = this.updates;
+            this.updates = updates;
+            long[] durations = this.lastSecondDurations;
+            this.lastSecondDurations = this.durations;
+            this.durations = durations;
+        }
+        this.updates[tick] = 0;
+        this.durations[tick] = 0;
+    }
+
+    /**
+     * Add the load of a network update to the current tick.
+     * @param updatedElements The number of updated network elements.
+     * @param duration The update duration in nanoseconds.
+     */
+    public void add(int updatedElements, long duration) {
+        updates[tick] += updatedElements;
+        durations[tick] += duration;
+    }
+
+    /**
+     * @return The number of network element updates for each tick in the last second.
+     */
+    public int[] getLastSecondUpdates() {
+        return lastSecondUpdates;
+    }
+
+    /**
+     * @return The network update durations in nanoseconds for each tick in the last second.
+     */
+    public long[] getLastSecondDurations() {
+        return lastSecondDurations;
+    }
+
+}
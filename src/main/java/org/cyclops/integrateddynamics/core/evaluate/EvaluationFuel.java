@@ -0,0 +1,256 @@
+package org.cyclops.integrateddynamics.core.evaluate;
+
+import com.google.common.collect.Lists;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import org.cyclops.cyclopscore.helper.L10NHelpers;
+import org.cyclops.cyclopscore.helper.MinecraftHelpers;
+import org.cyclops.integrateddynamics.GeneralConfig;
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.operator.IOperator;
+import org.cyclops.integrateddynamics.core.helper.L10NValues;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Limits the amount of work that the expressions of a network can do in a single tick.
+ *
+ * Each operator evaluation and each element retrieval from a list costs one unit of fuel,
+ * which is taken from the fuel of the network of which an expression is being evaluated on the current thread.
+ * Once the fuel of a network is exhausted, all further evaluations of that network fail with an {@link EvaluationException},
+ * until the fuel is refilled at the start of the next tick of that network.
+ * Evaluations outside of a network, such as the ones in guis, are not limited.
+ *
+ * The fuel consumption of each expression is kept over the last second for diagnostics,
+ * this includes the consumption of the nested expressions that it evaluated.
+ * @author rubensworks
+ */
+public class EvaluationFuel {
+
+    private static final ThreadLocal<EvaluationFuel> CURRENT = new ThreadLocal<>();
+
+    private long capacity = Long.MAX_VALUE;
+    private long remaining = Long.MAX_VALUE;
+    private long consumed = 0;
+    private boolean exhausted = false;
+
+    private int tick = 0;
+    private int exhaustedTicks = 0;
+    private TIntObjectMap<Consumer> consumers = new TIntObjectHashMap<>();
+    private int lastSecondExhaustedTicks = 0;
+    private TIntObjectMap<Consumer> lastSecondConsumers = new TIntObjectHashMap<>();
+
+    /**
+     * Take one unit of fuel from the fuel of the expression that is being evaluated on the current thread.
+     * @throws EvaluationException If that fuel is exhausted.
+     */
+    public static void consumeCurrent() throws EvaluationException {
+        EvaluationFuel fuel = CURRENT.get();
+        if (fuel != null) {
+            fuel.consume(1);
+        }
+    }
+
+    /**
+     * @return If the fuel of the expression that is being evaluated on the current thread is exhausted.
+     */
+    public static boolean isCurrentExhausted() {
+        EvaluationFuel fuel = CURRENT.get();
+        return fuel != null && fuel.isExhausted();
+    }
+
+    /**
+     * Use this fuel for all evaluations on the current thread, until {@link #exit(EvaluationFuel)} is called.
+     * @return The fuel that was used before, which must be passed to {@link #exit(EvaluationFuel)}.
+     */
+    public EvaluationFuel enter() {
+        EvaluationFuel previous = CURRENT.get();
+        if (previous != this) {
+            CURRENT.set(this);
+        }
+        return previous;
+    }
+
+    /**
+     * Restore the fuel that was used before calling {@link #enter()}.
+     * @param previous The fuel that was returned by {@link #enter()}.
+     */
+    public static void exit(EvaluationFuel previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else if (CURRENT.get() != previous) {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Take the given amount of fuel.
+     * @param units The amount of fuel.
+     * @throws EvaluationException If the fuel is exhausted.
+     */
+    public void consume(int units) throws EvaluationException {
+        consumed += units;
+        if (exhausted || remaining < units) {
+            if (!exhausted) {
+                exhausted = true;
+                exhaustedTicks++;
+            }
+            remaining = 0;
+            throw newExhaustedException();
+        }
+        remaining -= units;
+    }
+
+    /**
+     * Fuel exhaustion may be swallowed by operators that catch evaluation errors, so this must be checked after an evaluation.
+     * @throws EvaluationException If the fuel is exhausted.
+     */
+    public void checkExhausted() throws EvaluationException {
+        if (exhausted) {
+            throw newExhaustedException();
+        }
+    }
+
+    protected EvaluationException newExhaustedException() {
+        return new EvaluationException(new L10NHelpers.UnlocalizedString(L10NValues.OPERATOR_ERROR_FUELEXHAUSTED,
+                Long.toString(capacity)).localize());
+    }
+
+    /**
+     * @return If the fuel is exhausted.
+     */
+    public boolean isExhausted() {
+        return exhausted;
+    }
+
+    /**
+     * @return The total amount of fuel that was consumed, this can be used to measure the consumption of an evaluation.
+     */
+    public long getConsumed() {
+        return consumed;
+    }
+
+    /**
+     * Refill the fuel to the configured amount per tick.
+     * This must be called at the start of each network tick.
+     */
+    public void refill() {
+        capacity = GeneralConfig.evaluationFuelPerTick > 0 ? GeneralConfig.evaluationFuelPerTick : Long.MAX_VALUE;
+        remaining = capacity;
+        exhausted = false;
+
+        tick = (tick + 1) % MinecraftHelpers.SECOND_IN_TICKS;
+        if (tick == 0) {
+            TIntObjectMap<Consumer> previousConsumers = lastSecondConsumers;
+            lastSecondConsumers = consumers;
+            consumers = previousConsumers;
+            consumers.clear();
+            lastSecondExhaustedTicks = exhaustedTicks;
+            exhaustedTicks = 0;
+        }
+    }
+
+    /**
+     * Register the fuel consumption of an expression.
+     * @param expressionId The expression id.
+     * @param operator The operator of the expression.
+     * @param fuel The consumed amount of fuel.
+     */
+    public void record(int expressionId, IOperator operator, long fuel) {
+        Consumer consumer = consumers.get(expressionId);
+        if (consumer == null) {
+            consumers.put(expressionId, consumer = new Consumer(expressionId, operator));
+        }
+        consumer.fuel += fuel;
+    }
+
+    /**
+     * @return The number of ticks in the last second in which the fuel was exhausted.
+     */
+    public int getLastSecondExhaustedTicks() {
+        return lastSecondExhaustedTicks;
+    }
+
+    /**
+     * @param count The maximum number of consumers.
+     * @return The expressions that consumed the most fuel in the last second, ordered by decreasing consumption.
+     */
+    public List<Consumer> getLastSecondTopConsumers(int count) {
+        return getTopConsumers(Lists.newArrayList(lastSecondConsumers.valueCollection()), count);
+    }
+
+    /**
+     * @param consumers Fuel consumers.
+     * @param count The maximum number of consumers.
+     * @return The consumers that consumed the most fuel, ordered by decreasing consumption.
+     */
+    public static List<Consumer> getTopConsumers(List<Consumer> consumers, int count) {
+        Collections.sort(consumers, new Comparator<Consumer>() {
+            @Override
+            public int compare(Consumer o1, Consumer o2) {
+                return Long.compare(o2.getFuel(), o1.getFuel());
+            }
+        });
+        return consumers.size() > count ? consumers.subList(0, count) : consumers;
+    }
+
+    /**
+     * The fuel consumption of an expression.
+     */
+    public static class Consumer {
+
+        private final int expressionId;
+        private final IOperator operator;
+        private long fuel = 0;
+
+        public Consumer(int expressionId, IOperator operator) {
+            this.expressionId = expressionId;
+            this.operator = operator;
+        }
+
+        public int getExpressionId() {
+            return expressionId;
+        }
+
+        public IOperator getOperator() {
+            return operator;
+        }
+
+        public long getFuel() {
+            return fuel;
+        }
+    }
+
+    /**
+     * Thrown when the fuel is exhausted in code that can not throw an {@link EvaluationException}, such as list iterators.
+     * Evaluations convert this back into its {@link EvaluationException}.
+     */
+    public static class ExhaustedException extends RuntimeException {
+
+        public ExhaustedException(EvaluationException cause) {
+            super(cause.getMessage(), cause);
+        }
+
+        /**
+         * @return The exception that was thrown when the fuel was exhausted.
+         */
+        public EvaluationException getEvaluationException() {
+            return (EvaluationException) getCause();
+        }
+    }
+
+    /**
+     * Holder of evaluation fuel, such as a network.
+     */
+    public static interface IProvider {
+
+        /**
+         * @return The fuel for evaluating expressions.
+         */
+        public EvaluationFuel getEvaluationFuel();
+
+    }
+
+}
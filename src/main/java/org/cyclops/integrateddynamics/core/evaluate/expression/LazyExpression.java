@@ -3,46 +3,190 @@ package org.cyclops.integrateddynamics.core.evaluate.expression;
 import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
 import org.cyclops.integrateddynamics.api.evaluate.expression.IExpression;
 import org.cyclops.integrateddynamics.api.evaluate.expression.ILazyExpressionValueCache;
+import org.cyclops.integrateddynamics.api.evaluate.operator.IBoundOperator;
 import org.cyclops.integrateddynamics.api.evaluate.operator.IOperator;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IVersionedVariable;
+import org.cyclops.integrateddynamics.core.evaluate.EvaluationFuel;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueHelpers;
+import org.cyclops.integrateddynamics.core.evaluate.variable.VariableVersions;
 
 /**
  * A generic expression with arbitrarily nested binary operations.
  * This is evaluated in a lazy manner.
+ *
+ * If all inputs are versioned and have memoizable types, the last result is kept across evaluations,
+ * and is only recalculated when the version of one of the inputs has changed.
+ * The version of such expressions is derived from the versions of its inputs, without evaluating the operator.
+ * Other expressions get a new version for each evaluation, which stays the same as long as the result is cached.
+ *
+ * The operator is bound to the input types on the first evaluation, so that the types are not validated on each evaluation.
+ *
+ * If the value cache provides {@link EvaluationFuel}, evaluations consume that fuel.
  * @author rubensworks
  */
-public class LazyExpression<V extends IValue> implements IExpression<V> {
+public class LazyExpression<V extends IValue> implements IExpression<V>, IVersionedVariable<V> {
 
     private final int id;
     private final IOperator op;
     private final IVariable[] input;
     private final ILazyExpressionValueCache valueCache;
+    private final EvaluationFuel fuel;
     private boolean errored = false;
+    private Boolean memoizable = null;
+    private final long[] inputVersions;
+    private IValue memo = null;
+    // If no value has been retrieved for the current version yet.
+    private boolean versionAhead = true;
+    private long version = VariableVersions.next();
+    private IBoundOperator boundOperator = null;
 
     public LazyExpression(int id, IOperator op, IVariable[] input, ILazyExpressionValueCache valueCache) {
         this.id = id;
         this.op = op;
         this.input = input;
         this.valueCache = valueCache;
+        this.fuel = valueCache instanceof EvaluationFuel.IProvider
+                ? ((EvaluationFuel.IProvider) valueCache).getEvaluationFuel() : null;
+        this.inputVersions = new long[input.length];
+    }
+
+    /**
+     * @return The operator of this expression.
+     */
+    public IOperator getOperator() {
+        return op;
+    }
+
+    /**
+     * @return The input variables of this expression.
+     */
+    public IVariable[] getInput() {
+        return input;
     }
 
     @Override
     public IValue evaluate() throws EvaluationException {
         if(valueCache.hasValue(id)) {
-            return valueCache.getValue(id);
+            IValue value = valueCache.getValue(id);
+            // The value may have been calculated by a structurally equal expression.
+            if(value != memo) {
+                setMemo(value);
+            }
+            return value;
+        }
+        IValue value;
+        if(isMemoizable()) {
+            boolean inputsChanged = updateInputVersions();
+            if(memo == null || versionAhead || inputsChanged) {
+                try {
+                    value = evaluateOperator();
+                } catch (EvaluationException e) {
+                    memo = null;
+                    versionAhead = false;
+                    version = VariableVersions.next();
+                    throw e;
+                }
+                setMemo(value);
+            } else {
+                value = memo;
+            }
+        } else {
+            value = evaluateOperator();
+            setMemo(value);
         }
-        IValue value = op.evaluate(input);
         valueCache.setValue(id, value);
         return value;
     }
 
+    protected IValue evaluateOperator() throws EvaluationException {
+        if(boundOperator == null) {
+            boundOperator = ValueHelpers.bindOperator(op, ValueHelpers.from(input));
+        }
+        try {
+            if(fuel == null) {
+                return boundOperator.evaluate(input);
+            }
+            EvaluationFuel previousFuel = fuel.enter();
+            long consumed = fuel.getConsumed();
+            try {
+                IValue value = boundOperator.evaluate(input);
+                fuel.checkExhausted();
+                return value;
+            } finally {
+                fuel.record(id, op, fuel.getConsumed() - consumed);
+                EvaluationFuel.exit(previousFuel);
+            }
+        } catch (EvaluationFuel.ExhaustedException e) {
+            // Exhaustion within list iterators can only be thrown unchecked.
+            throw e.getEvaluationException();
+        }
+    }
+
+    protected void setMemo(IValue value) {
+        // No value has been retrieved for the current version yet, so that version can be used for this value.
+        if(!versionAhead && (memo == null || !isMemoizable()
+                || !VariableVersions.isMemoizable(value.getType()) || !value.equals(memo))) {
+            version = VariableVersions.next();
+        }
+        versionAhead = false;
+        memo = value;
+    }
+
+    /**
+     * @return If the result of this expression can be reused as long as the input versions do not change.
+     */
+    protected boolean isMemoizable() {
+        if(memoizable == null) {
+            boolean allMemoizable = true;
+            for(IVariable variable : input) {
+                if(!(variable instanceof IVersionedVariable) || !VariableVersions.isMemoizable(variable.getType())) {
+                    allMemoizable = false;
+                    break;
+                }
+            }
+            memoizable = allMemoizable;
+        }
+        return memoizable;
+    }
+
+    /**
+     * Store the current versions of all inputs.
+     * @return If any of these versions differs from the previously stored version.
+     */
+    protected boolean updateInputVersions() {
+        boolean changed = false;
+        for(int i = 0; i < input.length; i++) {
+            long inputVersion = ((IVersionedVariable) input[i]).getVersion();
+            if(inputVersions[i] != inputVersion) {
+                inputVersions[i] = inputVersion;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
     @Override
     public boolean hasErrored() {
         return errored;
     }
 
+    @Override
+    public long getVersion() {
+        if(!isMemoizable()) {
+            // Without memoization, only the result that is cached for the current tick is known to be unchanged.
+            return valueCache.hasValue(id) ? version : VariableVersions.next();
+        }
+        if(updateInputVersions() && !versionAhead) {
+            // The result may have changed, it is only evaluated when it is actually needed.
+            version = VariableVersions.next();
+            versionAhead = true;
+        }
+        return version;
+    }
+
     @Override
     public IValueType<V> getType() {
         return op.getConditionalOutputType(input);
@@ -21,6 +21,7 @@ import java.util.Objects;
 public class CombinedOperator extends OperatorBase {
 
     private final String unlocalizedType;
+    private FusedOperator fusedOperator = null;
 
     public CombinedOperator(String symbol, String operatorName, OperatorsFunction function, IValueType outputType) {
         this(symbol, operatorName, function, new IValueType[]{ValueTypes.CATEGORY_ANY}, outputType, IConfigRenderPattern.PREFIX_1);
@@ -43,6 +44,27 @@ public class CombinedOperator extends OperatorBase {
         return this;
     }
 
+    /**
+     * @return This operator, fused with all nested combined and curried operators.
+     */
+    public FusedOperator getFusedOperator() {
+        // Fused operators are immutable, so a concurrent replacement of this field is harmless.
+        if (fusedOperator == null) {
+            fusedOperator = new FusedOperator(this);
+        }
+        return fusedOperator;
+    }
+
+    @Override
+    protected IValue evaluateValidated(SafeVariablesGetter variables) throws EvaluationException {
+        return getFusedOperator().evaluateValidated(variables.getVariables());
+    }
+
+    /**
+     * A function over other operators.
+     * Combined operators are evaluated by their {@link FusedOperator},
+     * so these functions are only used when they are evaluated directly.
+     */
     public static abstract class OperatorsFunction implements IFunction {
 
         private final IOperator[] operators;
@@ -5,12 +5,15 @@ import net.minecraft.nbt.NBTException;
 import net.minecraft.nbt.NBTTagCompound;
 import org.cyclops.cyclopscore.helper.L10NHelpers;
 import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.operator.IBindableOperator;
+import org.cyclops.integrateddynamics.api.evaluate.operator.IBoundOperator;
 import org.cyclops.integrateddynamics.api.evaluate.operator.IOperator;
 import org.cyclops.integrateddynamics.api.evaluate.operator.IOperatorSerializer;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
 import org.cyclops.integrateddynamics.api.logicprogrammer.IConfigRenderPattern;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueHelpers;
 import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypes;
 import org.cyclops.integrateddynamics.core.evaluate.variable.Variable;
 import org.cyclops.integrateddynamics.core.helper.L10NValues;
@@ -23,16 +26,42 @@ import java.util.Objects;
  * An operator that is partially being applied.
  * @author rubensworks
  */
-public class CurriedOperator implements IOperator {
+public class CurriedOperator implements IBindableOperator {
 
     private final IOperator baseOperator;
     private final IVariable appliedVariable;
+    private FusedOperator fusedOperator = null;
 
     public CurriedOperator(IOperator baseOperator, IVariable appliedVariable) {
         this.baseOperator = baseOperator;
         this.appliedVariable = appliedVariable;
     }
 
+    /**
+     * @return The operator that is partially being applied.
+     */
+    public IOperator getBaseOperator() {
+        return baseOperator;
+    }
+
+    /**
+     * @return The variable that is applied as first input of the base operator.
+     */
+    public IVariable getAppliedVariable() {
+        return appliedVariable;
+    }
+
+    /**
+     * @return This operator, fused with all nested combined and curried operators.
+     */
+    public FusedOperator getFusedOperator() {
+        // Fused operators are immutable, so a concurrent replacement of this field is harmless.
+        if (fusedOperator == null) {
+            fusedOperator = new FusedOperator(this);
+        }
+        return fusedOperator;
+    }
+
     protected String getAppliedSymbol() {
         return appliedVariable.getType().getTypeName();
     }
@@ -106,7 +135,7 @@ public class CurriedOperator implements IOperator {
 
     @Override
     public IValue evaluate(IVariable[] input) throws EvaluationException {
-        return baseOperator.evaluate(deriveFullInputVariables(input));
+        return getFusedOperator().evaluate(input);
     }
 
     @Override
@@ -119,6 +148,11 @@ public class CurriedOperator implements IOperator {
         return baseOperator.validateTypes(deriveFullInputTypes(input));
     }
 
+    @Override
+    public IBoundOperator bind(IValueType[] input) throws EvaluationException {
+        return new Bound(this, input.clone(), ValueHelpers.bindOperator(baseOperator, deriveFullInputTypes(input)));
+    }
+
     @Override
     public IConfigRenderPattern getRenderPattern() {
         return IConfigRenderPattern.NONE;
@@ -129,6 +163,40 @@ public class CurriedOperator implements IOperator {
         return new CurriedOperator(baseOperator, new Variable(appliedVariable.getType(), appliedVariable.getValue()));
     }
 
+    /**
+     * A curried operator of which the base operator is bound to the applied variable and the partial input types.
+     */
+    public static class Bound implements IBoundOperator {
+
+        private final CurriedOperator operator;
+        private final IValueType[] inputTypes;
+        private final IBoundOperator baseBound;
+
+        public Bound(CurriedOperator operator, IValueType[] inputTypes, IBoundOperator baseBound) {
+            this.operator = operator;
+            this.inputTypes = inputTypes;
+            this.baseBound = baseBound;
+        }
+
+        @Override
+        public IOperator getOperator() {
+            return operator;
+        }
+
+        @Override
+        public IValueType[] getInputTypes() {
+            return inputTypes;
+        }
+
+        @Override
+        public IValue evaluate(IVariable[] input) throws EvaluationException {
+            if(!ValueHelpers.hasTypes(input, inputTypes)) {
+                return operator.evaluate(input);
+            }
+            return baseBound.evaluate(operator.deriveFullInputVariables(input));
+        }
+    }
+
     public static class Serializer implements IOperatorSerializer<CurriedOperator> {
 
         @Override
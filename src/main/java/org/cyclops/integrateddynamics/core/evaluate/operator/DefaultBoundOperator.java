@@ -0,0 +1,55 @@
+package org.cyclops.integrateddynamics.core.evaluate.operator;
+
+import org.cyclops.cyclopscore.helper.L10NHelpers;
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.operator.IBoundOperator;
+import org.cyclops.integrateddynamics.api.evaluate.operator.IOperator;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
+
+/**
+ * A bound operator for operators that can not be bound themselves.
+ * The input types are validated when binding, but each evaluation still goes through {@link IOperator#evaluate(IVariable[])}.
+ * @author rubensworks
+ */
+public class DefaultBoundOperator implements IBoundOperator {
+
+    private final IOperator operator;
+    private final IValueType[] inputTypes;
+
+    protected DefaultBoundOperator(IOperator operator, IValueType[] inputTypes) {
+        this.operator = operator;
+        this.inputTypes = inputTypes;
+    }
+
+    /**
+     * Bind the given operator to the given input types.
+     * @param operator The operator.
+     * @param input The ordered input value types.
+     * @return The bound operator.
+     * @throws EvaluationException If the input value types are invalid for this operator.
+     */
+    public static IBoundOperator bind(IOperator operator, IValueType[] input) throws EvaluationException {
+        L10NHelpers.UnlocalizedString error = operator.validateTypes(input);
+        if(error != null) {
+            throw new EvaluationException(error.localize());
+        }
+        return new DefaultBoundOperator(operator, input.clone());
+    }
+
+    @Override
+    public IOperator getOperator() {
+        return operator;
+    }
+
+    @Override
+    public IValueType[] getInputTypes() {
+        return inputTypes;
+    }
+
+    @Override
+    public IValue evaluate(IVariable[] input) throws EvaluationException {
+        return operator.evaluate(input);
+    }
+}
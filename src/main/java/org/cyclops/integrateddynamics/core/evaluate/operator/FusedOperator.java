@@ -0,0 +1,424 @@
+package org.cyclops.integrateddynamics.core.evaluate.operator;
+
+import org.cyclops.cyclopscore.helper.L10NHelpers;
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.operator.IBoundOperator;
+import org.cyclops.integrateddynamics.api.evaluate.operator.IOperator;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
+import org.cyclops.integrateddynamics.core.evaluate.EvaluationFuel;
+import org.cyclops.integrateddynamics.core.evaluate.variable.MutableVariable;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueHelpers;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeBoolean;
+
+/**
+ * A tree of combined and curried operators that is flattened into a single evaluator.
+ *
+ * Pipes, flips, conjunctions, disjunctions, negations and curried operators are evaluated by the nodes of this tree,
+ * so that only the remaining leaf operators are evaluated, as bound operators.
+ * Intermediate values are passed through argument buffers that are reused within an {@link Evaluator},
+ * instead of wrapping each intermediate value in a new variable and array.
+ *
+ * Each node validates its input types and consumes one unit of evaluation fuel,
+ * like the operator it represents would when evaluated directly.
+ * The validated input types of each node are kept, so that these are only validated again when they change.
+ *
+ * Fused operators are immutable and can be shared, evaluators can only be used by one thread at a time.
+ * Each thread reuses one evaluator per fused operator, unless that evaluator is already in use by a reentrant evaluation.
+ * @author rubensworks
+ */
+public class FusedOperator {
+
+    private final IOperator operator;
+    private final INode root;
+    private final int slots;
+    private final ThreadLocal<Evaluator> evaluators = new ThreadLocal<>();
+
+    protected FusedOperator(IOperator operator) {
+        this.operator = operator;
+        int[] slots = new int[]{0};
+        this.root = compile(operator, slots);
+        this.slots = slots[0];
+    }
+
+    /**
+     * Fuse the given operator.
+     * @param operator An operator.
+     * @return The fused operator.
+     */
+    public static FusedOperator fuse(IOperator operator) {
+        if (operator instanceof CombinedOperator) {
+            return ((CombinedOperator) operator).getFusedOperator();
+        }
+        if (operator instanceof CurriedOperator) {
+            return ((CurriedOperator) operator).getFusedOperator();
+        }
+        return new FusedOperator(operator);
+    }
+
+    protected static INode compile(IOperator operator, int[] slots) {
+        if (operator instanceof CurriedOperator) {
+            CurriedOperator curriedOperator = (CurriedOperator) operator;
+            return new CurriedNode(curriedOperator.getBaseOperator(), curriedOperator.getAppliedVariable(),
+                    compile(curriedOperator.getBaseOperator(), slots), slots[0]++);
+        }
+        if (operator instanceof CombinedOperator) {
+            OperatorBase.IFunction function = ((CombinedOperator) operator).getFunction();
+            if (function instanceof CombinedOperator.OperatorsFunction) {
+                IOperator[] operators = ((CombinedOperator.OperatorsFunction) function).getOperators();
+                INode[] children = new INode[operators.length];
+                for (int i = 0; i < operators.length; i++) {
+                    children[i] = compile(operators[i], slots);
+                }
+                if (function instanceof CombinedOperator.Pipe) {
+                    return new PipeNode(operator, children, slots[0]++);
+                } else if (function instanceof CombinedOperator.Flip) {
+                    return new FlipNode(operator, children[0], slots[0]++);
+                } else if (function instanceof CombinedOperator.Conjunction) {
+                    return new ConjunctionNode(operator, children);
+                } else if (function instanceof CombinedOperator.Disjunction) {
+                    return new DisjunctionNode(operator, children);
+                } else if (function instanceof CombinedOperator.Negation) {
+                    return new NegationNode(operator, children[0]);
+                }
+            }
+        }
+        return new LeafNode(operator);
+    }
+
+    /**
+     * @return The operator that was fused.
+     */
+    public IOperator getOperator() {
+        return operator;
+    }
+
+    /**
+     * @return A new evaluator, which can be reused for multiple evaluations.
+     */
+    public Evaluator newEvaluator() {
+        return new Evaluator(this);
+    }
+
+    /**
+     * @return The evaluator of the current thread, or a new evaluator if that one is already in use.
+     *         This must be released with {@link #releaseEvaluator(Evaluator)}.
+     */
+    protected Evaluator acquireEvaluator() {
+        Evaluator evaluator = evaluators.get();
+        if (evaluator == null) {
+            evaluators.set(evaluator = newEvaluator());
+        } else if (evaluator.inUse) {
+            return newEvaluator();
+        }
+        evaluator.inUse = true;
+        return evaluator;
+    }
+
+    protected void releaseEvaluator(Evaluator evaluator) {
+        evaluator.inUse = false;
+    }
+
+    /**
+     * Evaluate the given input with the evaluator of the current thread.
+     * @param input The ordered input variables.
+     * @return The output value.
+     * @throws EvaluationException If something went wrong during operator evaluation.
+     */
+    public IValue evaluate(IVariable[] input) throws EvaluationException {
+        Evaluator evaluator = acquireEvaluator();
+        try {
+            return evaluator.evaluate(input);
+        } finally {
+            releaseEvaluator(evaluator);
+        }
+    }
+
+    /**
+     * Evaluate the given single input value with the evaluator of the current thread.
+     * @param value The input value.
+     * @return The output value.
+     * @throws EvaluationException If something went wrong during operator evaluation.
+     */
+    public IValue evaluate(IValue value) throws EvaluationException {
+        Evaluator evaluator = acquireEvaluator();
+        try {
+            return evaluator.evaluate(value);
+        } finally {
+            releaseEvaluator(evaluator);
+        }
+    }
+
+    /**
+     * Evaluate the given input of which the types were already validated for the fused operator,
+     * and for which fuel was already consumed, with the evaluator of the current thread.
+     * @param input The ordered input variables.
+     * @return The output value.
+     * @throws EvaluationException If something went wrong during operator evaluation.
+     */
+    protected IValue evaluateValidated(IVariable[] input) throws EvaluationException {
+        Evaluator evaluator = acquireEvaluator();
+        try {
+            return root instanceof CombinedNode
+                    ? ((CombinedNode) root).evaluateFused(evaluator, input)
+                    : root.evaluate(evaluator, input);
+        } finally {
+            releaseEvaluator(evaluator);
+        }
+    }
+
+    /**
+     * Holds the argument buffers of a fused operator.
+     */
+    public static class Evaluator {
+
+        private final FusedOperator fusedOperator;
+        private final MutableVariable unaryVariable = new MutableVariable();
+        private final IVariable[] unaryInput = new IVariable[]{unaryVariable};
+        private IVariable[][] arrays = null;
+        private MutableVariable[] variables = null;
+        private boolean inUse = false;
+
+        protected Evaluator(FusedOperator fusedOperator) {
+            this.fusedOperator = fusedOperator;
+        }
+
+        /**
+         * Evaluate the given input.
+         * @param input The ordered input variables.
+         * @return The output value.
+         * @throws EvaluationException If something went wrong during operator evaluation.
+         */
+        public IValue evaluate(IVariable[] input) throws EvaluationException {
+            return fusedOperator.root.evaluate(this, input);
+        }
+
+        /**
+         * Evaluate the given single input value.
+         * @param value The input value.
+         * @return The output value.
+         * @throws EvaluationException If something went wrong during operator evaluation.
+         */
+        public IValue evaluate(IValue value) throws EvaluationException {
+            unaryVariable.setValue(value);
+            return evaluate(unaryInput);
+        }
+
+        protected IVariable[] getArray(int slot, int length) {
+            if (arrays == null) {
+                arrays = new IVariable[fusedOperator.slots][];
+            }
+            IVariable[] array = arrays[slot];
+            if (array == null || array.length != length) {
+                arrays[slot] = array = new IVariable[length];
+            }
+            return array;
+        }
+
+        protected MutableVariable getVariable(int slot) {
+            if (variables == null) {
+                variables = new MutableVariable[fusedOperator.slots];
+            }
+            MutableVariable variable = variables[slot];
+            if (variable == null) {
+                variables[slot] = variable = new MutableVariable();
+            }
+            return variable;
+        }
+    }
+
+    protected static interface INode {
+
+        public IValue evaluate(Evaluator evaluator, IVariable[] input) throws EvaluationException;
+
+    }
+
+    /**
+     * An operator that is not fused any further.
+     */
+    protected static class LeafNode implements INode {
+
+        private final IOperator operator;
+        private IBoundOperator boundOperator = null;
+
+        public LeafNode(IOperator operator) {
+            this.operator = operator;
+        }
+
+        @Override
+        public IValue evaluate(Evaluator evaluator, IVariable[] input) throws EvaluationException {
+            // Bound operators are immutable, so a concurrent replacement of this field is harmless.
+            IBoundOperator boundOperator = this.boundOperator;
+            if (boundOperator == null || !ValueHelpers.hasTypes(input, boundOperator.getInputTypes())) {
+                this.boundOperator = boundOperator = ValueHelpers.bindOperator(operator, ValueHelpers.from(input));
+            }
+            return boundOperator.evaluate(input);
+        }
+    }
+
+    /**
+     * A fused combined operator.
+     */
+    protected static abstract class CombinedNode implements INode {
+
+        private final IOperator operator;
+        private IValueType[] validatedTypes = null;
+
+        public CombinedNode(IOperator operator) {
+            this.operator = operator;
+        }
+
+        @Override
+        public IValue evaluate(Evaluator evaluator, IVariable[] input) throws EvaluationException {
+            // Type arrays are never modified, so a concurrent replacement of this field is harmless.
+            IValueType[] validatedTypes = this.validatedTypes;
+            if (validatedTypes == null || !ValueHelpers.hasTypes(input, validatedTypes)) {
+                IValueType[] types = ValueHelpers.from(input);
+                L10NHelpers.UnlocalizedString error = operator.validateTypes(types);
+                if (error != null) {
+                    throw new EvaluationException(error.localize());
+                }
+                this.validatedTypes = types;
+            }
+            EvaluationFuel.consumeCurrent();
+            return evaluateFused(evaluator, input);
+        }
+
+        protected abstract IValue evaluateFused(Evaluator evaluator, IVariable[] input) throws EvaluationException;
+    }
+
+    protected static class PipeNode extends CombinedNode {
+
+        private final INode[] children;
+        private final int slot;
+
+        public PipeNode(IOperator operator, INode[] children, int slot) {
+            super(operator);
+            this.children = children;
+            this.slot = slot;
+        }
+
+        @Override
+        protected IValue evaluateFused(Evaluator evaluator, IVariable[] input) throws EvaluationException {
+            IValue value = children[0].evaluate(evaluator, input);
+            if (children.length > 1) {
+                IVariable[] buffer = evaluator.getArray(slot, 1);
+                MutableVariable variable = evaluator.getVariable(slot);
+                buffer[0] = variable;
+                for (int i = 1; i < children.length; i++) {
+                    variable.setValue(value);
+                    value = children[i].evaluate(evaluator, buffer);
+                }
+            }
+            return value;
+        }
+    }
+
+    protected static class FlipNode extends CombinedNode {
+
+        private final INode child;
+        private final int slot;
+
+        public FlipNode(IOperator operator, INode child, int slot) {
+            super(operator);
+            this.child = child;
+            this.slot = slot;
+        }
+
+        @Override
+        protected IValue evaluateFused(Evaluator evaluator, IVariable[] input) throws EvaluationException {
+            int size = input.length;
+            IVariable[] flipped = evaluator.getArray(slot, size);
+            for (int i = 0; i < size; i++) {
+                flipped[size - i - 1] = input[i];
+            }
+            return child.evaluate(evaluator, flipped);
+        }
+    }
+
+    protected static class ConjunctionNode extends CombinedNode {
+
+        private final INode[] children;
+
+        public ConjunctionNode(IOperator operator, INode[] children) {
+            super(operator);
+            this.children = children;
+        }
+
+        @Override
+        protected IValue evaluateFused(Evaluator evaluator, IVariable[] input) throws EvaluationException {
+            for (INode child : children) {
+                IValue result = child.evaluate(evaluator, input);
+                if (!((ValueTypeBoolean.ValueBoolean) result).getRawValue()) {
+                    return ValueTypeBoolean.ValueBoolean.of(false);
+                }
+            }
+            return ValueTypeBoolean.ValueBoolean.of(true);
+        }
+    }
+
+    protected static class DisjunctionNode extends CombinedNode {
+
+        private final INode[] children;
+
+        public DisjunctionNode(IOperator operator, INode[] children) {
+            super(operator);
+            this.children = children;
+        }
+
+        @Override
+        protected IValue evaluateFused(Evaluator evaluator, IVariable[] input) throws EvaluationException {
+            for (INode child : children) {
+                IValue result = child.evaluate(evaluator, input);
+                if (((ValueTypeBoolean.ValueBoolean) result).getRawValue()) {
+                    return ValueTypeBoolean.ValueBoolean.of(true);
+                }
+            }
+            return ValueTypeBoolean.ValueBoolean.of(false);
+        }
+    }
+
+    protected static class NegationNode extends CombinedNode {
+
+        private final INode child;
+
+        public NegationNode(IOperator operator, INode child) {
+            super(operator);
+            this.child = child;
+        }
+
+        @Override
+        protected IValue evaluateFused(Evaluator evaluator, IVariable[] input) throws EvaluationException {
+            IValue result = child.evaluate(evaluator, input);
+            return ValueTypeBoolean.ValueBoolean.of(!((ValueTypeBoolean.ValueBoolean) result).getRawValue());
+        }
+    }
+
+    /**
+     * A fused curried operator, which passes the applied variable as first input of its base operator.
+     */
+    protected static class CurriedNode implements INode {
+
+        private final IOperator baseOperator;
+        private final IVariable appliedVariable;
+        private final INode base;
+        private final int slot;
+
+        public CurriedNode(IOperator baseOperator, IVariable appliedVariable, INode base, int slot) {
+            this.baseOperator = baseOperator;
+            this.appliedVariable = appliedVariable;
+            this.base = base;
+            this.slot = slot;
+        }
+
+        @Override
+        public IValue evaluate(Evaluator evaluator, IVariable[] input) throws EvaluationException {
+            IVariable[] fullInput = evaluator.getArray(slot, Math.min(baseOperator.getRequiredInputLength(), input.length + 1));
+            fullInput[0] = appliedVariable;
+            System.arraycopy(input, 0, fullInput, 1, fullInput.length - 1);
+            return base.evaluate(evaluator, fullInput);
+        }
+    }
+
+}
@@ -3,11 +3,14 @@ package org.cyclops.integrateddynamics.core.evaluate.operator;
 import org.cyclops.cyclopscore.helper.L10NHelpers;
 import org.cyclops.integrateddynamics.Reference;
 import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.operator.IBindableOperator;
+import org.cyclops.integrateddynamics.api.evaluate.operator.IBoundOperator;
 import org.cyclops.integrateddynamics.api.evaluate.operator.IOperator;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
 import org.cyclops.integrateddynamics.api.logicprogrammer.IConfigRenderPattern;
+import org.cyclops.integrateddynamics.core.evaluate.EvaluationFuel;
 import org.cyclops.integrateddynamics.core.evaluate.variable.ValueHelpers;
 import org.cyclops.integrateddynamics.core.helper.L10NValues;
 
@@ -18,7 +21,7 @@ import java.util.List;
  * A basic abstract implementation of an operator.
  * @author rubensworks
  */
-public abstract class OperatorBase implements IOperator {
+public abstract class OperatorBase implements IBindableOperator {
 
     private final String symbol;
     private final String operatorName;
@@ -133,7 +136,27 @@ public abstract class OperatorBase implements IOperator {
         if(error != null) {
             throw new EvaluationException(error.localize());
         }
-        return function.evaluate(new SafeVariablesGetter(input));
+        EvaluationFuel.consumeCurrent();
+        return evaluateValidated(new SafeVariablesGetter(input));
+    }
+
+    /**
+     * Evaluate input of which the types have been validated.
+     * @param variables The input variables holder.
+     * @return The output value.
+     * @throws EvaluationException If an exception occurs while evaluating
+     */
+    protected IValue evaluateValidated(SafeVariablesGetter variables) throws EvaluationException {
+        return function.evaluate(variables);
+    }
+
+    @Override
+    public IBoundOperator bind(IValueType[] input) throws EvaluationException {
+        L10NHelpers.UnlocalizedString error = validateTypes(input);
+        if(error != null) {
+            throw new EvaluationException(error.localize());
+        }
+        return new Bound(this, input.clone());
     }
 
     @Override
@@ -207,6 +230,46 @@ public abstract class OperatorBase implements IOperator {
         }
     }
 
+    /**
+     * An operator that is bound to validated input types.
+     * The variables getter of the last input is reused, as expressions always evaluate the same input array.
+     */
+    public static class Bound implements IBoundOperator {
+
+        private final OperatorBase operator;
+        private final IValueType[] inputTypes;
+        private SafeVariablesGetter lastVariables = null;
+
+        public Bound(OperatorBase operator, IValueType[] inputTypes) {
+            this.operator = operator;
+            this.inputTypes = inputTypes;
+        }
+
+        @Override
+        public IOperator getOperator() {
+            return operator;
+        }
+
+        @Override
+        public IValueType[] getInputTypes() {
+            return inputTypes;
+        }
+
+        @Override
+        public IValue evaluate(IVariable[] input) throws EvaluationException {
+            if(!ValueHelpers.hasTypes(input, inputTypes)) {
+                return operator.evaluate(input);
+            }
+            // Getters are immutable, so a concurrent replacement of this field is harmless.
+            SafeVariablesGetter variables = lastVariables;
+            if(variables == null || variables.getVariables() != input) {
+                lastVariables = variables = new SafeVariablesGetter(input);
+            }
+            EvaluationFuel.consumeCurrent();
+            return operator.evaluateValidated(variables);
+        }
+    }
+
     public static interface IFunction {
 
         /**
@@ -644,8 +644,9 @@ public final class Operators {
                 public IValue evaluate(OperatorBase.SafeVariablesGetter variables) throws EvaluationException {
                     IValueTypeListProxy<IValueType<IValue>, IValue> list = ((ValueTypeList.ValueList) variables.getValue(0)).getRawValue();
                     IOperator operator = OperatorBuilders.getSafePredictate((ValueTypeOperator.ValueOperator) variables.getValue(1));
+                    FusedOperator.Evaluator evaluator = FusedOperator.fuse(operator).newEvaluator();
                     for (IValue value : list) {
-                        IValue result = operator.evaluate(new IVariable[]{new Variable<>(value.getType(), value)});
+                        IValue result = evaluator.evaluate(value);
                         if (((ValueTypeBoolean.ValueBoolean) result).getRawValue()) {
                             return ValueTypeBoolean.ValueBoolean.of(true);
                         }
@@ -689,8 +690,9 @@ public final class Operators {
                     IValueTypeListProxy<IValueType<IValue>, IValue> list = ((ValueTypeList.ValueList) variables.getValue(0)).getRawValue();
                     IOperator operator = OperatorBuilders.getSafePredictate((ValueTypeOperator.ValueOperator) variables.getValue(1));
                     int count = 0;
+                    FusedOperator.Evaluator evaluator = FusedOperator.fuse(operator).newEvaluator();
                     for (IValue listValue : list) {
-                        IValue result = operator.evaluate(new IVariable[]{new Variable<>(listValue.getType(), listValue)});
+                        IValue result = evaluator.evaluate(listValue);
                         if (((ValueTypeBoolean.ValueBoolean) result).getRawValue()) {
                             count++;
                         }
@@ -717,6 +719,9 @@ public final class Operators {
                                 a.getValueType(), value.getType());
                         throw new EvaluationException(error.localize());
                     }
+                    if (ValueTypeListProxyVector.isMaterialized(a)) {
+                        return ValueTypeList.ValueList.ofFactory(ValueTypeListProxyVector.of(a).append(value));
+                    }
                     return ValueTypeList.ValueList.ofFactory(new ValueTypeListProxyAppend(a, value));
                 }
             }).build());
@@ -776,6 +781,9 @@ public final class Operators {
                 @Override
                 public IValue evaluate(OperatorBase.SafeVariablesGetter variables) throws EvaluationException {
                     IValueTypeListProxy a = ((ValueTypeList.ValueList) variables.getValue(0)).getRawValue();
+                    if (ValueTypeListProxyVector.isMaterialized(a)) {
+                        return ValueTypeList.ValueList.ofFactory(ValueTypeListProxyVector.of(a).tail());
+                    }
                     return ValueTypeList.ValueList.ofFactory(new ValueTypeListProxyTail(a));
                 }
             }).build());
@@ -1870,6 +1878,10 @@ public final class Operators {
                             if (innerOperator.getRequiredInputLength() == 1) {
                                 return innerOperator.evaluate(new IVariable[]{variable});
                             } else {
+                                if (variable instanceof MutableVariable) {
+                                    // Argument buffers of fused operators will be reused, so they can not be retained.
+                                    variable = ((MutableVariable) variable).toImmutable();
+                                }
                                 return ValueTypeOperator.ValueOperator.of(new CurriedOperator(innerOperator, variable));
                             }
                         }
@@ -1910,8 +1922,9 @@ public final class Operators {
                             OperatorBase.SafeVariablesGetter variables = input.getRight();
                             ValueTypeList.ValueList<?, ?> inputList = variables.getValue(0);
                             List<IValue> filtered = Lists.newArrayList();
+                            FusedOperator.Evaluator evaluator = FusedOperator.fuse(innerOperator).newEvaluator();
                             for (IValue value : inputList.getRawValue()) {
-                                IValue result = ValueHelpers.evaluateOperator(innerOperator, value);
+                                IValue result = evaluator.evaluate(value);
                                 if (result.getType() != ValueTypes.BOOLEAN) {
                                     L10NHelpers.UnlocalizedString error = new L10NHelpers.UnlocalizedString(
                                             L10NValues.VALUETYPE_ERROR_WRONGPREDICATE,
@@ -2027,10 +2040,14 @@ public final class Operators {
                     final IOperator innerOperator = OperatorBuilders.getSafeOperator((ValueTypeOperator.ValueOperator)
                             variables.getValue(0), accumulator.getType());
                     ValueTypeList.ValueList<IValueType<IValue>, IValue> inputList = variables.getValue(1);
+                    FusedOperator.Evaluator evaluator = FusedOperator.fuse(innerOperator).newEvaluator();
+                    MutableVariable<IValue> accumulatorVariable = new MutableVariable<>();
+                    MutableVariable<IValue> listValueVariable = new MutableVariable<>();
+                    IVariable[] input = new IVariable[]{accumulatorVariable, listValueVariable};
                     for (IValue listValue : inputList.getRawValue()) {
-                        accumulator = innerOperator.evaluate(new IVariable[]{
-                                new Variable<>(accumulator.getType(), accumulator),
-                                new Variable<>(listValue.getType(), listValue)});
+                        accumulatorVariable.setValue(accumulator);
+                        listValueVariable.setValue(listValue);
+                        accumulator = evaluator.evaluate(input);
                     }
                     return accumulator;
                 }
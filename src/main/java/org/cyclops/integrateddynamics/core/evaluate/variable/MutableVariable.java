@@ -0,0 +1,47 @@
+package org.cyclops.integrateddynamics.core.evaluate.variable;
+
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IVersionedVariable;
+
+/**
+ * A variable of which the value can be replaced, so that it can be reused as argument buffer when evaluating operators.
+ * Operators must not retain these variables after their evaluation, {@link #toImmutable()} must be used for that instead.
+ * @author rubensworks
+ */
+public class MutableVariable<V extends IValue> implements IVersionedVariable<V> {
+
+    private V value = null;
+    private long version = VariableVersions.next();
+
+    /**
+     * @param value The new value.
+     */
+    public void setValue(V value) {
+        this.value = value;
+        this.version = VariableVersions.next();
+    }
+
+    @Override
+    public IValueType<V> getType() {
+        return value == null ? null : (IValueType<V>) value.getType();
+    }
+
+    @Override
+    public V getValue() throws EvaluationException {
+        return value;
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return A variable with the current value, that will not change anymore.
+     */
+    public Variable<V> toImmutable() {
+        return new Variable<>(getType(), value);
+    }
+}
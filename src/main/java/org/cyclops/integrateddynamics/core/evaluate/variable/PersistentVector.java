@@ -0,0 +1,209 @@
+package org.cyclops.integrateddynamics.core.evaluate.variable;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable vector, of which modified copies share most of their structure with the original vector.
+ *
+ * Elements are stored in the leaves of a tree with a branching factor of 32,
+ * so that retrieving, replacing and appending elements only needs to visit or copy O(log n) nodes.
+ * The last leaf is kept outside of the tree, so that most appends only copy that leaf.
+ * @param <E> The element type.
+ * @author rubensworks
+ */
+public final class PersistentVector<E> implements Iterable<E> {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    private static final PersistentVector EMPTY = new PersistentVector(0, BITS, new Object[WIDTH], new Object[0]);
+
+    private final int size;
+    private final int shift;
+    private final Object[] root;
+    private final Object[] tail;
+
+    private PersistentVector(int size, int shift, Object[] root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    /**
+     * @param <E> The element type.
+     * @return The empty vector.
+     */
+    public static <E> PersistentVector<E> empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param values The elements.
+     * @param <E> The element type.
+     * @return A vector with the given elements.
+     */
+    public static <E> PersistentVector<E> of(Iterable<? extends E> values) {
+        PersistentVector<E> vector = empty();
+        for (E value : values) {
+            vector = vector.append(value);
+        }
+        return vector;
+    }
+
+    /**
+     * @return The number of elements.
+     */
+    public int size() {
+        return size;
+    }
+
+    protected int getTailOffset() {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    /**
+     * @param index An element index.
+     * @return The leaf that holds the element at the given index, at position index & 31.
+     */
+    protected Object[] getLeaf(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.format("Index %s is out of bounds for size %s.", index, size));
+        }
+        if (index >= getTailOffset()) {
+            return tail;
+        }
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return node;
+    }
+
+    /**
+     * @param index An element index.
+     * @return The element at the given index.
+     */
+    public E get(int index) {
+        return (E) getLeaf(index)[index & MASK];
+    }
+
+    /**
+     * @param value An element.
+     * @return A vector with the given element appended.
+     */
+    public PersistentVector<E> append(E value) {
+        if (size - getTailOffset() < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = value;
+            return new PersistentVector<>(size + 1, shift, root, newTail);
+        }
+        // The tail is full, so it is moved into the tree.
+        Object[] newRoot;
+        int newShift = shift;
+        if ((size >>> BITS) > (1 << shift)) {
+            newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newRoot[1] = newPath(shift, tail);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(shift, root, tail);
+        }
+        return new PersistentVector<>(size + 1, newShift, newRoot, new Object[]{value});
+    }
+
+    protected Object[] pushTail(int level, Object[] parent, Object[] tailNode) {
+        int subIndex = ((size - 1) >>> level) & MASK;
+        Object[] node = parent.clone();
+        if (level == BITS) {
+            node[subIndex] = tailNode;
+        } else {
+            Object[] child = (Object[]) parent[subIndex];
+            node[subIndex] = child != null ? pushTail(level - BITS, child, tailNode) : newPath(level - BITS, tailNode);
+        }
+        return node;
+    }
+
+    protected static Object[] newPath(int level, Object[] node) {
+        if (level == 0) {
+            return node;
+        }
+        Object[] path = new Object[WIDTH];
+        path[0] = newPath(level - BITS, node);
+        return path;
+    }
+
+    /**
+     * @param index An element index, or the size of this vector to append.
+     * @param value An element.
+     * @return A vector with the element at the given index replaced.
+     */
+    public PersistentVector<E> set(int index, E value) {
+        if (index == size) {
+            return append(value);
+        }
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException(String.format("Index %s is out of bounds for size %s.", index, size));
+        }
+        if (index >= getTailOffset()) {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = value;
+            return new PersistentVector<>(size, shift, root, newTail);
+        }
+        return new PersistentVector<>(size, shift, set(shift, root, index, value), tail);
+    }
+
+    protected static Object[] set(int level, Object[] node, int index, Object value) {
+        Object[] newNode = node.clone();
+        if (level == 0) {
+            newNode[index & MASK] = value;
+        } else {
+            int subIndex = (index >>> level) & MASK;
+            newNode[subIndex] = set(level - BITS, (Object[]) node[subIndex], index, value);
+        }
+        return newNode;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return iterator(0, size);
+    }
+
+    /**
+     * Iterate over a range of elements, where each leaf is only looked up once.
+     * @param from The first index, inclusive.
+     * @param to The last index, exclusive.
+     * @return An iterator over the elements in the given range.
+     */
+    public Iterator<E> iterator(final int from, final int to) {
+        return new Iterator<E>() {
+
+            private int index = from;
+            private Object[] leaf = null;
+
+            @Override
+            public boolean hasNext() {
+                return index < to;
+            }
+
+            @Override
+            public E next() {
+                if (index >= to) {
+                    throw new NoSuchElementException();
+                }
+                if (leaf == null || (index & MASK) == 0) {
+                    leaf = getLeaf(index);
+                }
+                return (E) leaf[index++ & MASK];
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException("remove");
+            }
+        };
+    }
+
+}
@@ -2,11 +2,14 @@ package org.cyclops.integrateddynamics.core.evaluate.variable;
 
 import org.cyclops.cyclopscore.helper.L10NHelpers;
 import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.operator.IBindableOperator;
+import org.cyclops.integrateddynamics.api.evaluate.operator.IBoundOperator;
 import org.cyclops.integrateddynamics.api.evaluate.operator.IOperator;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
 import org.cyclops.integrateddynamics.api.item.IVariableFacade;
+import org.cyclops.integrateddynamics.core.evaluate.operator.DefaultBoundOperator;
 
 import javax.annotation.Nullable;
 
@@ -31,6 +34,25 @@ public class ValueHelpers {
         return valueTypes;
     }
 
+    /**
+     * Check if the given variables have exactly the given value types, without allocating a new array.
+     * @param variables The variables.
+     * @param valueTypes The value types.
+     * @return If the value types of the variables are element-wise the same instances as the given value types.
+     */
+    public static boolean hasTypes(IVariable[] variables, IValueType[] valueTypes) {
+        if(variables.length != valueTypes.length) {
+            return false;
+        }
+        for(int i = 0; i < variables.length; i++) {
+            IVariable variable = variables[i];
+            if(variable == null || variable.getType() != valueTypes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Create a new value type array from the given variableFacades array element-wise.
      * If a variableFacade would be null, that corresponding value type would be null as well.
@@ -81,6 +103,22 @@ public class ValueHelpers {
         return t1.correspondsTo(t2) || t2.correspondsTo(t1);
     }
 
+    /**
+     * Bind the given operator to the given input types.
+     * Operators that are not {@link IBindableOperator}s are bound to a {@link DefaultBoundOperator},
+     * which still validates the input types on each evaluation.
+     * @param operator The operator.
+     * @param input The ordered input value types.
+     * @return The bound operator.
+     * @throws EvaluationException If the input value types are invalid for this operator.
+     */
+    public static IBoundOperator bindOperator(IOperator operator, IValueType[] input) throws EvaluationException {
+        if (operator instanceof IBindableOperator) {
+            return ((IBindableOperator) operator).bind(input);
+        }
+        return DefaultBoundOperator.bind(operator, input);
+    }
+
     /**
      * Evaluate an operator for the given values.
      * @param operator The operator.
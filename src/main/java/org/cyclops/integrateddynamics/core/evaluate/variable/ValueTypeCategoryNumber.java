@@ -12,6 +12,9 @@ import java.util.Map;
 
 /**
  * Value type category with values that are numbers.
+ *
+ * Operations on two variables of the same integer, long or double type are calculated on primitives directly,
+ * without looking up the lowest type or casting values.
  * @author rubensworks
  */
 public class ValueTypeCategoryNumber extends ValueTypeCategoryBase<IValue> {
@@ -49,6 +52,26 @@ public class ValueTypeCategoryNumber extends ValueTypeCategoryBase<IValue> {
         return first;
     }
 
+    /**
+     * Get the lowest of two types, without allocating a varargs array.
+     * @param a The first type, may be null.
+     * @param b The second type, may be null.
+     * @return The lowest type.
+     */
+    public IValueTypeNumber getLowestType(IValueTypeNumber a, IValueTypeNumber b) {
+        if(a == b) {
+            return a;
+        }
+        int maxIndex = -1;
+        if(a != null) {
+            maxIndex = INVERTED_ELEMENTS.get(a);
+        }
+        if(b != null) {
+            maxIndex = Math.max(maxIndex, INVERTED_ELEMENTS.get(b));
+        }
+        return ELEMENTS[maxIndex];
+    }
+
     protected IValue castValue(IValueTypeNumber type, IValue value) throws IValueCastRegistry.ValueCastException {
         if(value.getType() == type) {
             return value;
@@ -61,7 +84,51 @@ public class ValueTypeCategoryNumber extends ValueTypeCategoryBase<IValue> {
         return ((IValueTypeNumber) v.getType());
     }
 
+    /**
+     * @param a The first variable.
+     * @param b The second variable.
+     * @return The type of both variables if they have the same type with a primitive kernel, otherwise null.
+     */
+    protected IValueTypeNumber getKernelType(IVariable a, IVariable b) {
+        IValueType type = a.getType();
+        if(type == b.getType() && (type == ValueTypes.INTEGER || type == ValueTypes.LONG || type == ValueTypes.DOUBLE)) {
+            return (IValueTypeNumber) type;
+        }
+        return null;
+    }
+
+    protected int intValue(IVariable v) throws EvaluationException {
+        return ((ValueTypeInteger.ValueInteger) castValue(ValueTypes.INTEGER, v.getValue())).getRawValue();
+    }
+
+    protected long longValue(IVariable v) throws EvaluationException {
+        return ((ValueTypeLong.ValueLong) castValue(ValueTypes.LONG, v.getValue())).getRawValue();
+    }
+
+    protected double doubleValue(IVariable v) throws EvaluationException {
+        return ((ValueTypeDouble.ValueDouble) castValue(ValueTypes.DOUBLE, v.getValue())).getRawValue();
+    }
+
     public IValue add(IVariable a, IVariable b) throws EvaluationException {
+        IValueTypeNumber kernelType = getKernelType(a, b);
+        if(kernelType == ValueTypes.INTEGER) {
+            int av = intValue(a);
+            return ValueTypeInteger.ValueInteger.of(av + intValue(b));
+        } else if(kernelType == ValueTypes.LONG) {
+            long av = longValue(a);
+            return ValueTypeLong.ValueLong.of(av + longValue(b));
+        } else if(kernelType == ValueTypes.DOUBLE) {
+            double av = doubleValue(a);
+            if(av == 0D) { // If a is neutral element for addition
+                return b.getValue();
+            }
+            double bv = doubleValue(b);
+            if(bv == 0D) { // If b is neutral element for addition
+                return a.getValue();
+            }
+            return ValueTypeDouble.ValueDouble.of(av + bv);
+        }
+
         IValueTypeNumber type = getLowestType(getType(a), getType(b));
         IValue av = castValue(type, a.getValue());
         if (type.isZero(av)) { // If a is neutral element for addition
@@ -77,6 +144,21 @@ public class ValueTypeCategoryNumber extends ValueTypeCategoryBase<IValue> {
     }
 
     public IValue subtract(IVariable a, IVariable b) throws EvaluationException {
+        IValueTypeNumber kernelType = getKernelType(a, b);
+        if(kernelType == ValueTypes.INTEGER) {
+            int bv = intValue(b);
+            return ValueTypeInteger.ValueInteger.of(intValue(a) - bv);
+        } else if(kernelType == ValueTypes.LONG) {
+            long bv = longValue(b);
+            return ValueTypeLong.ValueLong.of(longValue(a) - bv);
+        } else if(kernelType == ValueTypes.DOUBLE) {
+            double bv = doubleValue(b);
+            if(bv == 0D) { // If b is neutral element for subtraction
+                return a.getValue();
+            }
+            return ValueTypeDouble.ValueDouble.of(doubleValue(a) - bv);
+        }
+
         IValueTypeNumber type = getLowestType(getType(a), getType(b));
         IValue bv = castValue(type, b.getValue());
         if (type.isZero(bv)) { // If b is neutral element for subtraction
@@ -88,6 +170,28 @@ public class ValueTypeCategoryNumber extends ValueTypeCategoryBase<IValue> {
     }
 
     public IValue multiply(IVariable a, IVariable b) throws EvaluationException {
+        IValueTypeNumber kernelType = getKernelType(a, b);
+        if(kernelType == ValueTypes.INTEGER) {
+            int av = intValue(a);
+            // If a is absorbtion element for multiplication, b is not evaluated
+            return ValueTypeInteger.ValueInteger.of(av == 0 ? 0 : av * intValue(b));
+        } else if(kernelType == ValueTypes.LONG) {
+            long av = longValue(a);
+            return ValueTypeLong.ValueLong.of(av == 0 ? 0 : av * longValue(b));
+        } else if(kernelType == ValueTypes.DOUBLE) {
+            double av = doubleValue(a);
+            if(av == 0D) { // If a is absorbtion element for multiplication
+                return a.getValue();
+            } else if(av == 1D) { // If a is neutral element for multiplication
+                return b.getValue();
+            }
+            double bv = doubleValue(b);
+            if(bv == 1D) { // If b is neutral element for multiplication
+                return a.getValue();
+            }
+            return ValueTypeDouble.ValueDouble.of(av * bv);
+        }
+
         IValueTypeNumber type = getLowestType(getType(a), getType(b));
         IValue av = castValue(type, a.getValue());
         if (type.isZero(av)) { // If a is absorbtion element for multiplication
@@ -105,6 +209,29 @@ public class ValueTypeCategoryNumber extends ValueTypeCategoryBase<IValue> {
     }
 
     public IValue divide(IVariable a, IVariable b) throws EvaluationException {
+        IValueTypeNumber kernelType = getKernelType(a, b);
+        if(kernelType == ValueTypes.INTEGER) {
+            int bv = intValue(b);
+            if(bv == 0) { // You can not divide by zero
+                throw new EvaluationException("Division by zero");
+            }
+            return ValueTypeInteger.ValueInteger.of(intValue(a) / bv);
+        } else if(kernelType == ValueTypes.LONG) {
+            long bv = longValue(b);
+            if(bv == 0) { // You can not divide by zero
+                throw new EvaluationException("Division by zero");
+            }
+            return ValueTypeLong.ValueLong.of(longValue(a) / bv);
+        } else if(kernelType == ValueTypes.DOUBLE) {
+            double bv = doubleValue(b);
+            if(bv == 0D) { // You can not divide by zero
+                throw new EvaluationException("Division by zero");
+            } else if(bv == 1D) { // If b is neutral element for division
+                return a.getValue();
+            }
+            return ValueTypeDouble.ValueDouble.of(doubleValue(a) / bv);
+        }
+
         IValueTypeNumber type = getLowestType(getType(a), getType(b));
         IValue bv = castValue(type, b.getValue());
         if (type.isZero(bv)) { // You can not divide by zero
@@ -118,6 +245,15 @@ public class ValueTypeCategoryNumber extends ValueTypeCategoryBase<IValue> {
     }
 
     public IValue max(IVariable a, IVariable b) throws EvaluationException {
+        IValueTypeNumber kernelType = getKernelType(a, b);
+        if(kernelType == ValueTypes.INTEGER) {
+            int av = intValue(a);
+            return ValueTypeInteger.ValueInteger.of(Math.max(av, intValue(b)));
+        } else if(kernelType == ValueTypes.LONG) {
+            long av = longValue(a);
+            return ValueTypeLong.ValueLong.of(Math.max(av, longValue(b)));
+        }
+
         IValueTypeNumber type = getLowestType(getType(a), getType(b));
         return type.max(
                 castValue(type, a.getValue()),
@@ -126,6 +262,15 @@ public class ValueTypeCategoryNumber extends ValueTypeCategoryBase<IValue> {
     }
 
     public IValue min(IVariable a, IVariable b) throws EvaluationException {
+        IValueTypeNumber kernelType = getKernelType(a, b);
+        if(kernelType == ValueTypes.INTEGER) {
+            int av = intValue(a);
+            return ValueTypeInteger.ValueInteger.of(Math.min(av, intValue(b)));
+        } else if(kernelType == ValueTypes.LONG) {
+            long av = longValue(a);
+            return ValueTypeLong.ValueLong.of(Math.min(av, longValue(b)));
+        }
+
         IValueTypeNumber type = getLowestType(getType(a), getType(b));
         return type.min(
                 castValue(type, a.getValue()),
@@ -134,6 +279,18 @@ public class ValueTypeCategoryNumber extends ValueTypeCategoryBase<IValue> {
     }
 
     public boolean greaterThan(IVariable a, IVariable b) throws EvaluationException {
+        IValueTypeNumber kernelType = getKernelType(a, b);
+        if(kernelType == ValueTypes.INTEGER) {
+            int av = intValue(a);
+            return av > intValue(b);
+        } else if(kernelType == ValueTypes.LONG) {
+            long av = longValue(a);
+            return av > longValue(b);
+        } else if(kernelType == ValueTypes.DOUBLE) {
+            double av = doubleValue(a);
+            return av > doubleValue(b);
+        }
+
         IValueTypeNumber type = getLowestType(getType(a), getType(b));
         return type.greaterThan(
                 castValue(type, a.getValue()),
@@ -142,6 +299,18 @@ public class ValueTypeCategoryNumber extends ValueTypeCategoryBase<IValue> {
     }
 
     public boolean lessThan(IVariable a, IVariable b) throws EvaluationException {
+        IValueTypeNumber kernelType = getKernelType(a, b);
+        if(kernelType == ValueTypes.INTEGER) {
+            int av = intValue(a);
+            return av < intValue(b);
+        } else if(kernelType == ValueTypes.LONG) {
+            long av = longValue(a);
+            return av < longValue(b);
+        } else if(kernelType == ValueTypes.DOUBLE) {
+            double av = doubleValue(a);
+            return av < doubleValue(b);
+        }
+
         IValueTypeNumber type = getLowestType(getType(a), getType(b));
         return type.lessThan(
                 castValue(type, a.getValue()),
@@ -94,6 +94,15 @@ public class ValueTypeInteger extends ValueTypeBase<ValueTypeInteger.ValueIntege
     @ToString
     public static class ValueInteger extends ValueBase {
 
+        private static final int CACHE_LOW = -128;
+        private static final int CACHE_HIGH = 1024;
+        private static final ValueInteger[] CACHE = new ValueInteger[CACHE_HIGH - CACHE_LOW];
+        static {
+            for (int i = 0; i < CACHE.length; i++) {
+                CACHE[i] = new ValueInteger(i + CACHE_LOW);
+            }
+        }
+
         private final int value;
 
         private ValueInteger(int value) {
@@ -101,7 +110,15 @@ public class ValueTypeInteger extends ValueTypeBase<ValueTypeInteger.ValueIntege
             this.value = value;
         }
 
+        /**
+         * Values in [-128, 1024) are interned, so the results of arithmetic on small numbers are not allocated.
+         * @param value A raw value.
+         * @return The value.
+         */
         public static ValueInteger of(int value) {
+            if (value >= CACHE_LOW && value < CACHE_HIGH) {
+                return CACHE[value - CACHE_LOW];
+            }
             return new ValueInteger(value);
         }
 
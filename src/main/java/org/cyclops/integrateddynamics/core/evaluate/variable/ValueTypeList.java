@@ -13,7 +13,6 @@ import org.cyclops.integrateddynamics.api.evaluate.variable.IValueTypeListProxy;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueTypeListProxyFactoryTypeRegistry;
 
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -110,37 +109,33 @@ public class ValueTypeList extends ValueObjectTypeBase<ValueTypeList.ValueList>
 
     }
 
-    public static class ListFactoryIterator<T extends IValueType<V>, V extends IValue> implements Iterator<V> {
+    /**
+     * An iterator that retrieves each element by index.
+     * This is used for list proxies that have no streaming iterator of their own.
+     * The length of the list is only retrieved once.
+     */
+    public static class ListFactoryIterator<T extends IValueType<V>, V extends IValue> extends ValueTypeListProxyIterator<V> {
 
         private final IValueTypeListProxy<T, V> value;
         private int index = 0;
+        private int length = -1;
 
         public ListFactoryIterator(IValueTypeListProxy<T, V> value) {
+            super(value.getValueType());
             this.value = value;
         }
 
         @Override
-        public boolean hasNext() {
-            try {
-                return index < value.getLength();
-            } catch (EvaluationException e) {
-                return false;
+        protected boolean hasNextValue() throws EvaluationException {
+            if (length < 0) {
+                length = value.getLength();
             }
+            return index < length;
         }
 
         @Override
-        public V next() {
-            try {
-                return value.get(index++);
-            } catch (EvaluationException e) {
-                e.printStackTrace();
-                return value.getValueType().getDefault();
-            }
-        }
-
-        @Override
-        public void remove() {
-            throw new UnsupportedOperationException("remove");
+        protected V nextValue() throws EvaluationException {
+            return value.get(index++);
         }
     }
 
@@ -8,6 +8,9 @@ import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueTypeListProxy;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueTypeListProxyFactoryTypeRegistry;
+import org.cyclops.integrateddynamics.core.evaluate.EvaluationFuel;
+
+import java.util.Iterator;
 
 /**
  * An appended list.
@@ -32,6 +35,7 @@ public class ValueTypeListProxyAppend<T extends IValueType<V>, V extends IValue>
 
     @Override
     public V get(int index) throws EvaluationException {
+        EvaluationFuel.consumeCurrent();
         int listLength = list.getLength();
         if (index < listLength) {
             return list.get(index);
@@ -41,6 +45,25 @@ public class ValueTypeListProxyAppend<T extends IValueType<V>, V extends IValue>
         return null;
     }
 
+    /**
+     * @return The list to which the value is appended.
+     */
+    protected IValueTypeListProxy<T, V> getList() {
+        return list;
+    }
+
+    /**
+     * @return The appended value.
+     */
+    protected V getValue() {
+        return value;
+    }
+
+    @Override
+    public Iterator<V> iterator() {
+        return new ValueTypeListProxyChainIterator<>(this);
+    }
+
     public static class Factory implements IValueTypeListProxyFactoryTypeRegistry.IProxyFactory<IValueType<IValue>, IValue, ValueTypeListProxyAppend<IValueType<IValue>, IValue>> {
 
         @Override
@@ -0,0 +1,90 @@
+package org.cyclops.integrateddynamics.core.evaluate.variable;
+
+import com.google.common.collect.Lists;
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValueTypeListProxy;
+import org.cyclops.integrateddynamics.core.evaluate.EvaluationFuel;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Iterates over a chain of nested appended lists and tails at once.
+ * The innermost list of the chain is iterated, without the elements that are removed by the tails,
+ * followed by the appended values.
+ * This way, the wrapped lists are only walked once when the iteration starts,
+ * instead of passing each element through all lists of the chain.
+ * @param <T> The value type type.
+ * @param <V> The value type.
+ * @author rubensworks
+ */
+public class ValueTypeListProxyChainIterator<T extends IValueType<V>, V extends IValue> extends ValueTypeListProxyIterator<V> {
+
+    private final IValueTypeListProxy<T, V> list;
+    private Iterator<V> innerIterator = null;
+    private List<V> appendedValues = null;
+    private int appendedIndex = 0;
+
+    public ValueTypeListProxyChainIterator(IValueTypeListProxy<T, V> list) {
+        super(list.getValueType());
+        this.list = list;
+    }
+
+    protected void start() throws EvaluationException {
+        // Collect the chain, from the outermost to the innermost list.
+        List<IValueTypeListProxy<T, V>> chain = Lists.newArrayList();
+        IValueTypeListProxy<T, V> inner = list;
+        while (inner instanceof ValueTypeListProxyAppend || inner instanceof ValueTypeListProxyTail) {
+            chain.add(inner);
+            inner = inner instanceof ValueTypeListProxyAppend
+                    ? ((ValueTypeListProxyAppend<T, V>) inner).getList() : ((ValueTypeListProxyTail<T, V>) inner).getList();
+        }
+
+        // Apply the chain from the innermost to the outermost list,
+        // a tail of an empty list is still empty, so it does not remove any later appended value.
+        long length = inner.getLength();
+        int removed = 0;
+        appendedValues = Lists.newArrayList();
+        for (int i = chain.size() - 1; i >= 0; i--) {
+            IValueTypeListProxy<T, V> element = chain.get(i);
+            if (element instanceof ValueTypeListProxyAppend) {
+                appendedValues.add(((ValueTypeListProxyAppend<T, V>) element).getValue());
+                length++;
+            } else if (length > 0) {
+                removed++;
+                length--;
+            }
+        }
+
+        innerIterator = inner.iterator();
+        while (removed > 0 && innerIterator.hasNext()) {
+            innerIterator.next();
+            removed--;
+        }
+        appendedIndex = removed;
+    }
+
+    @Override
+    protected boolean hasNextValue() throws EvaluationException {
+        if (innerIterator == null) {
+            start();
+        }
+        return innerIterator.hasNext() || appendedIndex < appendedValues.size();
+    }
+
+    @Override
+    protected V nextValue() throws EvaluationException {
+        if (innerIterator == null) {
+            start();
+        }
+        // The inner iterator consumes fuel for its own elements.
+        if (innerIterator.hasNext()) {
+            return innerIterator.next();
+        }
+        EvaluationFuel.consumeCurrent();
+        return appendedValues.get(appendedIndex++);
+    }
+
+}
@@ -7,6 +7,8 @@ import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.world.World;
 import org.cyclops.cyclopscore.persist.nbt.INBTProvider;
 
+import java.util.Iterator;
+
 /**
  * A list proxy for the inventory of an entity.
  */
@@ -37,6 +39,25 @@ public class ValueTypeListProxyEntityArmorInventory extends ValueTypeListProxyEn
         return ValueObjectTypeItemStack.ValueItemStack.of(getInventory()[index]);
     }
 
+    @Override
+    public Iterator<ValueObjectTypeItemStack.ValueItemStack> iterator() {
+        final ItemStack[] inventory = getInventory();
+        return new ValueTypeListProxyIterator<ValueObjectTypeItemStack.ValueItemStack>(getValueType()) {
+
+            private int slot = 0;
+
+            @Override
+            protected boolean hasNextValue() {
+                return slot < inventory.length;
+            }
+
+            @Override
+            protected ValueObjectTypeItemStack.ValueItemStack nextValue() {
+                return ValueObjectTypeItemStack.ValueItemStack.of(inventory[slot++]);
+            }
+        };
+    }
+
     @Override
     public void writeGeneratedFieldsToNBT(NBTTagCompound tag) {
 
@@ -30,6 +30,7 @@ public class ValueTypeListProxyFactories {
     public static ValueTypeListProxyAppend.Factory APPEND;
     public static ValueTypeListProxyLazyBuilt.Factory LAZY_BUILT;
     public static ValueTypeListProxyTail.Factory TAIL;
+    public static ValueTypeListProxyVector.Factory VECTOR;
 
     public static void load() {
         if(MATERIALIZED == null) {
@@ -42,6 +43,7 @@ public class ValueTypeListProxyFactories {
             APPEND = REGISTRY.register(new ValueTypeListProxyAppend.Factory());
             LAZY_BUILT = REGISTRY.register(new ValueTypeListProxyLazyBuilt.Factory());
             TAIL = REGISTRY.register(new ValueTypeListProxyTail.Factory());
+            VECTOR = REGISTRY.register(new ValueTypeListProxyVector.Factory());
         }
     }
 
@@ -0,0 +1,72 @@
+package org.cyclops.integrateddynamics.core.evaluate.variable;
+
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
+import org.cyclops.integrateddynamics.core.evaluate.EvaluationFuel;
+
+import java.util.Iterator;
+
+/**
+ * A streaming iterator over the elements of a list proxy.
+ * Implementations can keep state between elements, such as a resolved capability or the iterator of a wrapped list,
+ * instead of retrieving each element separately by index.
+ *
+ * Iterators can not throw evaluation errors, so errors while checking for a next element end the iteration,
+ * and errors while retrieving an element produce the default value.
+ * Once the evaluation fuel is exhausted, an {@link EvaluationFuel.ExhaustedException} is thrown instead,
+ * so that lists are never silently truncated.
+ * @param <V> The value type.
+ * @author rubensworks
+ */
+public abstract class ValueTypeListProxyIterator<V extends IValue> implements Iterator<V> {
+
+    private final IValueType<V> valueType;
+
+    protected ValueTypeListProxyIterator(IValueType<V> valueType) {
+        this.valueType = valueType;
+    }
+
+    /**
+     * @return If there is a next element.
+     * @throws EvaluationException If something went wrong while checking the list.
+     */
+    protected abstract boolean hasNextValue() throws EvaluationException;
+
+    /**
+     * @return The next element.
+     * @throws EvaluationException If something went wrong while getting the element.
+     */
+    protected abstract V nextValue() throws EvaluationException;
+
+    @Override
+    public boolean hasNext() {
+        try {
+            return hasNextValue();
+        } catch (EvaluationException e) {
+            if (EvaluationFuel.isCurrentExhausted()) {
+                throw new EvaluationFuel.ExhaustedException(e);
+            }
+            return false;
+        }
+    }
+
+    @Override
+    public V next() {
+        try {
+            return nextValue();
+        } catch (EvaluationException e) {
+            if (EvaluationFuel.isCurrentExhausted()) {
+                throw new EvaluationFuel.ExhaustedException(e);
+            }
+            e.printStackTrace();
+            return valueType.getDefault();
+        }
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("remove");
+    }
+
+}
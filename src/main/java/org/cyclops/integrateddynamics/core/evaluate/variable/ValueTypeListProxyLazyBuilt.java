@@ -11,8 +11,11 @@ import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueTypeListProxyFactoryTypeRegistry;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
+import org.cyclops.integrateddynamics.core.evaluate.EvaluationFuel;
+import org.cyclops.integrateddynamics.core.evaluate.operator.FusedOperator;
 import org.cyclops.integrateddynamics.core.evaluate.operator.Operators;
 
+import java.util.Iterator;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -40,6 +43,7 @@ public class ValueTypeListProxyLazyBuilt<T extends IValueType<V>, V extends IVal
 
     @Override
     public V get(int index) throws EvaluationException {
+        EvaluationFuel.consumeCurrent();
         if (index == 0) {
             return value;
         }
@@ -53,6 +57,31 @@ public class ValueTypeListProxyLazyBuilt<T extends IValueType<V>, V extends IVal
         return current;
     }
 
+    /**
+     * Each element is calculated from the previous one, using one evaluator for the whole iteration.
+     * @return An infinite iterator.
+     */
+    @Override
+    public Iterator<V> iterator() {
+        final FusedOperator.Evaluator evaluator = FusedOperator.fuse(operator).newEvaluator();
+        return new ValueTypeListProxyIterator<V>(getValueType()) {
+
+            private V current = null;
+
+            @Override
+            protected boolean hasNextValue() {
+                return true;
+            }
+
+            @Override
+            protected V nextValue() throws EvaluationException {
+                EvaluationFuel.consumeCurrent();
+                current = current == null ? value : (V) evaluator.evaluate(current);
+                return current;
+            }
+        };
+    }
+
     @Override
     public boolean isInfinite() {
         return true;
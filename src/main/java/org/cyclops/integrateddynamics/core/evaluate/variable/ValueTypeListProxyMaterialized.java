@@ -3,7 +3,9 @@ package org.cyclops.integrateddynamics.core.evaluate.variable;
 import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
+import org.cyclops.integrateddynamics.core.evaluate.EvaluationFuel;
 
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -27,6 +29,24 @@ public class ValueTypeListProxyMaterialized<T extends IValueType<V>, V extends I
 
     @Override
     public V get(int index) throws EvaluationException {
+        EvaluationFuel.consumeCurrent();
         return list.get(index);
     }
+
+    @Override
+    public Iterator<V> iterator() {
+        final Iterator<V> it = list.iterator();
+        return new ValueTypeListProxyIterator<V>(getValueType()) {
+            @Override
+            protected boolean hasNextValue() {
+                return it.hasNext();
+            }
+
+            @Override
+            protected V nextValue() throws EvaluationException {
+                EvaluationFuel.consumeCurrent();
+                return it.next();
+            }
+        };
+    }
 }
@@ -3,6 +3,7 @@ package org.cyclops.integrateddynamics.core.evaluate.variable;
 import com.google.common.collect.ImmutableList;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValueTypeListProxy;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueTypeListProxyFactoryTypeRegistry;
 
 /**
@@ -22,6 +23,15 @@ public class ValueTypeListProxyMaterializedFactory implements IValueTypeListProx
 
     @Override
     public String serialize(ValueTypeListProxyMaterialized<IValueType<IValue>, IValue> values) throws IValueTypeListProxyFactoryTypeRegistry.SerializationException {
+        return serializeElements(values);
+    }
+
+    /**
+     * Serialize the elements of any finite list in the format of materialized lists.
+     * @param values A list.
+     * @return The serialized elements.
+     */
+    public String serializeElements(IValueTypeListProxy<IValueType<IValue>, IValue> values) {
         StringBuilder sb = new StringBuilder();
         IValueType<IValue> valueType = values.getValueType();
         sb.append(valueType.getUnlocalizedName());
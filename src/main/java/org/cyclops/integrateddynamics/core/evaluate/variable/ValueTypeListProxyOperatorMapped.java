@@ -5,6 +5,10 @@ import org.cyclops.integrateddynamics.api.evaluate.operator.IOperator;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueTypeListProxy;
+import org.cyclops.integrateddynamics.core.evaluate.EvaluationFuel;
+import org.cyclops.integrateddynamics.core.evaluate.operator.FusedOperator;
+
+import java.util.Iterator;
 
 /**
  * A list proxy for a list that is mapped to another list by an operator.
@@ -12,11 +16,13 @@ import org.cyclops.integrateddynamics.api.evaluate.variable.IValueTypeListProxy;
 public class ValueTypeListProxyOperatorMapped extends ValueTypeListProxyBase<IValueType<IValue>, IValue> {
 
     private final IOperator operator;
+    private final FusedOperator fusedOperator;
     private final IValueTypeListProxy listProxy;
 
     public ValueTypeListProxyOperatorMapped(IOperator operator, IValueTypeListProxy listProxy) {
         super(ValueTypeListProxyFactories.MATERIALIZED.getName(), operator.getOutputType());
         this.operator = operator;
+        this.fusedOperator = FusedOperator.fuse(operator);
         this.listProxy = listProxy;
     }
 
@@ -27,7 +33,26 @@ public class ValueTypeListProxyOperatorMapped extends ValueTypeListProxyBase<IVa
 
     @Override
     public IValue get(int index) throws EvaluationException {
+        EvaluationFuel.consumeCurrent();
         IValue value = listProxy.get(index);
-        return ValueHelpers.evaluateOperator(operator, value);
+        return fusedOperator.evaluate(value);
+    }
+
+    @Override
+    public Iterator<IValue> iterator() {
+        final Iterator<IValue> it = listProxy.iterator();
+        final FusedOperator.Evaluator evaluator = fusedOperator.newEvaluator();
+        return new ValueTypeListProxyIterator<IValue>(getValueType()) {
+            @Override
+            protected boolean hasNextValue() {
+                return it.hasNext();
+            }
+
+            @Override
+            protected IValue nextValue() throws EvaluationException {
+                EvaluationFuel.consumeCurrent();
+                return evaluator.evaluate(it.next());
+            }
+        };
     }
 }
@@ -7,6 +7,8 @@ import org.cyclops.cyclopscore.datastructure.DimPos;
 import org.cyclops.cyclopscore.helper.TileHelpers;
 import org.cyclops.cyclopscore.persist.nbt.INBTProvider;
 
+import java.util.Iterator;
+
 /**
  * A list proxy for an inventory at a certain position.
  */
@@ -33,4 +35,23 @@ public class ValueTypeListProxyPositionedInventory extends ValueTypeListProxyPos
     public ValueObjectTypeItemStack.ValueItemStack get(int index) {
         return ValueObjectTypeItemStack.ValueItemStack.of(getInventory().getStackInSlot(index));
     }
+
+    @Override
+    public Iterator<ValueObjectTypeItemStack.ValueItemStack> iterator() {
+        final IItemHandler inventory = getInventory();
+        return new ValueTypeListProxyIterator<ValueObjectTypeItemStack.ValueItemStack>(getValueType()) {
+
+            private int slot = 0;
+
+            @Override
+            protected boolean hasNextValue() {
+                return inventory != null && slot < inventory.getSlots();
+            }
+
+            @Override
+            protected ValueObjectTypeItemStack.ValueItemStack nextValue() {
+                return ValueObjectTypeItemStack.ValueItemStack.of(inventory.getStackInSlot(slot++));
+            }
+        };
+    }
 }
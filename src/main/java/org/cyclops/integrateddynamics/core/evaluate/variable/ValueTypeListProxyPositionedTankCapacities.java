@@ -8,6 +8,8 @@ import org.cyclops.cyclopscore.datastructure.DimPos;
 import org.cyclops.cyclopscore.helper.TileHelpers;
 import org.cyclops.cyclopscore.persist.nbt.INBTProvider;
 
+import java.util.Iterator;
+
 /**
  * A list proxy for a tank's capacities at a certain position.
  */
@@ -38,4 +40,24 @@ public class ValueTypeListProxyPositionedTankCapacities extends ValueTypeListPro
     public ValueTypeInteger.ValueInteger get(int index) {
         return ValueTypeInteger.ValueInteger.of(getTank().getTankProperties()[index].getCapacity());
     }
+
+    @Override
+    public Iterator<ValueTypeInteger.ValueInteger> iterator() {
+        IFluidHandler tank = getTank();
+        final IFluidTankProperties[] tanks = tank == null ? null : tank.getTankProperties();
+        return new ValueTypeListProxyIterator<ValueTypeInteger.ValueInteger>(getValueType()) {
+
+            private int index = 0;
+
+            @Override
+            protected boolean hasNextValue() {
+                return tanks != null && index < tanks.length;
+            }
+
+            @Override
+            protected ValueTypeInteger.ValueInteger nextValue() {
+                return ValueTypeInteger.ValueInteger.of(tanks[index++].getCapacity());
+            }
+        };
+    }
 }
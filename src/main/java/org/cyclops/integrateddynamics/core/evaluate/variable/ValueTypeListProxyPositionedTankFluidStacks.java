@@ -8,6 +8,8 @@ import org.cyclops.cyclopscore.datastructure.DimPos;
 import org.cyclops.cyclopscore.helper.TileHelpers;
 import org.cyclops.cyclopscore.persist.nbt.INBTProvider;
 
+import java.util.Iterator;
+
 /**
  * A list proxy for a tank's fluidstacks at a certain position.
  */
@@ -38,4 +40,24 @@ public class ValueTypeListProxyPositionedTankFluidStacks extends ValueTypeListPr
     public ValueObjectTypeFluidStack.ValueFluidStack get(int index) {
         return ValueObjectTypeFluidStack.ValueFluidStack.of(getTank().getTankProperties()[index].getContents());
     }
+
+    @Override
+    public Iterator<ValueObjectTypeFluidStack.ValueFluidStack> iterator() {
+        IFluidHandler tank = getTank();
+        final IFluidTankProperties[] tanks = tank == null ? null : tank.getTankProperties();
+        return new ValueTypeListProxyIterator<ValueObjectTypeFluidStack.ValueFluidStack>(getValueType()) {
+
+            private int index = 0;
+
+            @Override
+            protected boolean hasNextValue() {
+                return tanks != null && index < tanks.length;
+            }
+
+            @Override
+            protected ValueObjectTypeFluidStack.ValueFluidStack nextValue() {
+                return ValueObjectTypeFluidStack.ValueFluidStack.of(tanks[index++].getContents());
+            }
+        };
+    }
 }
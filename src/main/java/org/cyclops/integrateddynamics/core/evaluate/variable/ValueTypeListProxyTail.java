@@ -8,6 +8,9 @@ import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueTypeListProxy;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueTypeListProxyFactoryTypeRegistry;
+import org.cyclops.integrateddynamics.core.evaluate.EvaluationFuel;
+
+import java.util.Iterator;
 
 /**
  * An list without its first element.
@@ -30,6 +33,7 @@ public class ValueTypeListProxyTail<T extends IValueType<V>, V extends IValue> e
 
     @Override
     public V get(int index) throws EvaluationException {
+        EvaluationFuel.consumeCurrent();
         int listLength = list.getLength();
         if (index < listLength - 1) {
             return list.get(index + 1);
@@ -37,6 +41,18 @@ public class ValueTypeListProxyTail<T extends IValueType<V>, V extends IValue> e
         return null;
     }
 
+    /**
+     * @return The list of which the first element is removed.
+     */
+    protected IValueTypeListProxy<T, V> getList() {
+        return list;
+    }
+
+    @Override
+    public Iterator<V> iterator() {
+        return new ValueTypeListProxyChainIterator<>(this);
+    }
+
     public static class Factory implements IValueTypeListProxyFactoryTypeRegistry.IProxyFactory<IValueType<IValue>, IValue, ValueTypeListProxyTail<IValueType<IValue>, IValue>> {
 
         @Override
@@ -0,0 +1,149 @@
+package org.cyclops.integrateddynamics.core.evaluate.variable;
+
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValueTypeListProxy;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValueTypeListProxyFactoryTypeRegistry;
+import org.cyclops.integrateddynamics.core.evaluate.EvaluationFuel;
+
+import java.util.Iterator;
+
+/**
+ * A list proxy for a range of a persistent vector.
+ * Appending, removing the first element, slicing and retrieving elements take O(log n) time,
+ * and the resulting lists share their elements with the list they were derived from.
+ * Unlike nested appended lists and tails, this is serialized as a flat list of elements.
+ * @param <T> The value type type.
+ * @param <V> The value type.
+ * @author rubensworks
+ */
+public class ValueTypeListProxyVector<T extends IValueType<V>, V extends IValue> extends ValueTypeListProxyBase<T, V> {
+
+    // Vectors are only compacted when the elements before the range outnumber the elements inside it.
+    private static final int MIN_COMPACTION_OFFSET = 32;
+
+    private final PersistentVector<V> vector;
+    private final int start;
+    private final int end;
+
+    public ValueTypeListProxyVector(T valueType, PersistentVector<V> vector, int start, int end) {
+        super(ValueTypeListProxyFactories.VECTOR.getName(), valueType);
+        this.vector = vector;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * @param list A list.
+     * @return If the given list has all of its elements available, so that it can be stored in a vector.
+     */
+    public static boolean isMaterialized(IValueTypeListProxy list) {
+        return list instanceof ValueTypeListProxyMaterialized || list instanceof ValueTypeListProxyVector;
+    }
+
+    /**
+     * @param list A finite list.
+     * @param <T> The value type type.
+     * @param <V> The value type.
+     * @return A vector list with the elements of the given list.
+     */
+    public static <T extends IValueType<V>, V extends IValue> ValueTypeListProxyVector<T, V> of(IValueTypeListProxy<T, V> list) {
+        if (list instanceof ValueTypeListProxyVector) {
+            return (ValueTypeListProxyVector<T, V>) list;
+        }
+        PersistentVector<V> vector = PersistentVector.of(list);
+        return new ValueTypeListProxyVector<>(list.getValueType(), vector, 0, vector.size());
+    }
+
+    @Override
+    public int getLength() throws EvaluationException {
+        return end - start;
+    }
+
+    @Override
+    public V get(int index) throws EvaluationException {
+        EvaluationFuel.consumeCurrent();
+        if (index < 0 || index >= end - start) {
+            throw new IndexOutOfBoundsException(String.format("Index %s is out of bounds for length %s.", index, end - start));
+        }
+        return vector.get(start + index);
+    }
+
+    /**
+     * @param value A value.
+     * @return A list with the given value appended.
+     */
+    public ValueTypeListProxyVector<T, V> append(V value) {
+        // Elements after the range are not part of this list, so they can be replaced.
+        return create(vector.set(end, value), start, end + 1);
+    }
+
+    /**
+     * @return A list without the first element.
+     */
+    public ValueTypeListProxyVector<T, V> tail() {
+        return start == end ? this : create(vector, start + 1, end);
+    }
+
+    /**
+     * @param from The first index, inclusive.
+     * @param to The last index, exclusive.
+     * @return A list with the elements within the given range, which is clamped to the bounds of this list.
+     */
+    public ValueTypeListProxyVector<T, V> slice(int from, int to) {
+        int length = end - start;
+        from = Math.max(0, Math.min(from, length));
+        to = Math.max(from, Math.min(to, length));
+        return create(vector, start + from, start + to);
+    }
+
+    protected ValueTypeListProxyVector<T, V> create(final PersistentVector<V> vector, final int start, final int end) {
+        if (start >= MIN_COMPACTION_OFFSET && start > end - start) {
+            // Copy the range into a new vector, so that removed elements can be garbage collected.
+            PersistentVector<V> compacted = PersistentVector.of(new Iterable<V>() {
+                @Override
+                public Iterator<V> iterator() {
+                    return vector.iterator(start, end);
+                }
+            });
+            return new ValueTypeListProxyVector<>(getValueType(), compacted, 0, compacted.size());
+        }
+        return new ValueTypeListProxyVector<>(getValueType(), vector, start, end);
+    }
+
+    @Override
+    public Iterator<V> iterator() {
+        final Iterator<V> it = vector.iterator(start, end);
+        return new ValueTypeListProxyIterator<V>(getValueType()) {
+            @Override
+            protected boolean hasNextValue() {
+                return it.hasNext();
+            }
+
+            @Override
+            protected V nextValue() throws EvaluationException {
+                EvaluationFuel.consumeCurrent();
+                return it.next();
+            }
+        };
+    }
+
+    public static class Factory implements IValueTypeListProxyFactoryTypeRegistry.IProxyFactory<IValueType<IValue>, IValue, ValueTypeListProxyVector<IValueType<IValue>, IValue>> {
+
+        @Override
+        public String getName() {
+            return "vector";
+        }
+
+        @Override
+        public String serialize(ValueTypeListProxyVector<IValueType<IValue>, IValue> values) throws IValueTypeListProxyFactoryTypeRegistry.SerializationException {
+            return ValueTypeListProxyFactories.MATERIALIZED.serializeElements(values);
+        }
+
+        @Override
+        public ValueTypeListProxyVector<IValueType<IValue>, IValue> deserialize(String data) throws IValueTypeListProxyFactoryTypeRegistry.SerializationException {
+            return of(ValueTypeListProxyFactories.MATERIALIZED.deserialize(data));
+        }
+    }
+}
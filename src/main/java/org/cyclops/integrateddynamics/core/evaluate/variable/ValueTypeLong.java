@@ -93,6 +93,15 @@ public class ValueTypeLong extends ValueTypeBase<ValueTypeLong.ValueLong> implem
     @ToString
     public static class ValueLong extends ValueBase {
 
+        private static final int CACHE_LOW = -128;
+        private static final int CACHE_HIGH = 1024;
+        private static final ValueLong[] CACHE = new ValueLong[CACHE_HIGH - CACHE_LOW];
+        static {
+            for (int i = 0; i < CACHE.length; i++) {
+                CACHE[i] = new ValueLong(i + CACHE_LOW);
+            }
+        }
+
         private final long value;
 
         private ValueLong(long value) {
@@ -100,7 +109,15 @@ public class ValueTypeLong extends ValueTypeBase<ValueTypeLong.ValueLong> implem
             this.value = value;
         }
 
+        /**
+         * Values in [-128, 1024) are interned, so the results of arithmetic on small numbers are not allocated.
+         * @param value A raw value.
+         * @return The value.
+         */
         public static ValueLong of(long value) {
+            if (value >= CACHE_LOW && value < CACHE_HIGH) {
+                return CACHE[(int) (value - CACHE_LOW)];
+            }
             return new ValueLong(value);
         }
 
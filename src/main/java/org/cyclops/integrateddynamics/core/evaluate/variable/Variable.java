@@ -3,13 +3,13 @@ package org.cyclops.integrateddynamics.core.evaluate.variable;
 import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
-import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IVersionedVariable;
 
 /**
  * A default variable implementation.
  * @author rubensworks
  */
-public class Variable<V extends IValue> implements IVariable<V> {
+public class Variable<V extends IValue> implements IVersionedVariable<V> {
 
     private final IValueType<V> type;
     private final V value;
@@ -28,4 +28,9 @@ public class Variable<V extends IValue> implements IVariable<V> {
     public V getValue() throws EvaluationException {
         return value;
     }
+
+    @Override
+    public long getVersion() {
+        return 0;
+    }
 }
@@ -0,0 +1,58 @@
+package org.cyclops.integrateddynamics.core.evaluate.variable;
+
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IVersionedVariable;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Helpers for {@link IVersionedVariable#getVersion()}.
+ * @author rubensworks
+ */
+public final class VariableVersions {
+
+    private static final AtomicLong COUNTER = new AtomicLong();
+
+    private VariableVersions() {
+
+    }
+
+    /**
+     * Versions are taken from a single global counter,
+     * so that a variable that is replaced by another one can never produce a version that was seen before.
+     * @return A new version that is higher than all previous versions.
+     */
+    public static long next() {
+        return COUNTER.incrementAndGet();
+    }
+
+    /**
+     * Get the version of the given variable.
+     * @param variable A variable.
+     * @return The version of the variable if it is versioned, otherwise a new version,
+     *         as the value of unversioned variables may have changed at any time.
+     */
+    public static long getVersion(IVariable<?> variable) {
+        if (variable instanceof IVersionedVariable) {
+            return ((IVersionedVariable<?>) variable).getVersion();
+        }
+        return next();
+    }
+
+    /**
+     * Values of memoizable types are fully determined by their contents.
+     * Other values, such as operators, lists and entities, may read live world state when being used,
+     * so they can not be considered unchanged when they are equal.
+     * @param valueType A value type.
+     * @return If results depending on values of the given type can be memoized.
+     */
+    public static boolean isMemoizable(IValueType<?> valueType) {
+        return valueType == ValueTypes.BOOLEAN
+                || valueType == ValueTypes.INTEGER
+                || valueType == ValueTypes.DOUBLE
+                || valueType == ValueTypes.LONG
+                || valueType == ValueTypes.STRING;
+    }
+
+}
@@ -163,9 +163,8 @@ public class CableHelpers {
                 cable.updateConnections();
                 CableHelpers.updateConnectionsNeighbours(world, pos);
 
-                // Reinit the networks for this block and the disconnected neighbour.
-                NetworkHelpers.initNetwork(world, pos);
-                NetworkHelpers.initNetwork(world, pos.offset(cableConnectionHit));
+                // Split the network if this block and the disconnected neighbour are not connected anymore.
+                NetworkHelpers.splitNetworks(world, Lists.newArrayList(pos, pos.offset(cableConnectionHit)));
                 return true;
             } else if (cableConnectionHit == null) {
                 // Reconnect cable side
@@ -183,9 +182,8 @@ public class CableHelpers {
                     cable.updateConnections();
                     CableHelpers.updateConnectionsNeighbours(world, pos);
 
-                    // Reinit the networks for this block and the connected neighbour.
-                    NetworkHelpers.initNetwork(world, pos);
-                    NetworkHelpers.initNetwork(world, neighbourPos);
+                    // Merge the networks for this block and the connected neighbour.
+                    NetworkHelpers.connectNetwork(world, pos);
                 }
                 return true;
             }
@@ -196,14 +194,14 @@ public class CableHelpers {
 
     /**
      * This should be called when a cable is added.
-     * This method automatically notifies the neighbours and (re-)initializes the network if this cable carries one.
+     * This method automatically notifies the neighbours and connects this cable to the neighbouring networks.
      * @param world The world.
      * @param pos The position.
      */
     public static void onCableAdded(World world, BlockPos pos) {
         CableHelpers.updateConnectionsNeighbours(world, pos);
         if(!world.isRemote) {
-            NetworkHelpers.initNetwork(world, pos);
+            NetworkHelpers.connectNetwork(world, pos);
         }
     }
 
@@ -252,11 +250,12 @@ public class CableHelpers {
     public static boolean onCableRemoved(World world, BlockPos pos) {
         updateConnectionsNeighbours(world, pos);
         if (!world.isRemote) {
-            // Reinit neighbouring networks.
+            // Split neighbouring networks if they have become disconnected.
+            List<BlockPos> sidePositions = Lists.newArrayListWithCapacity(EnumFacing.VALUES.length);
             for(EnumFacing side : EnumFacing.VALUES) {
-                BlockPos sidePos = pos.offset(side);
-                NetworkHelpers.initNetwork(world, sidePos);
+                sidePositions.add(pos.offset(side));
             }
+            NetworkHelpers.splitNetworks(world, sidePositions);
         }
         return true;
     }
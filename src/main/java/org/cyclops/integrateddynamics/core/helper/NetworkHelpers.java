@@ -1,5 +1,7 @@
 package org.cyclops.integrateddynamics.core.helper;
 
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.util.math.BlockPos;
@@ -14,8 +16,14 @@ import org.cyclops.integrateddynamics.capability.network.PartNetworkConfig;
 import org.cyclops.integrateddynamics.capability.networkelementprovider.NetworkElementProviderConfig;
 import org.cyclops.integrateddynamics.capability.path.PathElementConfig;
 import org.cyclops.integrateddynamics.core.network.Network;
+import org.cyclops.integrateddynamics.core.path.Cluster;
+import org.cyclops.integrateddynamics.core.path.PathConnectivity;
 
 import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Network helper methods.
@@ -100,6 +108,104 @@ public class NetworkHelpers {
         return null;
     }
 
+    /**
+     * Connect the path element at the given position to the networks it can reach.
+     * The path element will be added to the largest reachable network,
+     * and all other reachable networks will be merged into that network.
+     * If no networks are reachable, a new network will be formed.
+     * This should be called after a path element or connection was added.
+     * @param world The world.
+     * @param pos The position of the path element.
+     * @return The network the path element is part of.
+     * Can be null if the position did not have a {@link IPathElement} capability.
+     */
+    public static @Nullable INetwork connectNetwork(World world, BlockPos pos) {
+        IPathElement pathElement = TileHelpers.getCapability(world, pos, null, PathElementConfig.CAPABILITY);
+        if (pathElement == null) {
+            return null;
+        }
+
+        // Collect the distinct networks that are connected to this path element.
+        List<Network> networks = Lists.newArrayList();
+        INetwork ownNetwork = getNetwork(world, pos);
+        if (ownNetwork != null && !addConnectedNetwork(networks, ownNetwork)) {
+            return initNetwork(world, pos);
+        }
+        for (IPathElement reachableElement : pathElement.getReachableElements()) {
+            INetwork network = getNetwork(reachableElement.getPosition().getWorld(), reachableElement.getPosition().getBlockPos());
+            if (network == null || !addConnectedNetwork(networks, network)) {
+                // Fallback to a full network initialization if we encounter something unexpected.
+                return initNetwork(world, pos);
+            }
+        }
+        if (networks.isEmpty()) {
+            return initNetwork(world, pos);
+        }
+
+        // Merge all networks into the largest one.
+        Network target = networks.get(0);
+        for (Network network : networks) {
+            if (network.getCablesCount() > target.getCablesCount()) {
+                target = network;
+            }
+        }
+        for (Network network : networks) {
+            if (network != target) {
+                target.mergeNetwork(network);
+            }
+        }
+        if (ownNetwork == null) {
+            target.addPathElements(Collections.singletonList(pathElement));
+        }
+        return target;
+    }
+
+    private static boolean addConnectedNetwork(List<Network> networks, INetwork network) {
+        if (!(network instanceof Network) || network.isKilled()) {
+            return false;
+        }
+        for (Network existingNetwork : networks) {
+            if (existingNetwork == network) {
+                return true;
+            }
+        }
+        networks.add((Network) network);
+        return true;
+    }
+
+    /**
+     * Split the networks of the path elements at the given positions if they are not connected anymore.
+     * Only the parts that became detached will be moved to new networks,
+     * the largest part will remain in the original network.
+     * This should be called after a path element or connection between the given positions was removed.
+     * @param world The world.
+     * @param positions The positions of the path elements that were previously connected.
+     */
+    public static void splitNetworks(World world, Collection<BlockPos> positions) {
+        Map<INetwork, List<IPathElement>> networkHeads = Maps.newIdentityHashMap();
+        for (BlockPos pos : positions) {
+            IPathElement pathElement = TileHelpers.getCapability(world, pos, null, PathElementConfig.CAPABILITY);
+            if (pathElement != null) {
+                INetwork network = getNetwork(world, pos);
+                if (network instanceof Network && !network.isKilled()) {
+                    List<IPathElement> heads = networkHeads.get(network);
+                    if (heads == null) {
+                        heads = Lists.newArrayList();
+                        networkHeads.put(network, heads);
+                    }
+                    heads.add(pathElement);
+                } else {
+                    initNetwork(world, pos);
+                }
+            }
+        }
+        for (List<IPathElement> heads : networkHeads.values()) {
+            for (Cluster cluster : PathConnectivity.getDetachedClusters(heads)) {
+                Network.initiateNetworkSetup(cluster).initialize();
+            }
+        }
+    }
+
     /**
      * This MUST be called by blocks having the {@link INetworkElementProvider} capability in
      * when a neighbouring block is updated, more specifically when
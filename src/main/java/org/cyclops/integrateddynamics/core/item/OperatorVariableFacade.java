@@ -10,6 +10,7 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 import org.cyclops.cyclopscore.datastructure.Wrapper;
 import org.cyclops.cyclopscore.helper.L10NHelpers;
 import org.cyclops.integrateddynamics.api.client.model.IVariableModelBaked;
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
 import org.cyclops.integrateddynamics.api.evaluate.expression.IExpression;
 import org.cyclops.integrateddynamics.api.evaluate.operator.IOperator;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
@@ -17,16 +18,22 @@ import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
 import org.cyclops.integrateddynamics.api.item.IOperatorVariableFacade;
 import org.cyclops.integrateddynamics.api.item.IVariableFacade;
+import org.cyclops.integrateddynamics.api.network.IDeduplicatingPartNetwork;
 import org.cyclops.integrateddynamics.api.network.IPartNetwork;
 import org.cyclops.integrateddynamics.core.client.model.VariableModelProviders;
 import org.cyclops.integrateddynamics.core.evaluate.expression.LazyExpression;
 import org.cyclops.integrateddynamics.core.evaluate.variable.ValueHelpers;
+import org.cyclops.integrateddynamics.core.evaluate.variable.Variable;
+import org.cyclops.integrateddynamics.core.evaluate.variable.VariableVersions;
 import org.cyclops.integrateddynamics.core.helper.L10NValues;
 
 import java.util.List;
 
 /**
  * Variable facade for variables determined for operators based on other variables in the network determined by their id.
+ *
+ * If validation succeeds and all inputs are constants, this operator is folded into a constant,
+ * which is used until the variables in the network change.
  * @author rubensworks
  */
 @EqualsAndHashCode(callSuper = true)
@@ -37,6 +44,9 @@ public class OperatorVariableFacade extends VariableFacadeBase implements IOpera
     private final int[] variableIds;
     private IExpression expression = null;
     private int lastNetworkHash = -1;
+    private int lastExpressionId = -1;
+    private IVariable foldedVariable = null;
+    private int foldedExpressionId = -1;
 
     public OperatorVariableFacade(boolean generateId, IOperator operator, int[] variableIds) {
         super(generateId);
@@ -53,9 +63,19 @@ public class OperatorVariableFacade extends VariableFacadeBase implements IOpera
     @Override
     public <V extends IValue> IVariable<V> getVariable(IPartNetwork network) {
         if(isValid()) {
+            if(foldedVariable != null) {
+                // Expression ids are never reused, so an equal id means that the network variables did not change.
+                if(getExpressionId(network) == foldedExpressionId) {
+                    return foldedVariable;
+                }
+                foldedVariable = null;
+            }
             int newNetworkHash = network != null ? network.hashCode() : -1;
-            if(expression == null || expression.hasErrored() || newNetworkHash != this.lastNetworkHash) {
+            int expressionId = getExpressionId(network);
+            if(expression == null || expression.hasErrored() || newNetworkHash != this.lastNetworkHash
+                    || expressionId != this.lastExpressionId) {
                 this.lastNetworkHash = newNetworkHash;
+                this.lastExpressionId = expressionId;
                 IVariable[] variables = new IVariable[variableIds.length];
                 for (int i = 0; i < variableIds.length; i++) {
                     int variableId = variableIds[i];
@@ -71,7 +91,8 @@ public class OperatorVariableFacade extends VariableFacadeBase implements IOpera
                         return null;
                     }
                 }
-                expression = new LazyExpression(getId(), operator, variables, network);
+                // Structurally equal operators in the network share their cached value within a tick.
+                expression = new LazyExpression(expressionId, operator, variables, network);
             }
             return expression;
         }
@@ -143,9 +164,53 @@ public class OperatorVariableFacade extends VariableFacadeBase implements IOpera
                     validator.addError(new L10NHelpers.UnlocalizedString(L10NValues.ASPECT_ERROR_INVALIDTYPE,
                             new L10NHelpers.UnlocalizedString(containingValueType.getUnlocalizedName()),
                             new L10NHelpers.UnlocalizedString(outputType.getUnlocalizedName())));
+                } else if (error == null) {
+                    fold(network, variables, outputType);
+                    return;
                 }
             }
         }
+        foldedVariable = null;
+    }
+
+    /**
+     * @param network The network.
+     * @return The id under which the value of this facade is cached in the given network,
+     *         or the id of this facade if the network does not deduplicate expressions.
+     */
+    protected int getExpressionId(IPartNetwork network) {
+        if(network instanceof IDeduplicatingPartNetwork) {
+            return ((IDeduplicatingPartNetwork) network).getExpressionId(this);
+        }
+        return getId();
+    }
+
+    /**
+     * Evaluate this operator once if all inputs are constants,
+     * and if the inputs and output are memoizable, so that the operator can not depend on anything else.
+     * Inputs that were folded themselves are constants as well, so constant sub-expressions are folded bottom-up.
+     * @param network The network.
+     * @param variables The input variables.
+     * @param outputType The output type.
+     */
+    protected void fold(IPartNetwork network, IVariable[] variables, IValueType outputType) {
+        foldedVariable = null;
+        // Without expression ids, changes to the network variables can not be detected.
+        if(!(network instanceof IDeduplicatingPartNetwork) || !VariableVersions.isMemoizable(outputType)) {
+            return;
+        }
+        for (IVariable variable : variables) {
+            if(!(variable instanceof Variable) || !VariableVersions.isMemoizable(variable.getType())) {
+                return;
+            }
+        }
+        try {
+            IValue value = getOperator().evaluate(variables);
+            foldedVariable = new Variable(value.getType(), value);
+            foldedExpressionId = getExpressionId(network);
+        } catch (EvaluationException e) {
+            // The error will be reported when the variable is evaluated.
+        }
     }
 
     @Override
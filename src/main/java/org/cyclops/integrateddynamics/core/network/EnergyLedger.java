@@ -0,0 +1,119 @@
+package org.cyclops.integrateddynamics.core.network;
+
+import net.minecraftforge.energy.IEnergyStorage;
+
+/**
+ * Keeps track of the energy consumption of network elements within a single network update.
+ *
+ * At the start of an update, the energy that is available in all batteries is snapshotted once.
+ * Elements can then check in constant time if the remaining energy suffices for their consumption,
+ * after which their consumption is only recorded.
+ * Energy that is extracted from the batteries in the meantime must be withdrawn from this ledger.
+ * At the end of the update, the total consumption is debited from the batteries at once,
+ * in the order of the batteries.
+ *
+ * @author rubensworks
+ */
+public class EnergyLedger {
+
+    private static final IEnergyStorage[] NO_BATTERIES = new IEnergyStorage[0];
+
+    private IEnergyStorage[] batteries = NO_BATTERIES;
+    private long available = 0;
+    private long debit = 0;
+
+    /**
+     * @param batteries The batteries to use, in the order in which they should be debited.
+     */
+    public void setBatteries(IEnergyStorage[] batteries) {
+        this.batteries = batteries;
+    }
+
+    /**
+     * @return The batteries, in the order in which they are debited.
+     */
+    public IEnergyStorage[] getBatteries() {
+        return batteries;
+    }
+
+    /**
+     * Snapshot the available energy of all batteries, and start with an empty debit.
+     */
+    public void open() {
+        long available = 0;
+        for (IEnergyStorage battery : batteries) {
+            // Batteries may limit the energy per extraction, while the debit can be extracted in multiple calls.
+            available += Math.max(battery.extractEnergy(Integer.MAX_VALUE, true),
+                    battery.canExtract() ? battery.getEnergyStored() : 0);
+        }
+        this.available = available;
+        this.debit = 0;
+    }
+
+    /**
+     * @param energy An amount of energy.
+     * @return If the given amount of energy can be debited in addition to the current debit.
+     */
+    public boolean canDebit(int energy) {
+        return debit + energy <= available;
+    }
+
+    /**
+     * Record the given amount of energy to be debited when this ledger is settled.
+     * @param energy An amount of energy.
+     */
+    public void debit(int energy) {
+        debit += energy;
+    }
+
+    /**
+     * Record that the given amount of energy was extracted from the batteries outside of this ledger,
+     * so that it is no longer available for debits.
+     * @param energy An amount of energy.
+     */
+    public void withdraw(int energy) {
+        available -= energy;
+    }
+
+    /**
+     * @return The amount of energy that will be debited when this ledger is settled.
+     */
+    public long getDebit() {
+        return debit;
+    }
+
+    /**
+     * @return The amount of energy that was available at the start of this update, minus the withdrawals and the current debit.
+     */
+    public long getRemaining() {
+        return available - debit;
+    }
+
+    /**
+     * Extract the recorded debit from the batteries.
+     * @return The amount of energy that was actually extracted.
+     */
+    public long settle() {
+        long remaining = debit;
+        // Batteries may limit the energy that can be extracted in a single call, so keep going while they make progress.
+        boolean progress = true;
+        while (remaining > 0 && progress) {
+            progress = false;
+            for (IEnergyStorage battery : batteries) {
+                if (remaining <= 0) {
+                    break;
+                }
+                int extracted = battery.extractEnergy((int) Math.min(remaining, Integer.MAX_VALUE), false);
+                if (extracted > 0) {
+                    remaining -= extracted;
+                    progress = true;
+                }
+            }
+        }
+        long extracted = debit - remaining;
+        this.available -= extracted;
+        this.debit = 0;
+        return extracted;
+    }
+
+}
@@ -1,27 +1,53 @@
 package org.cyclops.integrateddynamics.core.network;
 
+import com.google.common.collect.Lists;
 import lombok.Getter;
 import lombok.Setter;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
 import net.minecraftforge.energy.CapabilityEnergy;
 import net.minecraftforge.energy.IEnergyStorage;
+import org.cyclops.cyclopscore.datastructure.DimPos;
+import org.cyclops.cyclopscore.helper.MinecraftHelpers;
 import org.cyclops.cyclopscore.helper.TileHelpers;
 import org.cyclops.integrateddynamics.GeneralConfig;
 import org.cyclops.integrateddynamics.api.network.*;
 import org.cyclops.integrateddynamics.api.part.PartPos;
 import org.cyclops.integrateddynamics.api.path.IPathElement;
 
+import java.util.List;
+
 /**
  * A network that can hold energy.
+ *
+ * The energy consumption of network elements is tracked in an {@link EnergyLedger},
+ * which holds the resolved energy storages of all batteries.
+ * The available energy is only determined once at the start of each network update,
+ * and the consumption of all updated elements is extracted at once at the end of the update.
+ * Energy that is extracted from the network during the update is withdrawn from the ledger,
+ * and can not exceed the energy that was not debited yet.
+ *
+ * The inserted, extracted and consumed energy of each tick is kept in an {@link EnergyTelemetry},
+ * and the consumption rate of all elements is cached for up to a second,
+ * so that both can be read often without iterating over all batteries or elements.
+ *
  * @author rubensworks
  */
-public class EnergyNetwork extends PositionedAddonsNetwork implements IEnergyNetwork, IFullNetworkListener {
+public class EnergyNetwork extends PositionedAddonsNetwork implements IEnergyFlowNetwork, IFullNetworkUpdateListener {
 
     @Getter
     @Setter
     private INetwork network;
+    private final EnergyLedger ledger = new EnergyLedger();
+    private TileEntity[] batteryTiles = null;
+    private boolean ledgerOpen = false;
+    private final EnergyTelemetry telemetry = new EnergyTelemetry();
+    private int consumptionRate = 0;
+    private int consumptionRateAge = -1;
 
     @Override
     public boolean addNetworkElement(INetworkElement element, boolean networkPreinit) {
+        consumptionRateAge = -1;
         return true;
     }
 
@@ -32,7 +58,7 @@ public class EnergyNetwork extends PositionedAddonsNetwork implements IEnergyNet
 
     @Override
     public void removeNetworkElementPost(INetworkElement element) {
-
+        consumptionRateAge = -1;
     }
 
     @Override
@@ -42,7 +68,57 @@ public class EnergyNetwork extends PositionedAddonsNetwork implements IEnergyNet
 
     @Override
     public void update() {
+        ledgerOpen = GeneralConfig.energyConsumptionMultiplier != 0;
+        if (ledgerOpen) {
+            refreshBatteries();
+            ledger.open();
+            // Elements can only be prevented from updating if the energy does not suffice for all of them.
+            if (ledger.getRemaining() < getConsumptionRate() && getNetwork() instanceof Network) {
+                ((Network) getNetwork()).requestSkippedUpdatesCheck();
+            }
+        }
+    }
 
+    @Override
+    public void afterUpdate() {
+        if (ledgerOpen) {
+            telemetry.add(Flow.CONSUMED, ledger.settle());
+            ledgerOpen = false;
+        }
+        telemetry.nextTick();
+        if (consumptionRateAge >= 0) {
+            consumptionRateAge++;
+        }
+    }
+
+    /**
+     * Resolve the energy storages of all batteries if they were not resolved yet,
+     * or if any of the resolved batteries has become invalid.
+     */
+    protected void refreshBatteries() {
+        if (batteryTiles != null) {
+            for (TileEntity tile : batteryTiles) {
+                if (tile.isInvalid()) {
+                    batteryTiles = null;
+                    break;
+                }
+            }
+        }
+        if (batteryTiles == null) {
+            List<TileEntity> tiles = Lists.newArrayList();
+            List<IEnergyStorage> energyStorages = Lists.newArrayList();
+            for (PrioritizedPartPos partPos : getPositions()) {
+                DimPos pos = partPos.getPartPos().getPos();
+                TileEntity tile = TileHelpers.getSafeTile(pos.getWorld(), pos.getBlockPos(), TileEntity.class);
+                EnumFacing side = partPos.getPartPos().getSide();
+                if (tile != null && tile.hasCapability(CapabilityEnergy.ENERGY, side)) {
+                    tiles.add(tile);
+                    energyStorages.add(tile.getCapability(CapabilityEnergy.ENERGY, side));
+                }
+            }
+            batteryTiles = tiles.toArray(new TileEntity[tiles.size()]);
+            ledger.setBatteries(energyStorages.toArray(new IEnergyStorage[energyStorages.size()]));
+        }
     }
 
     @Override
@@ -66,7 +142,10 @@ public class EnergyNetwork extends PositionedAddonsNetwork implements IEnergyNet
         int multiplier = GeneralConfig.energyConsumptionMultiplier;
         if(multiplier == 0) return true;
         int consumptionRate = ((IEnergyConsumingNetworkElement) element).getConsumptionRate() * multiplier;
-        return extractEnergy(consumptionRate, true) == consumptionRate;
+        if (ledgerOpen) {
+            return ledger.canDebit(consumptionRate);
+        }
+        return extractEnergyFromBatteries(consumptionRate, true) == consumptionRate;
     }
 
     @Override
@@ -82,7 +161,11 @@ public class EnergyNetwork extends PositionedAddonsNetwork implements IEnergyNet
             int multiplier = GeneralConfig.energyConsumptionMultiplier;
             if (multiplier > 0) {
                 int consumptionRate = ((IEnergyConsumingNetworkElement) element).getConsumptionRate() * multiplier;
-                extractEnergy(consumptionRate, false);
+                if (ledgerOpen) {
+                    ledger.debit(consumptionRate);
+                } else {
+                    telemetry.add(Flow.CONSUMED, extractEnergyFromBatteries(consumptionRate, false));
+                }
             }
             ((IEnergyConsumingNetworkElement) element).postUpdate(getNetwork(), true);
         }
@@ -97,11 +180,9 @@ public class EnergyNetwork extends PositionedAddonsNetwork implements IEnergyNet
     @Override
     public int getEnergyStored() {
         int energy = 0;
-        for(PrioritizedPartPos partPos : getPositions()) {
-            IEnergyStorage energyStorage = getEnergyStorage(partPos);
-            if (energyStorage != null) {
-                energy = addSafe(energy, energyStorage.getEnergyStored());
-            }
+        refreshBatteries();
+        for(IEnergyStorage energyStorage : ledger.getBatteries()) {
+            energy = addSafe(energy, energyStorage.getEnergyStored());
         }
         return energy;
     }
@@ -109,11 +190,9 @@ public class EnergyNetwork extends PositionedAddonsNetwork implements IEnergyNet
     @Override
     public int getMaxEnergyStored() {
         int maxEnergy = 0;
-        for(PrioritizedPartPos partPos : getPositions()) {
-            IEnergyStorage energyStorage = getEnergyStorage(partPos);
-            if (energyStorage != null) {
-                maxEnergy = addSafe(maxEnergy, energyStorage.getMaxEnergyStored());
-            }
+        refreshBatteries();
+        for(IEnergyStorage energyStorage : ledger.getBatteries()) {
+            maxEnergy = addSafe(maxEnergy, energyStorage.getMaxEnergyStored());
         }
         return maxEnergy;
     }
@@ -137,11 +216,29 @@ public class EnergyNetwork extends PositionedAddonsNetwork implements IEnergyNet
                 toAdd -= energyStorage.receiveEnergy(toAdd, simulate);
             }
         }
+        if (!simulate) {
+            telemetry.add(Flow.INSERTED, energy - toAdd);
+        }
         return energy - toAdd;
     }
 
     @Override
     public int extractEnergy(int energy, boolean simulate) {
+        if (ledgerOpen) {
+            // Energy that was debited during this update is still in the batteries, but can not be extracted anymore.
+            energy = (int) Math.max(0, Math.min(energy, ledger.getRemaining()));
+        }
+        int extracted = extractEnergyFromBatteries(energy, simulate);
+        if (!simulate) {
+            if (ledgerOpen) {
+                ledger.withdraw(extracted);
+            }
+            telemetry.add(Flow.EXTRACTED, extracted);
+        }
+        return extracted;
+    }
+
+    protected int extractEnergyFromBatteries(int energy, boolean simulate) {
         int toConsume = energy;
         for(PrioritizedPartPos partPos : getPositions()) {
             IEnergyStorage energyStorage = getEnergyStorage(partPos);
@@ -155,18 +252,40 @@ public class EnergyNetwork extends PositionedAddonsNetwork implements IEnergyNet
     @Override
     public boolean addPosition(PartPos pos, int priority) {
         IEnergyStorage energyStorage = TileHelpers.getCapability(pos.getPos(), pos.getSide(), CapabilityEnergy.ENERGY);
-        return energyStorage != null && super.addPosition(pos, priority);
+        if (energyStorage != null && super.addPosition(pos, priority)) {
+            batteryTiles = null;
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void removePosition(PartPos pos) {
+        super.removePosition(pos);
+        batteryTiles = null;
     }
 
     @Override
     public int getConsumptionRate() {
         int multiplier = GeneralConfig.energyConsumptionMultiplier;
         if(multiplier == 0) return 0;
-        int consumption = 0;
-        for(INetworkElement element : getNetwork().getElements()) {
-            consumption += ((IEnergyConsumingNetworkElement) element).getConsumptionRate() * multiplier;
+        // The consumption rate of elements may depend on their state, so it is recalculated every second.
+        if (consumptionRateAge < 0 || consumptionRateAge >= MinecraftHelpers.SECOND_IN_TICKS) {
+            int consumption = 0;
+            for(INetworkElement element : getNetwork().getElements()) {
+                if (element instanceof IEnergyConsumingNetworkElement) {
+                    consumption += ((IEnergyConsumingNetworkElement) element).getConsumptionRate();
+                }
+            }
+            consumptionRate = consumption;
+            consumptionRateAge = 0;
         }
-        return consumption;
+        return consumptionRate * multiplier;
+    }
+
+    @Override
+    public double getAverageEnergyFlow(Flow flow, int seconds) {
+        return telemetry.getAverage(flow, seconds);
     }
 
     protected static IEnergyStorage getEnergyStorage(PrioritizedPartPos pos) {
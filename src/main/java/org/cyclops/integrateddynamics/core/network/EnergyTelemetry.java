@@ -0,0 +1,67 @@
+package org.cyclops.integrateddynamics.core.network;
+
+import org.cyclops.cyclopscore.helper.MinecraftHelpers;
+import org.cyclops.integrateddynamics.api.network.IEnergyFlowNetwork;
+
+/**
+ * Keeps a history of the energy flows of an energy network for each tick in the last minute.
+ * The sums over the last second, ten seconds and minute are updated incrementally each tick,
+ * so that averages can be retrieved in constant time.
+ * @author rubensworks
+ */
+public class EnergyTelemetry {
+
+    private static final int[] WINDOW_SECONDS = new int[]{1, 10, 60};
+    private static final int HISTORY = WINDOW_SECONDS[WINDOW_SECONDS.length - 1] * MinecraftHelpers.SECOND_IN_TICKS;
+    private static final int FLOWS = IEnergyFlowNetwork.Flow.values().length;
+
+    private final long[] current = new long[FLOWS];
+    private final long[][] history = new long[FLOWS][HISTORY];
+    private final long[][] sums = new long[FLOWS][WINDOW_SECONDS.length];
+    private int position = 0;
+    private int recordedTicks = 0;
+
+    /**
+     * Add the given amount of energy to the given flow of the current tick.
+     * @param flow The kind of energy flow.
+     * @param energy An amount of energy.
+     */
+    public void add(IEnergyFlowNetwork.Flow flow, long energy) {
+        current[flow.ordinal()] += energy;
+    }
+
+    /**
+     * Finish the current tick and start a new one.
+     */
+    public void nextTick() {
+        for (int flow = 0; flow < FLOWS; flow++) {
+            long value = current[flow];
+            for (int window = 0; window < WINDOW_SECONDS.length; window++) {
+                int windowTicks = WINDOW_SECONDS[window] * MinecraftHelpers.SECOND_IN_TICKS;
+                // The value that leaves the window must be read before it is overwritten for the largest window.
+                long leaving = recordedTicks >= windowTicks ? history[flow][(position - windowTicks + HISTORY) % HISTORY] : 0;
+                sums[flow][window] += value - leaving;
+            }
+            history[flow][position] = value;
+            current[flow] = 0;
+        }
+        position = (position + 1) % HISTORY;
+        recordedTicks = Math.min(recordedTicks + 1, HISTORY);
+    }
+
+    /**
+     * @param flow The kind of energy flow.
+     * @param seconds The number of seconds to average over, 1, 10 or 60.
+     * @return The average amount of energy per tick of the given flow within the last given seconds.
+     */
+    public double getAverage(IEnergyFlowNetwork.Flow flow, int seconds) {
+        for (int window = 0; window < WINDOW_SECONDS.length; window++) {
+            if (WINDOW_SECONDS[window] == seconds) {
+                int ticks = Math.min(recordedTicks, seconds * MinecraftHelpers.SECOND_IN_TICKS);
+                return ticks == 0 ? 0 : sums[flow.ordinal()][window] / (double) ticks;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported energy telemetry window of " + seconds + " seconds.");
+    }
+
+}
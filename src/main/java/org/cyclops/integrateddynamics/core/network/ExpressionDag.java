@@ -0,0 +1,192 @@
+package org.cyclops.integrateddynamics.core.network;
+
+import com.google.common.collect.Maps;
+import gnu.trove.list.TIntList;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.TIntIntMap;
+import gnu.trove.map.hash.TIntIntHashMap;
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
+import org.cyclops.integrateddynamics.api.item.IAspectVariableFacade;
+import org.cyclops.integrateddynamics.api.item.IOperatorVariableFacade;
+import org.cyclops.integrateddynamics.api.item.IProxyVariableFacade;
+import org.cyclops.integrateddynamics.api.item.IValueTypeVariableFacade;
+import org.cyclops.integrateddynamics.api.item.IVariableFacade;
+import org.cyclops.integrateddynamics.api.network.IPartNetwork;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * A DAG of the expressions in a part network, in which structurally equal variable facades are hash-consed into a single node.
+ *
+ * Operator facades are equal if they apply the same operator to equal inputs, regardless of their variable ids.
+ * The id of a node is used as the id under which the values of its expressions are cached within a tick,
+ * so that each unique node is evaluated at most once per tick.
+ * Node ids are never reused after invalidation, so that values that were cached earlier in a tick
+ * can never be mistaken for the value of another node.
+ *
+ * @author rubensworks
+ */
+public class ExpressionDag {
+
+    private static final int[] NO_INPUTS = new int[0];
+    private static final int MISSING_INPUT = -1;
+
+    private final IPartNetwork network;
+    private final Map<NodeKey, Integer> nodeIds = Maps.newHashMap();
+    private final TIntIntMap facadeNodeIds = new TIntIntHashMap();
+    private final TIntList topologicalOrder = new TIntArrayList();
+    private final TIntSet operatorNodes = new TIntHashSet();
+    private final TIntSet visiting = new TIntHashSet();
+    private int nextNodeId = 0;
+    private boolean compiled = false;
+    private int operatorFacades = 0;
+
+    public ExpressionDag(IPartNetwork network) {
+        this.network = network;
+    }
+
+    /**
+     * Forget all nodes, so that the DAG is recompiled when it is used next.
+     * This must be called when the variable facades in the network have changed.
+     */
+    public void invalidate() {
+        nodeIds.clear();
+        facadeNodeIds.clear();
+        topologicalOrder.clear();
+        operatorNodes.clear();
+        compiled = false;
+        operatorFacades = 0;
+    }
+
+    /**
+     * Add all given variable facades to the DAG, if this was not done yet after the last invalidation.
+     * @param variableFacades All variable facades in the network.
+     */
+    public void compile(Collection<IVariableFacade> variableFacades) {
+        if (!compiled) {
+            for (IVariableFacade variableFacade : variableFacades) {
+                getNodeId(variableFacade);
+            }
+            compiled = true;
+        }
+    }
+
+    /**
+     * Get the node of the given variable facade, and add it and its inputs to the DAG if needed.
+     * Variable facades that are not stored in the network, such as the ones in writers, can be added as well.
+     * @param variableFacade A variable facade.
+     * @return The id of the node that represents the given variable facade.
+     */
+    public int getNodeId(IVariableFacade variableFacade) {
+        int facadeId = variableFacade.getId();
+        if (facadeNodeIds.containsKey(facadeId)) {
+            return facadeNodeIds.get(facadeId);
+        }
+        if (!visiting.add(facadeId)) {
+            // Cyclic references will fail when evaluating, so they are never shared.
+            return addNode(new NodeKey("cyclic:" + facadeId, NO_INPUTS), false);
+        }
+        NodeKey key;
+        boolean operator = false;
+        if (variableFacade instanceof IOperatorVariableFacade && variableFacade.isValid()) {
+            IOperatorVariableFacade operatorFacade = (IOperatorVariableFacade) variableFacade;
+            int[] variableIds = operatorFacade.getVariableIds();
+            int[] inputs = new int[variableIds.length];
+            for (int i = 0; i < variableIds.length; i++) {
+                inputs[i] = network.hasVariableFacade(variableIds[i])
+                        ? getNodeId(network.getVariableFacade(variableIds[i])) : MISSING_INPUT;
+            }
+            key = new NodeKey("operator:" + operatorFacade.getOperator().getUniqueName(), inputs);
+            operator = true;
+        } else if (variableFacade instanceof IAspectVariableFacade && variableFacade.isValid()) {
+            IAspectVariableFacade aspectFacade = (IAspectVariableFacade) variableFacade;
+            key = new NodeKey("aspect:" + aspectFacade.getPartId() + ":" + aspectFacade.getAspect().getUnlocalizedName(), NO_INPUTS);
+        } else if (variableFacade instanceof IValueTypeVariableFacade && variableFacade.isValid()) {
+            IValueTypeVariableFacade valueFacade = (IValueTypeVariableFacade) variableFacade;
+            key = new NodeKey("value:" + valueFacade.getValueType().getUnlocalizedName() + ":"
+                    + valueFacade.getValueType().serialize(valueFacade.getValue()), NO_INPUTS);
+        } else if (variableFacade instanceof IProxyVariableFacade && variableFacade.isValid()) {
+            key = new NodeKey("proxy:" + ((IProxyVariableFacade) variableFacade).getProxyId(), NO_INPUTS);
+        } else {
+            key = new NodeKey("facade:" + facadeId, NO_INPUTS);
+        }
+        visiting.remove(facadeId);
+        int nodeId = addNode(key, operator);
+        facadeNodeIds.put(facadeId, nodeId);
+        if (operator) {
+            operatorFacades++;
+        }
+        return nodeId;
+    }
+
+    protected int addNode(NodeKey key, boolean operator) {
+        Integer nodeId = nodeIds.get(key);
+        if (nodeId == null) {
+            nodeId = nextNodeId++;
+            nodeIds.put(key, nodeId);
+            // Inputs are always added before the nodes that depend on them.
+            topologicalOrder.add(nodeId);
+            if (operator) {
+                operatorNodes.add(nodeId);
+            }
+        }
+        return nodeId;
+    }
+
+    /**
+     * @return All node ids, ordered so that each node comes after all of its inputs.
+     */
+    public int[] getTopologicalOrder() {
+        return topologicalOrder.toArray();
+    }
+
+    /**
+     * @return The number of operator variable facades that were added.
+     */
+    public int getOperatorFacadeCount() {
+        return operatorFacades;
+    }
+
+    /**
+     * @return The number of unique operator nodes.
+     */
+    public int getOperatorNodeCount() {
+        return operatorNodes.size();
+    }
+
+    /**
+     * @return The number of operator variable facades per unique operator node.
+     */
+    public double getDedupRatio() {
+        return operatorNodes.isEmpty() ? 1D : (double) operatorFacades / operatorNodes.size();
+    }
+
+    /**
+     * The structure of a node.
+     */
+    protected static final class NodeKey {
+
+        private final String type;
+        private final int[] inputs;
+
+        public NodeKey(String type, int[] inputs) {
+            this.type = type;
+            this.inputs = inputs;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof NodeKey && ((NodeKey) obj).type.equals(this.type)
+                    && Arrays.equals(((NodeKey) obj).inputs, this.inputs);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * type.hashCode() + Arrays.hashCode(inputs);
+        }
+    }
+
+}
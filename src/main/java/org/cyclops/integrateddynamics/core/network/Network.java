@@ -11,37 +11,54 @@ import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.common.capabilities.CapabilityDispatcher;
 import org.apache.logging.log4j.Level;
 import org.cyclops.cyclopscore.helper.TileHelpers;
+import org.cyclops.integrateddynamics.GeneralConfig;
 import org.cyclops.integrateddynamics.IntegratedDynamics;
 import org.cyclops.integrateddynamics.api.network.*;
+import org.cyclops.integrateddynamics.api.network.event.ICoalescingNetworkEventBus;
 import org.cyclops.integrateddynamics.api.network.event.INetworkEvent;
 import org.cyclops.integrateddynamics.api.network.event.INetworkEventBus;
 import org.cyclops.integrateddynamics.api.path.IPathElement;
 import org.cyclops.integrateddynamics.capability.network.NetworkCarrierConfig;
 import org.cyclops.integrateddynamics.capability.networkelementprovider.NetworkElementProviderConfig;
+import org.cyclops.integrateddynamics.core.NetworkHibernationHandler;
+import org.cyclops.integrateddynamics.core.TickHandler;
 import org.cyclops.integrateddynamics.core.network.diagnostics.NetworkDiagnostics;
 import org.cyclops.integrateddynamics.core.network.event.NetworkElementAddEvent;
 import org.cyclops.integrateddynamics.core.network.event.NetworkElementRemoveEvent;
 import org.cyclops.integrateddynamics.core.network.event.NetworkEventBus;
 import org.cyclops.integrateddynamics.core.path.Cluster;
+import org.cyclops.integrateddynamics.core.path.PackedPositionSet;
 import org.cyclops.integrateddynamics.core.path.PathFinder;
 import org.cyclops.integrateddynamics.core.persist.world.NetworkWorldStorage;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A network instance that can hold a set of {@link INetworkElement}s.
  * Note that this network only contains references to the relevant data, it does not contain the actual information.
  * @author rubensworks
  */
-public class Network implements INetwork {
+public class Network implements IPreparableNetwork, IBudgetedNetwork {
 
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    private final int id = NEXT_ID.getAndIncrement();
     private Cluster baseCluster;
 
     private final INetworkEventBus eventBus = new NetworkEventBus();
-    private final TreeSet<INetworkElement> elements = Sets.newTreeSet();
-    private TreeSet<INetworkElement> updateableElements = null;
-    private TreeMap<INetworkElement, Integer> updateableElementsTicks = null;
-    private TreeSet<INetworkElement> invalidatedElements = Sets.newTreeSet();
+    private final NetworkElementRegistry elements = new NetworkElementRegistry();
+    private final NetworkElementUpdateScheduler updateScheduler = new NetworkElementUpdateScheduler(elements);
+    private long tick = 0;
+    private boolean updatePrepared = false;
+    private boolean preparedAlive = false;
+    private long preparedTick = 0;
+    private List<NetworkElementUpdateScheduler.Entry> preparedEntries = Collections.emptyList();
+    private final List<NetworkElementUpdateScheduler.Entry> deferredEntries = Lists.newArrayList();
+    private int lastUpdatedElementCount = 0;
+    private final BitSet skippedHandles = new BitSet();
+    private final BitSet overdueHandles = new BitSet();
+    private boolean checkAllSkippedUpdates = true;
     private Map<INetworkElement, Long> lastSecondDurations = Maps.newHashMap();
 
     private final CapabilityDispatcher capabilityDispatcher;
@@ -58,7 +75,16 @@ public class Network implements INetwork {
      * @return The newly formed network.
      */
     public static Network initiateNetworkSetup(IPathElement pathElement) {
-        Network network = new Network(PathFinder.getConnectedCluster(pathElement));
+        return initiateNetworkSetup(PathFinder.getConnectedCluster(pathElement));
+    }
+
+    /**
+     * Initiate a full network for the given cluster.
+     * @param cluster The cluster of path elements.
+     * @return The newly formed network.
+     */
+    public static Network initiateNetworkSetup(Cluster cluster) {
+        Network network = new Network(cluster);
         NetworkWorldStorage.getInstance(IntegratedDynamics._instance).addNewNetwork(network);
         return network;
     }
@@ -118,31 +144,113 @@ public class Network implements INetwork {
 
     private void deriveNetworkElements(Cluster pathElements) {
         if(!killIfEmpty()) {
-            for (IPathElement pathElement : pathElements) {
-                World world = pathElement.getPosition().getWorld();
-                BlockPos pos = pathElement.getPosition().getBlockPos();
-                INetworkCarrier networkCarrier = TileHelpers.getCapability(
-                        world, pos, null, NetworkCarrierConfig.CAPABILITY);
-                if (networkCarrier != null) {
-                    // Correctly remove any previously saved network in this carrier
-                    // and set the new network to this.
-                    INetwork network = networkCarrier.getNetwork();
-                    if (network != null) {
-                        network.removePathElement(pathElement);
+            deriveNetworkElements(pathElements, true);
+            onNetworkChanged();
+        }
+    }
+
+    private void deriveNetworkElements(Collection<IPathElement> pathElements, boolean networkPreinit) {
+        for (IPathElement pathElement : pathElements) {
+            World world = pathElement.getPosition().getWorld();
+            BlockPos pos = pathElement.getPosition().getBlockPos();
+            INetworkCarrier networkCarrier = TileHelpers.getCapability(
+                    world, pos, null, NetworkCarrierConfig.CAPABILITY);
+            if (networkCarrier != null) {
+                // Correctly remove any previously saved network in this carrier
+                // and set the new network to this.
+                INetwork network = networkCarrier.getNetwork();
+                if (network != null) {
+                    network.removePathElement(pathElement);
+                }
+                networkCarrier.setNetwork(null);
+                networkCarrier.setNetwork(this);
+            }
+            INetworkElementProvider networkElementProvider = TileHelpers.getCapability(
+                    pathElement.getPosition(), null, NetworkElementProviderConfig.CAPABILITY);
+            if (networkElementProvider != null) {
+                for(INetworkElement element : networkElementProvider.createNetworkElements(world, pos)) {
+                    if (addNetworkElement(element, networkPreinit) && !networkPreinit) {
+                        element.afterNetworkAlive(this);
+                        element.afterNetworkReAlive(this);
                     }
+                }
+            }
+        }
+    }
+
+    /**
+     * Add the given path elements to this network, after this network has been initialized.
+     * If these path elements were part of another network, they will be removed from that network,
+     * and their network elements will be moved to this network.
+     * This allows networks to be merged without reconstructing this network.
+     * @param pathElements The path elements to add.
+     */
+    public synchronized void addPathElements(Collection<IPathElement> pathElements) {
+        List<IPathElement> addedPathElements = Lists.newArrayList();
+        for (IPathElement pathElement : pathElements) {
+            if (!baseCluster.contains(pathElement)) {
+                addedPathElements.add(pathElement);
+            }
+        }
+        deriveNetworkElements(addedPathElements, false);
+        baseCluster.addAll(addedPathElements);
+        onNetworkChanged();
+    }
+
+    /**
+     * Move all path elements and their network elements of the given network into this network.
+     * The positions and the network elements that are registered in the given network are moved as-is,
+     * so that no path elements or network elements have to be resolved again from the world,
+     * and no chunks are loaded.
+     * Only the network carriers in loaded chunks are updated, the others are updated when their elements are revalidated.
+     * The given network will be killed afterwards.
+     * @param network The network to merge into this network.
+     */
+    public synchronized void mergeNetwork(Network network) {
+        if (network == this || network.isKilled()) {
+            return;
+        }
+
+        // Remove the network elements from the other network, while remembering which ones were unloaded.
+        List<INetworkElement> movedElements = Lists.newArrayList(network.getElements());
+        Set<INetworkElement> invalidatedElements = Sets.newIdentityHashSet();
+        for (INetworkElement element : movedElements) {
+            if (network.elements.isInvalidated(network.elements.getHandle(element))) {
+                invalidatedElements.add(element);
+            }
+            network.removeNetworkElementPre(element);
+        }
+        for (INetworkElement element : movedElements) {
+            network.removeNetworkElementPost(element);
+        }
+
+        // Move the positions, and let the loaded carriers refer to this network.
+        for (IPathElement pathElement : network.baseCluster) {
+            if (!(pathElement instanceof Cluster.UnresolvedPathElement)) {
+                INetworkCarrier networkCarrier = TileHelpers.getCapability(pathElement.getPosition().getWorld(),
+                        pathElement.getPosition().getBlockPos(), null, NetworkCarrierConfig.CAPABILITY);
+                if (networkCarrier != null) {
                     networkCarrier.setNetwork(null);
                     networkCarrier.setNetwork(this);
                 }
-                INetworkElementProvider networkElementProvider = TileHelpers.getCapability(
-                        pathElement.getPosition(), null, NetworkElementProviderConfig.CAPABILITY);
-                if (networkElementProvider != null) {
-                    for(INetworkElement element : networkElementProvider.createNetworkElements(world, pos)) {
-                        addNetworkElement(element, true);
-                    }
+            }
+        }
+        baseCluster.addAll(network.baseCluster);
+        network.baseCluster.clear();
+
+        // Add the network elements to this network, unloaded elements remain invalidated until they are loaded again.
+        for (INetworkElement element : movedElements) {
+            if (addNetworkElement(element, false)) {
+                element.afterNetworkAlive(this);
+                element.afterNetworkReAlive(this);
+                if (invalidatedElements.contains(element)) {
+                    invalidateElement(element);
                 }
             }
-            onNetworkChanged();
         }
+
+        network.killIfEmpty();
+        onNetworkChanged();
     }
 
     @Override
@@ -157,9 +265,21 @@ public class Network implements INetwork {
         initialize(false);
     }
 
+    /**
+     * @return The unique id of this network instance, which remains stable during the lifetime of this network.
+     */
+    public int getId() {
+        return id;
+    }
+
     @Override
     public boolean equals(Object object) {
-        return object instanceof Network && areNetworksEqual(this, (Network) object);
+        return object instanceof Network && ((Network) object).id == this.id;
+    }
+
+    @Override
+    public int hashCode() {
+        return id;
     }
 
     @Override
@@ -219,10 +339,31 @@ public class Network implements INetwork {
 
     @Override
     public void addNetworkElementUpdateable(INetworkElement element) {
-        if(element.isUpdate()) {
-            updateableElements.add(element);
-            updateableElementsTicks.put(element, 0);
+        int handle = elements.getHandle(element);
+        if(handle >= 0 && element.isUpdate()) {
+            updateScheduler.schedule(handle, getFirstUpdateTick(element));
+        }
+    }
+
+    /**
+     * Get the first tick at which the given element should be updated.
+     * To avoid all elements with the same interval being updated in the same tick,
+     * they are spread over the ticks within that interval based on their update phase.
+     * Elements that do not provide an update phase are not spread, so they remain aligned as before.
+     * @param element The network element.
+     * @return The tick at which the element is first due.
+     */
+    protected long getFirstUpdateTick(INetworkElement element) {
+        int phase = element instanceof IStaggeredNetworkElement ? ((IStaggeredNetworkElement) element).getUpdatePhase() : -1;
+        int interval = element.getUpdateInterval();
+        if (phase < 0 || interval <= 1) {
+            return tick;
+        }
+        long offset = (phase - tick) % interval;
+        if (offset < 0) {
+            offset += interval;
         }
+        return tick + offset;
     }
 
     @Override
@@ -237,21 +378,14 @@ public class Network implements INetwork {
 
     @Override
     public void setPriority(INetworkElement element, int priority) {
-        elements.remove(element);
-        Integer oldTickValue = null;
-        if (element.isUpdate()) {
-            updateableElements.remove(element);
-            oldTickValue = updateableElementsTicks.remove(element);
-        }
-
-        //noinspection deprecation
-        element.setPriority(this, priority);
-        elements.add(element);
-        if (element.isUpdate()) {
-            updateableElements.add(element);
-            if (oldTickValue != null) {
-                updateableElementsTicks.put(element, oldTickValue);
-            }
+        int handle = elements.getHandle(element);
+        Long oldDueTick = null;
+        if (handle >= 0) {
+            oldDueTick = updateScheduler.unschedule(handle);
+        }
+        handle = elements.setPriority(this, element, priority);
+        if (handle >= 0 && element.isUpdate() && oldDueTick != null) {
+            updateScheduler.schedule(handle, Math.max(oldDueTick, tick));
         }
     }
 
@@ -269,16 +403,20 @@ public class Network implements INetwork {
         }
         element.beforeNetworkKill(this);
         element.onNetworkRemoval(this);
-        elements.remove(element);
         removeNetworkElementUpdateable(element);
+        elements.remove(element);
         getEventBus().post(new NetworkElementRemoveEvent.Post(this, element));
         onNetworkChanged();
     }
 
     @Override
     public void removeNetworkElementUpdateable(INetworkElement element) {
-        updateableElements.remove(element);
-        updateableElementsTicks.remove(element);
+        int handle = elements.getHandle(element);
+        if (handle >= 0) {
+            updateScheduler.unschedule(handle);
+            skippedHandles.clear(handle);
+            overdueHandles.clear(handle);
+        }
     }
 
     /**
@@ -286,9 +424,12 @@ public class Network implements INetwork {
      * @param silent If the element should not be notified for the network becoming alive.
      */
     protected void initialize(boolean silent) {
-        updateableElements = Sets.newTreeSet();
-        updateableElementsTicks = Maps.newTreeMap();
-        for(INetworkElement element : elements) {
+        updateScheduler.clear();
+        deferredEntries.clear();
+        skippedHandles.clear();
+        overdueHandles.clear();
+        checkAllSkippedUpdates = true;
+        for(INetworkElement element : elements.getElements()) {
             addNetworkElementUpdateable(element);
             if(!silent) {
                 element.afterNetworkAlive(this);
@@ -302,7 +443,7 @@ public class Network implements INetwork {
         for (IFullNetworkListener fullNetworkListener : this.fullNetworkListeners) {
             fullNetworkListener.kill();
         }
-        for(INetworkElement element : elements) {
+        for(INetworkElement element : elements.getElements()) {
             element.beforeNetworkKill(this);
         }
         killed = true;
@@ -342,38 +483,112 @@ public class Network implements INetwork {
         }
     }
 
+    protected void afterUpdate() {
+        for (IFullNetworkListener fullNetworkListener : this.fullNetworkListeners) {
+            if (fullNetworkListener instanceof IFullNetworkUpdateListener) {
+                ((IFullNetworkUpdateListener) fullNetworkListener).afterUpdate();
+            }
+        }
+    }
+
     @Override
-    public final synchronized void update() {
-        this.changed = false;
+    public final synchronized boolean prepareUpdate() {
+        this.updatePrepared = true;
+        this.preparedAlive = false;
+        this.preparedEntries = Collections.emptyList();
         if(killIfEmpty() || killed) {
             NetworkWorldStorage.getInstance(IntegratedDynamics._instance).removeInvalidatedNetwork(this);
+            return false;
+        }
+        if (getEventBus() instanceof ICoalescingNetworkEventBus) {
+            ((ICoalescingNetworkEventBus) getEventBus()).dispatchCoalesced();
+        }
+        onUpdate();
+        // Only visit the elements that are due this tick, in order of priority.
+        this.preparedTick = tick++;
+        List<NetworkElementUpdateScheduler.Entry> dueEntries = updateScheduler.pollDue(preparedTick);
+        if (deferredEntries.isEmpty()) {
+            this.preparedEntries = dueEntries;
         } else {
-            onUpdate();
+            // Elements that were deferred in the previous update go first, so that all elements eventually get their turn.
+            List<NetworkElementUpdateScheduler.Entry> entries = Lists.newArrayListWithExpectedSize(deferredEntries.size() + dueEntries.size());
+            entries.addAll(deferredEntries);
+            entries.addAll(dueEntries);
+            deferredEntries.clear();
+            this.preparedEntries = entries;
+        }
+        this.preparedAlive = true;
+        return true;
+    }
+
+    @Override
+    public synchronized Collection<INetworkElement> getPreparedUpdateElements() {
+        List<INetworkElement> preparedElements = Lists.newArrayListWithExpectedSize(preparedEntries.size());
+        for (NetworkElementUpdateScheduler.Entry entry : preparedEntries) {
+            if (!entry.isCancelled()) {
+                preparedElements.add(entry.getElement());
+            }
+        }
+        return preparedElements;
+    }
+
+    @Override
+    public final void update() {
+        update(Long.MAX_VALUE);
+    }
 
+    @Override
+    public final synchronized int update(long deadline) {
+        this.changed = false;
+        boolean alive = updatePrepared ? preparedAlive : prepareUpdate();
+        this.updatePrepared = false;
+        int deferred = 0;
+        int updated = 0;
+        if (alive) {
             // Update updateable network elements
             boolean isBeingDiagnozed = NetworkDiagnostics.getInstance().isBeingDiagnozed();
             if (!isBeingDiagnozed && !lastSecondDurations.isEmpty()) {
                 // Make sure we aren't using any unnecessary memory.
                 lastSecondDurations.clear();
             }
-            for (INetworkElement element : updateableElements) {
-                if (isValid(element)) {
+            long currentTick = preparedTick;
+            boolean checkSkippedUpdatesEachTick = GeneralConfig.checkSkippedUpdatesEachTick;
+            if (checkSkippedUpdatesEachTick) {
+                notifySkippedUpdates(currentTick, isBeingDiagnozed);
+            }
+            List<NetworkElementUpdateScheduler.Entry> dueEntries = preparedEntries;
+            this.preparedEntries = Collections.emptyList();
+            for (NetworkElementUpdateScheduler.Entry entry : dueEntries) {
+                if (entry.isCancelled()) {
+                    // The element was removed while updating a previous element.
+                    continue;
+                }
+                if (deadline != Long.MAX_VALUE && System.nanoTime() >= deadline) {
+                    // The tick budget is exhausted, continue with the remaining elements in the next update.
+                    deferredEntries.add(entry);
+                    deferred++;
+                    continue;
+                }
+                INetworkElement element = entry.getElement();
+                if (isValid(entry.getHandle(), element)) {
                     long startTime = 0;
                     if (isBeingDiagnozed) {
                         startTime = System.nanoTime();
                     }
-                    int lastElementTick = updateableElementsTicks.get(element);
+                    updateScheduler.reschedule(entry, currentTick + Math.max(1, getUpdateInterval(element)));
                     if (canUpdate(element)) {
-                        if (lastElementTick <= 0) {
-                            updateableElementsTicks.put(element, element.getUpdateInterval() - 1);
-                            element.update(this);
-                            postUpdate(element);
-                        } else {
-                            updateableElementsTicks.put(element, lastElementTick - 1);
-                        }
+                        skippedHandles.clear(entry.getHandle());
+                        overdueHandles.clear(entry.getHandle());
+                        element.update(this);
+                        postUpdate(element);
+                        updated++;
                     } else {
                         onSkipUpdate(element);
-                        updateableElementsTicks.put(element, lastElementTick - 1);
+                        if (checkSkippedUpdatesEachTick) {
+                            // Skipped elements are checked each tick, and are updated as soon as they are allowed to.
+                            skippedHandles.set(entry.getHandle());
+                            overdueHandles.set(entry.getHandle());
+                        }
                     }
                     if (isBeingDiagnozed) {
                         long duration = System.nanoTime() - startTime;
@@ -383,9 +598,107 @@ public class Network implements INetwork {
                         }
                         lastSecondDurations.put(element, duration);
                     }
+                } else {
+                    // Invalidated elements keep on trying to revalidate each tick.
+                    updateScheduler.reschedule(entry, currentTick + 1);
                 }
             }
+            afterUpdate();
         }
+        this.lastUpdatedElementCount = updated;
+        return deferred;
+    }
+
+    /**
+     * Request all valid elements that are not due in the next update to be checked if they can still update.
+     * Network listeners that can prevent elements from updating must call this when they may start doing so
+     * for elements that could update before, such as when the energy of a network runs low.
+     */
+    public void requestSkippedUpdatesCheck() {
+        this.checkAllSkippedUpdates = true;
+    }
+
+    /**
+     * Check the elements that are not due in the given tick if they can update, and notify the ones that can not.
+     * This way, elements such as unpowered parts are deactivated in the tick they can no longer update,
+     * instead of only when they are due again.
+     * Only elements that could not update at their last check are checked each tick,
+     * all other elements are only checked if this was requested using {@link #requestSkippedUpdatesCheck()}.
+     * Skipped elements of which the update is overdue are updated in the next tick once they can update again.
+     * @param currentTick The current tick.
+     * @param isBeingDiagnozed If the durations of elements are being tracked.
+     */
+    protected void notifySkippedUpdates(long currentTick, boolean isBeingDiagnozed) {
+        for (int handle = skippedHandles.nextSetBit(0); handle >= 0; handle = skippedHandles.nextSetBit(handle + 1)) {
+            NetworkElementUpdateScheduler.Entry entry = updateScheduler.getEntry(handle);
+            // Due elements are checked when they are updated.
+            if (entry == null) {
+                skippedHandles.clear(handle);
+                overdueHandles.clear(handle);
+            } else if (entry.getTick() > currentTick && !elements.isInvalidated(handle)) {
+                if (notifySkippedUpdate(entry.getElement(), isBeingDiagnozed)) {
+                    skippedHandles.clear(handle);
+                    if (overdueHandles.get(handle)) {
+                        overdueHandles.clear(handle);
+                        updateScheduler.schedule(handle, currentTick + 1);
+                    }
+                }
+            }
+        }
+        if (checkAllSkippedUpdates) {
+            checkAllSkippedUpdates = false;
+            int handleBound = updateScheduler.getHandleBound();
+            for (int handle = 0; handle < handleBound; handle++) {
+                NetworkElementUpdateScheduler.Entry entry = updateScheduler.getEntry(handle);
+                if (entry != null && entry.getTick() > currentTick && !skippedHandles.get(handle)
+                        && !elements.isInvalidated(handle)) {
+                    if (!notifySkippedUpdate(entry.getElement(), isBeingDiagnozed)) {
+                        skippedHandles.set(handle);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Check if the given element can update, and notify it if it can not.
+     * @param element The network element.
+     * @param isBeingDiagnozed If the durations of elements are being tracked.
+     * @return If the element can update.
+     */
+    protected boolean notifySkippedUpdate(INetworkElement element, boolean isBeingDiagnozed) {
+        long startTime = 0;
+        if (isBeingDiagnozed) {
+            startTime = System.nanoTime();
+        }
+        boolean canUpdate = canUpdate(element);
+        if (!canUpdate) {
+            onSkipUpdate(element);
+        }
+        if (isBeingDiagnozed) {
+            long duration = System.nanoTime() - startTime;
+            Long lastDuration = lastSecondDurations.get(element);
+            if (lastDuration != null) {
+                duration = duration + lastDuration;
+            }
+            lastSecondDurations.put(element, duration);
+        }
+        return canUpdate;
+    }
+
+    @Override
+    public int getLastUpdatedElementCount() {
+        return lastUpdatedElementCount;
+    }
+
+    /**
+     * Get the number of ticks until the given element must be updated again.
+     * This is the element's own update interval, possibly stretched by the tick budget governor.
+     * @param element The network element.
+     * @return The update interval in ticks.
+     */
+    protected int getUpdateInterval(INetworkElement element) {
+        return TickHandler.getInstance().getGovernor().stretchUpdateInterval(element.getUpdateInterval(), element.getPriority());
     }
 
     protected void onUpdate() {
@@ -450,7 +763,7 @@ public class Network implements INetwork {
 
     @Override
     public Set<INetworkElement> getElements() {
-        return this.elements;
+        return this.elements.getElements();
     }
 
     @Override
@@ -460,6 +773,7 @@ public class Network implements INetwork {
 
     protected void onNetworkChanged() {
         this.changed = true;
+        NetworkHibernationHandler.getInstance().onNetworkChanged(this);
     }
 
     @Override
@@ -505,16 +819,55 @@ public class Network implements INetwork {
 
     @Override
     public void invalidateElement(INetworkElement element) {
-        invalidatedElements.add(element);
+        int handle = elements.getHandle(element);
+        if (handle >= 0) {
+            elements.invalidate(handle);
+        }
     }
 
     @Override
     public void revalidateElement(INetworkElement element) {
-        invalidatedElements.remove(element);
+        int handle = elements.getHandle(element);
+        if (handle >= 0) {
+            elements.revalidate(handle);
+        }
+    }
+
+    /**
+     * Try to revalidate all invalidated elements at once.
+     * This is used when a network wakes up from hibernation,
+     * so that its elements do not have to be revalidated one by one during the next updates.
+     * @return The number of elements that are still invalidated.
+     */
+    public synchronized int revalidateElements() {
+        int invalidated = 0;
+        for (int handle = elements.nextInvalidated(0); handle >= 0; handle = elements.nextInvalidated(handle + 1)) {
+            INetworkElement element = elements.get(handle);
+            if (element != null && element.canRevalidate(this)) {
+                element.revalidate(this);
+            } else {
+                invalidated++;
+            }
+        }
+        return invalidated;
+    }
+
+    /**
+     * @return If any of the path elements of this network is in a loaded chunk.
+     */
+    public boolean isAnyPathElementLoaded() {
+        return baseCluster.isAnyPositionLoaded();
+    }
+
+    /**
+     * @return The chunks this network spans, as {@link net.minecraft.util.math.ChunkPos#asLong(int, int)} for each dimension.
+     */
+    public PackedPositionSet getChunkPositions() {
+        return baseCluster.getChunkPositions();
     }
 
-    protected boolean isValid(INetworkElement element) {
-        if (invalidatedElements.contains(element)) {
+    protected boolean isValid(int handle, INetworkElement element) {
+        if (elements.isInvalidated(handle)) {
             if (element.canRevalidate(this)) {
                 element.revalidate(this);
                 return true;
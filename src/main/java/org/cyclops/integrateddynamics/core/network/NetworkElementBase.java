@@ -3,10 +3,11 @@ package org.cyclops.integrateddynamics.core.network;
 import lombok.Data;
 import net.minecraft.block.Block;
 import net.minecraft.item.ItemStack;
+import net.minecraft.util.EnumFacing;
 import net.minecraft.world.IBlockAccess;
 import org.cyclops.cyclopscore.datastructure.DimPos;
 import org.cyclops.integrateddynamics.api.network.INetwork;
-import org.cyclops.integrateddynamics.api.network.INetworkElement;
+import org.cyclops.integrateddynamics.api.network.IStaggeredNetworkElement;
 import org.cyclops.integrateddynamics.core.helper.NetworkHelpers;
 
 import javax.annotation.Nullable;
@@ -17,13 +18,18 @@ import java.util.List;
  * @author rubensworks
  */
 @Data
-public abstract class NetworkElementBase implements INetworkElement {
+public abstract class NetworkElementBase implements IStaggeredNetworkElement {
 
     @Override
     public int getUpdateInterval() {
         return 0;
     }
 
+    @Override
+    public int getUpdatePhase() {
+        return -1;
+    }
+
     @Override
     public boolean isUpdate() {
         return false;
@@ -89,6 +95,14 @@ public abstract class NetworkElementBase implements INetworkElement {
         network.revalidateElement(this);
     }
 
+    protected static int getUpdatePhasePositioned(DimPos dimPos, @Nullable EnumFacing side) {
+        int hash = 31 * dimPos.getWorld().provider.getDimension() + dimPos.getBlockPos().hashCode();
+        if (side != null) {
+            hash = 31 * hash + side.ordinal();
+        }
+        return hash & Integer.MAX_VALUE;
+    }
+
     protected boolean canRevalidatePositioned(INetwork network, DimPos dimPos) {
         return dimPos.getWorld().isBlockLoaded(dimPos.getBlockPos());
     }
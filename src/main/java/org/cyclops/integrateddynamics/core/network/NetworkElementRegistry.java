@@ -0,0 +1,182 @@
+package org.cyclops.integrateddynamics.core.network;
+
+import com.google.common.collect.Maps;
+import gnu.trove.list.array.TIntArrayList;
+import org.cyclops.integrateddynamics.api.network.INetwork;
+import org.cyclops.integrateddynamics.api.network.INetworkElement;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * A registry of the {@link INetworkElement}s in a network, which assigns a dense integer handle to each element.
+ *
+ * Looking up the handle of an element instance requires a comparison-based lookup,
+ * as multiple instances may refer to the same element.
+ * This only needs to happen when elements are added, removed or changed.
+ * All per-tick operations can use the handle directly, which are simple array and bitset accesses.
+ * Handles of removed elements are reused for new elements.
+ *
+ * @author rubensworks
+ */
+public class NetworkElementRegistry {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final TreeMap<INetworkElement, Integer> handles = Maps.newTreeMap();
+    private final Set<INetworkElement> elementsView = Collections.unmodifiableSet(handles.navigableKeySet());
+    private final TIntArrayList freeHandles = new TIntArrayList();
+    private final BitSet invalidated = new BitSet();
+    private INetworkElement[] elements = new INetworkElement[INITIAL_CAPACITY];
+    private int[] priorities = new int[INITIAL_CAPACITY];
+    private int handleCount = 0;
+
+    /**
+     * Add the given element.
+     * @param element The network element.
+     * @return The handle of the element, or -1 if an equal element was already present.
+     */
+    public int add(INetworkElement element) {
+        if (handles.containsKey(element)) {
+            return -1;
+        }
+        int handle;
+        if (freeHandles.isEmpty()) {
+            handle = handleCount++;
+            if (handle >= elements.length) {
+                int capacity = elements.length * 2;
+                elements = Arrays.copyOf(elements, capacity);
+                priorities = Arrays.copyOf(priorities, capacity);
+            }
+        } else {
+            handle = freeHandles.removeAt(freeHandles.size() - 1);
+        }
+        handles.put(element, handle);
+        elements[handle] = element;
+        priorities[handle] = element.getPriority();
+        return handle;
+    }
+
+    /**
+     * Remove the given element.
+     * The handle of this element may be reused for elements that are added afterwards.
+     * @param element The network element.
+     * @return The handle the element had, or -1 if it was not present.
+     */
+    public int remove(INetworkElement element) {
+        Integer handle = handles.remove(element);
+        if (handle == null) {
+            return -1;
+        }
+        elements[handle] = null;
+        priorities[handle] = 0;
+        invalidated.clear(handle);
+        freeHandles.add(handle);
+        return handle;
+    }
+
+    /**
+     * Set the priority of the given element, and update the registry accordingly.
+     * @param network The network the element is present in.
+     * @param element The network element.
+     * @param priority The new priority.
+     * @return The handle of the element, or -1 if it was not present.
+     */
+    public int setPriority(INetwork network, INetworkElement element, int priority) {
+        // The element ordering depends on the priority, so it must be temporarily removed from the tree.
+        Integer handle = handles.remove(element);
+        //noinspection deprecation
+        element.setPriority(network, priority);
+        if (handle == null) {
+            return -1;
+        }
+        handles.put(element, handle);
+        elements[handle] = element;
+        priorities[handle] = element.getPriority();
+        return handle;
+    }
+
+    /**
+     * @param element The network element.
+     * @return The handle of the element, or -1 if it is not present.
+     */
+    public int getHandle(INetworkElement element) {
+        Integer handle = handles.get(element);
+        return handle == null ? -1 : handle;
+    }
+
+    /**
+     * @param handle An element handle.
+     * @return The element for the given handle, or null if the handle is not in use.
+     */
+    public INetworkElement get(int handle) {
+        return elements[handle];
+    }
+
+    /**
+     * @param handle An element handle.
+     * @return The priority the element of the given handle had when it was added or its priority was last set.
+     */
+    public int getPriority(int handle) {
+        return priorities[handle];
+    }
+
+    /**
+     * @param element The network element.
+     * @return If the given element is present.
+     */
+    public boolean contains(INetworkElement element) {
+        return handles.containsKey(element);
+    }
+
+    /**
+     * @return The number of elements.
+     */
+    public int size() {
+        return handles.size();
+    }
+
+    /**
+     * @return An unmodifiable view of all elements, in their natural ordering.
+     */
+    public Set<INetworkElement> getElements() {
+        return elementsView;
+    }
+
+    /**
+     * Mark the element of the given handle as invalidated.
+     * @param handle An element handle.
+     */
+    public void invalidate(int handle) {
+        invalidated.set(handle);
+    }
+
+    /**
+     * Mark the element of the given handle as valid.
+     * @param handle An element handle.
+     */
+    public void revalidate(int handle) {
+        invalidated.clear(handle);
+    }
+
+    /**
+     * @param handle An element handle.
+     * @return If the element of the given handle is invalidated.
+     */
+    public boolean isInvalidated(int handle) {
+        return invalidated.get(handle);
+    }
+
+    /**
+     * Find the first invalidated element handle at or after the given handle.
+     * @param fromHandle The handle to start searching from, inclusive.
+     * @return The handle of an invalidated element, or -1 if there is none.
+     */
+    public int nextInvalidated(int fromHandle) {
+        return invalidated.nextSetBit(fromHandle);
+    }
+
+}
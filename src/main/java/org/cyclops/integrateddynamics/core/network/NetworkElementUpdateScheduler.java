@@ -0,0 +1,220 @@
+package org.cyclops.integrateddynamics.core.network;
+
+import com.google.common.collect.Lists;
+import org.cyclops.integrateddynamics.api.network.INetworkElement;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A timing wheel that schedules updateable {@link INetworkElement}s at the tick they are due.
+ *
+ * Elements are stored in the wheel slot of their due tick, so that each tick only the elements in the current slot
+ * have to be visited.
+ * Elements that are due further than one revolution away simply stay in their slot until their due tick is reached.
+ * Elements are referred to by their handle in a {@link NetworkElementRegistry}.
+ * Elements that are due at the same tick are returned in order of descending priority.
+ *
+ * @author rubensworks
+ */
+public class NetworkElementUpdateScheduler {
+
+    private static final int WHEEL_SIZE = 128;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    private final NetworkElementRegistry registry;
+    private final Comparator<Entry> entryComparator;
+    private final List<Entry>[] wheel;
+    private Entry[] entries = new Entry[16];
+    private int size = 0;
+    private final List<Entry> dueEntries = Lists.newArrayList();
+
+    @SuppressWarnings("unchecked")
+    public NetworkElementUpdateScheduler(final NetworkElementRegistry registry) {
+        this.registry = registry;
+        this.entryComparator = new Comparator<Entry>() {
+            @Override
+            public int compare(Entry o1, Entry o2) {
+                int compPriority = -Integer.compare(registry.getPriority(o1.handle), registry.getPriority(o2.handle));
+                if (compPriority == 0) {
+                    return Integer.compare(o1.handle, o2.handle);
+                }
+                return compPriority;
+            }
+        };
+        this.wheel = new List[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            this.wheel[i] = Lists.newArrayList();
+        }
+    }
+
+    /**
+     * Schedule the element of the given handle at the given tick.
+     * If the element was already scheduled, its previous schedule will be cancelled.
+     * @param handle The network element handle.
+     * @param tick The tick at which the element is due.
+     */
+    public void schedule(int handle, long tick) {
+        Entry entry = new Entry(handle, registry.get(handle), tick);
+        if (handle >= entries.length) {
+            entries = Arrays.copyOf(entries, Math.max(entries.length * 2, handle + 1));
+        }
+        Entry previous = entries[handle];
+        if (previous != null) {
+            previous.cancelled = true;
+        } else {
+            size++;
+        }
+        entries[handle] = entry;
+        addToWheel(entry);
+    }
+
+    /**
+     * Reschedule an entry that was returned by {@link #pollDue(long)}.
+     * This will do nothing if the entry was cancelled in the meantime.
+     * @param entry The entry.
+     * @param tick The new tick at which the element is due.
+     */
+    public void reschedule(Entry entry, long tick) {
+        if (!entry.cancelled) {
+            entry.tick = tick;
+            addToWheel(entry);
+        }
+    }
+
+    /**
+     * Remove the element of the given handle from this scheduler.
+     * This must be called before the handle is released in the registry.
+     * @param handle The network element handle.
+     * @return The tick the element was due at, or null if it was not scheduled.
+     */
+    public Long unschedule(int handle) {
+        Entry entry = handle < entries.length ? entries[handle] : null;
+        if (entry != null) {
+            entries[handle] = null;
+            size--;
+            entry.cancelled = true;
+            return entry.tick;
+        }
+        return null;
+    }
+
+    /**
+     * @param handle The network element handle.
+     * @return If the element of the given handle is scheduled.
+     */
+    public boolean isScheduled(int handle) {
+        return handle < entries.length && entries[handle] != null;
+    }
+
+    /**
+     * @param handle The network element handle.
+     * @return The entry of the element of the given handle, or null if it is not scheduled.
+     */
+    public Entry getEntry(int handle) {
+        return handle < entries.length ? entries[handle] : null;
+    }
+
+    /**
+     * @return An upper bound of the handles that can be scheduled, exclusive.
+     */
+    public int getHandleBound() {
+        return entries.length;
+    }
+
+    /**
+     * @return The number of scheduled elements.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Remove all scheduled elements.
+     */
+    public void clear() {
+        for (int i = 0; i < entries.length; i++) {
+            if (entries[i] != null) {
+                entries[i].cancelled = true;
+                entries[i] = null;
+            }
+        }
+        size = 0;
+        for (List<Entry> slot : wheel) {
+            slot.clear();
+        }
+        dueEntries.clear();
+    }
+
+    /**
+     * Take all entries that are due at or before the given tick out of the wheel.
+     * Entries must be passed to {@link #reschedule(Entry, long)} if they need to be updated again.
+     * Entries that were cancelled while iterating over the returned list should be skipped,
+     * which can be checked using {@link Entry#isCancelled()}.
+     * @param tick The current tick.
+     * @return The due entries, sorted by element priority. This list is reused across calls.
+     */
+    public List<Entry> pollDue(long tick) {
+        dueEntries.clear();
+        List<Entry> slot = wheel[(int) (tick & WHEEL_MASK)];
+        int size = slot.size();
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            Entry entry = slot.get(i);
+            if (!entry.cancelled) {
+                if (entry.tick <= tick) {
+                    dueEntries.add(entry);
+                } else {
+                    slot.set(kept++, entry);
+                }
+            }
+        }
+        for (int i = size - 1; i >= kept; i--) {
+            slot.remove(i);
+        }
+        if (dueEntries.size() > 1) {
+            Collections.sort(dueEntries, entryComparator);
+        }
+        return dueEntries;
+    }
+
+    protected void addToWheel(Entry entry) {
+        wheel[(int) (entry.tick & WHEEL_MASK)].add(entry);
+    }
+
+    /**
+     * A scheduled element.
+     */
+    public static class Entry {
+
+        private final int handle;
+        private final INetworkElement element;
+        private long tick;
+        private boolean cancelled = false;
+
+        protected Entry(int handle, INetworkElement element, long tick) {
+            this.handle = handle;
+            this.element = element;
+            this.tick = tick;
+        }
+
+        public int getHandle() {
+            return handle;
+        }
+
+        public INetworkElement getElement() {
+            return element;
+        }
+
+        public long getTick() {
+            return tick;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+}
@@ -0,0 +1,189 @@
+package org.cyclops.integrateddynamics.core.network;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.apache.logging.log4j.Level;
+import org.cyclops.integrateddynamics.GeneralConfig;
+import org.cyclops.integrateddynamics.IntegratedDynamics;
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.expression.IExpression;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
+import org.cyclops.integrateddynamics.api.network.INetwork;
+import org.cyclops.integrateddynamics.api.network.IPartNetwork;
+import org.cyclops.integrateddynamics.api.network.IPreparableNetwork;
+import org.cyclops.integrateddynamics.api.network.IPreparablePartNetwork;
+import org.cyclops.integrateddynamics.api.part.aspect.IAspectVariable;
+import org.cyclops.integrateddynamics.core.evaluate.expression.LazyExpression;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypes;
+import org.cyclops.integrateddynamics.core.evaluate.variable.Variable;
+import org.cyclops.integrateddynamics.core.helper.NetworkHelpers;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Evaluates the operator expressions of different networks in parallel.
+ *
+ * A network tick is split into three phases:
+ * <ol>
+ *     <li>On the server thread, each network prepares its update,
+ *     and the read aspect values of all expressions of due writers are sampled.</li>
+ *     <li>On a fork-join pool, the expressions of each network are evaluated,
+ *     with one task per network, so that the expression cache of a network is only accessed by a single thread.</li>
+ *     <li>On the server thread, each network is updated as usual,
+ *     where writers apply the cached expression values.</li>
+ * </ol>
+ *
+ * Only expressions that solely depend on sampled read aspects and constants,
+ * and that only produce primitive values, are evaluated in parallel.
+ * Operator values are not evaluated in parallel, as they lazily cache bound and fused evaluators.
+ * Evaluation errors are ignored in the second phase, as the expression will simply be evaluated again in the third phase,
+ * where errors are reported as usual.
+ * Other exceptions are logged, and are rethrown in strict mode, which is meant for testing.
+ *
+ * @author rubensworks
+ */
+public class ParallelNetworkEvaluator {
+
+    private static final Set<IValueType> THREADSAFE_VALUE_TYPES = Sets.<IValueType>newHashSet(
+            ValueTypes.BOOLEAN,
+            ValueTypes.INTEGER,
+            ValueTypes.DOUBLE,
+            ValueTypes.LONG,
+            ValueTypes.STRING
+    );
+
+    private static ParallelNetworkEvaluator INSTANCE;
+
+    private final ForkJoinPool pool;
+    private final boolean strict;
+
+    public ParallelNetworkEvaluator(int parallelism) {
+        this(parallelism, false);
+    }
+
+    /**
+     * @param parallelism The number of threads.
+     * @param strict If exceptions other than evaluation errors should be rethrown, instead of only being logged.
+     */
+    public ParallelNetworkEvaluator(int parallelism, boolean strict) {
+        this.pool = new ForkJoinPool(parallelism);
+        this.strict = strict;
+    }
+
+    public static ParallelNetworkEvaluator getInstance() {
+        if(INSTANCE == null) {
+            int threads = GeneralConfig.parallelNetworkEvaluationThreads;
+            if (threads <= 0) {
+                threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+            }
+            INSTANCE = new ParallelNetworkEvaluator(threads);
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Prepare the update of the given networks, and evaluate their expressions in parallel.
+     * Only networks and part networks that can be prepared are taken into account.
+     * This must be called on the server thread, after which the networks must be updated using {@link INetwork#update()}.
+     * @param networks The networks.
+     */
+    public void prepareAndEvaluate(INetwork[] networks) {
+        List<List<IExpression>> batches = Lists.newArrayListWithExpectedSize(networks.length);
+        for (INetwork network : networks) {
+            try {
+                if (network instanceof IPreparableNetwork && !network.isCrashed()
+                        && ((IPreparableNetwork) network).prepareUpdate()) {
+                    IPartNetwork partNetwork = NetworkHelpers.getPartNetwork(network);
+                    if (partNetwork instanceof IPreparablePartNetwork) {
+                        List<IExpression> expressions = ((IPreparablePartNetwork) partNetwork)
+                                .prepareEvaluation(((IPreparableNetwork) network).getPreparedUpdateElements());
+                        if (!expressions.isEmpty()) {
+                            batches.add(expressions);
+                        }
+                    }
+                }
+            } catch (RuntimeException e) {
+                network.setCrashed(true);
+                throw e;
+            }
+        }
+        // A single batch would not gain anything from parallelization, it will be evaluated during the network update.
+        if (batches.size() > 1) {
+            evaluate(batches);
+        }
+    }
+
+    /**
+     * Evaluate the given batches of expressions in parallel, and wait for all of them to complete.
+     * The expressions within a single batch are evaluated sequentially in the given order.
+     * Expressions from different batches must not share any state.
+     * @param batches The batches of expressions.
+     */
+    public void evaluate(List<? extends List<? extends IExpression>> batches) {
+        List<ForkJoinTask<?>> tasks = Lists.newArrayListWithExpectedSize(batches.size());
+        for (final List<? extends IExpression> batch : batches) {
+            tasks.add(pool.submit(new Runnable() {
+                @Override
+                public void run() {
+                    for (IExpression expression : batch) {
+                        try {
+                            expression.evaluate();
+                        } catch (EvaluationException e) {
+                            // The expression will be evaluated again on the server thread, which will report the error.
+                        } catch (RuntimeException e) {
+                            if (strict) {
+                                throw e;
+                            }
+                            IntegratedDynamics.clog(Level.DEBUG, String.format(
+                                    "Parallel evaluation of an expression failed, it will be evaluated again: %s", e));
+                        }
+                    }
+                }
+            }));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+    }
+
+    /**
+     * Sample the values that the given variable depends on, so that it can be evaluated on another thread.
+     * This must be called on the server thread.
+     * @param variable The variable.
+     * @return If the variable can be evaluated on another thread.
+     */
+    public static boolean sampleInputs(IVariable<?> variable) {
+        if (variable instanceof LazyExpression) {
+            LazyExpression<?> expression = (LazyExpression<?>) variable;
+            if (!THREADSAFE_VALUE_TYPES.contains(expression.getType())) {
+                return false;
+            }
+            for (IVariable<?> input : expression.getInput()) {
+                if (!sampleInputs(input)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        // Aspect variables cache their value until their next update, and constants never change.
+        if (variable instanceof IAspectVariable || variable instanceof Variable) {
+            try {
+                IValue value = variable.getValue();
+                return value != null && THREADSAFE_VALUE_TYPES.contains(value.getType());
+            } catch (EvaluationException e) {
+                return false;
+            } catch (RuntimeException e) {
+                IntegratedDynamics.clog(Level.DEBUG, String.format(
+                        "Sampling a variable for parallel evaluation failed, it will be evaluated on the server thread: %s", e));
+                return false;
+            }
+        }
+        return false;
+    }
+
+}
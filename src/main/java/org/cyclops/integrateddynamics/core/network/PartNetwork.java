@@ -1,48 +1,64 @@
 package org.cyclops.integrateddynamics.core.network;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import gnu.trove.map.TIntObjectMap;
 import gnu.trove.map.hash.TIntObjectHashMap;
 import lombok.Getter;
 import lombok.Setter;
 import org.apache.logging.log4j.Level;
-import org.cyclops.cyclopscore.datastructure.CompositeMap;
 import org.cyclops.cyclopscore.datastructure.DimPos;
 import org.cyclops.cyclopscore.helper.TileHelpers;
 import org.cyclops.integrateddynamics.IntegratedDynamics;
+import org.cyclops.integrateddynamics.api.block.IObservableVariableContainer;
 import org.cyclops.integrateddynamics.api.block.IVariableContainer;
+import org.cyclops.integrateddynamics.api.evaluate.expression.IExpression;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
 import org.cyclops.integrateddynamics.api.item.IVariableFacade;
 import org.cyclops.integrateddynamics.api.network.FullNetworkListenerAdapter;
+import org.cyclops.integrateddynamics.api.network.IDeduplicatingPartNetwork;
 import org.cyclops.integrateddynamics.api.network.INetwork;
+import org.cyclops.integrateddynamics.api.network.INetworkElement;
 import org.cyclops.integrateddynamics.api.network.IPartNetwork;
+import org.cyclops.integrateddynamics.api.network.IPartNetworkElement;
+import org.cyclops.integrateddynamics.api.network.IPreparablePartNetwork;
 import org.cyclops.integrateddynamics.api.part.*;
 import org.cyclops.integrateddynamics.api.part.aspect.IAspectRead;
 import org.cyclops.integrateddynamics.api.part.read.IPartStateReader;
 import org.cyclops.integrateddynamics.api.part.read.IPartTypeReader;
+import org.cyclops.integrateddynamics.api.part.write.IPartStateWriter;
 import org.cyclops.integrateddynamics.api.path.IPathElement;
 import org.cyclops.integrateddynamics.capability.variablecontainer.VariableContainerConfig;
+import org.cyclops.integrateddynamics.core.evaluate.EvaluationFuel;
 import org.cyclops.integrateddynamics.core.helper.PartHelpers;
 
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * A network that can hold parts.
  * Note that this network only contains references to the relevant data, it does not contain the actual information.
  * @author rubensworks
  */
-public class PartNetwork extends FullNetworkListenerAdapter implements IPartNetwork {
+public class PartNetwork extends FullNetworkListenerAdapter implements IPreparablePartNetwork, IDeduplicatingPartNetwork,
+        IObservableVariableContainer.IListener, EvaluationFuel.IProvider {
 
     @Getter
     @Setter
     private INetwork network;
     private TIntObjectMap<PartPos> partPositions = new TIntObjectHashMap<>();
-    private List<DimPos> variableContainerPositions = Lists.newArrayList();
-    private Map<Integer, IVariableFacade> compositeVariableCache = null;
+    private Map<DimPos, IVariableContainer> variableContainers = Maps.newLinkedHashMap();
+    private Set<DimPos> pendingVariableContainers = Sets.newLinkedHashSet();
+    private TIntObjectMap<IVariableFacade> variableIndex = new TIntObjectHashMap<>();
+    private List<IVariableContainer> unobservedVariableContainers = Lists.newArrayList();
+    private final ExpressionDag expressionDag = new ExpressionDag(this);
     private TIntObjectMap<IValue> lazyExpressionValueCache = new TIntObjectHashMap<>();
+    private final EvaluationFuel evaluationFuel = new EvaluationFuel();
     private TIntObjectMap<DimPos> proxyPositions = new TIntObjectHashMap<>();
 
     private volatile boolean partsChanged = false;
@@ -109,33 +125,79 @@ public class PartNetwork extends FullNetworkListenerAdapter implements IPartNetw
         return ((IPartStateReader) getPartState(partId)).getVariable(aspect);
     }
 
-    protected Map<Integer, IVariableFacade> getVariableCache() {
-        if(compositeVariableCache == null) {
-            // Create a new composite map view on the existing variable containers in this network.
-            CompositeMap<Integer, IVariableFacade> compositeMap = new CompositeMap<>();
-            for(Iterator<DimPos> it = variableContainerPositions.iterator(); it.hasNext();) {
-                DimPos dimPos = it.next();
-                IVariableContainer variableContainer = TileHelpers.getCapability(dimPos, null, VariableContainerConfig.CAPABILITY);
-                if(variableContainer != null) {
-                    compositeMap.addElement(variableContainer.getVariableCache());
-                } else {
-                    IntegratedDynamics.clog(Level.ERROR, "The variable container at " + dimPos + " was invalid, skipping.");
-                    it.remove();
+    @Override
+    public boolean hasVariableFacade(int variableId) {
+        return getVariableFacade(variableId) != null;
+    }
+
+    @Override
+    public IVariableFacade getVariableFacade(int variableId) {
+        IVariableFacade variableFacade = variableIndex.get(variableId);
+        if(variableFacade == null) {
+            // Containers that can not be observed are read directly, as their changes are not indexed.
+            for(IVariableContainer variableContainer : unobservedVariableContainers) {
+                if((variableFacade = variableContainer.getVariableCache().get(variableId)) != null) {
+                    break;
                 }
             }
-            compositeVariableCache = compositeMap;
         }
-        return compositeVariableCache;
+        return variableFacade;
+    }
+
+    /**
+     * @return All variable facades in this network.
+     */
+    protected Collection<IVariableFacade> getVariableFacades() {
+        if(unobservedVariableContainers.isEmpty()) {
+            return variableIndex.valueCollection();
+        }
+        List<IVariableFacade> variableFacades = Lists.newArrayList(variableIndex.valueCollection());
+        for(IVariableContainer variableContainer : unobservedVariableContainers) {
+            for(IVariableFacade variableFacade : variableContainer.getVariableCache().values()) {
+                if(!variableIndex.containsKey(variableFacade.getId())) {
+                    variableFacades.add(variableFacade);
+                }
+            }
+        }
+        return variableFacades;
     }
 
     @Override
-    public boolean hasVariableFacade(int variableId) {
-        return getVariableCache().containsKey(variableId);
+    public int getExpressionId(IVariableFacade variableFacade) {
+        expressionDag.compile(getVariableFacades());
+        return expressionDag.getNodeId(variableFacade);
+    }
+
+    /**
+     * @return The DAG of all expressions in this network.
+     */
+    public ExpressionDag getExpressionDag() {
+        expressionDag.compile(getVariableFacades());
+        return expressionDag;
     }
 
     @Override
-    public IVariableFacade getVariableFacade(int variableId) {
-        return getVariableCache().get(variableId);
+    public void onVariableFacadeAdded(IObservableVariableContainer container, IVariableFacade variableFacade) {
+        variableIndex.put(variableFacade.getId(), variableFacade);
+        expressionDag.invalidate();
+    }
+
+    @Override
+    public void onVariableFacadeRemoved(IObservableVariableContainer container, IVariableFacade variableFacade) {
+        int variableId = variableFacade.getId();
+        if(variableIndex.get(variableId) == variableFacade) {
+            variableIndex.remove(variableId);
+            expressionDag.invalidate();
+            // Another observed container may still hold a variable facade with the same id.
+            for(IVariableContainer otherContainer : variableContainers.values()) {
+                IVariableFacade otherVariableFacade;
+                if(otherContainer != container && otherContainer instanceof IObservableVariableContainer
+                        && (otherVariableFacade = otherContainer.getVariableCache().get(variableId)) != null) {
+                    variableIndex.put(variableId, otherVariableFacade);
+                    break;
+                }
+            }
+        }
     }
 
     @Override
@@ -153,16 +215,88 @@ public class PartNetwork extends FullNetworkListenerAdapter implements IPartNetw
         return lazyExpressionValueCache.get(id);
     }
 
+    @Override
+    public EvaluationFuel getEvaluationFuel() {
+        return evaluationFuel;
+    }
+
     @Override
     public boolean addVariableContainer(DimPos dimPos) {
-        compositeVariableCache = null;
-        return variableContainerPositions.add(dimPos);
+        IVariableContainer variableContainer = getVariableContainer(dimPos);
+        if(variableContainer == null) {
+            // The container may not be available yet while its chunk is loading, so retry at the next update.
+            pendingVariableContainers.add(dimPos);
+            return true;
+        }
+        pendingVariableContainers.remove(dimPos);
+        indexVariableContainer(dimPos, variableContainer);
+        return true;
+    }
+
+    protected IVariableContainer getVariableContainer(DimPos dimPos) {
+        return TileHelpers.getCapability(dimPos, null, VariableContainerConfig.CAPABILITY);
+    }
+
+    protected boolean isLoaded(DimPos dimPos) {
+        return dimPos.isLoaded();
+    }
+
+    /**
+     * Try to index the variable containers that were not available when they were added.
+     * Containers that are still not available while their position is loaded are skipped.
+     */
+    protected void indexPendingVariableContainers() {
+        for(Iterator<DimPos> it = pendingVariableContainers.iterator(); it.hasNext();) {
+            DimPos dimPos = it.next();
+            if(isLoaded(dimPos)) {
+                it.remove();
+                IVariableContainer variableContainer = getVariableContainer(dimPos);
+                if(variableContainer == null) {
+                    IntegratedDynamics.clog(Level.ERROR, "The variable container at " + dimPos + " was invalid, skipping.");
+                } else {
+                    indexVariableContainer(dimPos, variableContainer);
+                }
+            }
+        }
+    }
+
+    protected void indexVariableContainer(DimPos dimPos, IVariableContainer variableContainer) {
+        IVariableContainer previousContainer = variableContainers.put(dimPos, variableContainer);
+        if(previousContainer != null) {
+            unindexVariableContainer(previousContainer);
+        }
+        if(variableContainer instanceof IObservableVariableContainer) {
+            IObservableVariableContainer observableContainer = (IObservableVariableContainer) variableContainer;
+            for(IVariableFacade variableFacade : variableContainer.getVariableCache().values()) {
+                onVariableFacadeAdded(observableContainer, variableFacade);
+            }
+            observableContainer.addListener(this);
+        } else {
+            unobservedVariableContainers.add(variableContainer);
+            expressionDag.invalidate();
+        }
     }
 
     @Override
     public void removeVariableContainer(DimPos dimPos) {
-        compositeVariableCache = null;
-        variableContainerPositions.remove(dimPos);
+        pendingVariableContainers.remove(dimPos);
+        IVariableContainer variableContainer = variableContainers.remove(dimPos);
+        if(variableContainer != null) {
+            unindexVariableContainer(variableContainer);
+        }
+    }
+
+    protected void unindexVariableContainer(IVariableContainer variableContainer) {
+        if(variableContainer instanceof IObservableVariableContainer) {
+            IObservableVariableContainer observableContainer = (IObservableVariableContainer) variableContainer;
+            observableContainer.removeListener(this);
+            for(IVariableFacade variableFacade : variableContainer.getVariableCache().values()) {
+                onVariableFacadeRemoved(observableContainer, variableFacade);
+            }
+        } else {
+            unobservedVariableContainers.remove(variableContainer);
+            expressionDag.invalidate();
+        }
     }
 
     @Override
@@ -189,6 +323,29 @@ public class PartNetwork extends FullNetworkListenerAdapter implements IPartNetw
         this.partsChanged = true;
     }
 
+    @Override
+    public List<IExpression> prepareEvaluation(Collection<INetworkElement> dueElements) {
+        List<IExpression> expressions = Lists.newArrayList();
+        for (INetworkElement element : dueElements) {
+            if (element instanceof IPartNetworkElement && ((IPartNetworkElement) element).isLoaded()) {
+                IPartState partState = ((IPartNetworkElement) element).getPartState();
+                if (partState instanceof IPartStateWriter && ((IPartStateWriter) partState).hasVariable()) {
+                    IVariable<?> variable;
+                    try {
+                        variable = ((IPartStateWriter) partState).getVariable(this);
+                    } catch (RuntimeException e) {
+                        // Errors will be handled when the writer actually updates.
+                        continue;
+                    }
+                    if (variable instanceof IExpression && ParallelNetworkEvaluator.sampleInputs(variable)) {
+                        expressions.add((IExpression) variable);
+                    }
+                }
+            }
+        }
+        return expressions;
+    }
+
     private void onPartsChanged() {
 
     }
@@ -197,6 +354,15 @@ public class PartNetwork extends FullNetworkListenerAdapter implements IPartNetw
     public void update() {
         // Reset lazy variable cache
         lazyExpressionValueCache.clear();
+        evaluationFuel.refill();
+
+        if(!pendingVariableContainers.isEmpty()) {
+            indexPendingVariableContainers();
+        }
+        if(!unobservedVariableContainers.isEmpty()) {
+            // Changes to these containers are not notified, so their expressions are rebuilt each tick.
+            expressionDag.invalidate();
+        }
 
         // Signal parts of any changes
         if (partsChanged) {
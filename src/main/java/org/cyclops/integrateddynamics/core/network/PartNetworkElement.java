@@ -10,6 +10,7 @@ import org.cyclops.integrateddynamics.api.network.*;
 import org.cyclops.integrateddynamics.api.part.IPartContainer;
 import org.cyclops.integrateddynamics.api.part.IPartState;
 import org.cyclops.integrateddynamics.api.part.IPartType;
+import org.cyclops.integrateddynamics.api.part.IStaggeredPartType;
 import org.cyclops.integrateddynamics.api.part.PartTarget;
 import org.cyclops.integrateddynamics.core.helper.NetworkHelpers;
 import org.cyclops.integrateddynamics.core.helper.PartHelpers;
@@ -108,6 +109,15 @@ public class PartNetworkElement<P extends IPartType<P, S>, S extends IPartState<
         return part.getUpdateInterval(getPartState());
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public int getUpdatePhase() {
+        if (!(part instanceof IStaggeredPartType) || !((IStaggeredPartType<P, S>) part).isUpdateStaggered(getPartState())) {
+            return -1;
+        }
+        return getUpdatePhasePositioned(getCenterPos(getTarget()), getCenterSide(getTarget()));
+    }
+
     @Override
     public boolean isUpdate() {
         return part.isUpdate(getPartState());
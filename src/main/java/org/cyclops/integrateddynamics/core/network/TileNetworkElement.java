@@ -36,6 +36,11 @@ public abstract class TileNetworkElement<T extends TileCableConnectableInventory
         }
     }
 
+    @Override
+    public int getUpdatePhase() {
+        return getUpdatePhasePositioned(getPos(), null);
+    }
+
     @Override
     public int compareTo(INetworkElement o) {
         if(o instanceof TileNetworkElement) {
@@ -40,7 +40,7 @@ public class NetworkDiagnostics {
     public synchronized void registerPlayer(EntityPlayerMP player) {
         if (!players.contains(player.getPersistentID())) {
             players.add(player.getPersistentID());
-            for (INetwork network : NetworkWorldStorage.getInstance(IntegratedDynamics._instance).getNetworks()) {
+            for (INetwork network : NetworkWorldStorage.getInstance(IntegratedDynamics._instance).getNetworksSnapshot()) {
                 sendNetworkUpdateToPlayer(player, network);
             }
 
@@ -1,41 +1,148 @@
 package org.cyclops.integrateddynamics.core.network.event;
 
 import com.google.common.collect.Maps;
+import gnu.trove.list.array.TIntArrayList;
 import net.minecraftforge.fml.common.eventhandler.EventBus;
-import org.cyclops.cyclopscore.helper.CollectionHelpers;
 import org.cyclops.integrateddynamics.api.network.IEventListenableNetworkElement;
 import org.cyclops.integrateddynamics.api.network.INetwork;
 import org.cyclops.integrateddynamics.api.network.INetworkElement;
 import org.cyclops.integrateddynamics.api.network.event.ICancelableNetworkEvent;
+import org.cyclops.integrateddynamics.api.network.event.ICoalescableNetworkEvent;
+import org.cyclops.integrateddynamics.api.network.event.ICoalescingNetworkEventBus;
 import org.cyclops.integrateddynamics.api.network.event.INetworkEvent;
-import org.cyclops.integrateddynamics.api.network.event.INetworkEventBus;
 
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.Map;
-import java.util.Set;
 
 /**
  * An event bus for {@link INetwork} events where
  * {@link INetworkElement} instances can listen to.
  *
+ * Each event type is assigned a small integer id, and the listeners of each event type
+ * are stored in copy-on-write arrays indexed by that id.
+ * For each posted event class, the ids of the event types it must be dispatched to,
+ * being the class itself and all of its event supertypes, are computed once.
+ * This makes posting allocation-free, and safe against (un)registrations during dispatch,
+ * which will only apply to events posted afterwards.
+ * A listener that is registered for multiple types in the hierarchy of an event will receive it once for each type.
+ *
+ * Posted {@link ICoalescableNetworkEvent}s are not dispatched immediately,
+ * but are kept pending until {@link #dispatchCoalesced()} is called,
+ * where only the first posted instance of each event class is dispatched.
+ *
  * Partially based on Minecraft Forge's {@link EventBus} implementation.
  *
  * @author rubensworks
  */
-public class NetworkEventBus implements INetworkEventBus {
+public class NetworkEventBus implements ICoalescingNetworkEventBus {
+
+    private static final IEventListenableNetworkElement<?>[] NO_LISTENERS = new IEventListenableNetworkElement<?>[0];
+    private static final Map<Class<? extends INetworkEvent>, Integer> EVENT_TYPE_IDS = Maps.newHashMap();
+    private static volatile Map<Class<?>, int[]> DISPATCH_TABLES = Maps.newHashMap();
+
+    private volatile IEventListenableNetworkElement<?>[][] listeners = new IEventListenableNetworkElement<?>[0][];
+    private final Map<Class<? extends INetworkEvent>, INetworkEvent> pendingEvents = Maps.newLinkedHashMap();
+    private long coalescedPostCount = 0;
+
+    /**
+     * Get the id of the given event type, and assign one if it did not have an id yet.
+     * @param eventType The event type.
+     * @return The event type id.
+     */
+    protected static int getEventTypeId(Class<? extends INetworkEvent> eventType) {
+        synchronized (EVENT_TYPE_IDS) {
+            Integer id = EVENT_TYPE_IDS.get(eventType);
+            if (id == null) {
+                id = EVENT_TYPE_IDS.size();
+                EVENT_TYPE_IDS.put(eventType, id);
+            }
+            return id;
+        }
+    }
+
+    /**
+     * Get the ids of all event types an event of the given class must be dispatched to.
+     * These are ordered from the most specific type to the most general type.
+     * @param eventClass The class of a posted event.
+     * @return The event type ids.
+     */
+    protected static int[] getDispatchTable(Class<? extends INetworkEvent> eventClass) {
+        int[] dispatchTable = DISPATCH_TABLES.get(eventClass);
+        if (dispatchTable == null) {
+            dispatchTable = compileDispatchTable(eventClass);
+            synchronized (EVENT_TYPE_IDS) {
+                Map<Class<?>, int[]> dispatchTables = Maps.newHashMap(DISPATCH_TABLES);
+                dispatchTables.put(eventClass, dispatchTable);
+                DISPATCH_TABLES = dispatchTables;
+            }
+        }
+        return dispatchTable;
+    }
+
+    protected static int[] compileDispatchTable(Class<? extends INetworkEvent> eventClass) {
+        TIntArrayList ids = new TIntArrayList();
+        addEventTypeIds(eventClass, ids);
+        return ids.toArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    protected static void addEventTypeIds(Class<?> type, TIntArrayList ids) {
+        if (type != null && INetworkEvent.class.isAssignableFrom(type)) {
+            int id = getEventTypeId((Class<? extends INetworkEvent>) type);
+            if (!ids.contains(id)) {
+                ids.add(id);
+            }
+            addEventTypeIds(type.getSuperclass(), ids);
+            for (Class<?> interfaceType : type.getInterfaces()) {
+                addEventTypeIds(interfaceType, ids);
+            }
+        }
+    }
+
+    protected IEventListenableNetworkElement<?>[] getListeners(int eventTypeId) {
+        IEventListenableNetworkElement<?>[][] listeners = this.listeners;
+        if (eventTypeId < listeners.length && listeners[eventTypeId] != null) {
+            return listeners[eventTypeId];
+        }
+        return NO_LISTENERS;
+    }
+
+    protected void setListeners(int eventTypeId, IEventListenableNetworkElement<?>[] typeListeners) {
+        IEventListenableNetworkElement<?>[][] listeners = Arrays.copyOf(this.listeners, Math.max(this.listeners.length, eventTypeId + 1));
+        listeners[eventTypeId] = typeListeners;
+        this.listeners = listeners;
+    }
 
-    private final Map<Class<? extends INetworkEvent>, Set<IEventListenableNetworkElement<?>>> listeners = Collections.synchronizedMap(Maps.<Class<? extends INetworkEvent>, Set<IEventListenableNetworkElement<?>>>newHashMap());
+    protected static int indexOf(IEventListenableNetworkElement<?>[] listeners, IEventListenableNetworkElement<?> target) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i].equals(target)) {
+                return i;
+            }
+        }
+        return -1;
+    }
 
     @Override
-    public void register(IEventListenableNetworkElement<?> target, Class<? extends INetworkEvent> eventType) {
-        CollectionHelpers.addToMapSet(this.listeners, eventType, target);
+    public synchronized void register(IEventListenableNetworkElement<?> target, Class<? extends INetworkEvent> eventType) {
+        int eventTypeId = getEventTypeId(eventType);
+        IEventListenableNetworkElement<?>[] typeListeners = getListeners(eventTypeId);
+        if (indexOf(typeListeners, target) < 0) {
+            typeListeners = Arrays.copyOf(typeListeners, typeListeners.length + 1);
+            typeListeners[typeListeners.length - 1] = target;
+            setListeners(eventTypeId, typeListeners);
+        }
     }
 
     @Override
-    public void unregister(IEventListenableNetworkElement<?> target, Class<? extends INetworkEvent> eventType) {
-        Set<IEventListenableNetworkElement<?>> listeners = this.listeners.get(eventType);
-        if(listeners != null) {
-            listeners.remove(target);
+    public synchronized void unregister(IEventListenableNetworkElement<?> target, Class<? extends INetworkEvent> eventType) {
+        int eventTypeId = getEventTypeId(eventType);
+        IEventListenableNetworkElement<?>[] typeListeners = getListeners(eventTypeId);
+        int index = indexOf(typeListeners, target);
+        if (index >= 0) {
+            IEventListenableNetworkElement<?>[] newTypeListeners = new IEventListenableNetworkElement<?>[typeListeners.length - 1];
+            System.arraycopy(typeListeners, 0, newTypeListeners, 0, index);
+            System.arraycopy(typeListeners, index + 1, newTypeListeners, index, newTypeListeners.length - index);
+            setListeners(eventTypeId, newTypeListeners);
         }
     }
 
@@ -48,10 +155,49 @@ public class NetworkEventBus implements INetworkEventBus {
 
     @Override
     public void post(INetworkEvent event) {
-        Set<IEventListenableNetworkElement<?>> listeners = this.listeners.get(event.getClass());
-        if(listeners != null) {
-            for (IEventListenableNetworkElement listener : listeners) {
-                listener.getNetworkEventListener().onEvent(event, listener);
+        if (event instanceof ICoalescableNetworkEvent) {
+            synchronized (pendingEvents) {
+                if (pendingEvents.containsKey(event.getClass())) {
+                    coalescedPostCount++;
+                } else {
+                    pendingEvents.put(event.getClass(), event);
+                }
+            }
+        } else {
+            dispatch(event);
+        }
+    }
+
+    @Override
+    public void dispatchCoalesced() {
+        INetworkEvent[] events;
+        synchronized (pendingEvents) {
+            if (pendingEvents.isEmpty()) {
+                return;
+            }
+            events = pendingEvents.values().toArray(new INetworkEvent[pendingEvents.size()]);
+            pendingEvents.clear();
+        }
+        // Events that are posted again while dispatching will be pending until the next call.
+        for (INetworkEvent event : events) {
+            dispatch(event);
+        }
+    }
+
+    @Override
+    public long getCoalescedPostCount() {
+        synchronized (pendingEvents) {
+            return coalescedPostCount;
+        }
+    }
+
+    protected void dispatch(INetworkEvent event) {
+        IEventListenableNetworkElement<?>[][] listeners = this.listeners;
+        for (int eventTypeId : getDispatchTable(event.getClass())) {
+            if (eventTypeId < listeners.length && listeners[eventTypeId] != null) {
+                for (IEventListenableNetworkElement listener : listeners[eventTypeId]) {
+                    listener.getNetworkEventListener().onEvent(event, listener);
+                }
             }
         }
     }
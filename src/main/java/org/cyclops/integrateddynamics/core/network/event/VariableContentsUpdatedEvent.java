@@ -1,12 +1,14 @@
 package org.cyclops.integrateddynamics.core.network.event;
 
 import org.cyclops.integrateddynamics.api.network.INetwork;
+import org.cyclops.integrateddynamics.api.network.event.ICoalescableNetworkEvent;
 
 /**
  * An event used to signal network elements of updated variables inside the network.
+ * Multiple updates within the same tick are coalesced into a single event.
  * @author rubensworks
  */
-public class VariableContentsUpdatedEvent extends NetworkEvent {
+public class VariableContentsUpdatedEvent extends NetworkEvent implements ICoalescableNetworkEvent {
 
     public VariableContentsUpdatedEvent(INetwork network) {
         super(network);
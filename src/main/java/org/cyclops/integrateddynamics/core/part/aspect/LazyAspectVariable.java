@@ -5,6 +5,7 @@ import lombok.NonNull;
 import org.apache.commons.lang3.tuple.Pair;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IVersionedVariable;
 import org.cyclops.integrateddynamics.api.part.IPartState;
 import org.cyclops.integrateddynamics.api.part.IPartType;
 import org.cyclops.integrateddynamics.api.part.PartPos;
@@ -12,18 +13,21 @@ import org.cyclops.integrateddynamics.api.part.PartTarget;
 import org.cyclops.integrateddynamics.api.part.aspect.IAspectRead;
 import org.cyclops.integrateddynamics.api.part.aspect.IAspectVariable;
 import org.cyclops.integrateddynamics.api.part.aspect.property.IAspectProperties;
+import org.cyclops.integrateddynamics.core.evaluate.variable.VariableVersions;
 
 /**
  * Variable for a specific aspect from a part that calculates its target value only maximum once per ticking interval.
  * No calculations will be done if the value of this variable is not called.
  * @author rubensworks
  */
-public abstract class LazyAspectVariable<V extends IValue> implements IAspectVariable<V> {
+public abstract class LazyAspectVariable<V extends IValue> implements IAspectVariable<V>, IVersionedVariable<V> {
 
     @Getter private final IValueType<V> type;
     @Getter private final PartTarget target;
     @Getter private final IAspectRead<V, ?> aspect;
     @NonNull private V value;
+    private V lastValue = null;
+    private long version = VariableVersions.next();
     private IAspectProperties cachedProperties = null;
 
     public LazyAspectVariable(IValueType<V> type, PartTarget target, IAspectRead<V, ?> aspect) {
@@ -47,10 +51,22 @@ public abstract class LazyAspectVariable<V extends IValue> implements IAspectVar
     public V getValue() {
         if(value == null) {
             this.value = getValueLazy();
+            // Only bump the version if the value really changed, so that dependent expressions can reuse their results.
+            if(lastValue == null || !VariableVersions.isMemoizable(getType()) || !lastValue.equals(this.value)) {
+                this.version = VariableVersions.next();
+            }
+            this.lastValue = this.value;
         }
         return this.value;
     }
 
+    @Override
+    public long getVersion() {
+        // The target has to be read to know if it has changed, but this is done at most once per update.
+        getValue();
+        return this.version;
+    }
+
     protected IAspectProperties getAspectProperties() {
         if(cachedProperties == null && getAspect().hasProperties()) {
             PartPos pos = getTarget().getCenter();
@@ -41,10 +41,12 @@ public class AspectBuilder<V extends IValue, T extends IValueType<V>, O> {
     private final List<IAspectWriteDeactivator> writeDeactivators;
     private final ModBase mod;
     private final ModBase modGui;
+    private final boolean pollingRequired;
 
     private AspectBuilder(boolean read, T valueType, List<String> kinds, IAspectProperties defaultAspectProperties,
                           List<IAspectValuePropagator> valuePropagators, List<IAspectWriteActivator> writeActivators,
-                          List<IAspectWriteDeactivator> writeDeactivators, ModBase mod, ModBase modGui) {
+                          List<IAspectWriteDeactivator> writeDeactivators, ModBase mod, ModBase modGui,
+                          boolean pollingRequired) {
         this.read = read;
         this.valueType = valueType;
         this.kinds = kinds;
@@ -54,6 +56,7 @@ public class AspectBuilder<V extends IValue, T extends IValueType<V>, O> {
         this.writeDeactivators = writeDeactivators;
         this.mod = Objects.requireNonNull(mod);
         this.modGui = Objects.requireNonNull(modGui);
+        this.pollingRequired = pollingRequired;
     }
 
     /**
@@ -82,7 +85,8 @@ public class AspectBuilder<V extends IValue, T extends IValueType<V>, O> {
                 Helpers.joinList(writeActivators, null),
                 Helpers.joinList(writeDeactivators, null),
                 mod,
-                modGui);
+                modGui,
+                pollingRequired);
     }
 
     /**
@@ -99,7 +103,8 @@ public class AspectBuilder<V extends IValue, T extends IValueType<V>, O> {
                 Helpers.joinList(writeActivators, null),
                 Helpers.joinList(writeDeactivators, null),
                 mod,
-                modGui);
+                modGui,
+                pollingRequired);
     }
 
     /**
@@ -116,7 +121,8 @@ public class AspectBuilder<V extends IValue, T extends IValueType<V>, O> {
                 Helpers.joinList(writeActivators, null),
                 Helpers.joinList(writeDeactivators, null),
                 mod,
-                modGui);
+                modGui,
+                pollingRequired);
     }
 
     /**
@@ -137,7 +143,8 @@ public class AspectBuilder<V extends IValue, T extends IValueType<V>, O> {
                 Helpers.joinList(writeActivators, activator),
                 Helpers.joinList(writeDeactivators, null),
                 mod,
-                modGui);
+                modGui,
+                pollingRequired);
     }
 
     /**
@@ -158,7 +165,8 @@ public class AspectBuilder<V extends IValue, T extends IValueType<V>, O> {
                 Helpers.joinList(writeActivators, null),
                 Helpers.joinList(writeDeactivators, deactivator),
                 mod,
-                modGui);
+                modGui,
+                pollingRequired);
     }
 
     /**
@@ -175,7 +183,8 @@ public class AspectBuilder<V extends IValue, T extends IValueType<V>, O> {
                 Helpers.joinList(writeActivators, null),
                 Helpers.joinList(writeDeactivators, null),
                 mod,
-                modGui);
+                modGui,
+                pollingRequired);
     }
 
     /**
@@ -192,7 +201,29 @@ public class AspectBuilder<V extends IValue, T extends IValueType<V>, O> {
                 Helpers.joinList(writeActivators, null),
                 Helpers.joinList(writeDeactivators, null),
                 mod,
-                modGui);
+                modGui,
+                pollingRequired);
+    }
+
+    /**
+     * Indicate that the aspect must be written on every update, even by reactive writers.
+     * Only applicable for writers.
+     * @return The new builder instance.
+     */
+    public AspectBuilder<V, T, O> requirePolling() {
+        if(this.read) {
+            throw new RuntimeException("Polling is only applicable for writers.");
+        }
+        return new AspectBuilder<>(
+                this.read, this.valueType,
+                Helpers.joinList(this.kinds, null),
+                this.defaultAspectProperties,
+                Helpers.joinList(this.valuePropagators, null),
+                Helpers.joinList(writeActivators, null),
+                Helpers.joinList(writeDeactivators, null),
+                mod,
+                modGui,
+                true);
     }
 
     /**
@@ -225,7 +256,7 @@ public class AspectBuilder<V extends IValue, T extends IValueType<V>, O> {
     public static <V extends IValue, T extends IValueType<V>> AspectBuilder<V, T, Pair<PartTarget, IAspectProperties>> forReadType(T valueType) {
         return new AspectBuilder<>(true, valueType, ImmutableList.of(valueType.getTypeName()), null,
                 Collections.<IAspectValuePropagator>emptyList(), Collections.<IAspectWriteActivator>emptyList(),
-                Collections.<IAspectWriteDeactivator>emptyList(), IntegratedDynamics._instance, IntegratedDynamics._instance);
+                Collections.<IAspectWriteDeactivator>emptyList(), IntegratedDynamics._instance, IntegratedDynamics._instance, false);
     }
 
     /**
@@ -238,7 +269,7 @@ public class AspectBuilder<V extends IValue, T extends IValueType<V>, O> {
     public static <V extends IValue, T extends IValueType<V>> AspectBuilder<V, T, Triple<PartTarget, IAspectProperties, IVariable<V>>> forWriteType(T valueType) {
         return new AspectBuilder<>(false, valueType, ImmutableList.of(valueType.getTypeName()), null,
                 Collections.<IAspectValuePropagator>emptyList(), Collections.<IAspectWriteActivator>emptyList(),
-                Collections.<IAspectWriteDeactivator>emptyList(), IntegratedDynamics._instance, IntegratedDynamics._instance);
+                Collections.<IAspectWriteDeactivator>emptyList(), IntegratedDynamics._instance, IntegratedDynamics._instance, false);
     }
 
     private static class BuiltReader<V extends IValue, T extends IValueType<V>> extends AspectReadBase<V, T> {
@@ -288,6 +319,7 @@ public class AspectBuilder<V extends IValue, T extends IValueType<V>, O> {
         private final List<IAspectValuePropagator> valuePropagators;
         private final List<IAspectWriteActivator> writeActivators;
         private final List<IAspectWriteDeactivator> writeDeactivators;
+        private final boolean pollingRequired;
 
         public BuiltWriter(AspectBuilder<V, T, V> aspectBuilder) {
             super(aspectBuilder.mod, aspectBuilder.modGui,
@@ -296,6 +328,7 @@ public class AspectBuilder<V extends IValue, T extends IValueType<V>, O> {
             this.valuePropagators = aspectBuilder.valuePropagators;
             this.writeActivators = aspectBuilder.writeActivators;
             this.writeDeactivators = aspectBuilder.writeDeactivators;
+            this.pollingRequired = aspectBuilder.pollingRequired;
         }
 
         protected static <V extends IValue, T extends IValueType<V>> String deriveUnlocalizedType(AspectBuilder<V, T, V> aspectBuilder) {
@@ -337,6 +370,11 @@ public class AspectBuilder<V extends IValue, T extends IValueType<V>, O> {
             }
 
         }
+
+        @Override
+        public boolean isPollingRequired() {
+            return pollingRequired;
+        }
     }
 
 }
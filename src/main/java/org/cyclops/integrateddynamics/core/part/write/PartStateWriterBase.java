@@ -5,13 +5,16 @@ import net.minecraft.nbt.NBTTagCompound;
 import org.cyclops.cyclopscore.helper.CollectionHelpers;
 import org.cyclops.cyclopscore.helper.L10NHelpers;
 import org.cyclops.cyclopscore.persist.nbt.NBTClassType;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
 import org.cyclops.integrateddynamics.api.item.IVariableFacade;
 import org.cyclops.integrateddynamics.api.network.IPartNetwork;
 import org.cyclops.integrateddynamics.api.part.PartTarget;
 import org.cyclops.integrateddynamics.api.part.aspect.IAspect;
 import org.cyclops.integrateddynamics.api.part.aspect.IAspectWrite;
+import org.cyclops.integrateddynamics.api.part.aspect.property.IAspectProperties;
 import org.cyclops.integrateddynamics.api.part.write.IPartStateWriter;
 import org.cyclops.integrateddynamics.api.part.write.IPartTypeWriter;
+import org.cyclops.integrateddynamics.api.part.write.IReactivePartStateWriter;
 import org.cyclops.integrateddynamics.core.part.PartStateActiveVariableBase;
 import org.cyclops.integrateddynamics.part.aspect.Aspects;
 
@@ -24,11 +27,13 @@ import java.util.Map;
  * @author rubensworks
  */
 public class PartStateWriterBase<P extends IPartTypeWriter>
-        extends PartStateActiveVariableBase<P> implements IPartStateWriter<P> {
+        extends PartStateActiveVariableBase<P> implements IReactivePartStateWriter<P> {
 
     private IAspectWrite activeAspect = null;
     private Map<String, List<L10NHelpers.UnlocalizedString>> errorMessages = Maps.newHashMap();
     private boolean firstTick = true;
+    private IVariable<?> writtenVariable = null;
+    private long writtenVersion = 0;
 
     public PartStateWriterBase(int inventorySize) {
         super(inventorySize);
@@ -88,6 +93,7 @@ public class PartStateWriterBase<P extends IPartTypeWriter>
     public void onVariableContentsUpdated(P partType, PartTarget target) {
         // Resets the errors for this aspect
         super.onVariableContentsUpdated(partType, target);
+        resetWrittenVersion();
         IAspectWrite activeAspect = getActiveAspect();
         if(activeAspect != null) {
             addError(activeAspect, null);
@@ -128,6 +134,33 @@ public class PartStateWriterBase<P extends IPartTypeWriter>
         return false;
     }
 
+    @Override
+    public void setDeactivated(boolean deactivated) {
+        super.setDeactivated(deactivated);
+        resetWrittenVersion();
+    }
+
+    @Override
+    public boolean checkAndUpdateWrittenVersion(IVariable<?> variable, long version) {
+        if(writtenVariable != variable || writtenVersion != version) {
+            writtenVariable = variable;
+            writtenVersion = version;
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void resetWrittenVersion() {
+        writtenVariable = null;
+    }
+
+    @Override
+    public void setAspectProperties(IAspect aspect, IAspectProperties properties) {
+        super.setAspectProperties(aspect, properties);
+        resetWrittenVersion();
+    }
+
     public static class Validator implements IVariableFacade.IValidator {
 
         private final IPartStateWriter state;
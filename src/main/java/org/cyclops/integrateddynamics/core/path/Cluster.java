@@ -1,84 +1,322 @@
 package org.cyclops.integrateddynamics.core.path;
 
-import com.google.common.collect.Sets;
-import lombok.Data;
-import lombok.experimental.Delegate;
+import com.google.common.collect.AbstractIterator;
+import gnu.trove.iterator.TLongIterator;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.set.TLongSet;
+import gnu.trove.set.hash.TLongHashSet;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
+import net.minecraftforge.common.DimensionManager;
 import net.minecraftforge.fml.common.FMLCommonHandler;
 import org.apache.logging.log4j.Level;
+import org.cyclops.cyclopscore.datastructure.DimPos;
 import org.cyclops.cyclopscore.helper.MinecraftHelpers;
 import org.cyclops.cyclopscore.helper.TileHelpers;
 import org.cyclops.cyclopscore.persist.nbt.INBTSerializable;
 import org.cyclops.integrateddynamics.IntegratedDynamics;
 import org.cyclops.integrateddynamics.api.path.IPathElement;
 import org.cyclops.integrateddynamics.capability.path.PathElementConfig;
+import org.cyclops.integrateddynamics.capability.path.PathElementDefault;
 
+import java.util.AbstractCollection;
 import java.util.Collection;
-import java.util.Set;
-import java.util.TreeSet;
+import java.util.Iterator;
 
 /**
  * A cluster for a collection of path elements.
+ * Only the positions of the path elements are stored, as packed longs for each dimension.
+ * Path elements are resolved lazily from these positions when iterating,
+ * and only for positions in loaded chunks.
  * @author rubensworks
  */
-@Data
-public class Cluster implements Collection<IPathElement>, INBTSerializable {
+public class Cluster extends AbstractCollection<IPathElement> implements INBTSerializable {
 
-    @Delegate
-    private final Set<IPathElement> elements;
+    private final PackedPositionSet positions = new PackedPositionSet();
+    private final TIntObjectMap<World> worlds = new TIntObjectHashMap<>();
 
     /**
      * This constructor should not be called, except for the process of constructing networks from NBT.
      */
     public Cluster() {
-        this.elements = Sets.newTreeSet();
+
+    }
+
+    public Cluster(Collection<IPathElement> elements) {
+        addAll(elements);
+    }
+
+    @Override
+    public boolean add(IPathElement pathElement) {
+        World world = pathElement.getPosition().getWorld();
+        int dimension = world.provider.getDimension();
+        if (!worlds.containsKey(dimension)) {
+            worlds.put(dimension, world);
+        }
+        return positions.add(dimension, pathElement.getPosition().getBlockPos().toLong());
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends IPathElement> elements) {
+        if (elements instanceof Cluster) {
+            Cluster cluster = (Cluster) elements;
+            worlds.putAll(cluster.worlds);
+            return positions.addAll(cluster.positions);
+        }
+        return super.addAll(elements);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return o instanceof IPathElement && positions.remove(((IPathElement) o).getPosition());
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof IPathElement && positions.contains(((IPathElement) o).getPosition());
+    }
+
+    @Override
+    public int size() {
+        return positions.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return positions.isEmpty();
+    }
+
+    @Override
+    public void clear() {
+        positions.clear();
+    }
+
+    /**
+     * Iterate over the path elements in this cluster.
+     * Path elements are only resolved for positions in loaded chunks, so that iterating does not load any chunks.
+     * Positions that are not loaded, or for which no path element can be resolved anymore,
+     * are returned as {@link UnresolvedPathElement}s, so that all positions of {@link #size()} are iterated.
+     * Removal is not supported through this iterator, use {@link #remove(Object)} instead.
+     * @return An iterator over the path elements.
+     */
+    @Override
+    public Iterator<IPathElement> iterator() {
+        final int[] dimensions = positions.getDimensions();
+        return new AbstractIterator<IPathElement>() {
+
+            private int dimensionIndex = -1;
+            private World world = null;
+            private TLongIterator dimensionIterator = null;
+
+            @Override
+            protected IPathElement computeNext() {
+                while (dimensionIterator == null || !dimensionIterator.hasNext()) {
+                    if (++dimensionIndex >= dimensions.length) {
+                        return endOfData();
+                    }
+                    TLongSet dimensionPositions = positions.getPositions(dimensions[dimensionIndex]);
+                    world = getWorld(dimensions[dimensionIndex]);
+                    dimensionIterator = dimensionPositions == null ? null : dimensionPositions.iterator();
+                }
+                BlockPos pos = BlockPos.fromLong(dimensionIterator.next());
+                if (world != null && world.isBlockLoaded(pos)) {
+                    IPathElement pathElement = TileHelpers.getCapability(world, pos, null, PathElementConfig.CAPABILITY);
+                    if (pathElement != null) {
+                        return pathElement;
+                    }
+                }
+                return new UnresolvedPathElement(DimPos.of(world, pos));
+            }
+        };
+    }
+
+    /**
+     * Check if any of the positions in this cluster is in a loaded chunk.
+     * This will not load any chunks or dimensions, and will not resolve any path elements.
+     * @return If any position is loaded.
+     */
+    public boolean isAnyPositionLoaded() {
+        for (int dimension : positions.getDimensions()) {
+            TLongSet dimensionPositions = positions.getPositions(dimension);
+            World world = getLoadedWorld(dimension);
+            if (dimensionPositions != null && world != null) {
+                // Positions are mostly clustered, so only check each chunk once.
+                TLongSet checkedChunks = new TLongHashSet();
+                for (TLongIterator it = dimensionPositions.iterator(); it.hasNext();) {
+                    BlockPos pos = BlockPos.fromLong(it.next());
+                    if (checkedChunks.add(ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4)) && world.isBlockLoaded(pos)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The chunks of all positions in this cluster, as {@link ChunkPos#asLong(int, int)} for each dimension.
+     */
+    public PackedPositionSet getChunkPositions() {
+        PackedPositionSet chunks = new PackedPositionSet();
+        for (int dimension : positions.getDimensions()) {
+            TLongSet dimensionPositions = positions.getPositions(dimension);
+            if (dimensionPositions != null) {
+                for (TLongIterator it = dimensionPositions.iterator(); it.hasNext();) {
+                    BlockPos pos = BlockPos.fromLong(it.next());
+                    chunks.add(dimension, ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4));
+                }
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * @param dimensionId The dimension id.
+     * @return The world of the given dimension if it is loaded, without loading it.
+     */
+    protected World getLoadedWorld(int dimensionId) {
+        return DimensionManager.getWorld(dimensionId);
     }
 
-    public Cluster(TreeSet<IPathElement> elements) {
-        this.elements = elements;
+    protected World getWorld(int dimensionId) {
+        World world = worlds.get(dimensionId);
+        if (world == null) {
+            if(!net.minecraftforge.common.DimensionManager.isDimensionRegistered(dimensionId)) {
+                IntegratedDynamics.clog(Level.WARN, String.format("Skipped loading part from a network at the " +
+                        "invalid dimension id %s.", dimensionId));
+                return null;
+            }
+            world = FMLCommonHandler.instance().getMinecraftServerInstance().worldServerForDimension(dimensionId);
+            worlds.put(dimensionId, world);
+        }
+        return world;
     }
 
     @Override
     public NBTTagCompound toNBT() {
+        return writePositions(positions);
+    }
+
+    @Override
+    public void fromNBT(NBTTagCompound tag) {
+        PackedPositionSet loadedPositions = readPositions(tag);
+        for (int dimension : loadedPositions.getDimensions()) {
+            TLongSet dimensionPositions = loadedPositions.getPositions(dimension);
+            if (dimensionPositions != null) {
+                for (TLongIterator it = dimensionPositions.iterator(); it.hasNext();) {
+                    addLoaded(dimension, it.next());
+                }
+            }
+        }
+    }
+
+    /**
+     * Write the given positions to NBT.
+     * The positions of each dimension are packed into an int array.
+     * @param positions The positions.
+     * @return The NBT tag.
+     */
+    public static NBTTagCompound writePositions(PackedPositionSet positions) {
         NBTTagCompound tag = new NBTTagCompound();
-        NBTTagList list = new NBTTagList();
+        NBTTagList dimensionsList = new NBTTagList();
 
-        for(IPathElement e : elements) {
-            NBTTagCompound elementTag = new NBTTagCompound();
-            elementTag.setInteger("dimension", e.getPosition().getWorld().provider.getDimension());
-            elementTag.setLong("pos", e.getPosition().getBlockPos().toLong());
-            list.appendTag(elementTag);
+        for (int dimension : positions.getDimensions()) {
+            TLongSet dimensionPositions = positions.getPositions(dimension);
+            if (dimensionPositions != null && !dimensionPositions.isEmpty()) {
+                // Positions are packed as two consecutive ints, as long arrays can not be stored in NBT.
+                int[] packed = new int[dimensionPositions.size() * 2];
+                int i = 0;
+                for (TLongIterator it = dimensionPositions.iterator(); it.hasNext();) {
+                    long pos = it.next();
+                    packed[i++] = (int) (pos >> 32);
+                    packed[i++] = (int) pos;
+                }
+                NBTTagCompound dimensionTag = new NBTTagCompound();
+                dimensionTag.setInteger("dimension", dimension);
+                dimensionTag.setIntArray("positions", packed);
+                dimensionsList.appendTag(dimensionTag);
+            }
         }
 
-        tag.setTag("list", list);
+        tag.setTag("dimensions", dimensionsList);
         return tag;
     }
 
-    @Override
-    public void fromNBT(NBTTagCompound tag) {
-        NBTTagList list = tag.getTagList("list", MinecraftHelpers.NBTTag_Types.NBTTagCompound.ordinal());
+    /**
+     * Read positions from NBT, in the format of {@link #writePositions(PackedPositionSet)},
+     * or in the legacy format with a compound tag for each position.
+     * @param tag The NBT tag.
+     * @return The positions.
+     */
+    public static PackedPositionSet readPositions(NBTTagCompound tag) {
+        PackedPositionSet positions = new PackedPositionSet();
 
+        // TODO: backwards compat, remove in next major MC update.
+        NBTTagList list = tag.getTagList("list", MinecraftHelpers.NBTTag_Types.NBTTagCompound.ordinal());
         for(int i = 0; i < list.tagCount(); i++) {
             NBTTagCompound elementTag = list.getCompoundTagAt(i);
-            int dimensionId = elementTag.getInteger("dimension");
-            BlockPos pos = BlockPos.fromLong(elementTag.getLong("pos"));
+            positions.add(elementTag.getInteger("dimension"), elementTag.getLong("pos"));
+        }
 
-            if(!net.minecraftforge.common.DimensionManager.isDimensionRegistered(dimensionId)) {
-                IntegratedDynamics.clog(Level.WARN, String.format("Skipped loading part from a network at the " +
-                        "invalid dimension id %s.", dimensionId));
+        NBTTagList dimensionsList = tag.getTagList("dimensions", MinecraftHelpers.NBTTag_Types.NBTTagCompound.ordinal());
+        for(int i = 0; i < dimensionsList.tagCount(); i++) {
+            NBTTagCompound dimensionTag = dimensionsList.getCompoundTagAt(i);
+            int dimensionId = dimensionTag.getInteger("dimension");
+            int[] packed = dimensionTag.getIntArray("positions");
+            for (int j = 0; j + 1 < packed.length; j += 2) {
+                positions.add(dimensionId, ((long) packed[j] << 32) | (packed[j + 1] & 0xFFFFFFFFL));
+            }
+        }
+
+        return positions;
+    }
+
+    protected void addLoaded(int dimensionId, long pos) {
+        World world = getWorld(dimensionId);
+        if (world != null) {
+            if(TileHelpers.getCapability(world, BlockPos.fromLong(pos), null, PathElementConfig.CAPABILITY) == null) {
+                IntegratedDynamics.clog(Level.WARN, String.format("Skipped loading part from a network at " +
+                        "position %s in world %s because it has no valid path element.", BlockPos.fromLong(pos), dimensionId));
             } else {
-                World world = FMLCommonHandler.instance().getMinecraftServerInstance().worldServerForDimension(dimensionId);
-                IPathElement pathElement = TileHelpers.getCapability(world, pos, null, PathElementConfig.CAPABILITY);
-                if(pathElement == null) {
-                    IntegratedDynamics.clog(Level.WARN, String.format("Skipped loading part from a network at " +
-                            "position %s in world %s because it has no valid path element.", pos, dimensionId));
-                } else {
-                    elements.add(pathElement);
-                }
+                positions.add(dimensionId, pos);
             }
         }
     }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof Cluster && positions.equals(((Cluster) obj).positions);
+    }
+
+    @Override
+    public int hashCode() {
+        return positions.hashCode();
+    }
+
+    /**
+     * A path element for a position of which the actual path element is not loaded or does not exist anymore.
+     * It is equal to the actual path element at the same position.
+     */
+    public static class UnresolvedPathElement extends PathElementDefault {
+
+        private final DimPos position;
+
+        public UnresolvedPathElement(DimPos position) {
+            this.position = position;
+        }
+
+        @Override
+        public DimPos getPosition() {
+            return position;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Cluster(size=%s)", size());
+    }
 }
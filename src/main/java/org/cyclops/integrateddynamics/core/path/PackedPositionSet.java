@@ -0,0 +1,196 @@
+package org.cyclops.integrateddynamics.core.path;
+
+import gnu.trove.iterator.TIntObjectIterator;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.set.TLongSet;
+import gnu.trove.set.hash.TLongHashSet;
+import org.cyclops.cyclopscore.datastructure.DimPos;
+
+/**
+ * A set of positions that are stored as packed (dimension, {@link net.minecraft.util.math.BlockPos#toLong()})
+ * primitives in open-addressing long sets, one for each dimension.
+ * @author rubensworks
+ */
+public class PackedPositionSet {
+
+    private final TIntObjectMap<TLongSet> positions = new TIntObjectHashMap<>();
+    private int size = 0;
+    private int lastDimension = 0;
+    private TLongSet lastPositions = null;
+
+    /**
+     * Add the given position.
+     * @param pos The position.
+     * @return If the position was not yet present.
+     */
+    public boolean add(DimPos pos) {
+        return add(getDimension(pos), pos.getBlockPos().toLong());
+    }
+
+    /**
+     * Add the given position.
+     * @param dimension The dimension id.
+     * @param pos The packed block position.
+     * @return If the position was not yet present.
+     */
+    public boolean add(int dimension, long pos) {
+        if (getPositions(dimension, true).add(pos)) {
+            size++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Add all positions of the given set.
+     * @param positionSet The positions to add.
+     * @return If any position was not yet present.
+     */
+    public boolean addAll(PackedPositionSet positionSet) {
+        boolean changed = false;
+        for (TIntObjectIterator<TLongSet> it = positionSet.positions.iterator(); it.hasNext();) {
+            it.advance();
+            TLongSet dimensionPositions = getPositions(it.key(), true);
+            int previousSize = dimensionPositions.size();
+            if (dimensionPositions.addAll(it.value())) {
+                size += dimensionPositions.size() - previousSize;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Remove the given position.
+     * @param pos The position.
+     * @return If the position was present.
+     */
+    public boolean remove(DimPos pos) {
+        return remove(getDimension(pos), pos.getBlockPos().toLong());
+    }
+
+    /**
+     * Remove the given position.
+     * @param dimension The dimension id.
+     * @param pos The packed block position.
+     * @return If the position was present.
+     */
+    public boolean remove(int dimension, long pos) {
+        TLongSet dimensionPositions = getPositions(dimension, false);
+        if (dimensionPositions != null && dimensionPositions.remove(pos)) {
+            size--;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param pos The position.
+     * @return If the given position is present.
+     */
+    public boolean contains(DimPos pos) {
+        return contains(getDimension(pos), pos.getBlockPos().toLong());
+    }
+
+    /**
+     * @param dimension The dimension id.
+     * @param pos The packed block position.
+     * @return If the given position is present.
+     */
+    public boolean contains(int dimension, long pos) {
+        TLongSet dimensionPositions = getPositions(dimension, false);
+        return dimensionPositions != null && dimensionPositions.contains(pos);
+    }
+
+    /**
+     * @return The number of positions.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return If this set is empty.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Remove all positions.
+     */
+    public void clear() {
+        positions.clear();
+        lastPositions = null;
+        size = 0;
+    }
+
+    /**
+     * @return The dimension ids for which positions may be present.
+     */
+    public int[] getDimensions() {
+        return positions.keys();
+    }
+
+    /**
+     * Get the positions within the given dimension.
+     * The returned set must not be modified.
+     * @param dimension The dimension id.
+     * @return The packed block positions, or null if the dimension has no positions.
+     */
+    public TLongSet getPositions(int dimension) {
+        return getPositions(dimension, false);
+    }
+
+    protected static int getDimension(DimPos pos) {
+        return pos.getWorld().provider.getDimension();
+    }
+
+    protected TLongSet getPositions(int dimension, boolean create) {
+        // Most lookups happen within the same dimension, so avoid the map lookup in that case.
+        if (lastPositions != null && lastDimension == dimension) {
+            return lastPositions;
+        }
+        TLongSet dimensionPositions = positions.get(dimension);
+        if (dimensionPositions == null) {
+            if (!create) {
+                return null;
+            }
+            dimensionPositions = new TLongHashSet();
+            positions.put(dimension, dimensionPositions);
+        }
+        lastDimension = dimension;
+        lastPositions = dimensionPositions;
+        return dimensionPositions;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof PackedPositionSet) || ((PackedPositionSet) obj).size() != size()) {
+            return false;
+        }
+        PackedPositionSet other = (PackedPositionSet) obj;
+        for (TIntObjectIterator<TLongSet> it = positions.iterator(); it.hasNext();) {
+            it.advance();
+            TLongSet otherPositions = other.getPositions(it.key());
+            if (!it.value().isEmpty() && (otherPositions == null || !otherPositions.containsAll(it.value()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (TIntObjectIterator<TLongSet> it = positions.iterator(); it.hasNext();) {
+            it.advance();
+            if (!it.value().isEmpty()) {
+                hash += it.key() ^ it.value().hashCode();
+            }
+        }
+        return hash;
+    }
+
+}
@@ -0,0 +1,119 @@
+package org.cyclops.integrateddynamics.core.path;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.cyclops.cyclopscore.datastructure.DimPos;
+import org.cyclops.integrateddynamics.api.path.IPathElement;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Algorithms for incrementally maintaining the connectivity of {@link IPathElement}s
+ * after path elements or connections were removed.
+ * @author rubensworks
+ */
+public final class PathConnectivity {
+
+    /**
+     * Find the clusters that became detached from each other after a path element or connection between
+     * the given heads was removed.
+     *
+     * A search is started from each head, and all searches are advanced one element at a time.
+     * When two searches meet, they are merged as they belong to the same cluster.
+     * Once only a single search remains active, the searches that have completed form the detached clusters,
+     * and the remaining one is assumed to be the largest part, which will not be traversed any further.
+     * This makes the cost of this method proportional to the size of the detached clusters,
+     * instead of the size of the full original cluster.
+     *
+     * @param heads The path elements that were previously connected with each other.
+     * @return The detached clusters, which can be empty if all heads are still connected.
+     */
+    public static List<Cluster> getDetachedClusters(Collection<IPathElement> heads) {
+        List<Cluster> detachedClusters = Lists.newArrayList();
+        if (heads.size() <= 1) {
+            return detachedClusters;
+        }
+
+        int searchCount = heads.size();
+        Search[] searches = new Search[searchCount];
+        int[] parents = new int[searchCount];
+        Map<DimPos, Integer> owners = Maps.newHashMap();
+        int activeSearches = 0;
+        int i = 0;
+        for (IPathElement head : heads) {
+            parents[i] = i;
+            Integer owner = owners.get(head.getPosition());
+            if (owner == null) {
+                searches[i] = new Search(head);
+                owners.put(head.getPosition(), i);
+                activeSearches++;
+            } else {
+                // Duplicate head, simply let it be part of the other search.
+                parents[i] = owner;
+            }
+            i++;
+        }
+
+        while (activeSearches > 1) {
+            for (int searchId = 0; searchId < searchCount && activeSearches > 1; searchId++) {
+                Search search = searches[searchId];
+                if (search == null || !search.active) {
+                    continue;
+                }
+                IPathElement element = search.queue.poll();
+                if (element == null) {
+                    // This search has been exhausted, so it forms a detached cluster.
+                    search.active = false;
+                    activeSearches--;
+                    detachedClusters.add(search.elements);
+                    continue;
+                }
+                for (IPathElement neighbour : element.getReachableElements()) {
+                    Integer owner = owners.get(neighbour.getPosition());
+                    if (owner == null) {
+                        owners.put(neighbour.getPosition(), searchId);
+                        search.elements.add(neighbour);
+                        search.queue.add(neighbour);
+                    } else {
+                        int ownerRoot = find(parents, owner);
+                        if (ownerRoot != searchId && searches[ownerRoot].active) {
+                            // Both searches are part of the same cluster, merge the other search into this one.
+                            Search other = searches[ownerRoot];
+                            parents[ownerRoot] = searchId;
+                            search.elements.addAll(other.elements);
+                            search.queue.addAll(other.queue);
+                            other.active = false;
+                            activeSearches--;
+                        }
+                    }
+                }
+            }
+        }
+        return detachedClusters;
+    }
+
+    protected static int find(int[] parents, int id) {
+        while (parents[id] != id) {
+            parents[id] = parents[parents[id]];
+            id = parents[id];
+        }
+        return id;
+    }
+
+    private static class Search {
+
+        private final ArrayDeque<IPathElement> queue = new ArrayDeque<>();
+        private final Cluster elements = new Cluster();
+        private boolean active = true;
+
+        public Search(IPathElement head) {
+            this.queue.add(head);
+            this.elements.add(head);
+        }
+
+    }
+
+}
@@ -1,11 +1,9 @@
 package org.cyclops.integrateddynamics.core.path;
 
-import com.google.common.collect.Sets;
-import org.cyclops.cyclopscore.datastructure.DimPos;
 import org.cyclops.integrateddynamics.api.path.IPathElement;
 
-import java.util.Set;
-import java.util.TreeSet;
+import java.util.ArrayDeque;
+import java.util.Deque;
 
 /**
  * Algorithm to construct paths/clusters of {@link IPathElement}s.
@@ -13,35 +11,33 @@ import java.util.TreeSet;
  */
 public final class PathFinder {
 
-    protected static TreeSet<IPathElement> getConnectedElements(IPathElement head, Set<DimPos> visitedPositions) {
-        TreeSet<IPathElement> elements = Sets.newTreeSet();
+    /**
+     * Iteratively find all path elements that are reachable from the given head.
+     * @param head The path element to start from.
+     * @param cluster The cluster of already visited path elements, all reached elements will be added to this.
+     */
+    protected static void addConnectedElements(IPathElement head, Cluster cluster) {
+        Deque<IPathElement> pending = new ArrayDeque<>();
 
         // Make sure to add our head
-        if(!visitedPositions.contains(head.getPosition())) {
-            elements.add(head);
-            visitedPositions.add(head.getPosition());
-        }
-
-        // Add neighbours that haven't been checked yet.
-        for(IPathElement neighbour : head.getReachableElements()) {
-            if(!visitedPositions.contains(neighbour.getPosition())) {
-                elements.add(neighbour);
-                visitedPositions.add(neighbour.getPosition());
+        cluster.add(head);
+        pending.push(head);
+
+        // Add neighbours that haven't been checked yet, and check their neighbours later on.
+        IPathElement element;
+        while((element = pending.poll()) != null) {
+            for(IPathElement neighbour : element.getReachableElements()) {
+                if(cluster.add(neighbour)) {
+                    pending.push(neighbour);
+                }
             }
         }
-
-        // Loop over the added neighbours to recursively check their neighbours.
-        Set<IPathElement> neighbourElements = Sets.newHashSet();
-        for(IPathElement addedElement : elements) {
-            neighbourElements.addAll(getConnectedElements(addedElement, visitedPositions));
-        }
-        elements.addAll(neighbourElements);
-
-        return elements;
     }
 
     public static Cluster getConnectedCluster(IPathElement head) {
-        return new Cluster(getConnectedElements(head, Sets.<DimPos>newTreeSet()));
+        Cluster cluster = new Cluster();
+        addConnectedElements(head, cluster);
+        return cluster;
     }
 
 }
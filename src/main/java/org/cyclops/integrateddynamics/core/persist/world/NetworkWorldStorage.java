@@ -1,5 +1,6 @@
 package org.cyclops.integrateddynamics.core.persist.world;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
@@ -8,9 +9,11 @@ import org.cyclops.cyclopscore.init.ModBase;
 import org.cyclops.cyclopscore.persist.nbt.NBTPersist;
 import org.cyclops.cyclopscore.persist.world.WorldStorage;
 import org.cyclops.integrateddynamics.api.network.INetwork;
+import org.cyclops.integrateddynamics.core.NetworkHibernationHandler;
 import org.cyclops.integrateddynamics.core.network.Network;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -23,6 +26,8 @@ public class NetworkWorldStorage extends WorldStorage {
 
     @NBTPersist
     private Set<INetwork> networks = Sets.newHashSet();
+    private final Set<INetwork> hibernatingNetworks = Sets.newHashSet();
+    private volatile INetwork[] networksSnapshot = new INetwork[0];
 
     private NetworkWorldStorage(ModBase mod) {
         super(mod);
@@ -54,11 +59,16 @@ public class NetworkWorldStorage extends WorldStorage {
         } else {
             super.readGeneratedFieldsFromNBT(tag);
         }
+        hibernatingNetworks.clear();
+        publishNetworksSnapshot();
     }
 
     @Override
-    public void reset() {
+    public synchronized void reset() {
         networks.clear();
+        hibernatingNetworks.clear();
+        NetworkHibernationHandler.getInstance().reset();
+        publishNetworksSnapshot();
     }
 
     @Override
@@ -71,7 +81,9 @@ public class NetworkWorldStorage extends WorldStorage {
      * @param network The network.
      */
     public synchronized void addNewNetwork(INetwork network) {
-        networks.add(network);
+        if (networks.add(network)) {
+            publishNetworksSnapshot();
+        }
     }
 
     /**
@@ -80,7 +92,70 @@ public class NetworkWorldStorage extends WorldStorage {
      * @param network The network.
      */
     public synchronized void removeInvalidatedNetwork(INetwork network) {
-        networks.remove(network);
+        if (networks.remove(network)) {
+            hibernatingNetworks.remove(network);
+            publishNetworksSnapshot();
+        }
+        NetworkHibernationHandler.getInstance().remove(network);
+    }
+
+    /**
+     * Stop updating the given network until it is woken up again.
+     * @param network The network.
+     * @return If the network was awake.
+     */
+    public synchronized boolean hibernateNetwork(INetwork network) {
+        if (networks.contains(network) && hibernatingNetworks.add(network)) {
+            publishNetworksSnapshot();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Start updating the given hibernating network again.
+     * @param network The network.
+     * @return If the network was hibernating.
+     */
+    public synchronized boolean wakeNetwork(INetwork network) {
+        if (hibernatingNetworks.remove(network)) {
+            publishNetworksSnapshot();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param network The network.
+     * @return If the given network is present and not hibernating.
+     */
+    public synchronized boolean isAwake(INetwork network) {
+        return networks.contains(network) && !hibernatingNetworks.contains(network);
+    }
+
+    /**
+     * @return The number of hibernating networks.
+     */
+    public synchronized int getHibernatingNetworkCount() {
+        return hibernatingNetworks.size();
+    }
+
+    /**
+     * Publish a new immutable snapshot of the current networks that are not hibernating.
+     * This must be called whenever the network set or the hibernation state of a network changes.
+     */
+    protected synchronized void publishNetworksSnapshot() {
+        if (hibernatingNetworks.isEmpty()) {
+            networksSnapshot = networks.toArray(new INetwork[networks.size()]);
+        } else {
+            List<INetwork> awakeNetworks = Lists.newArrayListWithExpectedSize(networks.size() - hibernatingNetworks.size());
+            for (INetwork network : networks) {
+                if (!hibernatingNetworks.contains(network)) {
+                    awakeNetworks.add(network);
+                }
+            }
+            networksSnapshot = awakeNetworks.toArray(new INetwork[awakeNetworks.size()]);
+        }
     }
 
     /**
@@ -90,11 +165,23 @@ public class NetworkWorldStorage extends WorldStorage {
         return Collections.unmodifiableSet(Sets.newHashSet(networks));
     }
 
+    /**
+     * Get the current networks that are not hibernating without locking or copying.
+     * The returned array is an immutable snapshot that is replaced when networks are added, removed, hibernated or woken up,
+     * so it must not be modified.
+     * @return The current awake networks.
+     */
+    public INetwork[] getNetworksSnapshot() {
+        return networksSnapshot;
+    }
+
     @Override
     public void afterLoad() {
         for(INetwork network : networks) {
             network.afterServerLoad();
         }
+        // Networks of which no chunk is loaded after loading can immediately hibernate.
+        NetworkHibernationHandler.getInstance().addCandidates(networks);
     }
 
     @Override
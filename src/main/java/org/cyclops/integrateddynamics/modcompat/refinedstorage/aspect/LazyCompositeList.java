@@ -1,6 +1,9 @@
 package org.cyclops.integrateddynamics.modcompat.refinedstorage.aspect;
 
+import com.google.common.collect.Iterables;
+
 import java.util.AbstractList;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -29,6 +32,15 @@ public class LazyCompositeList<V> extends AbstractList<V> {
         throw new IndexOutOfBoundsException();
     }
 
+    /**
+     * Iterates over the inputs sequentially, instead of looking up the input of each index.
+     * @return An iterator over all elements of all inputs.
+     */
+    @Override
+    public Iterator<V> iterator() {
+        return Iterables.concat(inputs).iterator();
+    }
+
     @Override
     public int size() {
         int size = 0;
@@ -278,6 +278,7 @@ public class RefinedStorageAspects {
 
         public static final IAspectWrite<ValueTypeBoolean.ValueBoolean, ValueTypeBoolean>
                 BOOLEAN_CANCELCRAFT = AspectWriteBuilders.BUILDER_BOOLEAN.appendKind("refinedstorage")
+                .requirePolling() // Crafting tasks that are started later must also be cancelled while the value stays true.
                 .handle(
                         new IAspectValuePropagator<Triple<PartTarget, IAspectProperties, ValueTypeBoolean.ValueBoolean>, Void>() {
                             @Override
@@ -12,12 +12,14 @@ import org.cyclops.cyclopscore.datastructure.DimPos;
 import org.cyclops.cyclopscore.helper.TileHelpers;
 import org.cyclops.cyclopscore.persist.nbt.INBTProvider;
 import org.cyclops.integrateddynamics.core.evaluate.variable.ValueObjectTypeFluidStack;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeListProxyIterator;
 import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeListProxyPositioned;
 import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypes;
 import org.cyclops.integrateddynamics.modcompat.refinedstorage.RefinedStorageModCompat;
 
 import javax.annotation.Nullable;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -67,6 +69,22 @@ public class ValueTypeListProxyPositionedNetworkMasterFluidInventory extends Val
         return ValueObjectTypeFluidStack.ValueFluidStack.of(getInventory().or(Collections.<FluidStack>emptyList()).get(index));
     }
 
+    @Override
+    public Iterator<ValueObjectTypeFluidStack.ValueFluidStack> iterator() {
+        final Iterator<FluidStack> it = getInventory().or(Collections.<FluidStack>emptyList()).iterator();
+        return new ValueTypeListProxyIterator<ValueObjectTypeFluidStack.ValueFluidStack>(getValueType()) {
+            @Override
+            protected boolean hasNextValue() {
+                return it.hasNext();
+            }
+
+            @Override
+            protected ValueObjectTypeFluidStack.ValueFluidStack nextValue() {
+                return ValueObjectTypeFluidStack.ValueFluidStack.of(it.next());
+            }
+        };
+    }
+
     @Override
     public void writeGeneratedFieldsToNBT(NBTTagCompound tag) {
 
@@ -12,12 +12,14 @@ import org.cyclops.cyclopscore.datastructure.DimPos;
 import org.cyclops.cyclopscore.helper.TileHelpers;
 import org.cyclops.cyclopscore.persist.nbt.INBTProvider;
 import org.cyclops.integrateddynamics.core.evaluate.variable.ValueObjectTypeItemStack;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeListProxyIterator;
 import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeListProxyPositioned;
 import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypes;
 import org.cyclops.integrateddynamics.modcompat.refinedstorage.RefinedStorageModCompat;
 
 import javax.annotation.Nullable;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -67,6 +69,22 @@ public class ValueTypeListProxyPositionedNetworkMasterItemInventory extends Valu
         return ValueObjectTypeItemStack.ValueItemStack.of(getInventory().or(Collections.<ItemStack>emptyList()).get(index));
     }
 
+    @Override
+    public Iterator<ValueObjectTypeItemStack.ValueItemStack> iterator() {
+        final Iterator<ItemStack> it = getInventory().or(Collections.<ItemStack>emptyList()).iterator();
+        return new ValueTypeListProxyIterator<ValueObjectTypeItemStack.ValueItemStack>(getValueType()) {
+            @Override
+            protected boolean hasNextValue() {
+                return it.hasNext();
+            }
+
+            @Override
+            protected ValueObjectTypeItemStack.ValueItemStack nextValue() {
+                return ValueObjectTypeItemStack.ValueItemStack.of(it.next());
+            }
+        };
+    }
+
     @Override
     public void writeGeneratedFieldsToNBT(NBTTagCompound tag) {
 
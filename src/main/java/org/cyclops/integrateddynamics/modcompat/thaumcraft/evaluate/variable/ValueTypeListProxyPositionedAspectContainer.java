@@ -7,11 +7,14 @@ import org.cyclops.cyclopscore.persist.nbt.INBTProvider;
 import org.cyclops.cyclopscore.persist.nbt.NBTPersist;
 import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeListProxyBase;
 import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeListProxyFactories;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeListProxyIterator;
 import org.cyclops.integrateddynamics.modcompat.thaumcraft.ThaumcraftModCompat;
 import thaumcraft.api.aspects.Aspect;
 import thaumcraft.api.aspects.AspectList;
 import thaumcraft.api.aspects.IAspectContainer;
 
+import java.util.Iterator;
+
 /**
  * A list proxy for an aspect container at a certain position.
  */
@@ -51,6 +54,28 @@ public class ValueTypeListProxyPositionedAspectContainer extends ValueTypeListPr
         return ValueObjectTypeAspect.ValueAspect.of(aspect, amount);
     }
 
+    @Override
+    public Iterator<ValueObjectTypeAspect.ValueAspect> iterator() {
+        IAspectContainer container = getContainer();
+        final AspectList aspects = container == null ? null : container.getAspects();
+        return new ValueTypeListProxyIterator<ValueObjectTypeAspect.ValueAspect>(getValueType()) {
+
+            private final Aspect[] aspectArray = aspects == null ? new Aspect[0] : aspects.getAspects();
+            private int index = 0;
+
+            @Override
+            protected boolean hasNextValue() {
+                return index < aspectArray.length;
+            }
+
+            @Override
+            protected ValueObjectTypeAspect.ValueAspect nextValue() {
+                Aspect aspect = aspectArray[index++];
+                return ValueObjectTypeAspect.ValueAspect.of(aspect, aspects.getAmount(aspect));
+            }
+        };
+    }
+
     @Override
     public void writeGeneratedFieldsToNBT(NBTTagCompound tag) {
 
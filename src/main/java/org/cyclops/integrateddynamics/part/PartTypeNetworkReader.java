@@ -20,7 +20,17 @@ public class PartTypeNetworkReader extends PartTypeReadBase<PartTypeNetworkReade
                 Aspects.Read.Network.INTEGER_ELEMENT_COUNT,
                 Aspects.Read.Network.INTEGER_ENERGY_BATTERY_COUNT,
                 Aspects.Read.Network.INTEGER_ENERGY_STORED,
-                Aspects.Read.Network.INTEGER_ENERGY_MAX
+                Aspects.Read.Network.INTEGER_ENERGY_MAX,
+                Aspects.Read.Network.INTEGER_ENERGY_CONSUMPTION_RATE,
+                Aspects.Read.Network.DOUBLE_ENERGY_INSERTED_1S,
+                Aspects.Read.Network.DOUBLE_ENERGY_INSERTED_10S,
+                Aspects.Read.Network.DOUBLE_ENERGY_INSERTED_60S,
+                Aspects.Read.Network.DOUBLE_ENERGY_EXTRACTED_1S,
+                Aspects.Read.Network.DOUBLE_ENERGY_EXTRACTED_10S,
+                Aspects.Read.Network.DOUBLE_ENERGY_EXTRACTED_60S,
+                Aspects.Read.Network.DOUBLE_ENERGY_CONSUMED_1S,
+                Aspects.Read.Network.DOUBLE_ENERGY_CONSUMED_10S,
+                Aspects.Read.Network.DOUBLE_ENERGY_CONSUMED_60S
         ));
     }
 
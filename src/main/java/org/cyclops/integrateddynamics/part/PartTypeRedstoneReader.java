@@ -37,6 +37,12 @@ public class PartTypeRedstoneReader extends PartTypeReadBase<PartTypeRedstoneRea
         return new PartStateReaderBase<PartTypeRedstoneReader>();
     }
 
+    @Override
+    public boolean isUpdateStaggered(PartStateReaderBase<PartTypeRedstoneReader> state) {
+        // The clock aspect depends on the exact ticks at which readers update, so keep these aligned.
+        return false;
+    }
+
     @Override
     public void onNetworkAddition(INetwork network, IPartNetwork partNetwork, PartTarget target, PartStateReaderBase<PartTypeRedstoneReader> state) {
         super.onNetworkAddition(network, partNetwork, target, state);
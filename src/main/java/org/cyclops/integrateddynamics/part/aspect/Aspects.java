@@ -31,6 +31,8 @@ import org.cyclops.cyclopscore.helper.MinecraftHelpers;
 import org.cyclops.cyclopscore.helper.TileHelpers;
 import org.cyclops.integrateddynamics.IntegratedDynamics;
 import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.network.IEnergyFlowNetwork;
+import org.cyclops.integrateddynamics.api.network.IEnergyNetwork;
 import org.cyclops.integrateddynamics.api.network.INetwork;
 import org.cyclops.integrateddynamics.api.part.PartPos;
 import org.cyclops.integrateddynamics.api.part.PartTarget;
@@ -48,6 +50,7 @@ import org.cyclops.integrateddynamics.part.aspect.write.AspectWriteBuilders;
 
 import javax.annotation.Nullable;
 import java.util.List;
+import java.util.Locale;
 import java.util.Random;
 
 /**
@@ -679,6 +682,41 @@ public class Aspects {
                             return network != null && network.hasCapability(EnergyNetworkConfig.CAPABILITY) ? network.getCapability(EnergyNetworkConfig.CAPABILITY).getMaxEnergyStored() : 0;
                         }
                     }).handle(AspectReadBuilders.PROP_GET_INTEGER, "energy").appendKind("max").buildRead();
+            public static final IAspectRead<ValueTypeInteger.ValueInteger, ValueTypeInteger> INTEGER_ENERGY_CONSUMPTION_RATE =
+                    AspectReadBuilders.Network.BUILDER_INTEGER.handle(new IAspectValuePropagator<INetwork, Integer>() {
+                        @Override
+                        public Integer getOutput(INetwork network) {
+                            return network != null && network.hasCapability(EnergyNetworkConfig.CAPABILITY) ? network.getCapability(EnergyNetworkConfig.CAPABILITY).getConsumptionRate() : 0;
+                        }
+                    }).handle(AspectReadBuilders.PROP_GET_INTEGER, "energy").appendKind("consumptionrate").buildRead();
+            public static final IAspectRead<ValueTypeDouble.ValueDouble, ValueTypeDouble> DOUBLE_ENERGY_INSERTED_1S =
+                    createEnergyFlowAspect(IEnergyFlowNetwork.Flow.INSERTED, 1);
+            public static final IAspectRead<ValueTypeDouble.ValueDouble, ValueTypeDouble> DOUBLE_ENERGY_INSERTED_10S =
+                    createEnergyFlowAspect(IEnergyFlowNetwork.Flow.INSERTED, 10);
+            public static final IAspectRead<ValueTypeDouble.ValueDouble, ValueTypeDouble> DOUBLE_ENERGY_INSERTED_60S =
+                    createEnergyFlowAspect(IEnergyFlowNetwork.Flow.INSERTED, 60);
+            public static final IAspectRead<ValueTypeDouble.ValueDouble, ValueTypeDouble> DOUBLE_ENERGY_EXTRACTED_1S =
+                    createEnergyFlowAspect(IEnergyFlowNetwork.Flow.EXTRACTED, 1);
+            public static final IAspectRead<ValueTypeDouble.ValueDouble, ValueTypeDouble> DOUBLE_ENERGY_EXTRACTED_10S =
+                    createEnergyFlowAspect(IEnergyFlowNetwork.Flow.EXTRACTED, 10);
+            public static final IAspectRead<ValueTypeDouble.ValueDouble, ValueTypeDouble> DOUBLE_ENERGY_EXTRACTED_60S =
+                    createEnergyFlowAspect(IEnergyFlowNetwork.Flow.EXTRACTED, 60);
+            public static final IAspectRead<ValueTypeDouble.ValueDouble, ValueTypeDouble> DOUBLE_ENERGY_CONSUMED_1S =
+                    createEnergyFlowAspect(IEnergyFlowNetwork.Flow.CONSUMED, 1);
+            public static final IAspectRead<ValueTypeDouble.ValueDouble, ValueTypeDouble> DOUBLE_ENERGY_CONSUMED_10S =
+                    createEnergyFlowAspect(IEnergyFlowNetwork.Flow.CONSUMED, 10);
+            public static final IAspectRead<ValueTypeDouble.ValueDouble, ValueTypeDouble> DOUBLE_ENERGY_CONSUMED_60S =
+                    createEnergyFlowAspect(IEnergyFlowNetwork.Flow.CONSUMED, 60);
+
+            protected static IAspectRead<ValueTypeDouble.ValueDouble, ValueTypeDouble> createEnergyFlowAspect(final IEnergyFlowNetwork.Flow flow, final int seconds) {
+                return AspectReadBuilders.Network.BUILDER_DOUBLE.handle(new IAspectValuePropagator<INetwork, Double>() {
+                    @Override
+                    public Double getOutput(INetwork network) {
+                        IEnergyNetwork energyNetwork = network != null && network.hasCapability(EnergyNetworkConfig.CAPABILITY) ? network.getCapability(EnergyNetworkConfig.CAPABILITY) : null;
+                        return energyNetwork instanceof IEnergyFlowNetwork ? ((IEnergyFlowNetwork) energyNetwork).getAverageEnergyFlow(flow, seconds) : 0D;
+                    }
+                }).handle(AspectReadBuilders.PROP_GET_DOUBLE, "energy").appendKind(flow.name().toLowerCase(Locale.ENGLISH) + seconds + "s").buildRead();
+            }
 
         }
 
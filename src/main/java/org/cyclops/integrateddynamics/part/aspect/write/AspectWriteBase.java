@@ -14,10 +14,13 @@ import org.cyclops.integrateddynamics.api.network.IPartNetwork;
 import org.cyclops.integrateddynamics.api.part.IPartState;
 import org.cyclops.integrateddynamics.api.part.IPartType;
 import org.cyclops.integrateddynamics.api.part.PartTarget;
-import org.cyclops.integrateddynamics.api.part.aspect.IAspectWrite;
+import org.cyclops.integrateddynamics.api.part.aspect.IReactiveAspectWrite;
 import org.cyclops.integrateddynamics.api.part.aspect.property.IAspectProperties;
 import org.cyclops.integrateddynamics.api.part.write.IPartStateWriter;
 import org.cyclops.integrateddynamics.api.part.write.IPartTypeWriter;
+import org.cyclops.integrateddynamics.api.part.write.IReactivePartStateWriter;
+import org.cyclops.integrateddynamics.api.part.write.IReactivePartTypeWriter;
+import org.cyclops.integrateddynamics.core.evaluate.variable.VariableVersions;
 import org.cyclops.integrateddynamics.part.aspect.AspectBase;
 import org.cyclops.integrateddynamics.part.aspect.Aspects;
 
@@ -26,7 +29,7 @@ import org.cyclops.integrateddynamics.part.aspect.Aspects;
  * @author rubensworks
  */
 public abstract class AspectWriteBase<V extends IValue, T extends IValueType<V>> extends AspectBase<V, T>
-        implements IAspectWrite<V, T> {
+        implements IReactiveAspectWrite<V, T> {
 
     protected final String unlocalizedTypeSuffix;
 
@@ -53,11 +56,15 @@ public abstract class AspectWriteBase<V extends IValue, T extends IValueType<V>>
             if(writerState.isDeactivated() || writerState.checkAndResetFirstTick()) {
                 onActivate(partTypeWriter, target, writerState);
             }
-            try {
-                write(partTypeWriter, target, writerState, variable);
-            } catch (EvaluationException e) {
-                writerState.addError(this, new L10NHelpers.UnlocalizedString(e.getLocalizedMessage()));
-                writerState.setDeactivated(true);
+            boolean reactive = partTypeWriter instanceof IReactivePartTypeWriter
+                    && ((IReactivePartTypeWriter) partTypeWriter).isReactive(target, writerState);
+            if(isWriteRequired(isPollingRequired(), reactive, writerState, variable)) {
+                try {
+                    write(partTypeWriter, target, writerState, variable);
+                } catch (EvaluationException e) {
+                    writerState.addError(this, new L10NHelpers.UnlocalizedString(e.getLocalizedMessage()));
+                    writerState.setDeactivated(true);
+                }
             }
         } else if(!writerState.isDeactivated()) {
             onDeactivate(partTypeWriter, target, writerState);
@@ -74,6 +81,27 @@ public abstract class AspectWriteBase<V extends IValue, T extends IValueType<V>>
         state.setDeactivated(true);
     }
 
+    @Override
+    public boolean isPollingRequired() {
+        return false;
+    }
+
+    /**
+     * Check if a variable must be written.
+     * Reactive writers skip writing as long as nothing upstream of their variable has changed,
+     * unless the aspect requires polling, or their state does not remember the last written variable version.
+     * If the variable must be written, its version is stored as the last written one.
+     * @param pollingRequired If the aspect must be written on each update.
+     * @param reactive If the writer is reactive.
+     * @param state The writer state.
+     * @param variable The variable that will be written.
+     * @return If the variable must be written.
+     */
+    public static boolean isWriteRequired(boolean pollingRequired, boolean reactive, IPartStateWriter state, IVariable variable) {
+        return pollingRequired || !reactive || !(state instanceof IReactivePartStateWriter)
+                || ((IReactivePartStateWriter) state).checkAndUpdateWrittenVersion(variable, VariableVersions.getVersion(variable));
+    }
+
     protected String getUnlocalizedType() {
         return "write" + unlocalizedTypeSuffix;
     }
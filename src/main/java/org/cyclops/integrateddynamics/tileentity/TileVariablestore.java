@@ -1,6 +1,7 @@
 package org.cyclops.integrateddynamics.tileentity;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import net.minecraft.inventory.IInventory;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
@@ -9,7 +10,7 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import org.cyclops.cyclopscore.datastructure.DimPos;
 import org.cyclops.cyclopscore.persist.IDirtyMarkListener;
-import org.cyclops.integrateddynamics.api.block.IVariableContainer;
+import org.cyclops.integrateddynamics.api.block.IObservableVariableContainer;
 import org.cyclops.integrateddynamics.api.item.IVariableFacade;
 import org.cyclops.integrateddynamics.api.network.INetwork;
 import org.cyclops.integrateddynamics.api.network.INetworkElement;
@@ -24,6 +25,7 @@ import org.cyclops.integrateddynamics.item.ItemVariable;
 import org.cyclops.integrateddynamics.network.VariablestoreNetworkElement;
 
 import java.util.Collection;
+import java.util.Map;
 
 /**
  * A part entity used to store variables.
@@ -35,7 +37,8 @@ public class TileVariablestore extends TileCableConnectableInventory implements
     public static final int ROWS = 5;
     public static final int COLS = 9;
 
-    private final IVariableContainer variableContainer;
+    private final IObservableVariableContainer variableContainer;
+    private final Map<Integer, NBTTagCompound> variableFacadeTags = Maps.newHashMap();
 
     public TileVariablestore() {
         super(ROWS * COLS, "variables", 1);
@@ -73,17 +76,21 @@ public class TileVariablestore extends TileCableConnectableInventory implements
     }
 
     protected void refreshVariables(IInventory inventory) {
-        variableContainer.getVariableCache().clear();
+        Map<Integer, IVariableFacade> variableFacades = Maps.newHashMap();
+        Map<Integer, NBTTagCompound> tags = Maps.newHashMap();
         for (int i = 0; i < inventory.getSizeInventory(); i++) {
             ItemStack itemStack = inventory.getStackInSlot(i);
             if (itemStack != null) {
                 IVariableFacade variableFacade = ItemVariable.getInstance().getVariableFacade(itemStack);
                 if (variableFacade != null && variableFacade.isValid()) {
-                    variableContainer.getVariableCache().put(variableFacade.getId(), variableFacade);
+                    variableFacades.put(variableFacade.getId(), variableFacade);
+                    tags.put(variableFacade.getId(), itemStack.hasTagCompound() ? itemStack.getTagCompound().copy() : null);
                 }
             }
         }
 
+        VariableContainerDefault.setVariableFacades(variableContainer, variableFacades, tags, variableFacadeTags);
+
         INetwork network = getNetwork();
         if(network != null) {
             network.getEventBus().post(new VariableContentsUpdatedEvent(network));
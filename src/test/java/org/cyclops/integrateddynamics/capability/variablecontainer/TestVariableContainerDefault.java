@@ -0,0 +1,158 @@
+package org.cyclops.integrateddynamics.capability.variablecontainer;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import net.minecraft.nbt.NBTTagCompound;
+import org.cyclops.integrateddynamics.api.block.IObservableVariableContainer;
+import org.cyclops.integrateddynamics.api.item.IVariableFacade;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueCastMappings;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeInteger;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypes;
+import org.cyclops.integrateddynamics.core.item.ValueTypeVariableFacade;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the change notifications of variable containers.
+ * @author rubensworks
+ */
+public class TestVariableContainerDefault {
+
+    private VariableContainerDefault container;
+    private DummyListener listener;
+
+    @Before
+    public void before() {
+        ValueCastMappings.load();
+        container = new VariableContainerDefault();
+        listener = new DummyListener();
+        container.addListener(listener);
+    }
+
+    protected static IVariableFacade facade(int id, int value) {
+        return new ValueTypeVariableFacade<>(id, ValueTypes.INTEGER, ValueTypeInteger.ValueInteger.of(value));
+    }
+
+    @Test
+    public void testAddRemove() {
+        IVariableFacade f1 = facade(1, 1);
+        container.addVariableFacade(f1);
+        assertThat("added facades are stored", container.getVariableCache().get(1), is(f1));
+        assertThat("added facades are notified", listener.added, is((List<IVariableFacade>) Lists.newArrayList(f1)));
+
+        container.removeVariableFacade(1);
+        assertThat("removed facades are not stored", container.getVariableCache().containsKey(1), is(false));
+        assertThat("removed facades are notified", listener.removed, is((List<IVariableFacade>) Lists.newArrayList(f1)));
+
+        container.removeVariableFacade(1);
+        assertThat("removing absent facades is not notified", listener.removed.size(), is(1));
+    }
+
+    @Test
+    public void testReplace() {
+        IVariableFacade f1a = facade(1, 1);
+        IVariableFacade f1b = facade(1, 2);
+        container.addVariableFacade(f1a);
+        container.addVariableFacade(f1a);
+        assertThat("adding the same facade again is not notified", listener.added.size(), is(1));
+
+        container.addVariableFacade(f1b);
+        assertThat("replaced facades are notified as removed", listener.removed, is((List<IVariableFacade>) Lists.newArrayList(f1a)));
+        assertThat("replacing facades are notified as added", listener.added, is((List<IVariableFacade>) Lists.newArrayList(f1a, f1b)));
+    }
+
+    @Test
+    public void testMapMutations() {
+        IVariableFacade f1 = facade(1, 1);
+        IVariableFacade f2 = facade(2, 2);
+        Map<Integer, IVariableFacade> map = Maps.newHashMap();
+        map.put(1, f1);
+        map.put(2, f2);
+        container.getVariableCache().putAll(map);
+        assertThat("facades put in the map are notified", listener.added.size(), is(2));
+
+        container.getVariableCache().remove(1);
+        assertThat("facades removed from the map are notified", listener.removed, is((List<IVariableFacade>) Lists.newArrayList(f1)));
+
+        container.getVariableCache().clear();
+        assertThat("cleared facades are notified", listener.removed, is((List<IVariableFacade>) Lists.newArrayList(f1, f2)));
+        assertThat("cleared maps are empty", container.getVariableCache().isEmpty(), is(true));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testValuesReadOnly() {
+        container.addVariableFacade(facade(1, 1));
+        container.getVariableCache().values().clear();
+    }
+
+    @Test
+    public void testRemoveListener() {
+        container.removeListener(listener);
+        container.addVariableFacade(facade(1, 1));
+        assertThat("removed listeners are not notified", listener.added.isEmpty(), is(true));
+    }
+
+    protected static NBTTagCompound tag(int value) {
+        NBTTagCompound tag = new NBTTagCompound();
+        tag.setInteger("value", value);
+        return tag;
+    }
+
+    protected static void set(VariableContainerDefault container, Map<Integer, NBTTagCompound> storedTags, int... values) {
+        Map<Integer, IVariableFacade> variableFacades = Maps.newHashMap();
+        Map<Integer, NBTTagCompound> tags = Maps.newHashMap();
+        for (int i = 0; i < values.length; i++) {
+            variableFacades.put(i, facade(i, values[i]));
+            tags.put(i, tag(values[i]));
+        }
+        VariableContainerDefault.setVariableFacades(container, variableFacades, tags, storedTags);
+    }
+
+    @Test
+    public void testSetVariableFacades() {
+        Map<Integer, NBTTagCompound> storedTags = Maps.newHashMap();
+        set(container, storedTags, 0, 1);
+        assertThat("initial facades are notified as added", listener.added.size(), is(2));
+        IVariableFacade f0 = container.getVariableCache().get(0);
+        IVariableFacade f1 = container.getVariableCache().get(1);
+        listener.added.clear();
+
+        set(container, storedTags, 0, 1, 2);
+        assertThat("only new facades are notified as added", listener.added, is((List<IVariableFacade>) Lists.newArrayList(container.getVariableCache().get(2))));
+        assertThat("unchanged facades are not notified as removed", listener.removed.isEmpty(), is(true));
+        assertThat("unchanged facades are kept", container.getVariableCache().get(0), is(f0));
+        assertThat("unchanged facades are kept", container.getVariableCache().get(1), is(f1));
+        listener.added.clear();
+
+        set(container, storedTags, 0, 5);
+        assertThat("changed facades are notified as added", listener.added, is((List<IVariableFacade>) Lists.newArrayList(container.getVariableCache().get(1))));
+        assertThat("changed and dropped facades are notified as removed", listener.removed.size(), is(2));
+        assertThat("changed facades are notified as removed", listener.removed.contains(f1), is(true));
+        assertThat("unchanged facades are kept", container.getVariableCache().get(0), is(f0));
+        assertThat("dropped facades are not stored", container.getVariableCache().containsKey(2), is(false));
+        assertThat("the stored tags are updated", storedTags.get(1), is(tag(5)));
+    }
+
+    public static class DummyListener implements IObservableVariableContainer.IListener {
+
+        public final List<IVariableFacade> added = Lists.newArrayList();
+        public final List<IVariableFacade> removed = Lists.newArrayList();
+
+        @Override
+        public void onVariableFacadeAdded(IObservableVariableContainer container, IVariableFacade variableFacade) {
+            added.add(variableFacade);
+        }
+
+        @Override
+        public void onVariableFacadeRemoved(IObservableVariableContainer container, IVariableFacade variableFacade) {
+            removed.add(variableFacade);
+        }
+    }
+
+}
@@ -0,0 +1,199 @@
+package org.cyclops.integrateddynamics.core;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import net.minecraft.util.math.ChunkPos;
+import org.cyclops.integrateddynamics.GeneralConfig;
+import org.cyclops.integrateddynamics.api.network.INetwork;
+import org.cyclops.integrateddynamics.core.network.Network;
+import org.cyclops.integrateddynamics.core.path.PackedPositionSet;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the hibernation and wake-up of networks.
+ * @author rubensworks
+ */
+public class TestNetworkHibernationHandler {
+
+    private boolean networkHibernation;
+    private DummyHibernationHandler handler;
+
+    @Before
+    public void beforeEach() {
+        networkHibernation = GeneralConfig.networkHibernation;
+        GeneralConfig.networkHibernation = true;
+        handler = new DummyHibernationHandler();
+    }
+
+    @After
+    public void afterEach() {
+        GeneralConfig.networkHibernation = networkHibernation;
+    }
+
+    protected DummyNetwork createNetwork(int dimension, int chunkX, int chunkZ) {
+        DummyNetwork network = new DummyNetwork();
+        network.chunks.add(dimension, ChunkPos.asLong(chunkX, chunkZ));
+        handler.awakeNetworks.add(network);
+        return network;
+    }
+
+    protected void hibernate(DummyNetwork network) {
+        handler.addCandidates(Collections.<INetwork>singletonList(network));
+        handler.tick();
+    }
+
+    @Test
+    public void testHibernateUnloaded() {
+        DummyNetwork network = createNetwork(0, 0, 0);
+        hibernate(network);
+        assertThat("unloaded networks hibernate", handler.isHibernating(network), is(true));
+        assertThat("hibernating networks are not updated", handler.awakeNetworks.contains(network), is(false));
+    }
+
+    @Test
+    public void testNotHibernateLoaded() {
+        DummyNetwork network = createNetwork(0, 0, 0);
+        network.loaded = true;
+        hibernate(network);
+        assertThat("loaded networks do not hibernate", handler.isHibernating(network), is(false));
+        assertThat("loaded networks are updated", handler.awakeNetworks.contains(network), is(true));
+    }
+
+    @Test
+    public void testNotHibernateNonCandidates() {
+        DummyNetwork network = createNetwork(0, 0, 0);
+        handler.tick();
+        assertThat("networks that are no candidates do not hibernate", handler.isHibernating(network), is(false));
+    }
+
+    @Test
+    public void testWakeOnChunkLoad() {
+        DummyNetwork network = createNetwork(0, 3, -2);
+        network.chunks.add(0, ChunkPos.asLong(4, -2));
+        hibernate(network);
+
+        handler.onChunkLoaded(0, ChunkPos.asLong(5, -2));
+        handler.onChunkLoaded(1, ChunkPos.asLong(4, -2));
+        handler.tick();
+        assertThat("loading other chunks does not wake the network", handler.isHibernating(network), is(true));
+        assertThat("networks are not revalidated while hibernating", network.revalidations, is(0));
+
+        handler.onChunkLoaded(0, ChunkPos.asLong(4, -2));
+        assertThat("networks are only woken at the next tick", handler.isHibernating(network), is(true));
+        handler.tick();
+        assertThat("loading a chunk of the network wakes it", handler.isHibernating(network), is(false));
+        assertThat("woken networks are updated", handler.awakeNetworks.contains(network), is(true));
+        assertThat("woken networks are revalidated once", network.revalidations, is(1));
+
+        handler.onChunkLoaded(0, ChunkPos.asLong(3, -2));
+        handler.tick();
+        assertThat("awake networks are not revalidated again", network.revalidations, is(1));
+    }
+
+    @Test
+    public void testWakeSharedChunk() {
+        DummyNetwork network0 = createNetwork(0, 0, 0);
+        DummyNetwork network1 = createNetwork(0, 0, 0);
+        network1.chunks.add(0, ChunkPos.asLong(1, 0));
+        handler.addCandidates(Lists.<INetwork>newArrayList(network0, network1));
+        handler.tick();
+
+        handler.onChunkLoaded(0, ChunkPos.asLong(0, 0));
+        handler.tick();
+        assertThat("all networks in a loaded chunk are woken", handler.isHibernating(network0), is(false));
+        assertThat("all networks in a loaded chunk are woken", handler.isHibernating(network1), is(false));
+    }
+
+    @Test
+    public void testWakeOnNetworkChanged() {
+        DummyNetwork network = createNetwork(0, 0, 0);
+        hibernate(network);
+        handler.onNetworkChanged(network);
+        handler.tick();
+        assertThat("changed networks are woken", handler.isHibernating(network), is(false));
+        assertThat("changed networks are revalidated", network.revalidations, is(1));
+    }
+
+    @Test
+    public void testDisabled() {
+        DummyNetwork network0 = createNetwork(0, 0, 0);
+        hibernate(network0);
+
+        GeneralConfig.networkHibernation = false;
+        DummyNetwork network1 = createNetwork(0, 1, 0);
+        hibernate(network1);
+        assertThat("networks do not hibernate when disabled", handler.isHibernating(network1), is(false));
+        assertThat("hibernating networks are woken when disabled", handler.isHibernating(network0), is(false));
+        assertThat("woken networks are revalidated", network0.revalidations, is(1));
+    }
+
+    @Test
+    public void testRemove() {
+        DummyNetwork network = createNetwork(0, 0, 0);
+        hibernate(network);
+        handler.remove(network);
+        assertThat("removed networks do not hibernate", handler.isHibernating(network), is(false));
+
+        handler.onChunkLoaded(0, ChunkPos.asLong(0, 0));
+        handler.tick();
+        assertThat("removed networks are not woken", network.revalidations, is(0));
+    }
+
+    /**
+     * A hibernation handler that keeps track of the updated networks itself.
+     */
+    protected static class DummyHibernationHandler extends NetworkHibernationHandler {
+
+        private final Set<Network> awakeNetworks = Sets.newHashSet();
+
+        @Override
+        protected boolean isAwake(Network network) {
+            return awakeNetworks.contains(network);
+        }
+
+        @Override
+        protected void stopUpdating(Network network) {
+            awakeNetworks.remove(network);
+        }
+
+        @Override
+        protected boolean startUpdating(Network network) {
+            return awakeNetworks.add(network);
+        }
+    }
+
+    /**
+     * A network with fixed chunks that counts its revalidations.
+     */
+    protected static class DummyNetwork extends Network {
+
+        private final PackedPositionSet chunks = new PackedPositionSet();
+        private boolean loaded = false;
+        private int revalidations = 0;
+
+        @Override
+        public boolean isAnyPathElementLoaded() {
+            return loaded;
+        }
+
+        @Override
+        public PackedPositionSet getChunkPositions() {
+            return chunks;
+        }
+
+        @Override
+        public synchronized int revalidateElements() {
+            revalidations++;
+            return 0;
+        }
+    }
+
+}
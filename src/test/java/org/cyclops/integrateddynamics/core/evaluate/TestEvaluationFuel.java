@@ -0,0 +1,192 @@
+package org.cyclops.integrateddynamics.core.evaluate;
+
+import com.google.common.collect.Lists;
+import org.cyclops.cyclopscore.helper.MinecraftHelpers;
+import org.cyclops.integrateddynamics.GeneralConfig;
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValueTypeListProxy;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
+import org.cyclops.integrateddynamics.core.evaluate.expression.LazyExpression;
+import org.cyclops.integrateddynamics.core.evaluate.expression.NoValueCache;
+import org.cyclops.integrateddynamics.core.evaluate.operator.Operators;
+import org.cyclops.integrateddynamics.core.evaluate.variable.DummyVariableInteger;
+import org.cyclops.integrateddynamics.core.evaluate.variable.DummyVariableList;
+import org.cyclops.integrateddynamics.core.evaluate.variable.DummyVariableOperator;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueCastMappings;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeInteger;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeList;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeListProxyAppend;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeListProxyMaterialized;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeListProxyTail;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeOperator;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypes;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the evaluation fuel limits of expressions.
+ * @author rubensworks
+ */
+public class TestEvaluationFuel {
+
+    private int evaluationFuelPerTick;
+    private List<ValueTypeInteger.ValueInteger> values;
+    private IVariable[] reduceInput;
+
+    @Before
+    public void before() {
+        ValueCastMappings.load();
+        evaluationFuelPerTick = GeneralConfig.evaluationFuelPerTick;
+
+        values = Lists.newArrayList();
+        for (int i = 1; i <= 100; i++) {
+            values.add(ValueTypeInteger.ValueInteger.of(i));
+        }
+        reduceInput = new IVariable[]{
+                new DummyVariableOperator(ValueTypeOperator.ValueOperator.of(Operators.ARITHMETIC_ADDITION)),
+                new DummyVariableList(ValueTypeList.ValueList.ofList(ValueTypes.INTEGER, values)),
+                new DummyVariableInteger(ValueTypeInteger.ValueInteger.of(0))
+        };
+    }
+
+    @After
+    public void after() {
+        GeneralConfig.evaluationFuelPerTick = evaluationFuelPerTick;
+    }
+
+    @Test
+    public void testWithinBudget() throws EvaluationException {
+        GeneralConfig.evaluationFuelPerTick = 1000;
+        FuelValueCache cache = new FuelValueCache();
+        cache.getEvaluationFuel().refill();
+        LazyExpression expression = new LazyExpression(7, Operators.OPERATOR_REDUCE, reduceInput, cache);
+        assertThat("sum of 1 to 100 is 5050", expression.getValue(), is((IValue) ValueTypeInteger.ValueInteger.of(5050)));
+        assertThat("each list element costs fuel", cache.getEvaluationFuel().getConsumed() > 100, is(true));
+        assertThat("fuel is not exhausted", cache.getEvaluationFuel().isExhausted(), is(false));
+    }
+
+    @Test
+    public void testExhausted() throws EvaluationException {
+        GeneralConfig.evaluationFuelPerTick = 50;
+        FuelValueCache cache = new FuelValueCache();
+        cache.getEvaluationFuel().refill();
+        LazyExpression expression = new LazyExpression(7, Operators.OPERATOR_REDUCE, reduceInput, cache);
+        try {
+            expression.getValue();
+            throw new AssertionError("Expected fuel exhaustion");
+        } catch (EvaluationException e) {
+            assertThat("fuel is exhausted", cache.getEvaluationFuel().isExhausted(), is(true));
+        }
+
+        GeneralConfig.evaluationFuelPerTick = 1000;
+        cache.getEvaluationFuel().refill();
+        assertThat("refilled fuel can be used again", expression.getValue(), is((IValue) ValueTypeInteger.ValueInteger.of(5050)));
+    }
+
+    @Test(expected = EvaluationException.class)
+    public void testExhaustedStaysExhausted() throws EvaluationException {
+        GeneralConfig.evaluationFuelPerTick = 50;
+        FuelValueCache cache = new FuelValueCache();
+        cache.getEvaluationFuel().refill();
+        try {
+            new LazyExpression(7, Operators.OPERATOR_REDUCE, reduceInput, cache).getValue();
+        } catch (EvaluationException e) {
+            // Expected
+        }
+        new LazyExpression(8, Operators.ARITHMETIC_ADDITION, new IVariable[]{reduceInput[2], reduceInput[2]}, cache).getValue();
+    }
+
+    @Test
+    public void testUnlimitedWithoutProvider() throws EvaluationException {
+        GeneralConfig.evaluationFuelPerTick = 1;
+        LazyExpression expression = new LazyExpression(7, Operators.OPERATOR_REDUCE, reduceInput, new NoValueCache());
+        assertThat("evaluations outside networks are unlimited", expression.getValue(),
+                is((IValue) ValueTypeInteger.ValueInteger.of(5050)));
+    }
+
+    @Test
+    public void testTopConsumers() throws EvaluationException {
+        GeneralConfig.evaluationFuelPerTick = 0;
+        FuelValueCache cache = new FuelValueCache();
+        EvaluationFuel fuel = cache.getEvaluationFuel();
+        fuel.refill();
+        new LazyExpression(7, Operators.OPERATOR_REDUCE, reduceInput, cache).getValue();
+        new LazyExpression(8, Operators.ARITHMETIC_ADDITION, new IVariable[]{reduceInput[2], reduceInput[2]}, cache).getValue();
+        for (int i = 0; i < MinecraftHelpers.SECOND_IN_TICKS; i++) {
+            fuel.refill();
+        }
+        List<EvaluationFuel.Consumer> consumers = fuel.getLastSecondTopConsumers(1);
+        assertThat("only the top consumer is returned", consumers.size(), is(1));
+        assertThat("reduce is the top consumer", consumers.get(0).getExpressionId(), is(7));
+        assertThat("reduce consumes fuel for each element", consumers.get(0).getFuel() > 100, is(true));
+    }
+
+    @Test
+    public void testIteratorExhausted() throws EvaluationException {
+        GeneralConfig.evaluationFuelPerTick = 5;
+        EvaluationFuel fuel = new EvaluationFuel();
+        fuel.refill();
+        EvaluationFuel previous = fuel.enter();
+        int count = 0;
+        try {
+            for (ValueTypeInteger.ValueInteger value : new ValueTypeListProxyMaterialized<>(ValueTypes.INTEGER, values)) {
+                count++;
+            }
+            throw new AssertionError("Expected fuel exhaustion");
+        } catch (EvaluationFuel.ExhaustedException e) {
+            assertThat("elements are iterated until the fuel is exhausted", count, is(5));
+            assertThat("the fuel is exhausted", fuel.isExhausted(), is(true));
+        } finally {
+            EvaluationFuel.exit(previous);
+        }
+    }
+
+    @Test
+    public void testChainIteratorFuel() throws EvaluationException {
+        GeneralConfig.evaluationFuelPerTick = 0;
+        IValueTypeListProxy<ValueTypeInteger, ValueTypeInteger.ValueInteger> list = new ValueTypeListProxyAppend<>(
+                new ValueTypeListProxyTail<>(new ValueTypeListProxyMaterialized<>(ValueTypes.INTEGER, values.subList(0, 10))),
+                ValueTypeInteger.ValueInteger.of(100));
+        EvaluationFuel fuel = new EvaluationFuel();
+        fuel.refill();
+        EvaluationFuel previous = fuel.enter();
+        int count = 0;
+        try {
+            for (ValueTypeInteger.ValueInteger value : list) {
+                count++;
+            }
+        } finally {
+            EvaluationFuel.exit(previous);
+        }
+        assertThat("all elements are iterated", count, is(10));
+        assertThat("each walked element costs fuel once", fuel.getConsumed(), is(11L));
+    }
+
+    @Test
+    public void testDisabled() throws EvaluationException {
+        GeneralConfig.evaluationFuelPerTick = 0;
+        FuelValueCache cache = new FuelValueCache();
+        cache.getEvaluationFuel().refill();
+        LazyExpression expression = new LazyExpression(7, Operators.OPERATOR_REDUCE, reduceInput, cache);
+        assertThat("no fuel limit applies when disabled", expression.getValue(), is((IValue) ValueTypeInteger.ValueInteger.of(5050)));
+        assertThat("fuel is not exhausted", cache.getEvaluationFuel().isExhausted(), is(false));
+    }
+
+    private static class FuelValueCache extends NoValueCache implements EvaluationFuel.IProvider {
+
+        private final EvaluationFuel fuel = new EvaluationFuel();
+
+        @Override
+        public EvaluationFuel getEvaluationFuel() {
+            return fuel;
+        }
+    }
+
+}
@@ -0,0 +1,37 @@
+package org.cyclops.integrateddynamics.core.evaluate.expression;
+
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import org.cyclops.integrateddynamics.api.evaluate.expression.ILazyExpressionValueCache;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
+
+/**
+ * A value cache that holds all values until it is cleared, as if all evaluations happen in the same tick.
+ * @author rubensworks
+ */
+public class DummyValueCache implements ILazyExpressionValueCache {
+
+    private final TIntObjectMap<IValue> values = new TIntObjectHashMap<>();
+
+    @Override
+    public void setValue(int id, IValue value) {
+        values.put(id, value);
+    }
+
+    @Override
+    public boolean hasValue(int id) {
+        return values.containsKey(id);
+    }
+
+    @Override
+    public IValue getValue(int id) {
+        return values.get(id);
+    }
+
+    /**
+     * Remove all values, as if a new tick starts.
+     */
+    public void clear() {
+        values.clear();
+    }
+}
@@ -0,0 +1,26 @@
+package org.cyclops.integrateddynamics.core.evaluate.expression;
+
+import org.cyclops.integrateddynamics.api.evaluate.expression.ILazyExpressionValueCache;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
+
+/**
+ * A value cache that never holds values, as if each evaluation happens in a new tick.
+ * @author rubensworks
+ */
+public class NoValueCache implements ILazyExpressionValueCache {
+
+    @Override
+    public void setValue(int id, IValue value) {
+
+    }
+
+    @Override
+    public boolean hasValue(int id) {
+        return false;
+    }
+
+    @Override
+    public IValue getValue(int id) {
+        return null;
+    }
+}
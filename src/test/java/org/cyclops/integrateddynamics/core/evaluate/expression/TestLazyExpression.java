@@ -0,0 +1,172 @@
+package org.cyclops.integrateddynamics.core.evaluate.expression;
+
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
+import org.cyclops.integrateddynamics.core.evaluate.operator.Operators;
+import org.cyclops.integrateddynamics.core.evaluate.variable.DummyVariableInteger;
+import org.cyclops.integrateddynamics.core.evaluate.variable.DummyVariableList;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueCastMappings;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeInteger;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeList;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypes;
+import org.cyclops.integrateddynamics.core.evaluate.variable.VariableVersions;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the memoization of lazy expressions.
+ * @author rubensworks
+ */
+public class TestLazyExpression {
+
+    private DummyVariableInteger i1;
+    private DummyVariableInteger i2;
+
+    @Before
+    public void before() {
+        ValueCastMappings.load();
+
+        i1 = new DummyVariableInteger(ValueTypeInteger.ValueInteger.of(1));
+        i2 = new DummyVariableInteger(ValueTypeInteger.ValueInteger.of(2));
+    }
+
+    @Test
+    public void testMemoized() throws EvaluationException {
+        LazyExpression expression = new LazyExpression(0, Operators.ARITHMETIC_ADDITION,
+                new IVariable[]{i1, i2}, new NoValueCache());
+        IValue value1 = expression.getValue();
+        long version1 = expression.getVersion();
+        assertThat("1 + 2 = 3", value1, is((IValue) ValueTypeInteger.ValueInteger.of(3)));
+
+        assertThat("unchanged inputs reuse the result", expression.getValue(), sameInstance(value1));
+        assertThat("unchanged inputs keep the version", expression.getVersion(), is(version1));
+
+        i2.setValue(ValueTypeInteger.ValueInteger.of(3));
+        IValue value2 = expression.getValue();
+        assertThat("1 + 3 = 4", value2, is((IValue) ValueTypeInteger.ValueInteger.of(4)));
+        long version2 = expression.getVersion();
+        assertThat("a changed result bumps the version", version2, not(is(version1)));
+
+        i1.setValue(ValueTypeInteger.ValueInteger.of(2));
+        i2.setValue(ValueTypeInteger.ValueInteger.of(2));
+        assertThat("2 + 2 = 4", expression.getValue(), is((IValue) ValueTypeInteger.ValueInteger.of(4)));
+        assertThat("an unchanged result keeps the version", expression.getVersion(), is(version2));
+    }
+
+    @Test
+    public void testNestedMemoized() throws EvaluationException {
+        LazyExpression inner = new LazyExpression(0, Operators.ARITHMETIC_ADDITION,
+                new IVariable[]{i1, i2}, new NoValueCache());
+        LazyExpression outer = new LazyExpression(1, Operators.ARITHMETIC_MULTIPLICATION,
+                new IVariable[]{inner, i2}, new NoValueCache());
+        IValue value1 = outer.getValue();
+        assertThat("(1 + 2) * 2 = 6", value1, is((IValue) ValueTypeInteger.ValueInteger.of(6)));
+        assertThat("unchanged nested inputs reuse the result", outer.getValue(), sameInstance(value1));
+
+        i1.setValue(ValueTypeInteger.ValueInteger.of(2));
+        assertThat("(2 + 2) * 2 = 8", outer.getValue(), is((IValue) ValueTypeInteger.ValueInteger.of(8)));
+    }
+
+    @Test
+    public void testNotMemoized() throws EvaluationException {
+        DummyVariableList list = new DummyVariableList(ValueTypeList.ValueList.ofAll(
+                ValueTypeInteger.ValueInteger.of(1), ValueTypeInteger.ValueInteger.of(2)));
+        LazyExpression expression = new LazyExpression(0, Operators.LIST_LENGTH,
+                new IVariable[]{list}, new NoValueCache());
+        assertThat("list inputs are not memoized", expression.getVersion(), not(is(expression.getVersion())));
+
+        list.setValue(ValueTypeList.ValueList.ofList(ValueTypes.INTEGER,
+                Collections.singletonList(ValueTypeInteger.ValueInteger.of(1))));
+        assertThat("the length of [1] is 1", expression.getValue(), is((IValue) ValueTypeInteger.ValueInteger.of(1)));
+    }
+
+    @Test
+    public void testNotMemoizedCachedVersion() throws EvaluationException {
+        DummyVariableList list = new DummyVariableList(ValueTypeList.ValueList.ofAll(
+                ValueTypeInteger.ValueInteger.of(1), ValueTypeInteger.ValueInteger.of(2)));
+        DummyValueCache cache = new DummyValueCache();
+        LazyExpression expression = new LazyExpression(0, Operators.LIST_LENGTH,
+                new IVariable[]{list}, cache);
+        expression.getValue();
+        long version1 = expression.getVersion();
+        assertThat("cached results keep their version", expression.getVersion(), is(version1));
+        expression.getValue();
+        assertThat("retrieving cached results keeps the version", expression.getVersion(), is(version1));
+
+        cache.clear();
+        assertThat("results that are not cached anymore may have changed", expression.getVersion(), not(is(version1)));
+        expression.getValue();
+        assertThat("evaluating again bumps the version", expression.getVersion(), not(is(version1)));
+    }
+
+    @Test
+    public void testVersionWithoutEvaluation() throws EvaluationException {
+        LazyExpression expression = new LazyExpression(0, Operators.ARITHMETIC_ADDITION,
+                new IVariable[]{i1, i2}, new NoValueCache());
+        long version1 = expression.getVersion();
+        assertThat("unchanged inputs keep the version", expression.getVersion(), is(version1));
+        i1.setValue(ValueTypeInteger.ValueInteger.of(2));
+        assertThat("inputs changing before the first evaluation keep the version", expression.getVersion(), is(version1));
+        assertThat("retrieving the version does not evaluate", i1.isFetched(), is(false));
+        assertThat("2 + 2 = 4", expression.getValue(), is((IValue) ValueTypeInteger.ValueInteger.of(4)));
+        assertThat("the first result keeps the version", expression.getVersion(), is(version1));
+
+        i1.setValue(ValueTypeInteger.ValueInteger.of(3));
+        long version2 = expression.getVersion();
+        assertThat("inputs changing after evaluating bump the version", version2, not(is(version1)));
+        i1.setValue(ValueTypeInteger.ValueInteger.of(4));
+        assertThat("inputs changing again before evaluating keep the version", expression.getVersion(), is(version2));
+        assertThat("4 + 2 = 6", expression.getValue(), is((IValue) ValueTypeInteger.ValueInteger.of(6)));
+        assertThat("the first result after a version bump keeps the version", expression.getVersion(), is(version2));
+    }
+
+    @Test
+    public void testNestedVersion() throws EvaluationException {
+        LazyExpression inner = new LazyExpression(0, Operators.ARITHMETIC_ADDITION,
+                new IVariable[]{i1, i2}, new NoValueCache());
+        LazyExpression outer = new LazyExpression(1, Operators.ARITHMETIC_MULTIPLICATION,
+                new IVariable[]{inner, i2}, new NoValueCache());
+        outer.getValue();
+        long version1 = outer.getVersion();
+
+        i1.setValue(ValueTypeInteger.ValueInteger.of(2));
+        assertThat("changed nested inputs bump the version", outer.getVersion(), not(is(version1)));
+        assertThat("(2 + 2) * 2 = 8", outer.getValue(), is((IValue) ValueTypeInteger.ValueInteger.of(8)));
+    }
+
+    @Test
+    public void testUnversionedInput() throws EvaluationException {
+        final int[] retrievals = {0};
+        IVariable<ValueTypeInteger.ValueInteger> unversioned = new IVariable<ValueTypeInteger.ValueInteger>() {
+            @Override
+            public IValueType<ValueTypeInteger.ValueInteger> getType() {
+                return ValueTypes.INTEGER;
+            }
+
+            @Override
+            public ValueTypeInteger.ValueInteger getValue() throws EvaluationException {
+                retrievals[0]++;
+                return ValueTypeInteger.ValueInteger.of(3);
+            }
+        };
+        assertThat("unversioned variables may always have changed", VariableVersions.getVersion(unversioned),
+                not(is(VariableVersions.getVersion(unversioned))));
+
+        LazyExpression expression = new LazyExpression(0, Operators.ARITHMETIC_ADDITION,
+                new IVariable[]{i1, unversioned}, new NoValueCache());
+        assertThat("1 + 3 = 4", expression.getValue(), is((IValue) ValueTypeInteger.ValueInteger.of(4)));
+        expression.getValue();
+        assertThat("unversioned inputs are not memoized", retrievals[0], is(2));
+        assertThat("unversioned inputs are not memoized", expression.getVersion(), not(is(expression.getVersion())));
+    }
+
+}
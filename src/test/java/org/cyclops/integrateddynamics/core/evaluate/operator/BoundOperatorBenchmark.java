@@ -0,0 +1,56 @@
+package org.cyclops.integrateddynamics.core.evaluate.operator;
+
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.operator.IBoundOperator;
+import org.cyclops.integrateddynamics.api.evaluate.operator.IOperator;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
+import org.cyclops.integrateddynamics.core.evaluate.variable.DummyVariableInteger;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueCastMappings;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueHelpers;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeInteger;
+
+/**
+ * A microbenchmark comparing bound and unbound operator evaluation.
+ * This is not run as part of the tests, run the main method manually instead.
+ * @author rubensworks
+ */
+public class BoundOperatorBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 1000000;
+    private static final int ITERATIONS = 10000000;
+
+    public static void main(String[] args) throws EvaluationException {
+        ValueCastMappings.load();
+        IVariable[] input = new IVariable[]{
+                new DummyVariableInteger(ValueTypeInteger.ValueInteger.of(1)),
+                new DummyVariableInteger(ValueTypeInteger.ValueInteger.of(2))
+        };
+        benchmark("addition", Operators.ARITHMETIC_ADDITION, input);
+        benchmark("curried addition", new CurriedOperator(Operators.ARITHMETIC_ADDITION, input[0]), new IVariable[]{input[1]});
+    }
+
+    protected static void benchmark(String name, IOperator operator, IVariable[] input) throws EvaluationException {
+        IBoundOperator bound = ValueHelpers.bindOperator(operator, ValueHelpers.from(input));
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += operator.evaluate(input).hashCode();
+            sink += bound.evaluate(input).hashCode();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += operator.evaluate(input).hashCode();
+        }
+        long unboundDuration = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += bound.evaluate(input).hashCode();
+        }
+        long boundDuration = System.nanoTime() - start;
+
+        System.out.println(String.format("%s: unbound %.1f ns/evaluation, bound %.1f ns/evaluation (%s)",
+                name, unboundDuration / (double) ITERATIONS, boundDuration / (double) ITERATIONS, sink));
+    }
+
+}
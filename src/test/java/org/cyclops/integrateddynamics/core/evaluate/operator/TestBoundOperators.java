@@ -0,0 +1,214 @@
+package org.cyclops.integrateddynamics.core.evaluate.operator;
+
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.cyclopscore.helper.L10NHelpers;
+import org.cyclops.integrateddynamics.api.evaluate.operator.IBoundOperator;
+import org.cyclops.integrateddynamics.api.evaluate.operator.IOperator;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
+import org.cyclops.integrateddynamics.api.logicprogrammer.IConfigRenderPattern;
+import org.cyclops.integrateddynamics.core.evaluate.variable.DummyVariableBoolean;
+import org.cyclops.integrateddynamics.core.evaluate.variable.DummyVariableDouble;
+import org.cyclops.integrateddynamics.core.evaluate.variable.DummyVariableInteger;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueCastMappings;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueHelpers;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeBoolean;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeDouble;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeInteger;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeOperator;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypes;
+import org.cyclops.integrateddynamics.core.evaluate.variable.Variable;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test operators that are bound to input types.
+ * @author rubensworks
+ */
+public class TestBoundOperators {
+
+    private DummyVariableInteger i1;
+    private DummyVariableInteger i2;
+    private DummyVariableDouble d2;
+    private DummyVariableBoolean bTrue;
+
+    @Before
+    public void before() {
+        ValueCastMappings.load();
+
+        i1 = new DummyVariableInteger(ValueTypeInteger.ValueInteger.of(1));
+        i2 = new DummyVariableInteger(ValueTypeInteger.ValueInteger.of(2));
+        d2 = new DummyVariableDouble(ValueTypeDouble.ValueDouble.of(2D));
+        bTrue = new DummyVariableBoolean(ValueTypeBoolean.ValueBoolean.of(true));
+    }
+
+    @Test
+    public void testBound() throws EvaluationException {
+        IBoundOperator bound = ValueHelpers.bindOperator(Operators.ARITHMETIC_ADDITION, new IValueType[]{ValueTypes.INTEGER, ValueTypes.INTEGER});
+        IVariable[] input = new IVariable[]{i1, i2};
+        assertThat("1 + 2 = 3", bound.evaluate(input), is((IValue) ValueTypeInteger.ValueInteger.of(3)));
+        i2.setValue(ValueTypeInteger.ValueInteger.of(3));
+        assertThat("1 + 3 = 4", bound.evaluate(input), is((IValue) ValueTypeInteger.ValueInteger.of(4)));
+    }
+
+    @Test(expected = EvaluationException.class)
+    public void testBindInvalidType() throws EvaluationException {
+        ValueHelpers.bindOperator(Operators.ARITHMETIC_ADDITION, new IValueType[]{ValueTypes.INTEGER, ValueTypes.BOOLEAN});
+    }
+
+    @Test(expected = EvaluationException.class)
+    public void testBindInvalidLength() throws EvaluationException {
+        ValueHelpers.bindOperator(Operators.ARITHMETIC_ADDITION, new IValueType[]{ValueTypes.INTEGER});
+    }
+
+    @Test
+    public void testBoundOtherTypes() throws EvaluationException {
+        IBoundOperator bound = ValueHelpers.bindOperator(Operators.ARITHMETIC_ADDITION, new IValueType[]{ValueTypes.INTEGER, ValueTypes.INTEGER});
+        assertThat("other types are validated again", bound.evaluate(new IVariable[]{i1, d2}),
+                is((IValue) ValueTypeDouble.ValueDouble.of(3D)));
+    }
+
+    @Test(expected = EvaluationException.class)
+    public void testBoundOtherInvalidTypes() throws EvaluationException {
+        IBoundOperator bound = ValueHelpers.bindOperator(Operators.ARITHMETIC_ADDITION, new IValueType[]{ValueTypes.INTEGER, ValueTypes.INTEGER});
+        bound.evaluate(new IVariable[]{i1, bTrue});
+    }
+
+    @Test
+    public void testBoundCurried() throws EvaluationException {
+        CurriedOperator increment = new CurriedOperator(Operators.ARITHMETIC_ADDITION, i1);
+        IBoundOperator bound = ValueHelpers.bindOperator(increment, new IValueType[]{ValueTypes.INTEGER});
+        assertThat("1 + 2 = 3", bound.evaluate(new IVariable[]{i2}), is((IValue) ValueTypeInteger.ValueInteger.of(3)));
+    }
+
+    @Test(expected = EvaluationException.class)
+    public void testBindCurriedInvalidType() throws EvaluationException {
+        ValueHelpers.bindOperator(new CurriedOperator(Operators.ARITHMETIC_ADDITION, i1), new IValueType[]{ValueTypes.BOOLEAN});
+    }
+
+    @Test
+    public void testCombinedRebinds() throws EvaluationException {
+        CombinedOperator identity = CombinedOperator.Pipe.asOperator(Operators.GENERAL_IDENTITY, Operators.GENERAL_IDENTITY);
+        assertThat("id(id(1)) = 1", identity.evaluate(new IVariable[]{i1}), is((IValue) ValueTypeInteger.ValueInteger.of(1)));
+        assertThat("id(id(true)) = true", identity.evaluate(new IVariable[]{bTrue}), is((IValue) ValueTypeBoolean.ValueBoolean.of(true)));
+    }
+
+    @Test(expected = EvaluationException.class)
+    public void testCombinedInvalidType() throws EvaluationException {
+        CombinedOperator pipe = CombinedOperator.Pipe.asOperator(Operators.INTEGER_INCREMENT, Operators.LOGICAL_NOT);
+        pipe.evaluate(new IVariable[]{new Variable<>(ValueTypes.OPERATOR, ValueTypeOperator.ValueOperator.of(Operators.LOGICAL_NOT))});
+    }
+
+    @Test
+    public void testBindPlainOperator() throws EvaluationException {
+        DummyOperator operator = new DummyOperator(Operators.ARITHMETIC_ADDITION);
+        IBoundOperator bound = ValueHelpers.bindOperator(operator, new IValueType[]{ValueTypes.INTEGER, ValueTypes.INTEGER});
+        assertThat("plain operators are bound by default", bound, instanceOf(DefaultBoundOperator.class));
+        assertThat("1 + 2 = 3", bound.evaluate(new IVariable[]{i1, i2}), is((IValue) ValueTypeInteger.ValueInteger.of(3)));
+        assertThat("plain bound operators evaluate the operator", operator.evaluations, is(1));
+    }
+
+    @Test(expected = EvaluationException.class)
+    public void testBindPlainOperatorInvalidType() throws EvaluationException {
+        ValueHelpers.bindOperator(new DummyOperator(Operators.ARITHMETIC_ADDITION), new IValueType[]{ValueTypes.INTEGER, ValueTypes.BOOLEAN});
+    }
+
+    @Test
+    public void testBoundCombinedFused() throws EvaluationException {
+        CombinedOperator pipe = CombinedOperator.Pipe.asOperator(Operators.INTEGER_INCREMENT, Operators.INTEGER_INCREMENT);
+        IBoundOperator bound = ValueHelpers.bindOperator(pipe, new IValueType[]{ValueTypes.INTEGER});
+        assertThat("inc(inc(1)) = 3", bound.evaluate(new IVariable[]{i1}), is((IValue) ValueTypeInteger.ValueInteger.of(3)));
+    }
+
+    /**
+     * An operator that does not implement {@link org.cyclops.integrateddynamics.api.evaluate.operator.IBindableOperator}.
+     */
+    public static class DummyOperator implements IOperator {
+
+        private final IOperator operator;
+        public int evaluations = 0;
+
+        public DummyOperator(IOperator operator) {
+            this.operator = operator;
+        }
+
+        @Override
+        public String getSymbol() {
+            return operator.getSymbol();
+        }
+
+        @Override
+        public String getUniqueName() {
+            return operator.getUniqueName();
+        }
+
+        @Override
+        public String getUnlocalizedName() {
+            return operator.getUnlocalizedName();
+        }
+
+        @Override
+        public String getUnlocalizedCategoryName() {
+            return operator.getUnlocalizedCategoryName();
+        }
+
+        @Override
+        public String getLocalizedNameFull() {
+            return operator.getLocalizedNameFull();
+        }
+
+        @Override
+        public void loadTooltip(List<String> lines, boolean appendOptionalInfo) {
+            operator.loadTooltip(lines, appendOptionalInfo);
+        }
+
+        @Override
+        public IValueType[] getInputTypes() {
+            return operator.getInputTypes();
+        }
+
+        @Override
+        public IValueType getOutputType() {
+            return operator.getOutputType();
+        }
+
+        @Override
+        public IValueType getConditionalOutputType(IVariable[] input) {
+            return operator.getConditionalOutputType(input);
+        }
+
+        @Override
+        public IValue evaluate(IVariable[] input) throws EvaluationException {
+            evaluations++;
+            return operator.evaluate(input);
+        }
+
+        @Override
+        public int getRequiredInputLength() {
+            return operator.getRequiredInputLength();
+        }
+
+        @Override
+        public L10NHelpers.UnlocalizedString validateTypes(IValueType[] input) {
+            return operator.validateTypes(input);
+        }
+
+        @Override
+        public IConfigRenderPattern getRenderPattern() {
+            return operator.getRenderPattern();
+        }
+
+        @Override
+        public IOperator materialize() throws EvaluationException {
+            return this;
+        }
+    }
+
+}
@@ -0,0 +1,212 @@
+package org.cyclops.integrateddynamics.core.evaluate.operator;
+
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.operator.IOperator;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
+import org.cyclops.integrateddynamics.core.evaluate.EvaluationFuel;
+import org.cyclops.integrateddynamics.core.evaluate.variable.DummyVariableBoolean;
+import org.cyclops.integrateddynamics.core.evaluate.variable.DummyVariableInteger;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueCastMappings;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeBoolean;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeInteger;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the evaluation and allocations of fused operators,
+ * with the combined and curried operators from {@link org.cyclops.integrateddynamics.core.evaluate.variable.TestOperatorOperators}.
+ * @author rubensworks
+ */
+public class TestFusedOperators {
+
+    private static final int ITERATIONS = 10000;
+    // Allow some bytes for measuring the allocations themselves.
+    private static final long MAX_ALLOCATED_BYTES = 1024;
+
+    private DummyVariableInteger i0;
+    private DummyVariableInteger i3;
+
+    private IOperator increment2;
+    private IOperator lessThan3;
+    private IOperator between0And3;
+
+    @Before
+    public void before() throws EvaluationException {
+        ValueCastMappings.load();
+
+        i0 = new DummyVariableInteger(ValueTypeInteger.ValueInteger.of(0));
+        i3 = new DummyVariableInteger(ValueTypeInteger.ValueInteger.of(3));
+
+        increment2 = CombinedOperator.Pipe.asOperator(Operators.INTEGER_INCREMENT, Operators.INTEGER_INCREMENT);
+        lessThan3 = new CurriedOperator(CombinedOperator.Flip.asOperator(Operators.RELATIONAL_LT), i3);
+        between0And3 = CombinedOperator.Conjunction.asOperator(new CurriedOperator(Operators.RELATIONAL_LT, i0), lessThan3);
+    }
+
+    protected static long getAllocatedBytes() {
+        java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue("allocations can be measured", threadMXBean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemorySupported());
+        return ((com.sun.management.ThreadMXBean) threadMXBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    protected static long measureAllocatedBytes(FusedOperator fusedOperator) throws EvaluationException {
+        for (int i = 0; i < ITERATIONS; i++) {
+            fusedOperator.evaluate(ValueTypeInteger.ValueInteger.of(i % 8));
+        }
+        long start = getAllocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            fusedOperator.evaluate(ValueTypeInteger.ValueInteger.of(i % 8));
+        }
+        return getAllocatedBytes() - start;
+    }
+
+    protected static long measureFuel(IOperator operator, IVariable[] input) throws EvaluationException {
+        EvaluationFuel fuel = new EvaluationFuel();
+        fuel.refill();
+        EvaluationFuel previous = fuel.enter();
+        try {
+            operator.evaluate(input);
+        } finally {
+            EvaluationFuel.exit(previous);
+        }
+        return fuel.getConsumed();
+    }
+
+    protected static long measureAllocatedBytes(FusedOperator.Evaluator evaluator) throws EvaluationException {
+        // Warm up, so that lazily created buffers and bound operators are not counted.
+        for (int i = 0; i < ITERATIONS; i++) {
+            evaluator.evaluate(ValueTypeInteger.ValueInteger.of(i % 8));
+        }
+        long start = getAllocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            evaluator.evaluate(ValueTypeInteger.ValueInteger.of(i % 8));
+        }
+        return getAllocatedBytes() - start;
+    }
+
+    @Test
+    public void testPipe() throws EvaluationException {
+        FusedOperator.Evaluator evaluator = FusedOperator.fuse(increment2).newEvaluator();
+        assertThat("++ ++(0) == 2", evaluator.evaluate(ValueTypeInteger.ValueInteger.of(0)),
+                is((IValue) ValueTypeInteger.ValueInteger.of(2)));
+        assertThat("++ ++(1) == 3", evaluator.evaluate(ValueTypeInteger.ValueInteger.of(1)),
+                is((IValue) ValueTypeInteger.ValueInteger.of(3)));
+    }
+
+    @Test
+    public void testCurriedFlip() throws EvaluationException {
+        FusedOperator.Evaluator evaluator = FusedOperator.fuse(lessThan3).newEvaluator();
+        assertThat("2 < 3", evaluator.evaluate(ValueTypeInteger.ValueInteger.of(2)),
+                is((IValue) ValueTypeBoolean.ValueBoolean.of(true)));
+        assertThat("!(3 < 3)", evaluator.evaluate(ValueTypeInteger.ValueInteger.of(3)),
+                is((IValue) ValueTypeBoolean.ValueBoolean.of(false)));
+    }
+
+    @Test
+    public void testConjunctionNegationDisjunction() throws EvaluationException {
+        FusedOperator.Evaluator conjunction = FusedOperator.fuse(between0And3).newEvaluator();
+        FusedOperator.Evaluator negation = FusedOperator.fuse(CombinedOperator.Negation.asOperator(between0And3)).newEvaluator();
+        FusedOperator.Evaluator disjunction = FusedOperator.fuse(CombinedOperator.Disjunction.asOperator(
+                CombinedOperator.Negation.asOperator(lessThan3), between0And3)).newEvaluator();
+        for (int i = -1; i <= 4; i++) {
+            boolean between = 0 < i && i < 3;
+            IValue value = ValueTypeInteger.ValueInteger.of(i);
+            assertThat("0 < i < 3 for " + i, conjunction.evaluate(value), is((IValue) ValueTypeBoolean.ValueBoolean.of(between)));
+            assertThat("!(0 < i < 3) for " + i, negation.evaluate(value), is((IValue) ValueTypeBoolean.ValueBoolean.of(!between)));
+            assertThat("!(i < 3) || 0 < i < 3 for " + i, disjunction.evaluate(value), is((IValue) ValueTypeBoolean.ValueBoolean.of(i > 0)));
+        }
+    }
+
+    @Test
+    public void testSameAsUnfused() throws EvaluationException {
+        for (int i = 0; i < 4; i++) {
+            DummyVariableInteger input = new DummyVariableInteger(ValueTypeInteger.ValueInteger.of(i));
+            assertThat("fused and unfused pipes are equal",
+                    increment2.evaluate(new IVariable[]{input}),
+                    is(Operators.INTEGER_INCREMENT.evaluate(new IVariable[]{
+                            new DummyVariableInteger((ValueTypeInteger.ValueInteger) Operators.INTEGER_INCREMENT.evaluate(new IVariable[]{input}))})));
+        }
+    }
+
+    @Test(expected = EvaluationException.class)
+    public void testInvalidInputLength() throws EvaluationException {
+        FusedOperator.fuse(increment2).evaluate(new IVariable[]{i0, i3});
+    }
+
+    @Test
+    public void testAllocationsPipe() throws EvaluationException {
+        long allocated = measureAllocatedBytes(FusedOperator.fuse(increment2).newEvaluator());
+        assertThat("fused pipes do not allocate (" + allocated + " bytes)", allocated <= MAX_ALLOCATED_BYTES, is(true));
+    }
+
+    @Test
+    public void testAllocationsCurriedFlip() throws EvaluationException {
+        long allocated = measureAllocatedBytes(FusedOperator.fuse(lessThan3).newEvaluator());
+        assertThat("fused flips do not allocate (" + allocated + " bytes)", allocated <= MAX_ALLOCATED_BYTES, is(true));
+    }
+
+    @Test
+    public void testAllocationsConjunction() throws EvaluationException {
+        long allocated = measureAllocatedBytes(FusedOperator.fuse(between0And3).newEvaluator());
+        assertThat("fused conjunctions do not allocate (" + allocated + " bytes)", allocated <= MAX_ALLOCATED_BYTES, is(true));
+    }
+
+    @Test
+    public void testAllocationsNegation() throws EvaluationException {
+        long allocated = measureAllocatedBytes(FusedOperator.fuse(CombinedOperator.Negation.asOperator(between0And3)).newEvaluator());
+        assertThat("fused negations do not allocate (" + allocated + " bytes)", allocated <= MAX_ALLOCATED_BYTES, is(true));
+    }
+
+    @Test(expected = EvaluationException.class)
+    public void testInvalidNestedType() throws EvaluationException {
+        IOperator modulusFlipped = new CurriedOperator(CombinedOperator.Flip.asOperator(Operators.INTEGER_MODULUS),
+                new DummyVariableBoolean(ValueTypeBoolean.ValueBoolean.of(true)));
+        modulusFlipped.evaluate(new IVariable[]{i3});
+    }
+
+    @Test(expected = EvaluationException.class)
+    public void testInvalidNestedLength() throws EvaluationException {
+        CombinedOperator.Conjunction.asOperator(CombinedOperator.Flip.asOperator(Operators.RELATIONAL_LT))
+                .evaluate(new IVariable[]{i0});
+    }
+
+    @Test(expected = EvaluationException.class)
+    public void testInvalidLeafType() throws EvaluationException {
+        CombinedOperator.Pipe.asOperator(Operators.INTEGER_INCREMENT, Operators.LOGICAL_NOT).evaluate(new IVariable[]{i0});
+    }
+
+    @Test
+    public void testInvalidTypeAfterValidType() throws EvaluationException {
+        FusedOperator fused = FusedOperator.fuse(lessThan3);
+        assertThat("2 < 3", fused.evaluate(ValueTypeInteger.ValueInteger.of(2)), is((IValue) ValueTypeBoolean.ValueBoolean.of(true)));
+        boolean errored = false;
+        try {
+            fused.evaluate(ValueTypeBoolean.ValueBoolean.of(true));
+        } catch (EvaluationException e) {
+            errored = true;
+        }
+        assertThat("types are validated again when they change", errored, is(true));
+    }
+
+    @Test
+    public void testFuel() throws EvaluationException {
+        assertThat("pipes consume fuel for themselves and their operators", measureFuel(increment2, new IVariable[]{i0}), is(3L));
+        IOperator increment4 = CombinedOperator.Pipe.asOperator(increment2, increment2);
+        assertThat("nested pipes consume fuel once for each operator", measureFuel(increment4, new IVariable[]{i0}), is(7L));
+        assertThat("curried operators consume fuel for their base operator", measureFuel(lessThan3, new IVariable[]{i0}), is(2L));
+    }
+
+    @Test
+    public void testAllocationsReusedEvaluator() throws EvaluationException {
+        long allocated = measureAllocatedBytes(FusedOperator.fuse(increment2));
+        assertThat("fused operators reuse their evaluator (" + allocated + " bytes)", allocated <= MAX_ALLOCATED_BYTES, is(true));
+    }
+
+}
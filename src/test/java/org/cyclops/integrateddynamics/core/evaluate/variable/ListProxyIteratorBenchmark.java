@@ -0,0 +1,84 @@
+package org.cyclops.integrateddynamics.core.evaluate.variable;
+
+import com.google.common.collect.Lists;
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValueTypeListProxy;
+import org.cyclops.integrateddynamics.core.evaluate.operator.Operators;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A microbenchmark comparing the streaming iterators of list proxies with iterating by index.
+ * This is not run as part of the tests, run the main method manually instead.
+ * @author rubensworks
+ */
+public class ListProxyIteratorBenchmark {
+
+    private static final int LENGTH = 10000;
+    private static final int CHAIN_DEPTH = 100;
+    private static final int WARMUP_ITERATIONS = 20;
+    private static final int ITERATIONS = 50;
+
+    public static void main(String[] args) throws EvaluationException {
+        ValueCastMappings.load();
+        List<ValueTypeInteger.ValueInteger> values = Lists.newArrayList();
+        for (int i = 0; i < LENGTH; i++) {
+            values.add(ValueTypeInteger.ValueInteger.of(i));
+        }
+        IValueTypeListProxy<ValueTypeInteger, ValueTypeInteger.ValueInteger> materialized =
+                new ValueTypeListProxyMaterialized<>(ValueTypes.INTEGER, values);
+
+        IValueTypeListProxy<ValueTypeInteger, ValueTypeInteger.ValueInteger> chain = materialized;
+        for (int i = 0; i < CHAIN_DEPTH; i++) {
+            chain = new ValueTypeListProxyTail<>(new ValueTypeListProxyAppend<>(chain, ValueTypeInteger.ValueInteger.of(i)));
+        }
+
+        benchmark("materialized", materialized);
+        benchmark("append/tail chain of depth " + CHAIN_DEPTH, chain);
+        benchmark("mapped", new ValueTypeListProxyOperatorMapped(Operators.INTEGER_INCREMENT, materialized));
+    }
+
+    protected static <V extends IValue> void benchmark(String name, IValueTypeListProxy<?, V> list) throws EvaluationException {
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += iterateIndexed(list);
+            sink += iterateStreaming(list);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += iterateIndexed(list);
+        }
+        long indexedDuration = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += iterateStreaming(list);
+        }
+        long streamingDuration = System.nanoTime() - start;
+
+        System.out.println(String.format("%s (%s elements): indexed %.3f ms/iteration, streaming %.3f ms/iteration (%s)",
+                name, list.getLength(), indexedDuration / (double) ITERATIONS / 1000000D,
+                streamingDuration / (double) ITERATIONS / 1000000D, sink));
+    }
+
+    protected static <V extends IValue> long iterateIndexed(IValueTypeListProxy<?, V> list) {
+        long sink = 0;
+        Iterator<V> it = new ValueTypeList.ListFactoryIterator(list);
+        while (it.hasNext()) {
+            sink += it.next().hashCode();
+        }
+        return sink;
+    }
+
+    protected static <V extends IValue> long iterateStreaming(IValueTypeListProxy<?, V> list) {
+        long sink = 0;
+        for (V value : list) {
+            sink += value.hashCode();
+        }
+        return sink;
+    }
+
+}
@@ -9,6 +9,7 @@ import org.junit.Test;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertThat;
 
 /**
@@ -111,6 +112,16 @@ public class TestArithmeticOperators {
         assertThat("10 + -10 = 0", ((ValueTypeDouble.ValueDouble) res5).getRawValue(), is(0D));
     }
 
+    @Test
+    public void testArithmeticAddIntegerInterned() throws EvaluationException {
+        IValue res1 = Operators.ARITHMETIC_ADDITION.evaluate(new IVariable[]{i10, i15});
+        assertThat("small results are interned", res1, sameInstance((IValue) ValueTypeInteger.ValueInteger.of(25)));
+
+        IValue res2 = Operators.ARITHMETIC_MULTIPLICATION.evaluate(new IVariable[]{
+                new DummyVariableInteger(ValueTypeInteger.ValueInteger.of(100000)), i10});
+        assertThat("100000 * 10 = 1000000", ((ValueTypeInteger.ValueInteger) res2).getRawValue(), is(1000000));
+    }
+
     @Test(expected = EvaluationException.class)
     public void testInvalidInputSizeAddLarge() throws EvaluationException {
         Operators.ARITHMETIC_ADDITION.evaluate(new IVariable[]{i0, i0, i0});
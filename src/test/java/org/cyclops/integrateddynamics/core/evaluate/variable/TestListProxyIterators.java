@@ -0,0 +1,129 @@
+package org.cyclops.integrateddynamics.core.evaluate.variable;
+
+import com.google.common.collect.Lists;
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValueTypeListProxy;
+import org.cyclops.integrateddynamics.core.evaluate.operator.Operators;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the streaming iterators of list proxies.
+ * @author rubensworks
+ */
+public class TestListProxyIterators {
+
+    private IValueTypeListProxy<ValueTypeInteger, ValueTypeInteger.ValueInteger> list;
+    private IValueTypeListProxy<ValueTypeInteger, ValueTypeInteger.ValueInteger> empty;
+
+    @Before
+    public void before() {
+        ValueCastMappings.load();
+        list = materialized(10);
+        empty = materialized(0);
+    }
+
+    protected static IValueTypeListProxy<ValueTypeInteger, ValueTypeInteger.ValueInteger> materialized(int length) {
+        List<ValueTypeInteger.ValueInteger> values = Lists.newArrayList();
+        for (int i = 0; i < length; i++) {
+            values.add(ValueTypeInteger.ValueInteger.of(i));
+        }
+        return new ValueTypeListProxyMaterialized<>(ValueTypes.INTEGER, values);
+    }
+
+    protected static <V extends IValue> List<V> getIndexed(IValueTypeListProxy<?, V> list) throws EvaluationException {
+        List<V> values = Lists.newArrayList();
+        for (int i = 0; i < list.getLength(); i++) {
+            values.add(list.get(i));
+        }
+        return values;
+    }
+
+    protected static <V extends IValue> List<V> getIterated(IValueTypeListProxy<?, V> list) {
+        return Lists.newArrayList(list);
+    }
+
+    protected static <V extends IValue> void assertIteratesAsIndexed(String message, IValueTypeListProxy<?, V> list)
+            throws EvaluationException {
+        assertThat(message, getIterated(list), is(getIndexed(list)));
+    }
+
+    @Test
+    public void testMaterialized() throws EvaluationException {
+        assertIteratesAsIndexed("materialized lists", list);
+        assertIteratesAsIndexed("empty lists", empty);
+    }
+
+    @Test
+    public void testAppend() throws EvaluationException {
+        IValueTypeListProxy<ValueTypeInteger, ValueTypeInteger.ValueInteger> appended = list;
+        for (int i = 0; i < 5; i++) {
+            appended = new ValueTypeListProxyAppend<>(appended, ValueTypeInteger.ValueInteger.of(100 + i));
+        }
+        assertIteratesAsIndexed("appended lists", appended);
+        assertThat("appended lists have all elements", getIterated(appended).size(), is(15));
+    }
+
+    @Test
+    public void testTail() throws EvaluationException {
+        IValueTypeListProxy<ValueTypeInteger, ValueTypeInteger.ValueInteger> tail = list;
+        for (int i = 0; i < 5; i++) {
+            tail = new ValueTypeListProxyTail<>(tail);
+        }
+        assertIteratesAsIndexed("tails", tail);
+        assertThat("the first element of tails is removed", getIterated(tail).get(0), is(ValueTypeInteger.ValueInteger.of(5)));
+    }
+
+    @Test
+    public void testTailBeyondLength() throws EvaluationException {
+        IValueTypeListProxy<ValueTypeInteger, ValueTypeInteger.ValueInteger> tail = list;
+        for (int i = 0; i < 15; i++) {
+            tail = new ValueTypeListProxyTail<>(tail);
+        }
+        assertIteratesAsIndexed("tails beyond the list length", tail);
+        assertThat("tails beyond the list length are empty", getIterated(tail).size(), is(0));
+    }
+
+    @Test
+    public void testMixedChain() throws EvaluationException {
+        IValueTypeListProxy<ValueTypeInteger, ValueTypeInteger.ValueInteger> chain = new ValueTypeListProxyTail<>(empty);
+        chain = new ValueTypeListProxyAppend<>(chain, ValueTypeInteger.ValueInteger.of(1));
+        chain = new ValueTypeListProxyAppend<>(chain, ValueTypeInteger.ValueInteger.of(2));
+        chain = new ValueTypeListProxyTail<>(chain);
+        chain = new ValueTypeListProxyAppend<>(chain, ValueTypeInteger.ValueInteger.of(3));
+        chain = new ValueTypeListProxyTail<>(new ValueTypeListProxyTail<>(chain));
+        chain = new ValueTypeListProxyTail<>(chain);
+        chain = new ValueTypeListProxyAppend<>(chain, ValueTypeInteger.ValueInteger.of(4));
+        assertIteratesAsIndexed("mixed chains", chain);
+        assertThat("tails of empty lists do not remove later appended values", getIterated(chain),
+                is(Collections.singletonList(ValueTypeInteger.ValueInteger.of(4))));
+    }
+
+    @Test
+    public void testOperatorMapped() throws EvaluationException {
+        ValueTypeListProxyOperatorMapped mapped = new ValueTypeListProxyOperatorMapped(Operators.INTEGER_INCREMENT,
+                new ValueTypeListProxyAppend<>(list, ValueTypeInteger.ValueInteger.of(10)));
+        assertIteratesAsIndexed("mapped lists", mapped);
+        assertThat("mapped lists are mapped", getIterated(mapped).get(10), is((IValue) ValueTypeInteger.ValueInteger.of(11)));
+    }
+
+    @Test
+    public void testLazyBuilt() throws EvaluationException {
+        ValueTypeListProxyLazyBuilt<ValueTypeInteger, ValueTypeInteger.ValueInteger> lazyBuilt =
+                new ValueTypeListProxyLazyBuilt<>(ValueTypeInteger.ValueInteger.of(0), Operators.INTEGER_INCREMENT);
+        Iterator<ValueTypeInteger.ValueInteger> it = lazyBuilt.iterator();
+        for (int i = 0; i < 100; i++) {
+            assertThat("lazy built lists are infinite", it.hasNext(), is(true));
+            assertThat("lazy built elements are calculated from the previous one", it.next(), is(lazyBuilt.get(i)));
+        }
+    }
+
+}
@@ -0,0 +1,158 @@
+package org.cyclops.integrateddynamics.core.evaluate.variable;
+
+import com.google.common.collect.Lists;
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValueTypeListProxy;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValueTypeListProxyFactoryTypeRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the persistent vector and the list proxy that is backed by it.
+ * @author rubensworks
+ */
+public class TestListProxyVector {
+
+    private static final int SIZE = 2000;
+
+    @Before
+    public void before() {
+        ValueCastMappings.load();
+        ValueTypeListProxyFactories.load();
+    }
+
+    protected static PersistentVector<Integer> range(int size) {
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        for (int i = 0; i < size; i++) {
+            vector = vector.append(i);
+        }
+        return vector;
+    }
+
+    protected static ValueTypeListProxyVector<ValueTypeInteger, ValueTypeInteger.ValueInteger> list(int size) {
+        List<ValueTypeInteger.ValueInteger> values = Lists.newArrayList();
+        for (int i = 0; i < size; i++) {
+            values.add(ValueTypeInteger.ValueInteger.of(i));
+        }
+        return ValueTypeListProxyVector.of(new ValueTypeListProxyMaterialized<>(ValueTypes.INTEGER, values));
+    }
+
+    protected static List<Integer> getRawValues(IValueTypeListProxy<ValueTypeInteger, ValueTypeInteger.ValueInteger> list) {
+        List<Integer> values = Lists.newArrayList();
+        for (ValueTypeInteger.ValueInteger value : list) {
+            values.add(value.getRawValue());
+        }
+        return values;
+    }
+
+    @Test
+    public void testAppend() {
+        PersistentVector<Integer> vector = range(SIZE);
+        assertThat("vectors contain all appended elements", vector.size(), is(SIZE));
+        for (int i = 0; i < SIZE; i++) {
+            assertThat("vector elements are retrieved in multi-level trees", vector.get(i), is(i));
+        }
+        assertThat("vector iterators return all elements", Lists.newArrayList(vector), is((List<Integer>) Lists.newArrayList(range(SIZE))));
+        assertThat("vector range iterators return the range", Lists.newArrayList(vector.iterator(30, 1030)).size(), is(1000));
+        assertThat("vector range iterators start at the range", vector.iterator(30, 1030).next(), is(30));
+    }
+
+    @Test
+    public void testSet() {
+        PersistentVector<Integer> vector = range(SIZE);
+        PersistentVector<Integer> modified = vector.set(5, -1).set(1500, -2).set(SIZE - 1, -3);
+        assertThat("set replaces elements in the tree", modified.get(5), is(-1));
+        assertThat("set replaces elements in deeper leaves", modified.get(1500), is(-2));
+        assertThat("set replaces elements in the tail", modified.get(SIZE - 1), is(-3));
+        assertThat("set does not change the size", modified.size(), is(SIZE));
+        assertThat("set at the size appends", vector.set(SIZE, -4).get(SIZE), is(-4));
+    }
+
+    @Test
+    public void testStructuralSharing() {
+        PersistentVector<Integer> vector = range(SIZE);
+        vector.append(-1);
+        vector.set(5, -1);
+        vector.set(1500, -1);
+        assertThat("modifications do not change the original vector size", vector.size(), is(SIZE));
+        for (int i = 0; i < SIZE; i++) {
+            assertThat("modifications do not change the original vector", vector.get(i), is(i));
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetOutOfBounds() {
+        range(10).get(10);
+    }
+
+    @Test
+    public void testListTail() throws EvaluationException {
+        ValueTypeListProxyVector<ValueTypeInteger, ValueTypeInteger.ValueInteger> list = list(SIZE);
+        ValueTypeListProxyVector<ValueTypeInteger, ValueTypeInteger.ValueInteger> tail = list;
+        for (int i = 0; i < SIZE - 10; i++) {
+            tail = tail.tail();
+        }
+        assertThat("tails remove the first element", tail.getLength(), is(10));
+        assertThat("tails shift the elements", tail.get(0).getRawValue(), is(SIZE - 10));
+        assertThat("tails are iterated from their start", getRawValues(tail).get(9), is(SIZE - 1));
+        assertThat("tails do not change the original list", list.getLength(), is(SIZE));
+        assertThat("tails of empty lists are empty", list(0).tail().getLength(), is(0));
+    }
+
+    @Test
+    public void testListSlice() throws EvaluationException {
+        ValueTypeListProxyVector<ValueTypeInteger, ValueTypeInteger.ValueInteger> slice = list(100).slice(10, 20);
+        assertThat("slices contain the range", slice.getLength(), is(10));
+        assertThat("slices start at the range", slice.get(0).getRawValue(), is(10));
+        assertThat("slices are clamped", list(100).slice(-10, 200).getLength(), is(100));
+        assertThat("slices beyond the list are empty", list(100).slice(150, 200).getLength(), is(0));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testListGetOutOfRange() throws EvaluationException {
+        list(100).slice(10, 20).get(10);
+    }
+
+    @Test
+    public void testListAppendAfterTail() throws EvaluationException {
+        ValueTypeListProxyVector<ValueTypeInteger, ValueTypeInteger.ValueInteger> list = list(10);
+        ValueTypeListProxyVector<ValueTypeInteger, ValueTypeInteger.ValueInteger> shortened = list.slice(0, 5);
+        ValueTypeListProxyVector<ValueTypeInteger, ValueTypeInteger.ValueInteger> appended = shortened.tail().append(ValueTypeInteger.ValueInteger.of(-1));
+        assertThat("appends after tails contain the remaining elements", getRawValues(appended),
+                is((List<Integer>) Lists.newArrayList(1, 2, 3, 4, -1)));
+        assertThat("appends within a shared vector do not change the original list", list.get(5).getRawValue(), is(5));
+        assertThat("appends within a shared vector do not change the original list length", list.getLength(), is(10));
+    }
+
+    @Test
+    public void testListQueue() throws EvaluationException {
+        // Use the list as a queue, which compacts the vector repeatedly.
+        ValueTypeListProxyVector<ValueTypeInteger, ValueTypeInteger.ValueInteger> queue = list(0);
+        for (int i = 0; i < SIZE; i++) {
+            queue = queue.append(ValueTypeInteger.ValueInteger.of(i));
+            if (i % 2 == 1) {
+                queue = queue.tail();
+            }
+        }
+        assertThat("queues have the expected length", queue.getLength(), is(SIZE / 2));
+        for (int i = 0; i < SIZE / 2; i++) {
+            assertThat("queues contain the last elements", queue.get(i).getRawValue(), is(SIZE / 2 + i));
+        }
+    }
+
+    @Test
+    public void testSerialization() throws IValueTypeListProxyFactoryTypeRegistry.SerializationException, EvaluationException {
+        ValueTypeListProxyVector<ValueTypeInteger, ValueTypeInteger.ValueInteger> list = list(100).slice(10, 20);
+        String serialized = ValueTypeListProxyFactories.REGISTRY.serialize(list);
+        IValueTypeListProxy<ValueTypeInteger, ValueTypeInteger.ValueInteger> deserialized = ValueTypeListProxyFactories.REGISTRY.deserialize(serialized);
+        assertThat("deserialized lists are vectors", deserialized, instanceOf(ValueTypeListProxyVector.class));
+        assertThat("deserialized lists only contain the range", getRawValues(deserialized), is(getRawValues(list)));
+    }
+
+}
@@ -0,0 +1,275 @@
+package org.cyclops.integrateddynamics.core.evaluate.variable;
+
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
+import org.cyclops.integrateddynamics.core.evaluate.operator.Operators;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the primitive number kernels against the generic number operations,
+ * for mixed types, operand order, overflow and the edges of the interned values.
+ * @author rubensworks
+ */
+public class TestNumberKernels {
+
+    private static final int[] INTEGERS = new int[]{Integer.MIN_VALUE, -129, -128, -127, -10, -1, 0, 1, 2, 10, 15,
+            1022, 1023, 1024, 1025, Integer.MAX_VALUE};
+    private static final long[] LONGS = new long[]{Long.MIN_VALUE, Integer.MIN_VALUE - 1L, -129, -128, -1, 0, 1, 15,
+            1023, 1024, Integer.MAX_VALUE + 1L, Long.MAX_VALUE};
+    private static final double[] DOUBLES = new double[]{-Double.MAX_VALUE, -1024.5D, -1D, -0.5D, 0D, 0.5D, 1D, 2D,
+            1023.5D, Double.MAX_VALUE};
+
+    @Before
+    public void before() {
+        ValueCastMappings.load();
+    }
+
+    protected static IVariable i(int value) {
+        return new DummyVariableInteger(ValueTypeInteger.ValueInteger.of(value));
+    }
+
+    protected static IVariable l(long value) {
+        return new DummyVariable<>(ValueTypes.LONG, ValueTypeLong.ValueLong.of(value));
+    }
+
+    protected static IVariable d(double value) {
+        return new DummyVariableDouble(ValueTypeDouble.ValueDouble.of(value));
+    }
+
+    protected static IValue eval(IVariable a, IVariable b, String operator) throws EvaluationException {
+        switch (operator) {
+            case "+": return Operators.ARITHMETIC_ADDITION.evaluate(new IVariable[]{a, b});
+            case "-": return Operators.ARITHMETIC_SUBTRACTION.evaluate(new IVariable[]{a, b});
+            case "*": return Operators.ARITHMETIC_MULTIPLICATION.evaluate(new IVariable[]{a, b});
+            case "/": return Operators.ARITHMETIC_DIVISION.evaluate(new IVariable[]{a, b});
+            case "max": return Operators.ARITHMETIC_MAXIMUM.evaluate(new IVariable[]{a, b});
+            case "min": return Operators.ARITHMETIC_MINIMUM.evaluate(new IVariable[]{a, b});
+            case ">": return Operators.RELATIONAL_GT.evaluate(new IVariable[]{a, b});
+            case "<": return Operators.RELATIONAL_LT.evaluate(new IVariable[]{a, b});
+        }
+        throw new IllegalArgumentException(operator);
+    }
+
+    /**
+     * ----------------------------------- SAME TYPES -----------------------------------
+     */
+
+    @Test
+    public void testIntegerKernels() throws EvaluationException {
+        ValueTypeInteger type = ValueTypes.INTEGER;
+        for (int a : INTEGERS) {
+            for (int b : INTEGERS) {
+                ValueTypeInteger.ValueInteger av = ValueTypeInteger.ValueInteger.of(a);
+                ValueTypeInteger.ValueInteger bv = ValueTypeInteger.ValueInteger.of(b);
+                String msg = a + " and " + b;
+                assertThat(msg + " +", eval(i(a), i(b), "+"), is((IValue) type.add(av, bv)));
+                assertThat(msg + " -", eval(i(a), i(b), "-"), is((IValue) type.subtract(av, bv)));
+                assertThat(msg + " *", eval(i(a), i(b), "*"), is((IValue) type.multiply(av, bv)));
+                if (b != 0) {
+                    assertThat(msg + " /", eval(i(a), i(b), "/"), is((IValue) type.divide(av, bv)));
+                }
+                assertThat(msg + " max", eval(i(a), i(b), "max"), is((IValue) type.max(av, bv)));
+                assertThat(msg + " min", eval(i(a), i(b), "min"), is((IValue) type.min(av, bv)));
+                assertThat(msg + " >", eval(i(a), i(b), ">"), is((IValue) ValueTypeBoolean.ValueBoolean.of(type.greaterThan(av, bv))));
+                assertThat(msg + " <", eval(i(a), i(b), "<"), is((IValue) ValueTypeBoolean.ValueBoolean.of(type.lessThan(av, bv))));
+            }
+        }
+    }
+
+    @Test
+    public void testLongKernels() throws EvaluationException {
+        ValueTypeLong type = ValueTypes.LONG;
+        for (long a : LONGS) {
+            for (long b : LONGS) {
+                ValueTypeLong.ValueLong av = ValueTypeLong.ValueLong.of(a);
+                ValueTypeLong.ValueLong bv = ValueTypeLong.ValueLong.of(b);
+                String msg = a + " and " + b;
+                assertThat(msg + " +", eval(l(a), l(b), "+"), is((IValue) type.add(av, bv)));
+                assertThat(msg + " -", eval(l(a), l(b), "-"), is((IValue) type.subtract(av, bv)));
+                assertThat(msg + " *", eval(l(a), l(b), "*"), is((IValue) type.multiply(av, bv)));
+                if (b != 0) {
+                    assertThat(msg + " /", eval(l(a), l(b), "/"), is((IValue) type.divide(av, bv)));
+                }
+                assertThat(msg + " max", eval(l(a), l(b), "max"), is((IValue) type.max(av, bv)));
+                assertThat(msg + " min", eval(l(a), l(b), "min"), is((IValue) type.min(av, bv)));
+                assertThat(msg + " >", eval(l(a), l(b), ">"), is((IValue) ValueTypeBoolean.ValueBoolean.of(type.greaterThan(av, bv))));
+                assertThat(msg + " <", eval(l(a), l(b), "<"), is((IValue) ValueTypeBoolean.ValueBoolean.of(type.lessThan(av, bv))));
+            }
+        }
+    }
+
+    @Test
+    public void testDoubleKernels() throws EvaluationException {
+        ValueTypeDouble type = ValueTypes.DOUBLE;
+        for (double a : DOUBLES) {
+            for (double b : DOUBLES) {
+                ValueTypeDouble.ValueDouble av = ValueTypeDouble.ValueDouble.of(a);
+                ValueTypeDouble.ValueDouble bv = ValueTypeDouble.ValueDouble.of(b);
+                String msg = a + " and " + b;
+                assertThat(msg + " +", eval(d(a), d(b), "+"), is((IValue) type.add(av, bv)));
+                assertThat(msg + " -", eval(d(a), d(b), "-"), is((IValue) type.subtract(av, bv)));
+                assertThat(msg + " *", eval(d(a), d(b), "*"), is((IValue) type.multiply(av, bv)));
+                if (b != 0) {
+                    assertThat(msg + " /", eval(d(a), d(b), "/"), is((IValue) type.divide(av, bv)));
+                }
+                assertThat(msg + " >", eval(d(a), d(b), ">"), is((IValue) ValueTypeBoolean.ValueBoolean.of(type.greaterThan(av, bv))));
+                assertThat(msg + " <", eval(d(a), d(b), "<"), is((IValue) ValueTypeBoolean.ValueBoolean.of(type.lessThan(av, bv))));
+            }
+        }
+    }
+
+    /**
+     * ----------------------------------- MIXED TYPES -----------------------------------
+     */
+
+    @Test
+    public void testMixedIntegerDouble() throws EvaluationException {
+        IValue res1 = eval(i(10), d(0.5D), "+");
+        assertThat("integer + double is a double", res1, instanceOf(ValueTypeDouble.ValueDouble.class));
+        assertThat("10 + 0.5 = 10.5", res1, is((IValue) ValueTypeDouble.ValueDouble.of(10.5D)));
+        assertThat("0.5 + 10 = 10.5", eval(d(0.5D), i(10), "+"), is((IValue) ValueTypeDouble.ValueDouble.of(10.5D)));
+        assertThat("0 + 0.5 = 0.5", eval(i(0), d(0.5D), "+"), is((IValue) ValueTypeDouble.ValueDouble.of(0.5D)));
+        assertThat("1 * 0.5 = 0.5", eval(i(1), d(0.5D), "*"), is((IValue) ValueTypeDouble.ValueDouble.of(0.5D)));
+        assertThat("10 / 4.0 = 2.5", eval(i(10), d(4D), "/"), is((IValue) ValueTypeDouble.ValueDouble.of(2.5D)));
+        assertThat("max(1, 0.5) = 1.0", eval(i(1), d(0.5D), "max"), is((IValue) ValueTypeDouble.ValueDouble.of(1D)));
+    }
+
+    @Test
+    public void testMixedIntegerLong() throws EvaluationException {
+        IValue res1 = eval(i(Integer.MAX_VALUE), l(1), "+");
+        assertThat("integer + long is a long", res1, instanceOf(ValueTypeLong.ValueLong.class));
+        assertThat("integers are promoted before adding", res1, is((IValue) ValueTypeLong.ValueLong.of(Integer.MAX_VALUE + 1L)));
+        assertThat("integers are promoted before multiplying", eval(l(2), i(Integer.MAX_VALUE), "*"),
+                is((IValue) ValueTypeLong.ValueLong.of(2L * Integer.MAX_VALUE)));
+        assertThat("0 + 1024 = 1024", eval(i(0), l(1024), "+"), is((IValue) ValueTypeLong.ValueLong.of(1024)));
+    }
+
+    @Test
+    public void testMixedDoubleLong() throws EvaluationException {
+        IValue res1 = eval(d(2.5D), l(3), "+");
+        assertThat("double + long is a long", res1, instanceOf(ValueTypeLong.ValueLong.class));
+        assertThat("doubles are truncated when promoted to longs", res1, is((IValue) ValueTypeLong.ValueLong.of(5)));
+    }
+
+    /**
+     * ----------------------------------- OPERAND ORDER -----------------------------------
+     */
+
+    @Test
+    public void testSubtractionOrder() throws EvaluationException {
+        assertThat("10 - 15 = -5", eval(i(10), i(15), "-"), is((IValue) ValueTypeInteger.ValueInteger.of(-5)));
+        assertThat("15 - 10 = 5", eval(i(15), i(10), "-"), is((IValue) ValueTypeInteger.ValueInteger.of(5)));
+        assertThat("0 - 10 = -10", eval(i(0), i(10), "-"), is((IValue) ValueTypeInteger.ValueInteger.of(-10)));
+        assertThat("10L - 15L = -5L", eval(l(10), l(15), "-"), is((IValue) ValueTypeLong.ValueLong.of(-5)));
+        assertThat("10.0 - 15.0 = -5.0", eval(d(10D), d(15D), "-"), is((IValue) ValueTypeDouble.ValueDouble.of(-5D)));
+        assertThat("0.0 - 10.0 = -10.0", eval(d(0D), d(10D), "-"), is((IValue) ValueTypeDouble.ValueDouble.of(-10D)));
+        assertThat("10 - 15.0 = -5.0", eval(i(10), d(15D), "-"), is((IValue) ValueTypeDouble.ValueDouble.of(-5D)));
+        assertThat("15.0 - 10 = 5.0", eval(d(15D), i(10), "-"), is((IValue) ValueTypeDouble.ValueDouble.of(5D)));
+        assertThat("10 - 15L = -5L", eval(i(10), l(15), "-"), is((IValue) ValueTypeLong.ValueLong.of(-5)));
+    }
+
+    @Test
+    public void testDivisionOrder() throws EvaluationException {
+        assertThat("15 / 10 = 1", eval(i(15), i(10), "/"), is((IValue) ValueTypeInteger.ValueInteger.of(1)));
+        assertThat("10 / 15 = 0", eval(i(10), i(15), "/"), is((IValue) ValueTypeInteger.ValueInteger.of(0)));
+        assertThat("-15 / 10 = -1", eval(i(-15), i(10), "/"), is((IValue) ValueTypeInteger.ValueInteger.of(-1)));
+        assertThat("15L / 10L = 1L", eval(l(15), l(10), "/"), is((IValue) ValueTypeLong.ValueLong.of(1)));
+        assertThat("10L / 15L = 0L", eval(l(10), l(15), "/"), is((IValue) ValueTypeLong.ValueLong.of(0)));
+        assertThat("15.0 / 10.0 = 1.5", eval(d(15D), d(10D), "/"), is((IValue) ValueTypeDouble.ValueDouble.of(1.5D)));
+        assertThat("10.0 / 15.0", eval(d(10D), d(15D), "/"), is((IValue) ValueTypeDouble.ValueDouble.of(10D / 15D)));
+        assertThat("15 / 10.0 = 1.5", eval(i(15), d(10D), "/"), is((IValue) ValueTypeDouble.ValueDouble.of(1.5D)));
+        assertThat("10.0 / 4 = 2.5", eval(d(10D), i(4), "/"), is((IValue) ValueTypeDouble.ValueDouble.of(2.5D)));
+    }
+
+    @Test
+    public void testModulusOrder() throws EvaluationException {
+        assertThat("15 % 10 = 5", Operators.INTEGER_MODULUS.evaluate(new IVariable[]{i(15), i(10)}),
+                is((IValue) ValueTypeInteger.ValueInteger.of(5)));
+        assertThat("10 % 15 = 10", Operators.INTEGER_MODULUS.evaluate(new IVariable[]{i(10), i(15)}),
+                is((IValue) ValueTypeInteger.ValueInteger.of(10)));
+        assertThat("-15 % 10 = -5", Operators.INTEGER_MODULUS.evaluate(new IVariable[]{i(-15), i(10)}),
+                is((IValue) ValueTypeInteger.ValueInteger.of(-5)));
+        assertThat("15 % -10 = 5", Operators.INTEGER_MODULUS.evaluate(new IVariable[]{i(15), i(-10)}),
+                is((IValue) ValueTypeInteger.ValueInteger.of(5)));
+    }
+
+    @Test(expected = EvaluationException.class)
+    public void testDivisionByZeroLong() throws EvaluationException {
+        eval(l(10), l(0), "/");
+    }
+
+    @Test(expected = EvaluationException.class)
+    public void testDivisionByZeroDouble() throws EvaluationException {
+        eval(d(10D), d(0D), "/");
+    }
+
+    @Test(expected = EvaluationException.class)
+    public void testDivisionByZeroMixed() throws EvaluationException {
+        eval(d(10D), i(0), "/");
+    }
+
+    /**
+     * ----------------------------------- OVERFLOW -----------------------------------
+     */
+
+    @Test
+    public void testIntegerOverflow() throws EvaluationException {
+        assertThat("max + 1 wraps", eval(i(Integer.MAX_VALUE), i(1), "+"), is((IValue) ValueTypeInteger.ValueInteger.of(Integer.MIN_VALUE)));
+        assertThat("min - 1 wraps", eval(i(Integer.MIN_VALUE), i(1), "-"), is((IValue) ValueTypeInteger.ValueInteger.of(Integer.MAX_VALUE)));
+        assertThat("max * 2 wraps", eval(i(Integer.MAX_VALUE), i(2), "*"), is((IValue) ValueTypeInteger.ValueInteger.of(-2)));
+        assertThat("min / -1 wraps", eval(i(Integer.MIN_VALUE), i(-1), "/"), is((IValue) ValueTypeInteger.ValueInteger.of(Integer.MIN_VALUE)));
+    }
+
+    @Test
+    public void testLongOverflow() throws EvaluationException {
+        assertThat("max + 1 wraps", eval(l(Long.MAX_VALUE), l(1), "+"), is((IValue) ValueTypeLong.ValueLong.of(Long.MIN_VALUE)));
+        assertThat("min - 1 wraps", eval(l(Long.MIN_VALUE), l(1), "-"), is((IValue) ValueTypeLong.ValueLong.of(Long.MAX_VALUE)));
+        assertThat("min / -1 wraps", eval(l(Long.MIN_VALUE), l(-1), "/"), is((IValue) ValueTypeLong.ValueLong.of(Long.MIN_VALUE)));
+    }
+
+    /**
+     * ----------------------------------- INTERNING -----------------------------------
+     */
+
+    @Test
+    public void testIntegerInternEdges() {
+        assertThat("-128 is interned", ValueTypeInteger.ValueInteger.of(-128), sameInstance(ValueTypeInteger.ValueInteger.of(-128)));
+        assertThat("1023 is interned", ValueTypeInteger.ValueInteger.of(1023), sameInstance(ValueTypeInteger.ValueInteger.of(1023)));
+        assertThat("-129 is not interned", ValueTypeInteger.ValueInteger.of(-129), not(sameInstance(ValueTypeInteger.ValueInteger.of(-129))));
+        assertThat("1024 is not interned", ValueTypeInteger.ValueInteger.of(1024), not(sameInstance(ValueTypeInteger.ValueInteger.of(1024))));
+        for (int value = -130; value <= 1026; value++) {
+            assertThat("values around the interned range keep their value", ValueTypeInteger.ValueInteger.of(value).getRawValue(), is(value));
+        }
+    }
+
+    @Test
+    public void testLongInternEdges() {
+        assertThat("-128 is interned", ValueTypeLong.ValueLong.of(-128), sameInstance(ValueTypeLong.ValueLong.of(-128)));
+        assertThat("1023 is interned", ValueTypeLong.ValueLong.of(1023), sameInstance(ValueTypeLong.ValueLong.of(1023)));
+        assertThat("-129 is not interned", ValueTypeLong.ValueLong.of(-129), not(sameInstance(ValueTypeLong.ValueLong.of(-129))));
+        assertThat("1024 is not interned", ValueTypeLong.ValueLong.of(1024), not(sameInstance(ValueTypeLong.ValueLong.of(1024))));
+        for (long value = -130; value <= 1026; value++) {
+            assertThat("values around the interned range keep their value", ValueTypeLong.ValueLong.of(value).getRawValue(), is(value));
+        }
+        assertThat("values outside of the int range are not truncated", ValueTypeLong.ValueLong.of(1L << 32).getRawValue(), is(1L << 32));
+    }
+
+    @Test
+    public void testResultsAcrossInternEdges() throws EvaluationException {
+        assertThat("1023 + 1 = 1024", eval(i(1023), i(1), "+"), is((IValue) ValueTypeInteger.ValueInteger.of(1024)));
+        assertThat("1024 - 1 = 1023", eval(i(1024), i(1), "-"), sameInstance((IValue) ValueTypeInteger.ValueInteger.of(1023)));
+        assertThat("-128 - 1 = -129", eval(i(-128), i(1), "-"), is((IValue) ValueTypeInteger.ValueInteger.of(-129)));
+        assertThat("-129 + 1 = -128", eval(i(-129), i(1), "+"), sameInstance((IValue) ValueTypeInteger.ValueInteger.of(-128)));
+        assertThat("1023L + 1L = 1024L", eval(l(1023), l(1), "+"), is((IValue) ValueTypeLong.ValueLong.of(1024)));
+        assertThat("-129L + 1L = -128L", eval(l(-129), l(1), "+"), sameInstance((IValue) ValueTypeLong.ValueLong.of(-128)));
+    }
+
+}
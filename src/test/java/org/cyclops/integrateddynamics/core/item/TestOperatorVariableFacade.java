@@ -0,0 +1,93 @@
+package org.cyclops.integrateddynamics.core.item;
+
+import org.cyclops.cyclopscore.helper.L10NHelpers;
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
+import org.cyclops.integrateddynamics.api.item.IVariableFacade;
+import org.cyclops.integrateddynamics.core.evaluate.expression.LazyExpression;
+import org.cyclops.integrateddynamics.core.evaluate.operator.Operators;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueCastMappings;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeInteger;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeList;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypes;
+import org.cyclops.integrateddynamics.core.evaluate.variable.Variable;
+import org.cyclops.integrateddynamics.core.network.PartNetwork;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the constant folding of operator variable facades.
+ * @author rubensworks
+ */
+public class TestOperatorVariableFacade {
+
+    private static final IVariableFacade.IValidator VALIDATOR = new IVariableFacade.IValidator() {
+        @Override
+        public void addError(L10NHelpers.UnlocalizedString error) {
+            throw new AssertionError("Unexpected validation error: " + error);
+        }
+    };
+
+    private PartNetwork network;
+
+    @Before
+    public void before() {
+        ValueCastMappings.load();
+        network = new PartNetwork();
+        add(new ValueTypeVariableFacade<>(1, ValueTypes.INTEGER, ValueTypeInteger.ValueInteger.of(64)));
+        add(new ValueTypeVariableFacade<>(2, ValueTypes.INTEGER, ValueTypeInteger.ValueInteger.of(27)));
+    }
+
+    protected IVariableFacade add(IVariableFacade variableFacade) {
+        network.onVariableFacadeAdded(null, variableFacade);
+        return variableFacade;
+    }
+
+    @Test
+    public void testFoldConstants() throws EvaluationException {
+        IVariableFacade multiplication = add(new OperatorVariableFacade(10, Operators.ARITHMETIC_MULTIPLICATION, new int[]{1, 2}));
+        multiplication.validate(network, VALIDATOR, ValueTypes.CATEGORY_ANY);
+        IVariable variable = multiplication.getVariable(network);
+        assertThat("constant operators are folded", variable, instanceOf(Variable.class));
+        assertThat("64 * 27 = 1728", variable.getValue(), is((IValue) ValueTypeInteger.ValueInteger.of(1728)));
+    }
+
+    @Test
+    public void testFoldNested() throws EvaluationException {
+        add(new OperatorVariableFacade(10, Operators.ARITHMETIC_MULTIPLICATION, new int[]{1, 2}));
+        IVariableFacade addition = add(new OperatorVariableFacade(11, Operators.ARITHMETIC_ADDITION, new int[]{10, 1}));
+        addition.validate(network, VALIDATOR, ValueTypes.CATEGORY_ANY);
+        IVariable variable = addition.getVariable(network);
+        assertThat("constant sub-expressions are folded", variable, instanceOf(Variable.class));
+        assertThat("64 * 27 + 64 = 1792", variable.getValue(), is((IValue) ValueTypeInteger.ValueInteger.of(1792)));
+    }
+
+    @Test
+    public void testNotFoldedWithoutValidation() {
+        IVariableFacade multiplication = add(new OperatorVariableFacade(10, Operators.ARITHMETIC_MULTIPLICATION, new int[]{1, 2}));
+        assertThat("operators are only folded after validation", multiplication.getVariable(network), instanceOf(LazyExpression.class));
+    }
+
+    @Test
+    public void testNotFoldedNotMemoizable() {
+        add(new ValueTypeVariableFacade<>(3, ValueTypes.LIST, ValueTypeList.ValueList.ofAll(ValueTypeInteger.ValueInteger.of(1))));
+        IVariableFacade length = add(new OperatorVariableFacade(10, Operators.LIST_LENGTH, new int[]{3}));
+        length.validate(network, VALIDATOR, ValueTypes.CATEGORY_ANY);
+        assertThat("operators on lists are not folded", length.getVariable(network), instanceOf(LazyExpression.class));
+    }
+
+    @Test
+    public void testFoldInvalidated() {
+        IVariableFacade multiplication = add(new OperatorVariableFacade(10, Operators.ARITHMETIC_MULTIPLICATION, new int[]{1, 2}));
+        multiplication.validate(network, VALIDATOR, ValueTypes.CATEGORY_ANY);
+        assertThat("constant operators are folded", multiplication.getVariable(network), instanceOf(Variable.class));
+        add(new ValueTypeVariableFacade<>(3, ValueTypes.INTEGER, ValueTypeInteger.ValueInteger.of(1)));
+        assertThat("changed networks invalidate folding", multiplication.getVariable(network), instanceOf(LazyExpression.class));
+    }
+
+}
@@ -0,0 +1,82 @@
+package org.cyclops.integrateddynamics.core.network;
+
+import net.minecraftforge.energy.EnergyStorage;
+import net.minecraftforge.energy.IEnergyStorage;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the batched energy consumption of networks.
+ * @author rubensworks
+ */
+public class TestEnergyLedger {
+
+    protected static IEnergyStorage createBattery(int energy, int maxExtract) {
+        EnergyStorage battery = new EnergyStorage(1000, 1000, maxExtract);
+        battery.receiveEnergy(energy, false);
+        return battery;
+    }
+
+    @Test
+    public void testDebit() {
+        IEnergyStorage battery0 = createBattery(30, 1000);
+        IEnergyStorage battery1 = createBattery(20, 1000);
+        EnergyLedger ledger = new EnergyLedger();
+        ledger.setBatteries(new IEnergyStorage[]{battery0, battery1});
+        ledger.open();
+
+        assertThat("all energy can be debited", ledger.canDebit(50), is(true));
+        assertThat("more than all energy can not be debited", ledger.canDebit(51), is(false));
+        ledger.debit(40);
+        assertThat("remaining energy can be debited", ledger.canDebit(10), is(true));
+        assertThat("more than the remaining energy can not be debited", ledger.canDebit(11), is(false));
+        assertThat("debiting does not extract energy", battery0.getEnergyStored() + battery1.getEnergyStored(), is(50));
+
+        assertThat("settling extracts the debit", ledger.settle(), is(40L));
+        assertThat("the first battery is emptied first", battery0.getEnergyStored(), is(0));
+        assertThat("the second battery provides the rest", battery1.getEnergyStored(), is(10));
+        assertThat("the debit is cleared", ledger.getDebit(), is(0L));
+    }
+
+    @Test
+    public void testLimitedExtraction() {
+        IEnergyStorage battery = createBattery(100, 10);
+        EnergyLedger ledger = new EnergyLedger();
+        ledger.setBatteries(new IEnergyStorage[]{battery});
+        ledger.open();
+
+        assertThat("stored energy is available beyond the extraction limit", ledger.canDebit(100), is(true));
+        ledger.debit(35);
+        assertThat("the debit is extracted in multiple calls", ledger.settle(), is(35L));
+        assertThat("the battery is debited", battery.getEnergyStored(), is(65));
+    }
+
+    @Test
+    public void testWithdraw() {
+        IEnergyStorage battery = createBattery(50, 1000);
+        EnergyLedger ledger = new EnergyLedger();
+        ledger.setBatteries(new IEnergyStorage[]{battery});
+        ledger.open();
+
+        ledger.debit(30);
+        battery.extractEnergy(15, false);
+        ledger.withdraw(15);
+        assertThat("withdrawn energy is not available", ledger.getRemaining(), is(5L));
+        assertThat("the remaining energy can be debited", ledger.canDebit(5), is(true));
+        assertThat("withdrawn energy can not be debited", ledger.canDebit(6), is(false));
+        assertThat("settling extracts the debit", ledger.settle(), is(30L));
+        assertThat("the battery pays for the debit", battery.getEnergyStored(), is(5));
+    }
+
+    @Test
+    public void testNoBatteries() {
+        EnergyLedger ledger = new EnergyLedger();
+        ledger.open();
+        assertThat("nothing can be debited without batteries", ledger.canDebit(1), is(false));
+        assertThat("zero can be debited without batteries", ledger.canDebit(0), is(true));
+        assertThat("settling without debit extracts nothing", ledger.settle(), is(0L));
+    }
+
+}
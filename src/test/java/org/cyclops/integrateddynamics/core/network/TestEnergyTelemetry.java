@@ -0,0 +1,58 @@
+package org.cyclops.integrateddynamics.core.network;
+
+import org.cyclops.cyclopscore.helper.MinecraftHelpers;
+import org.cyclops.integrateddynamics.api.network.IEnergyFlowNetwork;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the energy flow history of networks.
+ * @author rubensworks
+ */
+public class TestEnergyTelemetry {
+
+    @Test
+    public void testEmpty() {
+        EnergyTelemetry telemetry = new EnergyTelemetry();
+        assertThat("an empty history has a zero average", telemetry.getAverage(IEnergyFlowNetwork.Flow.INSERTED, 1), is(0D));
+    }
+
+    @Test
+    public void testPartialWindow() {
+        EnergyTelemetry telemetry = new EnergyTelemetry();
+        telemetry.add(IEnergyFlowNetwork.Flow.INSERTED, 10);
+        telemetry.add(IEnergyFlowNetwork.Flow.INSERTED, 20);
+        telemetry.nextTick();
+        telemetry.add(IEnergyFlowNetwork.Flow.INSERTED, 10);
+        telemetry.nextTick();
+        assertThat("averages only cover recorded ticks", telemetry.getAverage(IEnergyFlowNetwork.Flow.INSERTED, 60), is(20D));
+        assertThat("other flows are not affected", telemetry.getAverage(IEnergyFlowNetwork.Flow.CONSUMED, 60), is(0D));
+    }
+
+    @Test
+    public void testSlidingWindows() {
+        EnergyTelemetry telemetry = new EnergyTelemetry();
+        int ticks = 120 * MinecraftHelpers.SECOND_IN_TICKS;
+        for (int tick = 0; tick < ticks; tick++) {
+            telemetry.add(IEnergyFlowNetwork.Flow.CONSUMED, tick);
+            telemetry.nextTick();
+        }
+        for (int seconds : new int[]{1, 10, 60}) {
+            int windowTicks = seconds * MinecraftHelpers.SECOND_IN_TICKS;
+            double expected = 0;
+            for (int tick = ticks - windowTicks; tick < ticks; tick++) {
+                expected += tick;
+            }
+            expected /= windowTicks;
+            assertThat("average over " + seconds + " seconds", telemetry.getAverage(IEnergyFlowNetwork.Flow.CONSUMED, seconds), is(expected));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidWindow() {
+        new EnergyTelemetry().getAverage(IEnergyFlowNetwork.Flow.EXTRACTED, 5);
+    }
+
+}
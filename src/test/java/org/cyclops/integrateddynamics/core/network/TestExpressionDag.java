@@ -0,0 +1,90 @@
+package org.cyclops.integrateddynamics.core.network;
+
+import org.cyclops.integrateddynamics.api.item.IVariableFacade;
+import org.cyclops.integrateddynamics.core.evaluate.operator.Operators;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueCastMappings;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeInteger;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypes;
+import org.cyclops.integrateddynamics.core.item.OperatorVariableFacade;
+import org.cyclops.integrateddynamics.core.item.ValueTypeVariableFacade;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the hash-consing of expressions in a network.
+ * @author rubensworks
+ */
+public class TestExpressionDag {
+
+    private PartNetwork network;
+
+    @Before
+    public void before() {
+        ValueCastMappings.load();
+        network = new PartNetwork();
+        add(new ValueTypeVariableFacade<>(1, ValueTypes.INTEGER, ValueTypeInteger.ValueInteger.of(1)));
+        add(new ValueTypeVariableFacade<>(2, ValueTypes.INTEGER, ValueTypeInteger.ValueInteger.of(2)));
+        add(new ValueTypeVariableFacade<>(3, ValueTypes.INTEGER, ValueTypeInteger.ValueInteger.of(1)));
+    }
+
+    protected IVariableFacade add(IVariableFacade variableFacade) {
+        network.onVariableFacadeAdded(null, variableFacade);
+        return variableFacade;
+    }
+
+    @Test
+    public void testEqualConstants() {
+        assertThat("equal constants share a node", network.getExpressionId(network.getVariableFacade(1)),
+                is(network.getExpressionId(network.getVariableFacade(3))));
+        assertThat("different constants have different nodes", network.getExpressionId(network.getVariableFacade(1)),
+                not(is(network.getExpressionId(network.getVariableFacade(2)))));
+    }
+
+    @Test
+    public void testEqualOperators() {
+        IVariableFacade add12a = add(new OperatorVariableFacade(10, Operators.ARITHMETIC_ADDITION, new int[]{1, 2}));
+        IVariableFacade add12b = add(new OperatorVariableFacade(11, Operators.ARITHMETIC_ADDITION, new int[]{3, 2}));
+        IVariableFacade add21 = add(new OperatorVariableFacade(12, Operators.ARITHMETIC_ADDITION, new int[]{2, 1}));
+        IVariableFacade nestedA = add(new OperatorVariableFacade(13, Operators.ARITHMETIC_ADDITION, new int[]{10, 1}));
+        IVariableFacade nestedB = add(new OperatorVariableFacade(14, Operators.ARITHMETIC_ADDITION, new int[]{11, 3}));
+
+        assertThat("equal operators share a node", network.getExpressionId(add12a), is(network.getExpressionId(add12b)));
+        assertThat("operators with other inputs have other nodes", network.getExpressionId(add12a), not(is(network.getExpressionId(add21))));
+        assertThat("equal nested operators share a node", network.getExpressionId(nestedA), is(network.getExpressionId(nestedB)));
+
+        ExpressionDag dag = network.getExpressionDag();
+        assertThat("all operators are counted", dag.getOperatorFacadeCount(), is(5));
+        assertThat("only unique operators are nodes", dag.getOperatorNodeCount(), is(3));
+        assertThat("the dedup ratio is 5/3", dag.getDedupRatio(), is(5D / 3D));
+    }
+
+    @Test
+    public void testTopologicalOrder() {
+        add(new OperatorVariableFacade(13, Operators.ARITHMETIC_ADDITION, new int[]{10, 1}));
+        add(new OperatorVariableFacade(10, Operators.ARITHMETIC_ADDITION, new int[]{1, 2}));
+        int[] order = network.getExpressionDag().getTopologicalOrder();
+        int inputIndex = -1;
+        int outputIndex = -1;
+        for (int i = 0; i < order.length; i++) {
+            if (order[i] == network.getExpressionId(network.getVariableFacade(10))) {
+                inputIndex = i;
+            } else if (order[i] == network.getExpressionId(network.getVariableFacade(13))) {
+                outputIndex = i;
+            }
+        }
+        assertThat("inputs come before the nodes depending on them", inputIndex < outputIndex, is(true));
+    }
+
+    @Test
+    public void testInvalidate() {
+        IVariableFacade add12 = add(new OperatorVariableFacade(10, Operators.ARITHMETIC_ADDITION, new int[]{1, 2}));
+        int id = network.getExpressionId(add12);
+        add(new ValueTypeVariableFacade<>(4, ValueTypes.INTEGER, ValueTypeInteger.ValueInteger.of(4)));
+        assertThat("node ids are not reused after changes", network.getExpressionId(add12), not(is(id)));
+    }
+
+}
@@ -0,0 +1,129 @@
+package org.cyclops.integrateddynamics.core.network;
+
+import org.cyclops.integrateddynamics.api.network.INetworkElement;
+import org.cyclops.integrateddynamics.core.network.event.DummyEventListenableNetworkElement;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the timing wheel for network element updates.
+ * @author rubensworks
+ */
+public class TestNetworkElementUpdateScheduler {
+
+    private NetworkElementRegistry registry;
+    private NetworkElementUpdateScheduler scheduler;
+    private int handle0;
+    private int handle1;
+    private int handle2;
+
+    protected static INetworkElement createElement(int id, final int priority) {
+        return new DummyEventListenableNetworkElement(id) {
+            @Override
+            public int getPriority() {
+                return priority;
+            }
+        };
+    }
+
+    @Before
+    public void before() {
+        registry = new NetworkElementRegistry();
+        scheduler = new NetworkElementUpdateScheduler(registry);
+        handle0 = registry.add(createElement(0, 0));
+        handle1 = registry.add(createElement(1, 10));
+        handle2 = registry.add(createElement(2, -10));
+    }
+
+    @Test
+    public void testDue() {
+        scheduler.schedule(handle0, 0);
+        scheduler.schedule(handle1, 5);
+        assertThat("scheduled elements are counted", scheduler.size(), is(2));
+
+        List<NetworkElementUpdateScheduler.Entry> due = scheduler.pollDue(0);
+        assertThat("elements due at the tick are polled", due.size(), is(1));
+        assertThat("the due element is polled", due.get(0).getHandle(), is(handle0));
+        assertThat("polled elements are not due again", scheduler.pollDue(0).size(), is(0));
+        assertThat("elements are not due before their tick", scheduler.pollDue(4).size(), is(0));
+        assertThat("elements are due at their tick", scheduler.pollDue(5).get(0).getHandle(), is(handle1));
+        assertThat("polled elements remain scheduled", scheduler.size(), is(2));
+    }
+
+    @Test
+    public void testDueBeyondRevolution() {
+        scheduler.schedule(handle0, 1000);
+        for (long tick = 0; tick < 1000; tick++) {
+            assertThat("elements beyond a wheel revolution are not due early", scheduler.pollDue(tick).size(), is(0));
+        }
+        assertThat("elements beyond a wheel revolution are due at their tick", scheduler.pollDue(1000).size(), is(1));
+    }
+
+    @Test
+    public void testDuePriority() {
+        scheduler.schedule(handle0, 3);
+        scheduler.schedule(handle1, 3);
+        scheduler.schedule(handle2, 3);
+        List<NetworkElementUpdateScheduler.Entry> due = scheduler.pollDue(3);
+        assertThat("all elements of the same tick are due", due.size(), is(3));
+        assertThat("the highest priority is first", due.get(0).getHandle(), is(handle1));
+        assertThat("the default priority is second", due.get(1).getHandle(), is(handle0));
+        assertThat("the lowest priority is last", due.get(2).getHandle(), is(handle2));
+    }
+
+    @Test
+    public void testReschedule() {
+        scheduler.schedule(handle0, 0);
+        NetworkElementUpdateScheduler.Entry entry = scheduler.pollDue(0).get(0);
+        scheduler.reschedule(entry, 7);
+        assertThat("rescheduled elements have a new tick", entry.getTick(), is(7L));
+        assertThat("rescheduled elements are not due before their new tick", scheduler.pollDue(6).size(), is(0));
+        assertThat("rescheduled elements are due at their new tick", scheduler.pollDue(7).size(), is(1));
+    }
+
+    @Test
+    public void testScheduleReplaces() {
+        scheduler.schedule(handle0, 2);
+        scheduler.schedule(handle0, 4);
+        assertThat("scheduling twice keeps one entry", scheduler.size(), is(1));
+        assertThat("the previous schedule is cancelled", scheduler.pollDue(2).size(), is(0));
+        assertThat("the new schedule is used", scheduler.pollDue(4).size(), is(1));
+    }
+
+    @Test
+    public void testRemove() {
+        scheduler.schedule(handle0, 2);
+        assertThat("unscheduling returns the due tick", scheduler.unschedule(handle0), is(2L));
+        assertThat("unscheduled elements are not scheduled", scheduler.isScheduled(handle0), is(false));
+        assertThat("unscheduled elements are not counted", scheduler.size(), is(0));
+        assertThat("unscheduled elements are not due", scheduler.pollDue(2).size(), is(0));
+        assertThat("unscheduling twice does nothing", scheduler.unschedule(handle0), nullValue());
+    }
+
+    @Test
+    public void testRemoveWhilePolled() {
+        scheduler.schedule(handle0, 0);
+        NetworkElementUpdateScheduler.Entry entry = scheduler.pollDue(0).get(0);
+        scheduler.unschedule(handle0);
+        assertThat("polled entries are cancelled when unscheduled", entry.isCancelled(), is(true));
+        scheduler.reschedule(entry, 1);
+        assertThat("cancelled entries are not rescheduled", scheduler.pollDue(1).size(), is(0));
+        assertThat("cancelled entries are not returned", scheduler.getEntry(handle0), nullValue());
+    }
+
+    @Test
+    public void testClear() {
+        scheduler.schedule(handle0, 0);
+        scheduler.schedule(handle1, 1);
+        scheduler.clear();
+        assertThat("cleared schedulers are empty", scheduler.size(), is(0));
+        assertThat("cleared elements are not due", scheduler.pollDue(0).size() + scheduler.pollDue(1).size(), is(0));
+    }
+
+}
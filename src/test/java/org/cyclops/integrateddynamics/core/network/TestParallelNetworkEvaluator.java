@@ -0,0 +1,129 @@
+package org.cyclops.integrateddynamics.core.network;
+
+import com.google.common.collect.Lists;
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.expression.ILazyExpressionValueCache;
+import org.cyclops.integrateddynamics.api.evaluate.operator.IOperator;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
+import org.cyclops.integrateddynamics.core.evaluate.expression.DummyValueCache;
+import org.cyclops.integrateddynamics.core.evaluate.expression.LazyExpression;
+import org.cyclops.integrateddynamics.core.evaluate.operator.Operators;
+import org.cyclops.integrateddynamics.core.evaluate.variable.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the parallel evaluation of network expressions.
+ * @author rubensworks
+ */
+public class TestParallelNetworkEvaluator {
+
+    private static final int NETWORKS = 16;
+    private static final int EXPRESSIONS = 64;
+    private static final IOperator[] OPERATORS = new IOperator[]{
+            Operators.ARITHMETIC_ADDITION,
+            Operators.ARITHMETIC_MULTIPLICATION,
+            Operators.ARITHMETIC_SUBTRACTION,
+            Operators.ARITHMETIC_MAXIMUM,
+            Operators.ARITHMETIC_MINIMUM
+    };
+
+    @Before
+    public void before() {
+        ValueCastMappings.load();
+    }
+
+    protected static List<List<LazyExpression>> createBatches() {
+        List<List<LazyExpression>> batches = Lists.newArrayList();
+        for (int network = 0; network < NETWORKS; network++) {
+            ILazyExpressionValueCache cache = new DummyValueCache();
+            List<LazyExpression> expressions = Lists.newArrayList();
+            IVariable previous = new Variable<>(ValueTypes.INTEGER, ValueTypeInteger.ValueInteger.of(network));
+            for (int i = 0; i < EXPRESSIONS; i++) {
+                IVariable constant = new Variable<>(ValueTypes.INTEGER, ValueTypeInteger.ValueInteger.of(i % 7 + 1));
+                LazyExpression expression = new LazyExpression(i, OPERATORS[(network + i) % OPERATORS.length],
+                        new IVariable[]{previous, constant}, cache);
+                expressions.add(expression);
+                previous = expression;
+            }
+            batches.add(expressions);
+        }
+        return batches;
+    }
+
+    @Test
+    public void testParallelEqualsSerial() throws EvaluationException {
+        List<List<LazyExpression>> serialBatches = createBatches();
+        List<List<LazyExpression>> parallelBatches = createBatches();
+
+        new ParallelNetworkEvaluator(4, true).evaluate(parallelBatches);
+
+        for (int network = 0; network < NETWORKS; network++) {
+            for (int i = 0; i < EXPRESSIONS; i++) {
+                IValue serialValue = serialBatches.get(network).get(i).getValue();
+                IValue parallelValue = parallelBatches.get(network).get(i).getValue();
+                assertThat("parallel evaluation of expression " + i + " in network " + network + " equals serial",
+                        parallelValue, is(serialValue));
+            }
+        }
+    }
+
+    @Test
+    public void testSampleInputs() {
+        List<List<LazyExpression>> batches = createBatches();
+        assertThat("constant inputs can be sampled", ParallelNetworkEvaluator.sampleInputs(batches.get(0).get(EXPRESSIONS - 1)), is(true));
+
+        LazyExpression expressionUnknownInput = new LazyExpression(0, Operators.ARITHMETIC_ADDITION,
+                new IVariable[]{new DummyVariableInteger(ValueTypeInteger.ValueInteger.of(1)),
+                        new DummyVariableInteger(ValueTypeInteger.ValueInteger.of(2))}, new DummyValueCache());
+        assertThat("unknown variable inputs can not be sampled", ParallelNetworkEvaluator.sampleInputs(expressionUnknownInput), is(false));
+    }
+
+    @Test
+    public void testSampleInputsOperator() {
+        LazyExpression expressionOperator = new LazyExpression(0, Operators.OPERATOR_FLIP,
+                new IVariable[]{new Variable<>(ValueTypes.OPERATOR, ValueTypeOperator.ValueOperator.of(Operators.ARITHMETIC_SUBTRACTION))},
+                new DummyValueCache());
+        assertThat("expressions with operator values can not be sampled", ParallelNetworkEvaluator.sampleInputs(expressionOperator), is(false));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testStrictRuntimeException() {
+        IVariable brokenVariable = new DummyVariableInteger(ValueTypeInteger.ValueInteger.of(1)) {
+            @Override
+            public ValueTypeInteger.ValueInteger getValue() {
+                throw new IllegalStateException("broken variable");
+            }
+        };
+        LazyExpression expression = new LazyExpression(0, Operators.ARITHMETIC_ADDITION,
+                new IVariable[]{brokenVariable, brokenVariable}, new DummyValueCache());
+        List<List<LazyExpression>> batches = Lists.newArrayList();
+        batches.add(Lists.newArrayList(expression));
+        new ParallelNetworkEvaluator(2, true).evaluate(batches);
+    }
+
+    @Test
+    public void testEvaluationExceptionIgnored() {
+        IVariable zero = new Variable<>(ValueTypes.INTEGER, ValueTypeInteger.ValueInteger.of(0));
+        LazyExpression expression = new LazyExpression(0, Operators.ARITHMETIC_DIVISION,
+                new IVariable[]{zero, zero}, new DummyValueCache());
+        List<List<LazyExpression>> batches = Lists.newArrayList();
+        batches.add(Lists.newArrayList(expression));
+        new ParallelNetworkEvaluator(2, true).evaluate(batches);
+
+        boolean errored = false;
+        try {
+            expression.getValue();
+        } catch (EvaluationException e) {
+            errored = true;
+        }
+        assertThat("evaluation errors are reported when evaluating again", errored, is(true));
+    }
+
+}
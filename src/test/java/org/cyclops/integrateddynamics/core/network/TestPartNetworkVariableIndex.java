@@ -0,0 +1,202 @@
+package org.cyclops.integrateddynamics.core.network;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.math.BlockPos;
+import org.cyclops.cyclopscore.datastructure.DimPos;
+import org.cyclops.integrateddynamics.api.block.IVariableContainer;
+import org.cyclops.integrateddynamics.api.item.IVariableFacade;
+import org.cyclops.integrateddynamics.capability.variablecontainer.VariableContainerDefault;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueCastMappings;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeInteger;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypes;
+import org.cyclops.integrateddynamics.core.item.ValueTypeVariableFacade;
+import org.cyclops.integrateddynamics.core.path.DummyWorld;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the incremental variable index of part networks.
+ * @author rubensworks
+ */
+public class TestPartNetworkVariableIndex {
+
+    private DummyWorld world;
+    private DummyPartNetwork network;
+
+    @Before
+    public void before() {
+        ValueCastMappings.load();
+        world = new DummyWorld(0);
+        network = new DummyPartNetwork();
+    }
+
+    protected DimPos pos(int x) {
+        return DimPos.of(world, new BlockPos(x, 64, 0));
+    }
+
+    protected static IVariableFacade facade(int id, int value) {
+        return new ValueTypeVariableFacade<>(id, ValueTypes.INTEGER, ValueTypeInteger.ValueInteger.of(value));
+    }
+
+    @Test
+    public void testAddRemoveContainer() {
+        IVariableFacade f1 = facade(1, 1);
+        VariableContainerDefault container = network.createContainer(pos(0));
+        container.addVariableFacade(f1);
+        network.addVariableContainer(pos(0));
+        assertThat("facades of added containers are indexed", network.getVariableFacade(1), is(f1));
+
+        IVariableFacade f2 = facade(2, 2);
+        container.addVariableFacade(f2);
+        assertThat("facades added to indexed containers are indexed", network.getVariableFacade(2), is(f2));
+        container.removeVariableFacade(2);
+        assertThat("facades removed from indexed containers are unindexed", network.hasVariableFacade(2), is(false));
+
+        network.removeVariableContainer(pos(0));
+        assertThat("facades of removed containers are unindexed", network.hasVariableFacade(1), is(false));
+        container.addVariableFacade(f2);
+        assertThat("removed containers are not listened to", network.hasVariableFacade(2), is(false));
+    }
+
+    @Test
+    public void testFallbackContainer() {
+        IVariableFacade f1a = facade(1, 1);
+        IVariableFacade f1b = facade(1, 2);
+        network.createContainer(pos(0)).addVariableFacade(f1a);
+        network.createContainer(pos(1)).addVariableFacade(f1b);
+        network.addVariableContainer(pos(0));
+        network.addVariableContainer(pos(1));
+        assertThat("the last added facade with an id is indexed", network.getVariableFacade(1), is(f1b));
+
+        network.removeVariableContainer(pos(1));
+        assertThat("removed facades fall back to other containers with the same id", network.getVariableFacade(1), is(f1a));
+
+        network.removeVariableContainer(pos(0));
+        assertThat("facades without fallback are unindexed", network.getVariableFacade(1), nullValue());
+    }
+
+    @Test
+    public void testReplaceFacades() {
+        IVariableFacade f1 = facade(1, 1);
+        IVariableFacade f2 = facade(2, 2);
+        IVariableFacade f3 = facade(3, 3);
+        VariableContainerDefault container = network.createContainer(pos(0));
+        container.addVariableFacade(f1);
+        container.addVariableFacade(f2);
+        network.addVariableContainer(pos(0));
+
+        Map<Integer, NBTTagCompound> storedTags = Maps.newHashMap();
+        storedTags.put(1, new NBTTagCompound());
+        storedTags.put(2, new NBTTagCompound());
+        Map<Integer, IVariableFacade> variableFacades = Maps.newHashMap();
+        variableFacades.put(2, facade(2, 2));
+        variableFacades.put(3, f3);
+        Map<Integer, NBTTagCompound> tags = Maps.newHashMap();
+        tags.put(2, new NBTTagCompound());
+        tags.put(3, new NBTTagCompound());
+        VariableContainerDefault.setVariableFacades(container, variableFacades, tags, storedTags);
+        assertThat("dropped facades are unindexed", network.hasVariableFacade(1), is(false));
+        assertThat("kept facades stay indexed", network.getVariableFacade(2), is(f2));
+        assertThat("new facades are indexed", network.getVariableFacade(3), is(f3));
+    }
+
+    @Test
+    public void testPendingContainer() {
+        IVariableFacade f1 = facade(1, 1);
+        network.addVariableContainer(pos(0));
+        network.update();
+        assertThat("unavailable containers are not indexed", network.hasVariableFacade(1), is(false));
+
+        network.createContainer(pos(0)).addVariableFacade(f1);
+        network.update();
+        assertThat("pending containers are not indexed while unloaded", network.hasVariableFacade(1), is(false));
+
+        network.loaded.add(pos(0));
+        network.update();
+        assertThat("pending containers are indexed once loaded", network.getVariableFacade(1), is(f1));
+    }
+
+    @Test
+    public void testRemovePendingContainer() {
+        network.addVariableContainer(pos(0));
+        network.removeVariableContainer(pos(0));
+        network.createContainer(pos(0)).addVariableFacade(facade(1, 1));
+        network.loaded.add(pos(0));
+        network.update();
+        assertThat("removed pending containers are not indexed", network.hasVariableFacade(1), is(false));
+    }
+
+    @Test
+    public void testUnobservedContainer() {
+        IVariableFacade f1 = facade(1, 1);
+        IVariableFacade f2 = facade(2, 2);
+        PlainVariableContainer container = new PlainVariableContainer();
+        container.variableCache.put(1, f1);
+        network.containers.put(pos(0), container);
+        network.addVariableContainer(pos(0));
+        assertThat("facades of unobserved containers are found", network.getVariableFacade(1), is(f1));
+
+        container.variableCache.put(2, f2);
+        assertThat("facades added to unobserved containers are found", network.getVariableFacade(2), is(f2));
+        container.variableCache.remove(2);
+        assertThat("facades removed from unobserved containers are not found", network.hasVariableFacade(2), is(false));
+
+        IVariableFacade f1b = facade(1, 2);
+        network.createContainer(pos(1)).addVariableFacade(f1b);
+        network.addVariableContainer(pos(1));
+        assertThat("facades of observed containers take precedence", network.getVariableFacade(1), is(f1b));
+
+        network.removeVariableContainer(pos(1));
+        assertThat("removed observed facades fall back to unobserved containers", network.getVariableFacade(1), is(f1));
+        network.removeVariableContainer(pos(0));
+        assertThat("facades of removed unobserved containers are not found", network.hasVariableFacade(1), is(false));
+    }
+
+    /**
+     * A variable container that does not notify its changes.
+     */
+    public static class PlainVariableContainer implements IVariableContainer {
+
+        public final Map<Integer, IVariableFacade> variableCache = Maps.newHashMap();
+
+        @Override
+        public Map<Integer, IVariableFacade> getVariableCache() {
+            return variableCache;
+        }
+    }
+
+    /**
+     * A part network that looks up variable containers in a map instead of the world.
+     */
+    public static class DummyPartNetwork extends PartNetwork {
+
+        public final Map<DimPos, IVariableContainer> containers = Maps.newHashMap();
+        public final Set<DimPos> loaded = Sets.newHashSet();
+
+        public VariableContainerDefault createContainer(DimPos dimPos) {
+            VariableContainerDefault container = new VariableContainerDefault();
+            containers.put(dimPos, container);
+            return container;
+        }
+
+        @Override
+        protected IVariableContainer getVariableContainer(DimPos dimPos) {
+            return containers.get(dimPos);
+        }
+
+        @Override
+        protected boolean isLoaded(DimPos dimPos) {
+            return loaded.contains(dimPos);
+        }
+    }
+
+}
@@ -0,0 +1,158 @@
+package org.cyclops.integrateddynamics.core.network.event;
+
+import com.google.common.collect.Sets;
+import net.minecraft.block.Block;
+import net.minecraft.item.ItemStack;
+import net.minecraft.world.IBlockAccess;
+import org.cyclops.integrateddynamics.api.network.IEventListenableNetworkElement;
+import org.cyclops.integrateddynamics.api.network.INetwork;
+import org.cyclops.integrateddynamics.api.network.INetworkElement;
+import org.cyclops.integrateddynamics.api.network.INetworkEventListener;
+import org.cyclops.integrateddynamics.api.network.event.INetworkEvent;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A dummy network element that counts the events it receives.
+ * @author rubensworks
+ */
+public class DummyEventListenableNetworkElement implements IEventListenableNetworkElement<DummyEventListenableNetworkElement>,
+        INetworkEventListener<DummyEventListenableNetworkElement> {
+
+    private final int id;
+    private final Set<Class<? extends INetworkEvent>> subscribedEvents;
+    private int receivedEvents = 0;
+
+    @SafeVarargs
+    public DummyEventListenableNetworkElement(int id, Class<? extends INetworkEvent>... subscribedEvents) {
+        this.id = id;
+        this.subscribedEvents = Sets.newHashSet(subscribedEvents);
+    }
+
+    public int getReceivedEvents() {
+        return receivedEvents;
+    }
+
+    @Nullable
+    @Override
+    public DummyEventListenableNetworkElement getNetworkEventListener() {
+        return this;
+    }
+
+    @Override
+    public boolean hasEventSubscriptions() {
+        return true;
+    }
+
+    @Override
+    public Set<Class<? extends INetworkEvent>> getSubscribedEvents() {
+        return subscribedEvents;
+    }
+
+    @Override
+    public void onEvent(INetworkEvent event, DummyEventListenableNetworkElement networkElement) {
+        networkElement.receivedEvents++;
+    }
+
+    @Override
+    public int getUpdateInterval() {
+        return 1;
+    }
+
+    @Override
+    public boolean isUpdate() {
+        return false;
+    }
+
+    @Override
+    public void update(INetwork network) {
+
+    }
+
+    @Override
+    public void beforeNetworkKill(INetwork network) {
+
+    }
+
+    @Override
+    public void afterNetworkAlive(INetwork network) {
+
+    }
+
+    @Override
+    public void afterNetworkReAlive(INetwork network) {
+
+    }
+
+    @Override
+    public void addDrops(List<ItemStack> itemStacks, boolean dropMainElement) {
+
+    }
+
+    @Override
+    public boolean onNetworkAddition(INetwork network) {
+        return true;
+    }
+
+    @Override
+    public void onNetworkRemoval(INetwork network) {
+
+    }
+
+    @Override
+    public void onPreRemoved(INetwork network) {
+
+    }
+
+    @Override
+    public void onPostRemoved(INetwork network) {
+
+    }
+
+    @Override
+    public void onNeighborBlockChange(@Nullable INetwork network, IBlockAccess world, Block neighborBlock) {
+
+    }
+
+    @Override
+    public void setPriority(INetwork network, int priority) {
+
+    }
+
+    @Override
+    public int getPriority() {
+        return 0;
+    }
+
+    @Override
+    public void invalidate(INetwork network) {
+
+    }
+
+    @Override
+    public boolean canRevalidate(INetwork network) {
+        return true;
+    }
+
+    @Override
+    public void revalidate(INetwork network) {
+
+    }
+
+    @Override
+    public int compareTo(INetworkElement o) {
+        return o instanceof DummyEventListenableNetworkElement ? Integer.compare(id, ((DummyEventListenableNetworkElement) o).id) : -1;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof DummyEventListenableNetworkElement && ((DummyEventListenableNetworkElement) obj).id == id;
+    }
+
+    @Override
+    public int hashCode() {
+        return id;
+    }
+}
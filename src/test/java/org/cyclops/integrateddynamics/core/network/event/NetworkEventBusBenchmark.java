@@ -0,0 +1,49 @@
+package org.cyclops.integrateddynamics.core.network.event;
+
+import org.cyclops.integrateddynamics.api.network.event.INetworkEvent;
+
+/**
+ * A microbenchmark for posting events to a {@link NetworkEventBus} with many listeners.
+ * This is not run as part of the tests, run the main method manually instead.
+ * @author rubensworks
+ */
+public class NetworkEventBusBenchmark {
+
+    private static final int LISTENERS = 1000;
+    private static final int WARMUP_ITERATIONS = 20000;
+    private static final int ITERATIONS = 100000;
+
+    public static void main(String[] args) {
+        NetworkEventBus bus = new NetworkEventBus();
+        DummyEventListenableNetworkElement[] listeners = new DummyEventListenableNetworkElement[LISTENERS];
+        for (int i = 0; i < LISTENERS; i++) {
+            // Half of the listeners listen to the posted event type, the other half to a supertype.
+            listeners[i] = new DummyEventListenableNetworkElement(i, i % 2 == 0 ? NetworkElementAddEvent.Post.class : NetworkElementAddEvent.class);
+            for (Class<? extends INetworkEvent> eventType : listeners[i].getSubscribedEvents()) {
+                bus.register(listeners[i], eventType);
+            }
+        }
+        // Listeners for other event types should not slow down posting.
+        for (int i = 0; i < LISTENERS; i++) {
+            bus.register(new DummyEventListenableNetworkElement(LISTENERS + i), NetworkElementRemoveEvent.Post.class);
+        }
+
+        NetworkElementAddEvent.Post event = new NetworkElementAddEvent.Post(null, null);
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            bus.post(event);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            bus.post(event);
+        }
+        long duration = System.nanoTime() - start;
+
+        long received = 0;
+        for (DummyEventListenableNetworkElement listener : listeners) {
+            received += listener.getReceivedEvents();
+        }
+        System.out.println(String.format("post() with %s listeners: %.1f ns/post, %.2f ns/listener (%s events received)",
+                LISTENERS, duration / (double) ITERATIONS, duration / (double) ITERATIONS / LISTENERS, received));
+    }
+
+}
@@ -0,0 +1,132 @@
+package org.cyclops.integrateddynamics.core.network.event;
+
+import org.cyclops.integrateddynamics.api.network.event.INetworkEvent;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the dispatching of network events.
+ * @author rubensworks
+ */
+public class TestNetworkEventBus {
+
+    @Test
+    public void testExactType() {
+        NetworkEventBus bus = new NetworkEventBus();
+        DummyEventListenableNetworkElement pre = new DummyEventListenableNetworkElement(0, NetworkElementAddEvent.Pre.class);
+        DummyEventListenableNetworkElement post = new DummyEventListenableNetworkElement(1, NetworkElementAddEvent.Post.class);
+        bus.register(pre, NetworkElementAddEvent.Pre.class);
+        bus.register(post, NetworkElementAddEvent.Post.class);
+
+        bus.post(new NetworkElementAddEvent.Post(null, null));
+        assertThat("pre listener does not receive post events", pre.getReceivedEvents(), is(0));
+        assertThat("post listener receives post events", post.getReceivedEvents(), is(1));
+
+        assertThat("pre event is not canceled", bus.postCancelable(new NetworkElementAddEvent.Pre(null, null)), is(true));
+        assertThat("pre listener receives pre events", pre.getReceivedEvents(), is(1));
+        assertThat("post listener does not receive pre events", post.getReceivedEvents(), is(1));
+    }
+
+    @Test
+    public void testSupertype() {
+        NetworkEventBus bus = new NetworkEventBus();
+        DummyEventListenableNetworkElement add = new DummyEventListenableNetworkElement(0, NetworkElementAddEvent.class);
+        DummyEventListenableNetworkElement all = new DummyEventListenableNetworkElement(1, INetworkEvent.class);
+        bus.register(add, NetworkElementAddEvent.class);
+        bus.register(all, INetworkEvent.class);
+
+        bus.post(new NetworkElementAddEvent.Pre(null, null));
+        bus.post(new NetworkElementAddEvent.Post(null, null));
+        bus.post(new NetworkElementRemoveEvent.Post(null, null));
+        assertThat("add listener receives all add events", add.getReceivedEvents(), is(2));
+        assertThat("general listener receives all events", all.getReceivedEvents(), is(3));
+    }
+
+    @Test
+    public void testRegisterTwice() {
+        NetworkEventBus bus = new NetworkEventBus();
+        DummyEventListenableNetworkElement listener = new DummyEventListenableNetworkElement(0, NetworkElementAddEvent.Post.class);
+        bus.register(listener, NetworkElementAddEvent.Post.class);
+        bus.register(new DummyEventListenableNetworkElement(0, NetworkElementAddEvent.Post.class), NetworkElementAddEvent.Post.class);
+
+        bus.post(new NetworkElementAddEvent.Post(null, null));
+        assertThat("equal listeners are registered once", listener.getReceivedEvents(), is(1));
+    }
+
+    @Test
+    public void testUnregister() {
+        NetworkEventBus bus = new NetworkEventBus();
+        DummyEventListenableNetworkElement listener0 = new DummyEventListenableNetworkElement(0, NetworkElementAddEvent.Post.class);
+        DummyEventListenableNetworkElement listener1 = new DummyEventListenableNetworkElement(1, NetworkElementAddEvent.Post.class);
+        DummyEventListenableNetworkElement listener2 = new DummyEventListenableNetworkElement(2, NetworkElementAddEvent.Post.class);
+        bus.register(listener0, NetworkElementAddEvent.Post.class);
+        bus.register(listener1, NetworkElementAddEvent.Post.class);
+        bus.register(listener2, NetworkElementAddEvent.Post.class);
+        bus.unregister(listener1);
+
+        bus.post(new NetworkElementAddEvent.Post(null, null));
+        assertThat("listener 0 receives events", listener0.getReceivedEvents(), is(1));
+        assertThat("unregistered listener 1 receives no events", listener1.getReceivedEvents(), is(0));
+        assertThat("listener 2 receives events", listener2.getReceivedEvents(), is(1));
+    }
+
+    @Test
+    public void testModifyDuringDispatch() {
+        NetworkEventBus bus = new NetworkEventBus();
+        DummyEventListenableNetworkElement late = new DummyEventListenableNetworkElement(1, NetworkElementAddEvent.Post.class);
+        UnregisteringListener self = new UnregisteringListener(bus, late);
+        bus.register(self, NetworkElementAddEvent.Post.class);
+
+        bus.post(new NetworkElementAddEvent.Post(null, null));
+        assertThat("modifications during dispatch do not apply to the current event", late.getReceivedEvents(), is(0));
+        assertThat("listener received the event", self.getReceivedEvents(), is(1));
+
+        bus.post(new NetworkElementAddEvent.Post(null, null));
+        assertThat("registered listener receives next events", late.getReceivedEvents(), is(1));
+        assertThat("unregistered listener does not receive next events", self.getReceivedEvents(), is(1));
+    }
+
+    @Test
+    public void testCoalesce() {
+        NetworkEventBus bus = new NetworkEventBus();
+        DummyEventListenableNetworkElement listener = new DummyEventListenableNetworkElement(0, VariableContentsUpdatedEvent.class);
+        bus.register(listener, VariableContentsUpdatedEvent.class);
+
+        for (int i = 0; i < 45; i++) {
+            bus.post(new VariableContentsUpdatedEvent(null));
+        }
+        assertThat("coalescable events are not dispatched immediately", listener.getReceivedEvents(), is(0));
+        assertThat("collapsed posts are counted", bus.getCoalescedPostCount(), is(44L));
+
+        bus.dispatchCoalesced();
+        assertThat("coalesced events are dispatched once", listener.getReceivedEvents(), is(1));
+
+        bus.dispatchCoalesced();
+        assertThat("dispatched events are not pending anymore", listener.getReceivedEvents(), is(1));
+    }
+
+    /**
+     * Unregisters itself and registers another listener when receiving an event.
+     */
+    private static class UnregisteringListener extends DummyEventListenableNetworkElement {
+
+        private final NetworkEventBus bus;
+        private final DummyEventListenableNetworkElement other;
+
+        public UnregisteringListener(NetworkEventBus bus, DummyEventListenableNetworkElement other) {
+            super(0, NetworkElementAddEvent.Post.class);
+            this.bus = bus;
+            this.other = other;
+        }
+
+        @Override
+        public void onEvent(INetworkEvent event, DummyEventListenableNetworkElement networkElement) {
+            super.onEvent(event, networkElement);
+            bus.unregister(this);
+            bus.register(other, NetworkElementAddEvent.Post.class);
+        }
+    }
+
+}
@@ -0,0 +1,53 @@
+package org.cyclops.integrateddynamics.core.path;
+
+import gnu.trove.set.TLongSet;
+import gnu.trove.set.hash.TLongHashSet;
+import net.minecraft.profiler.Profiler;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.DimensionType;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldProvider;
+import net.minecraft.world.chunk.IChunkProvider;
+
+/**
+ * A world that only provides a dimension id and a set of loaded chunks, without any blocks.
+ * @author rubensworks
+ */
+public class DummyWorld extends World {
+
+    private final TLongSet loadedChunks = new TLongHashSet();
+
+    public DummyWorld(int dimension) {
+        super(null, null, createProvider(dimension), new Profiler(), false);
+    }
+
+    protected static WorldProvider createProvider(int dimension) {
+        WorldProvider provider = new WorldProvider() {
+            @Override
+            public DimensionType getDimensionType() {
+                return DimensionType.OVERWORLD;
+            }
+        };
+        provider.setDimension(dimension);
+        return provider;
+    }
+
+    /**
+     * Mark the given chunk as loaded.
+     * @param chunkX The chunk x coordinate.
+     * @param chunkZ The chunk z coordinate.
+     */
+    public void loadChunk(int chunkX, int chunkZ) {
+        loadedChunks.add(ChunkPos.asLong(chunkX, chunkZ));
+    }
+
+    @Override
+    protected IChunkProvider createChunkProvider() {
+        return null;
+    }
+
+    @Override
+    protected boolean isChunkLoaded(int x, int z, boolean allowEmpty) {
+        return loadedChunks.contains(ChunkPos.asLong(x, z));
+    }
+}
@@ -0,0 +1,133 @@
+package org.cyclops.integrateddynamics.core.path;
+
+import com.google.common.collect.Sets;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.cyclops.cyclopscore.datastructure.DimPos;
+import org.cyclops.integrateddynamics.api.path.IPathElement;
+
+import java.lang.management.ManagementFactory;
+import java.util.Set;
+
+/**
+ * A microbenchmark for the traversal time and allocations of {@link PathFinder}
+ * for clusters of 1k, 10k and 100k path elements.
+ * Path elements are laid out as a flat grid of cables, and as a single long cable run.
+ * This is not run as part of the tests, run the main method manually instead.
+ * @author rubensworks
+ */
+public class PathFinderBenchmark {
+
+    private static final int[] SIZES = {1000, 10000, 100000};
+    private static final int GRID_WIDTH = 100;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int ITERATIONS = 10;
+
+    public static void main(String[] args) {
+        World world = new DummyWorld(0);
+        for (int size : SIZES) {
+            benchmark("grid", createGrid(world, size));
+            benchmark("line", createLine(world, size));
+        }
+    }
+
+    protected static BenchmarkPathElement createGrid(World world, int size) {
+        TLongObjectMap<BenchmarkPathElement> elements = new TLongObjectHashMap<>();
+        for (int i = 0; i < size; i++) {
+            BlockPos pos = new BlockPos(i % GRID_WIDTH, 64, i / GRID_WIDTH);
+            elements.put(pos.toLong(), new BenchmarkPathElement(world, pos, elements));
+        }
+        return elements.get(new BlockPos(0, 64, 0).toLong());
+    }
+
+    protected static BenchmarkPathElement createLine(World world, int size) {
+        TLongObjectMap<BenchmarkPathElement> elements = new TLongObjectHashMap<>();
+        for (int i = 0; i < size; i++) {
+            BlockPos pos = new BlockPos(i, 64, 0);
+            elements.put(pos.toLong(), new BenchmarkPathElement(world, pos, elements));
+        }
+        return elements.get(new BlockPos(0, 64, 0).toLong());
+    }
+
+    protected static void benchmark(String name, BenchmarkPathElement head) {
+        int size = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            size = PathFinder.getConnectedCluster(head).size();
+        }
+
+        long startBytes = getAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            size = PathFinder.getConnectedCluster(head).size();
+        }
+        long duration = System.nanoTime() - start;
+        long allocated = getAllocatedBytes() - startBytes;
+
+        System.out.println(String.format("%s (%s elements): %.3f ms/traversal, %s bytes/traversal allocated",
+                name, size, duration / (double) ITERATIONS / 1000000D,
+                startBytes == Long.MIN_VALUE ? "unknown" : allocated / ITERATIONS));
+    }
+
+    protected static long getAllocatedBytes() {
+        java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemorySupported()) {
+            return ((com.sun.management.ThreadMXBean) threadMXBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return Long.MIN_VALUE;
+    }
+
+    /**
+     * A cable that is connected to all cables next to it.
+     * Like actual cables, it creates a new set of reachable elements each time.
+     * Note that this allocation is included in the measurements.
+     */
+    protected static class BenchmarkPathElement implements IPathElement {
+
+        private final DimPos position;
+        private final long packedPosition;
+        private final TLongObjectMap<BenchmarkPathElement> elements;
+
+        public BenchmarkPathElement(World world, BlockPos pos, TLongObjectMap<BenchmarkPathElement> elements) {
+            this.position = DimPos.of(world, pos);
+            this.packedPosition = pos.toLong();
+            this.elements = elements;
+        }
+
+        @Override
+        public DimPos getPosition() {
+            return position;
+        }
+
+        @Override
+        public Set<IPathElement> getReachableElements() {
+            Set<IPathElement> reachable = Sets.newHashSet();
+            for (EnumFacing side : EnumFacing.VALUES) {
+                BenchmarkPathElement neighbour = elements.get(position.getBlockPos().offset(side).toLong());
+                if (neighbour != null) {
+                    reachable.add(neighbour);
+                }
+            }
+            return reachable;
+        }
+
+        @Override
+        public int compareTo(Object o) {
+            return Long.compare(packedPosition, ((BenchmarkPathElement) o).packedPosition);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof BenchmarkPathElement && ((BenchmarkPathElement) obj).packedPosition == packedPosition;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) (packedPosition ^ (packedPosition >>> 32));
+        }
+    }
+
+}
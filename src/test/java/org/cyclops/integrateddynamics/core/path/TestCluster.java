@@ -0,0 +1,163 @@
+package org.cyclops.integrateddynamics.core.path;
+
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import org.cyclops.cyclopscore.datastructure.DimPos;
+import org.cyclops.cyclopscore.helper.MinecraftHelpers;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the serialization and loading checks of cluster positions.
+ * @author rubensworks
+ */
+public class TestCluster {
+
+    private static final long POS_0 = new BlockPos(0, 0, 0).toLong();
+    private static final long POS_1 = new BlockPos(1, 64, -1).toLong();
+    private static final long POS_2 = new BlockPos(-30000000, 255, 30000000).toLong();
+
+    protected static NBTTagCompound writeAndRead(NBTTagCompound tag) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CompressedStreamTools.write(tag, new DataOutputStream(bytes));
+        return CompressedStreamTools.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    @Test
+    public void testWriteRead() throws IOException {
+        PackedPositionSet positions = new PackedPositionSet();
+        positions.add(0, POS_0);
+        positions.add(0, POS_1);
+        positions.add(-1, POS_2);
+        positions.add(1, POS_0);
+        NBTTagCompound tag = writeAndRead(Cluster.writePositions(positions));
+        assertThat("positions are stored per dimension", tag.getTagList("dimensions", MinecraftHelpers.NBTTag_Types.NBTTagCompound.ordinal()).tagCount(), is(3));
+        assertThat("read positions equal the written positions", Cluster.readPositions(tag), is(positions));
+    }
+
+    @Test
+    public void testWriteReadMany() throws IOException {
+        PackedPositionSet positions = new PackedPositionSet();
+        for (int i = 0; i < 10000; i++) {
+            positions.add(i % 2, new BlockPos(i - 5000, i % 256, 5000 - i).toLong());
+        }
+        PackedPositionSet read = Cluster.readPositions(writeAndRead(Cluster.writePositions(positions)));
+        assertThat("all positions are read", read.size(), is(10000));
+        assertThat("read positions equal the written positions", read, is(positions));
+    }
+
+    @Test
+    public void testWriteReadEmpty() throws IOException {
+        PackedPositionSet positions = new PackedPositionSet();
+        positions.add(3, POS_0);
+        positions.remove(3, POS_0);
+        NBTTagCompound tag = writeAndRead(Cluster.writePositions(positions));
+        assertThat("empty dimensions are not stored", tag.getTagList("dimensions", MinecraftHelpers.NBTTag_Types.NBTTagCompound.ordinal()).tagCount(), is(0));
+        assertThat("no positions are read", Cluster.readPositions(tag).isEmpty(), is(true));
+    }
+
+    @Test
+    public void testReadLegacy() throws IOException {
+        NBTTagList list = new NBTTagList();
+        long[][] elements = {{0, POS_0}, {0, POS_1}, {-1, POS_2}};
+        for (long[] element : elements) {
+            NBTTagCompound elementTag = new NBTTagCompound();
+            elementTag.setInteger("dimension", (int) element[0]);
+            elementTag.setLong("pos", element[1]);
+            list.appendTag(elementTag);
+        }
+        NBTTagCompound tag = new NBTTagCompound();
+        tag.setTag("list", list);
+
+        PackedPositionSet expected = new PackedPositionSet();
+        expected.add(0, POS_0);
+        expected.add(0, POS_1);
+        expected.add(-1, POS_2);
+        PackedPositionSet read = Cluster.readPositions(writeAndRead(tag));
+        assertThat("legacy positions are read", read, is(expected));
+        assertThat("legacy positions are written in the packed format", Cluster.readPositions(Cluster.writePositions(read)), is(expected));
+    }
+
+    @Test
+    public void testIsAnyPositionLoadedEmpty() {
+        assertThat("empty clusters have no loaded positions", new LoadedWorldsCluster().isAnyPositionLoaded(), is(false));
+    }
+
+    @Test
+    public void testIsAnyPositionLoaded() {
+        LoadedWorldsCluster cluster = new LoadedWorldsCluster();
+        DummyWorld world = cluster.loadWorld(0);
+        cluster.add(new Cluster.UnresolvedPathElement(DimPos.of(world, new BlockPos(0, 64, 0))));
+        cluster.add(new Cluster.UnresolvedPathElement(DimPos.of(world, new BlockPos(1, 64, 0))));
+        cluster.add(new Cluster.UnresolvedPathElement(DimPos.of(world, new BlockPos(40, 64, -20))));
+        assertThat("positions in unloaded chunks are not loaded", cluster.isAnyPositionLoaded(), is(false));
+
+        world.loadChunk(1, 0);
+        assertThat("positions next to loaded chunks are not loaded", cluster.isAnyPositionLoaded(), is(false));
+
+        world.loadChunk(2, -2);
+        assertThat("positions in loaded chunks are loaded", cluster.isAnyPositionLoaded(), is(true));
+    }
+
+    @Test
+    public void testIsAnyPositionLoadedDimensions() {
+        LoadedWorldsCluster cluster = new LoadedWorldsCluster();
+        DummyWorld world0 = cluster.loadWorld(0);
+        DummyWorld world1 = new DummyWorld(1);
+        world1.loadChunk(0, 0);
+        cluster.add(new Cluster.UnresolvedPathElement(DimPos.of(world0, new BlockPos(0, 64, 0))));
+        cluster.add(new Cluster.UnresolvedPathElement(DimPos.of(world1, new BlockPos(0, 64, 0))));
+        assertThat("positions in unloaded dimensions are not loaded", cluster.isAnyPositionLoaded(), is(false));
+
+        world0.loadChunk(0, 0);
+        assertThat("positions are checked in each loaded dimension", cluster.isAnyPositionLoaded(), is(true));
+    }
+
+    @Test
+    public void testGetChunkPositions() {
+        Cluster cluster = new Cluster();
+        DummyWorld world = new DummyWorld(0);
+        cluster.add(new Cluster.UnresolvedPathElement(DimPos.of(world, new BlockPos(0, 64, 0))));
+        cluster.add(new Cluster.UnresolvedPathElement(DimPos.of(world, new BlockPos(15, 64, 15))));
+        cluster.add(new Cluster.UnresolvedPathElement(DimPos.of(world, new BlockPos(-1, 64, 16))));
+
+        PackedPositionSet expected = new PackedPositionSet();
+        expected.add(0, ChunkPos.asLong(0, 0));
+        expected.add(0, ChunkPos.asLong(-1, 1));
+        assertThat("positions are mapped to their chunks", cluster.getChunkPositions(), is(expected));
+    }
+
+    /**
+     * A cluster that only considers the worlds that were explicitly loaded as loaded.
+     */
+    protected static class LoadedWorldsCluster extends Cluster {
+
+        private final TIntObjectMap<World> loadedWorlds = new TIntObjectHashMap<>();
+
+        public DummyWorld loadWorld(int dimension) {
+            DummyWorld world = new DummyWorld(dimension);
+            loadedWorlds.put(dimension, world);
+            return world;
+        }
+
+        @Override
+        protected World getLoadedWorld(int dimensionId) {
+            return loadedWorlds.get(dimensionId);
+        }
+    }
+
+}
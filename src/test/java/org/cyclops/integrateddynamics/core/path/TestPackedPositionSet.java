@@ -0,0 +1,153 @@
+package org.cyclops.integrateddynamics.core.path;
+
+import gnu.trove.iterator.TLongIterator;
+import gnu.trove.set.TLongSet;
+import gnu.trove.set.hash.TLongHashSet;
+import net.minecraft.util.math.BlockPos;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the packed position set.
+ * @author rubensworks
+ */
+public class TestPackedPositionSet {
+
+    private static final long POS_0 = new BlockPos(0, 0, 0).toLong();
+    private static final long POS_1 = new BlockPos(1, 64, -1).toLong();
+    private static final long POS_2 = new BlockPos(-30000000, 255, 30000000).toLong();
+
+    @Test
+    public void testAdd() {
+        PackedPositionSet set = new PackedPositionSet();
+        assertThat("new positions are added", set.add(0, POS_0), is(true));
+        assertThat("existing positions are not added", set.add(0, POS_0), is(false));
+        assertThat("equal positions in other dimensions are added", set.add(1, POS_0), is(true));
+        assertThat("extreme positions are added", set.add(-1, POS_2), is(true));
+        assertThat("all positions are counted", set.size(), is(3));
+        assertThat("sets with positions are not empty", set.isEmpty(), is(false));
+    }
+
+    @Test
+    public void testContains() {
+        PackedPositionSet set = new PackedPositionSet();
+        set.add(0, POS_0);
+        set.add(1, POS_1);
+        assertThat("added positions are contained", set.contains(0, POS_0), is(true));
+        assertThat("added positions in other dimensions are contained", set.contains(1, POS_1), is(true));
+        assertThat("positions are contained per dimension", set.contains(1, POS_0), is(false));
+        assertThat("positions are contained per dimension", set.contains(0, POS_1), is(false));
+        assertThat("positions of unknown dimensions are not contained", set.contains(7, POS_0), is(false));
+    }
+
+    @Test
+    public void testRemove() {
+        PackedPositionSet set = new PackedPositionSet();
+        set.add(0, POS_0);
+        set.add(1, POS_0);
+        assertThat("present positions are removed", set.remove(0, POS_0), is(true));
+        assertThat("removed positions are not contained", set.contains(0, POS_0), is(false));
+        assertThat("positions of other dimensions are not removed", set.contains(1, POS_0), is(true));
+        assertThat("absent positions are not removed", set.remove(0, POS_0), is(false));
+        assertThat("positions of unknown dimensions are not removed", set.remove(7, POS_0), is(false));
+        assertThat("removed positions are not counted", set.size(), is(1));
+        set.remove(1, POS_0);
+        assertThat("sets without positions are empty", set.isEmpty(), is(true));
+    }
+
+    @Test
+    public void testIteration() {
+        PackedPositionSet set = new PackedPositionSet();
+        set.add(0, POS_0);
+        set.add(0, POS_1);
+        set.add(-1, POS_2);
+        int[] dimensions = set.getDimensions();
+        Arrays.sort(dimensions);
+        assertThat("all dimensions are iterated", dimensions, is(new int[]{-1, 0}));
+
+        TLongSet positions = new TLongHashSet();
+        int count = 0;
+        for (int dimension : dimensions) {
+            for (TLongIterator it = set.getPositions(dimension).iterator(); it.hasNext();) {
+                positions.add(it.next());
+                count++;
+            }
+        }
+        assertThat("all positions are iterated once", count, is(3));
+        assertThat("all positions are iterated", positions.containsAll(new long[]{POS_0, POS_1, POS_2}), is(true));
+        assertThat("unknown dimensions have no positions", set.getPositions(7), nullValue());
+    }
+
+    @Test
+    public void testManyPositions() {
+        PackedPositionSet set = new PackedPositionSet();
+        for (int i = 0; i < 10000; i++) {
+            set.add(i % 3, new BlockPos(i, i % 256, -i).toLong());
+        }
+        assertThat("many positions are counted", set.size(), is(10000));
+        for (int i = 0; i < 10000; i++) {
+            assertThat("many positions are contained", set.contains(i % 3, new BlockPos(i, i % 256, -i).toLong()), is(true));
+        }
+        for (int i = 0; i < 10000; i += 2) {
+            set.remove(i % 3, new BlockPos(i, i % 256, -i).toLong());
+        }
+        assertThat("removed positions are not counted", set.size(), is(5000));
+        assertThat("removed positions are not contained", set.contains(0, new BlockPos(0, 0, 0).toLong()), is(false));
+        assertThat("other positions remain contained", set.contains(1, new BlockPos(1, 1, -1).toLong()), is(true));
+    }
+
+    @Test
+    public void testAddAll() {
+        PackedPositionSet set0 = new PackedPositionSet();
+        set0.add(0, POS_0);
+        set0.add(1, POS_1);
+        PackedPositionSet set1 = new PackedPositionSet();
+        set1.add(0, POS_0);
+        set1.add(0, POS_1);
+        set1.add(2, POS_2);
+        assertThat("adding new positions changes the set", set0.addAll(set1), is(true));
+        assertThat("added positions are counted once", set0.size(), is(4));
+        assertThat("positions of new dimensions are added", set0.contains(2, POS_2), is(true));
+        assertThat("adding present positions does not change the set", set0.addAll(set1), is(false));
+    }
+
+    @Test
+    public void testClear() {
+        PackedPositionSet set = new PackedPositionSet();
+        set.add(0, POS_0);
+        set.add(1, POS_1);
+        set.clear();
+        assertThat("cleared sets are empty", set.isEmpty(), is(true));
+        assertThat("cleared positions are not contained", set.contains(0, POS_0), is(false));
+        assertThat("positions can be added after clearing", set.add(0, POS_0), is(true));
+    }
+
+    @Test
+    public void testEquals() {
+        PackedPositionSet set0 = new PackedPositionSet();
+        set0.add(0, POS_0);
+        set0.add(1, POS_1);
+        PackedPositionSet set1 = new PackedPositionSet();
+        set1.add(1, POS_1);
+        set1.add(0, POS_0);
+        assertThat("sets with the same positions are equal", set0, is(set1));
+        assertThat("sets with the same positions have the same hash", set0.hashCode(), is(set1.hashCode()));
+
+        // Dimensions that became empty do not influence equality.
+        set1.add(2, POS_2);
+        set1.remove(2, POS_2);
+        assertThat("empty dimensions are ignored", set0, is(set1));
+        assertThat("empty dimensions are ignored in hashes", set0.hashCode(), is(set1.hashCode()));
+
+        set1.remove(1, POS_1);
+        set1.add(2, POS_1);
+        assertThat("sets with positions in other dimensions are not equal", set0, not(set1));
+    }
+
+}
@@ -0,0 +1,107 @@
+package org.cyclops.integrateddynamics.part.aspect.write;
+
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
+import org.cyclops.integrateddynamics.core.evaluate.expression.LazyExpression;
+import org.cyclops.integrateddynamics.core.evaluate.expression.NoValueCache;
+import org.cyclops.integrateddynamics.core.evaluate.operator.Operators;
+import org.cyclops.integrateddynamics.core.evaluate.variable.DummyVariableInteger;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueCastMappings;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeInteger;
+import org.cyclops.integrateddynamics.core.part.aspect.property.AspectProperties;
+import org.cyclops.integrateddynamics.core.part.write.PartStateWriterBase;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test when reactive writers write their variable.
+ * @author rubensworks
+ */
+public class TestReactiveWriters {
+
+    private PartStateWriterBase state;
+    private DummyVariableInteger i1;
+    private DummyVariableInteger i2;
+
+    @Before
+    public void before() {
+        ValueCastMappings.load();
+
+        state = new PartStateWriterBase(1);
+        i1 = new DummyVariableInteger(ValueTypeInteger.ValueInteger.of(1));
+        i2 = new DummyVariableInteger(ValueTypeInteger.ValueInteger.of(2));
+    }
+
+    @Test
+    public void testNotReactive() {
+        assertThat("non-reactive writers write", AspectWriteBase.isWriteRequired(false, false, state, i1), is(true));
+        assertThat("non-reactive writers write unchanged variables", AspectWriteBase.isWriteRequired(false, false, state, i1), is(true));
+    }
+
+    @Test
+    public void testReactive() {
+        assertThat("reactive writers write new variables", AspectWriteBase.isWriteRequired(false, true, state, i1), is(true));
+        assertThat("reactive writers skip unchanged variables", AspectWriteBase.isWriteRequired(false, true, state, i1), is(false));
+        assertThat("reactive writers skip unchanged variables", AspectWriteBase.isWriteRequired(false, true, state, i1), is(false));
+
+        i1.setValue(ValueTypeInteger.ValueInteger.of(3));
+        assertThat("reactive writers write changed variables", AspectWriteBase.isWriteRequired(false, true, state, i1), is(true));
+        assertThat("reactive writers skip unchanged variables", AspectWriteBase.isWriteRequired(false, true, state, i1), is(false));
+
+        assertThat("reactive writers write other variables", AspectWriteBase.isWriteRequired(false, true, state, i2), is(true));
+    }
+
+    @Test
+    public void testPolling() {
+        assertThat("polling aspects are written", AspectWriteBase.isWriteRequired(true, true, state, i1), is(true));
+        assertThat("polling aspects are written for unchanged variables", AspectWriteBase.isWriteRequired(true, true, state, i1), is(true));
+    }
+
+    @Test
+    public void testResetOnActivate() {
+        AspectWriteBase.isWriteRequired(false, true, state, i1);
+        state.setDeactivated(false);
+        assertThat("activating writes again", AspectWriteBase.isWriteRequired(false, true, state, i1), is(true));
+    }
+
+    @Test
+    public void testResetOnDeactivate() {
+        AspectWriteBase.isWriteRequired(false, true, state, i1);
+        state.setDeactivated(true);
+        assertThat("deactivating writes again", AspectWriteBase.isWriteRequired(false, true, state, i1), is(true));
+    }
+
+    @Test
+    public void testResetOnPropertiesChanged() {
+        AspectWriteBase.isWriteRequired(false, true, state, i1);
+        state.setAspectProperties(null, new AspectProperties());
+        assertThat("changing properties writes again", AspectWriteBase.isWriteRequired(false, true, state, i1), is(true));
+    }
+
+    @Test
+    public void testResetOnVariableContentsUpdated() {
+        AspectWriteBase.isWriteRequired(false, true, state, i1);
+        state.onVariableContentsUpdated(null, null);
+        assertThat("updating the variable contents writes again", AspectWriteBase.isWriteRequired(false, true, state, i1), is(true));
+    }
+
+    @Test
+    public void testExpression() throws EvaluationException {
+        LazyExpression expression = new LazyExpression(0, Operators.ARITHMETIC_ADDITION,
+                new IVariable[]{i1, i2}, new NoValueCache());
+        assertThat("reactive writers write new expressions", AspectWriteBase.isWriteRequired(false, true, state, expression), is(true));
+        assertThat("checking the expression version does not evaluate it", i1.isFetched(), is(false));
+        assertThat("1 + 2 = 3", expression.getValue(), is((IValue) ValueTypeInteger.ValueInteger.of(3)));
+        assertThat("reactive writers skip unchanged expressions", AspectWriteBase.isWriteRequired(false, true, state, expression), is(false));
+
+        i1.setValue(ValueTypeInteger.ValueInteger.of(2));
+        assertThat("reactive writers write expressions with changed inputs", AspectWriteBase.isWriteRequired(false, true, state, expression), is(true));
+        assertThat("2 + 2 = 4", expression.getValue(), is((IValue) ValueTypeInteger.ValueInteger.of(4)));
+        assertThat("reactive writers skip unchanged expressions", AspectWriteBase.isWriteRequired(false, true, state, expression), is(false));
+    }
+
+}